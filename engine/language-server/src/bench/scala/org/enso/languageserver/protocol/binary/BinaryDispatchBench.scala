@@ -0,0 +1,235 @@
+package org.enso.languageserver.protocol.binary
+
+import java.net.InetAddress
+import java.nio.ByteBuffer
+import java.nio.file.Files
+import java.util.UUID
+import java.util.concurrent.{LinkedBlockingQueue, TimeUnit}
+
+import akka.actor.{Actor, ActorSystem, Props}
+import akka.http.scaladsl.model.RemoteAddress
+import com.google.flatbuffers.FlatBufferBuilder
+import com.typesafe.config.ConfigFactory
+import org.enso.languageserver.data.{
+  Config,
+  DirectoriesConfig,
+  ExecutionContextConfig,
+  FileManagerConfig,
+  PathWatcherConfig
+}
+import org.enso.languageserver.effect.ZioExec
+import org.enso.languageserver.event.BinarySessionInitialized
+import org.enso.languageserver.filemanager.{
+  BinaryFileOperations,
+  DirectoryTreeCache,
+  FileManager,
+  FileSystem
+}
+import org.enso.languageserver.http.server.BinaryWebSocketControlProtocol.OutboundStreamEstablished
+import org.enso.languageserver.runtime.ContextRegistryProtocol.{
+  VisualisationContext,
+  VisualisationUpdate
+}
+import org.enso.languageserver.session.SessionRouter.DeliverToBinaryController
+import org.enso.languageserver.session.{BinarySession, SessionRouter}
+import org.enso.languageserver.websocket.binary.factory.{
+  InboundMessageFactory,
+  PathFactory,
+  ReadFileCommandFactory,
+  SessionInitFactory
+}
+import org.scalameter.{Bench, Gen}
+
+import scala.concurrent.duration._
+
+/** Measures the round trip latency of the binary channel with the actor
+  * dispatch and the direct dispatch.
+  *
+  * A local client sends the requests to the connection controller one after
+  * another, and waits for the reply on the outbound channel before sending
+  * the next request.
+  */
+object BinaryDispatchBench extends Bench.LocalTime {
+
+  val requests: Gen[Int] = Gen.range("requests")(1000, 5000, 2000)
+
+  implicit val system: ActorSystem =
+    ActorSystem(
+      "binary-dispatch-bench",
+      ConfigFactory
+        .parseString("akka.daemonic = on")
+        .withFallback(ConfigFactory.load())
+    )
+
+  val contentRoot   = Files.createTempDirectory(null).toRealPath()
+  val contentRootId = UUID.randomUUID()
+  val fileName      = "bench.bin"
+  Files.write(contentRoot.resolve(fileName), Array.fill[Byte](4096)(65))
+
+  val config = Config(
+    Map(contentRootId -> contentRoot.toFile),
+    FileManagerConfig(timeout = 3.seconds),
+    PathWatcherConfig(),
+    ExecutionContextConfig(),
+    DirectoriesConfig.initialize(contentRoot.toFile)
+  )
+
+  val fileSystem = new FileSystem
+  val treeCache  = new DirectoryTreeCache
+  val zioExec    = ZioExec(zio.Runtime.default)
+
+  val fileManager =
+    system.actorOf(FileManager.pool(config, fileSystem, treeCache, zioExec))
+
+  val sessionRouter = system.actorOf(SessionRouter.props())
+
+  val directDispatcher =
+    new BinaryDirectDispatcher(
+      new BinaryFileOperations(config, fileSystem, treeCache),
+      zioExec,
+      config.fileManager.timeout,
+      config.fileManager.parallelism
+    )
+
+  val readFileMessage: InboundMessage = {
+    implicit val builder = new FlatBufferBuilder(1024)
+    val path             = PathFactory.create(contentRootId, Seq(fileName))
+    val cmd              = ReadFileCommandFactory.create(path)
+    val msg = InboundMessageFactory.create(
+      UUID.randomUUID(),
+      None,
+      InboundPayload.READ_FILE_CMD,
+      cmd
+    )
+    builder.finish(msg)
+    InboundMessage.getRootAsInboundMessage(builder.dataBuffer())
+  }
+
+  val visualisationUpdate: VisualisationUpdate =
+    VisualisationUpdate(
+      VisualisationContext(
+        UUID.randomUUID(),
+        UUID.randomUUID(),
+        UUID.randomUUID()
+      ),
+      Array.fill[Byte](4096)(65),
+      0,
+      true
+    )
+
+  val actorClient  = new Client(None)
+  val directClient = new Client(Some(directDispatcher))
+
+  performance of "BinaryConnectionController" in {
+    measure method "actor dispatch readFile" in {
+      using(requests) in { requests =>
+        (1 to requests).foreach(_ => actorClient.roundTrip(readFileMessage))
+      }
+    }
+
+    measure method "direct dispatch readFile" in {
+      using(requests) in { requests =>
+        (1 to requests).foreach(_ => directClient.roundTrip(readFileMessage))
+      }
+    }
+
+    measure method "actor dispatch visualisationUpdate" in {
+      using(requests) in { requests =>
+        (1 to requests).foreach(_ => actorClient.deliver(visualisationUpdate))
+      }
+    }
+
+    measure method "direct dispatch visualisationUpdate" in {
+      using(requests) in { requests =>
+        (1 to requests).foreach(_ => directClient.deliver(visualisationUpdate))
+      }
+    }
+  }
+
+  /** A client of the binary channel.
+    *
+    * @param dispatcher the direct dispatcher used by the connection controller
+    */
+  final class Client(dispatcher: Option[BinaryDirectDispatcher]) {
+
+    private val clientId = UUID.randomUUID()
+
+    private val replies = new LinkedBlockingQueue[ByteBuffer]()
+
+    private val outboundChannel =
+      system.actorOf(Props(new OutboundChannel(replies)))
+
+    private val controller =
+      system.actorOf(
+        Props(
+          new BinaryConnectionController(
+            RemoteAddress.IP(InetAddress.getLoopbackAddress),
+            fileManager,
+            directDispatcher = dispatcher
+          )
+        )
+      )
+
+    controller ! OutboundStreamEstablished(outboundChannel)
+    roundTrip(sessionInitMessage)
+    // the router may not be subscribed to the session events yet
+    sessionRouter ! BinarySessionInitialized(
+      BinarySession(clientId, controller)
+    )
+
+    /** Send the request and wait for the reply.
+      *
+      * @param msg the request
+      * @return the reply
+      */
+    def roundTrip(msg: InboundMessage): ByteBuffer = {
+      controller ! Right(msg)
+      awaitReply()
+    }
+
+    /** Deliver the visualisation update the same way as the
+      * [[org.enso.languageserver.runtime.ContextEventsListener]] does, and
+      * wait for it on the outbound channel.
+      *
+      * @param update the visualisation update
+      * @return the update packet
+      */
+    def deliver(update: VisualisationUpdate): ByteBuffer = {
+      if (!dispatcher.exists(_.deliver(clientId, update))) {
+        sessionRouter ! DeliverToBinaryController(clientId, update)
+      }
+      awaitReply()
+    }
+
+    private def awaitReply(): ByteBuffer = {
+      val reply =
+        replies.poll(config.fileManager.timeout.toMillis, TimeUnit.MILLISECONDS)
+      if (reply eq null) {
+        throw new IllegalStateException("The reply timed out")
+      }
+      reply
+    }
+
+    private def sessionInitMessage: InboundMessage = {
+      implicit val builder = new FlatBufferBuilder(1024)
+      val cmd              = SessionInitFactory.create(clientId)
+      val msg = InboundMessageFactory.create(
+        UUID.randomUUID(),
+        None,
+        InboundPayload.INIT_SESSION_CMD,
+        cmd
+      )
+      builder.finish(msg)
+      InboundMessage.getRootAsInboundMessage(builder.dataBuffer())
+    }
+  }
+
+  /** The outbound channel passing the packets to the client. */
+  final class OutboundChannel(replies: LinkedBlockingQueue[ByteBuffer])
+      extends Actor {
+
+    override def receive: Receive = { case packet: ByteBuffer =>
+      replies.put(packet)
+    }
+  }
+}
@@ -11,6 +11,10 @@ import scala.concurrent.ExecutionContext
   * @param dataPort a data port that the server listen to
   * @param contentRootUuid an id of content root
   * @param contentRootPath a path to the content root
+  * @param name the name of the actor system
+  * @param computeExecutionContext the execution context of the actor system
+  * @param binaryDirectDispatch whether the binary file commands and the
+  * visualisation updates are dispatched directly, bypassing the actors
   */
 case class LanguageServerConfig(
   interface: String,
@@ -19,5 +23,6 @@ case class LanguageServerConfig(
   contentRootUuid: UUID,
   contentRootPath: String,
   name: String                              = "language-server",
-  computeExecutionContext: ExecutionContext = ExecutionContext.global
+  computeExecutionContext: ExecutionContext = ExecutionContext.global,
+  binaryDirectDispatch: Boolean             = false
 )
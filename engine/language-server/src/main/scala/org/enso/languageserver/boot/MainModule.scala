@@ -11,15 +11,21 @@ import org.enso.languageserver.data._
 import org.enso.languageserver.effect.ZioExec
 import org.enso.languageserver.event.InitializedEvent
 import org.enso.languageserver.filemanager.{
+  BinaryFileOperations,
+  DirectoryTreeCache,
   FileManager,
   FileSystem,
   ReceivesTreeUpdatesHandler
 }
 import org.enso.languageserver.http.server.BinaryWebSocketServer
 import org.enso.languageserver.io._
-import org.enso.languageserver.monitoring.HealthCheckEndpoint
+import org.enso.languageserver.monitoring.{
+  HealthCheckEndpoint,
+  MetricsEndpoint
+}
 import org.enso.languageserver.protocol.binary.{
   BinaryConnectionControllerFactory,
+  BinaryDirectDispatcher,
   InboundMessageDecoder
 }
 import org.enso.languageserver.protocol.json.{
@@ -34,6 +40,7 @@ import org.enso.languageserver.text.BufferRegistry
 import org.enso.languageserver.util.binary.BinaryEncoder
 import org.enso.loggingservice.{JavaLoggingLogHandler, LogLevel}
 import org.enso.polyglot.{LanguageInfo, RuntimeOptions, RuntimeServerInfo}
+import org.enso.searcher.memory.IndexedSuggestionsRepo
 import org.enso.searcher.sql.{SqlDatabase, SqlSuggestionsRepo, SqlVersionsRepo}
 import org.enso.searcher.sqlite.LockingMode
 import org.enso.text.{ContentBasedVersioning, Sha3_224VersionCalculator}
@@ -72,6 +79,9 @@ class MainModule(serverConfig: LanguageServerConfig, logLevel: LogLevel) {
   val fileSystem: FileSystem = new FileSystem
   log.trace("Created FileSystem")
 
+  val directoryTreeCache = new DirectoryTreeCache
+  log.trace("Created DirectoryTreeCache")
+
   implicit val versionCalculator: ContentBasedVersioning =
     Sha3_224VersionCalculator
   log.trace("Created Version Calculator")
@@ -99,7 +109,9 @@ class MainModule(serverConfig: LanguageServerConfig, logLevel: LogLevel) {
         )
     }
 
-  val suggestionsRepo = new SqlSuggestionsRepo(sqlDatabase)(system.dispatcher)
+  val suggestionsRepo = new IndexedSuggestionsRepo(
+    new SqlSuggestionsRepo(sqlDatabase)(system.dispatcher)
+  )(system.dispatcher)
   val versionsRepo    = new SqlVersionsRepo(sqlDatabase)(system.dispatcher)
   log.trace("Created SQL Repos")
 
@@ -110,7 +122,12 @@ class MainModule(serverConfig: LanguageServerConfig, logLevel: LogLevel) {
     system.actorOf(RuntimeConnector.props, "runtime-connector")
 
   lazy val fileManager = system.actorOf(
-    FileManager.pool(languageServerConfig, fileSystem, zioExec),
+    FileManager.pool(
+      languageServerConfig,
+      fileSystem,
+      directoryTreeCache,
+      zioExec
+    ),
     "file-manager"
   )
 
@@ -123,7 +140,7 @@ class MainModule(serverConfig: LanguageServerConfig, logLevel: LogLevel) {
   lazy val receivesTreeUpdatesHandler =
     system.actorOf(
       ReceivesTreeUpdatesHandler
-        .props(languageServerConfig, fileSystem, zioExec),
+        .props(languageServerConfig, fileSystem, directoryTreeCache, zioExec),
       "file-event-registry"
     )
 
@@ -150,6 +167,20 @@ class MainModule(serverConfig: LanguageServerConfig, logLevel: LogLevel) {
       "capability-router"
     )
 
+  lazy val binaryDirectDispatcher =
+    Option.when(serverConfig.binaryDirectDispatch) {
+      new BinaryDirectDispatcher(
+        new BinaryFileOperations(
+          languageServerConfig,
+          fileSystem,
+          directoryTreeCache
+        ),
+        zioExec,
+        languageServerConfig.fileManager.timeout,
+        languageServerConfig.fileManager.parallelism
+      )
+    }
+
   lazy val contextRegistry =
     system.actorOf(
       ContextRegistry
@@ -157,7 +188,8 @@ class MainModule(serverConfig: LanguageServerConfig, logLevel: LogLevel) {
           suggestionsRepo,
           languageServerConfig,
           runtimeConnector,
-          sessionRouter
+          sessionRouter,
+          binaryDirectDispatcher
         ),
       "context-registry"
     )
@@ -261,13 +293,18 @@ class MainModule(serverConfig: LanguageServerConfig, logLevel: LogLevel) {
       serverConfig.computeExecutionContext
     )
 
+  val metricsEndpoint =
+    new MetricsEndpoint(runtimeConnector)(
+      serverConfig.computeExecutionContext
+    )
+
   val jsonRpcServer =
     new JsonRpcServer(
       JsonRpc.protocol,
       jsonRpcControllerFactory,
       JsonRpcServer
         .Config(outgoingBufferSize = 10000, lazyMessageTimeout = 10.seconds),
-      List(healthCheckEndpoint)
+      List(healthCheckEndpoint, metricsEndpoint)
     )
   log.trace("Created JsonRpcServer")
 
@@ -275,7 +312,7 @@ class MainModule(serverConfig: LanguageServerConfig, logLevel: LogLevel) {
     new BinaryWebSocketServer(
       InboundMessageDecoder,
       BinaryEncoder.empty,
-      new BinaryConnectionControllerFactory(fileManager)
+      new BinaryConnectionControllerFactory(fileManager, binaryDirectDispatcher)
     )
   log.trace("Created BinaryWebSocketServer")
 
@@ -317,6 +354,7 @@ class MainModule(serverConfig: LanguageServerConfig, logLevel: LogLevel) {
   def close(): Unit = {
     suggestionsRepo.close()
     versionsRepo.close()
+    binaryDirectDispatcher.foreach(_.close())
     log.trace("Closed MainModule")
   }
 }
@@ -18,11 +18,19 @@ import scala.concurrent.duration._
   * @param restartTimeout timeout before watcher is restarted on error
   * @param maxRestarts maximum number of unsuccessful restarts
   *                    before returning an error
+  * @param eventsTimeout time during which the file events are collected
+  *                      before sending them to the clients
+  * @param maxEventsBatch maximum number of the file events sent at once
+  * @param maxPendingEvents maximum number of the collected file events
+  *                         before the file watcher is blocked
   */
 case class PathWatcherConfig(
   timeout: FiniteDuration,
   restartTimeout: FiniteDuration,
-  maxRestarts: Int
+  maxRestarts: Int,
+  eventsTimeout: FiniteDuration,
+  maxEventsBatch: Int,
+  maxPendingEvents: Int
 )
 
 object PathWatcherConfig {
@@ -31,9 +39,12 @@ object PathWatcherConfig {
     */
   def apply(): PathWatcherConfig =
     PathWatcherConfig(
-      timeout        = 5.seconds,
-      restartTimeout = 5.seconds,
-      maxRestarts    = 10
+      timeout          = 5.seconds,
+      restartTimeout   = 5.seconds,
+      maxRestarts      = 10,
+      eventsTimeout    = 100.millis,
+      maxEventsBatch   = 1000,
+      maxPendingEvents = 10000
     )
 }
 
@@ -41,8 +52,14 @@ object PathWatcherConfig {
   *
   * @param timeout IO operation timeout
   * @param parallelism number of processes working with the file system
+  * @param maxChunkLength the maximum number of bytes read from a file in a
+  *                       single request
   */
-case class FileManagerConfig(timeout: FiniteDuration, parallelism: Int)
+case class FileManagerConfig(
+  timeout: FiniteDuration,
+  parallelism: Int,
+  maxChunkLength: Long
+)
 
 object FileManagerConfig {
 
@@ -52,8 +69,9 @@ object FileManagerConfig {
     */
   def apply(timeout: FiniteDuration): FileManagerConfig =
     FileManagerConfig(
-      timeout     = timeout,
-      parallelism = Runtime.getRuntime.availableProcessors()
+      timeout        = timeout,
+      parallelism    = Runtime.getRuntime.availableProcessors(),
+      maxChunkLength = 16L * 1024 * 1024
     )
 }
 
@@ -0,0 +1,150 @@
+package org.enso.languageserver.filemanager
+
+import java.io.File
+import java.nio.ByteBuffer
+
+import org.enso.languageserver.data.Config
+import org.enso.languageserver.effect._
+import zio._
+
+/** Creates the [[FileSystem]] effects of the binary protocol file commands.
+  *
+  * The effects are shared by the [[FileManager]] and the direct dispatch of
+  * the binary channel, so both paths resolve the content roots and patch the
+  * directory tree cache in the same way.
+  *
+  * @param config configuration
+  * @param fs an instance of a [[FileSystem]] that creates the effects
+  * @param treeCache the cache of directory trees
+  */
+class BinaryFileOperations(
+  config: Config,
+  fs: FileSystemApi[BlockingIO],
+  treeCache: DirectoryTreeCache
+) {
+
+  /** Writes the contents of a binary file.
+    *
+    * @param path the file path
+    * @param contents the file contents
+    * @return either [[FileSystemFailure]] or Unit
+    */
+  def writeBinaryFile(
+    path: Path,
+    contents: Array[Byte]
+  ): BlockingIO[FileSystemFailure, Unit] =
+    for {
+      rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
+      _        <- fs.writeBinary(path.toFile(rootPath), contents)
+      _        <- updateTreeCache(path.toFile(rootPath))
+    } yield ()
+
+  /** Reads the contents of a binary file.
+    *
+    * @param path the file path
+    * @return either [[FileSystemFailure]] or the file contents
+    */
+  def readBinaryFile(
+    path: Path
+  ): BlockingIO[FileSystemFailure, FileManagerProtocol.BinaryFileContent] =
+    for {
+      rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
+      file = path.toFile(rootPath)
+      contents <- fs.readBinary(file)
+    } yield FileManagerProtocol.BinaryFileContent(file, contents)
+
+  /** Reads a segment of a binary file.
+    *
+    * The segments longer than the configured maximum chunk length are
+    * rejected, so a single reply is never larger than that.
+    *
+    * @param segment the file segment
+    * @return either [[FileSystemFailure]] or the bytes with their checksum
+    */
+  def readBytes(
+    segment: FileManagerProtocol.FileSegment
+  ): BlockingIO[FileSystemFailure, FileManagerProtocol.FileBytes] =
+    for {
+      _        <- checkRange(segment.byteOffset, segment.length)
+      _        <- checkChunkLength(segment.length)
+      rootPath <- IO.fromEither(config.findContentRoot(segment.path.rootId))
+      read <- fs.readBytes(
+        segment.path.toFile(rootPath),
+        segment.byteOffset,
+        segment.length
+      )
+    } yield FileManagerProtocol.FileBytes(read.checksum, read.bytes)
+
+  /** Writes a chunk of bytes to a file at the given offset.
+    *
+    * @param path the file path
+    * @param byteOffset the offset to write the bytes at
+    * @param overwriteExisting whether to overwrite the existing bytes
+    * @param bytes the bytes to write
+    * @return either [[FileSystemFailure]] or the checksum of the written bytes
+    */
+  def writeBytes(
+    path: Path,
+    byteOffset: Long,
+    overwriteExisting: Boolean,
+    bytes: ByteBuffer
+  ): BlockingIO[FileSystemFailure, Array[Byte]] =
+    for {
+      _        <- checkRange(byteOffset, 0)
+      rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
+      checksum <- fs.writeBytes(
+        path.toFile(rootPath),
+        byteOffset,
+        overwriteExisting,
+        bytes
+      )
+      _ <- updateTreeCache(path.toFile(rootPath))
+    } yield checksum
+
+  /** Computes the checksum of a segment of a binary file.
+    *
+    * @param segment the file segment
+    * @return either [[FileSystemFailure]] or the checksum of the segment
+    */
+  def checksumBytes(
+    segment: FileManagerProtocol.FileSegment
+  ): BlockingIO[FileSystemFailure, Array[Byte]] =
+    for {
+      _        <- checkRange(segment.byteOffset, segment.length)
+      rootPath <- IO.fromEither(config.findContentRoot(segment.path.rootId))
+      checksum <- fs.checksumBytes(
+        segment.path.toFile(rootPath),
+        segment.byteOffset,
+        segment.length
+      )
+    } yield checksum
+
+  /** Checks that the byte offset and length are not negative. The unsigned
+    * values of the binary protocol above `Long.MaxValue` are read as negative
+    * numbers.
+    *
+    * @param byteOffset the byte offset
+    * @param length the number of bytes
+    */
+  private def checkRange(
+    byteOffset: Long,
+    length: Long
+  ): IO[FileSystemFailure, Unit] =
+    if (byteOffset < 0 || length < 0) IO.fail(InvalidByteRange) else IO.unit
+
+  /** Checks that the segment is not longer than the maximum chunk length.
+    *
+    * @param length the length of the segment
+    */
+  private def checkChunkLength(length: Long): IO[FileSystemFailure, Unit] = {
+    val maxLength = config.fileManager.maxChunkLength
+    if (length > maxLength) IO.fail(ReadChunkTooLarge(maxLength)) else IO.unit
+  }
+
+  /** Patches the cached directory trees after the path has changed.
+    *
+    * @param path the changed path
+    */
+  private def updateTreeCache(path: File): UIO[Unit] =
+    IO.effectTotal(treeCache.update(path.toPath))
+}
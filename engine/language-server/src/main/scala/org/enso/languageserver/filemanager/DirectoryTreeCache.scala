@@ -0,0 +1,372 @@
+package org.enso.languageserver.filemanager
+
+import java.nio.file.{Files, LinkOption, Path}
+
+import org.enso.languageserver.filemanager.FileSystemApi._
+
+import scala.collection.mutable
+import scala.jdk.CollectionConverters._
+import scala.util.control.NonFatal
+
+/** Keeps the snapshots of the directory trees read by the file manager, so
+  * that the repeated tree requests can be answered from memory.
+  *
+  * The snapshots are patched incrementally with the changes reported by the
+  * path watchers and the file manager. Only the trees inside the watched
+  * directories are cached, because the snapshots of other directories can't
+  * be kept up to date. The trees containing symlinked directories are not
+  * cached either, as the changes of the symlink targets are not reported.
+  *
+  * The trees are read without holding the cache lock, so every change bumps
+  * the generation of the cache. A tree is only stored if none of its paths
+  * has changed since the generation recorded before it was read. The changed
+  * paths are also read without holding the lock, and the snapshots are
+  * dropped instead of patched when the path changes again meanwhile.
+  *
+  * @param maxSnapshots the maximum number of cached snapshots
+  */
+final class DirectoryTreeCache(
+  maxSnapshots: Int = DirectoryTreeCache.DefaultMaxSnapshots
+) {
+
+  import DirectoryTreeCache._
+
+  private val watchedRoots = mutable.HashMap[Path, Int]()
+  private val snapshots    = mutable.LinkedHashMap[Path, Snapshot]()
+  private val changes      = mutable.Queue[(Long, Path)]()
+  private var current      = 0L
+
+  /** Returns the current generation of the cache, that should be recorded
+    * before reading a tree to [[put]] in the cache.
+    *
+    * @return the current generation
+    */
+  def generation: Long = synchronized(current)
+
+  /** Registers a watched directory. The trees inside the watched directories
+    * can be cached.
+    *
+    * @param root the watched directory
+    */
+  def watch(root: Path): Unit =
+    synchronized {
+      watchedRoots.updateWith(root)(count => Some(count.fold(1)(_ + 1))): Unit
+    }
+
+  /** Unregisters a watched directory, dropping the snapshots that are no
+    * longer watched.
+    *
+    * @param root the watched directory
+    */
+  def unwatch(root: Path): Unit =
+    synchronized {
+      watchedRoots.updateWith(root)(_.map(_ - 1).filter(_ > 0))
+      snapshots.filterInPlace((path, _) => isWatched(path)): Unit
+    }
+
+  /** Returns the cached tree of a given path.
+    *
+    * @param path to the directory
+    * @param depth maximum depth of a directory tree
+    * @return the directory tree if it is cached with a sufficient depth
+    */
+  def get(path: Path, depth: Option[Int]): Option[DirectoryEntry] =
+    if (depth.exists(_ <= 0)) None
+    else
+      synchronized {
+        snapshots.valuesIterator
+          .flatMap(_.find(path))
+          .collectFirst {
+            case (directory, available) if covers(available, depth) =>
+              copy(directory, depth)
+          }
+      }
+
+  /** Stores the tree of a given path if it can be kept up to date.
+    *
+    * The tree is dropped if the path has changed after the tree was read, as
+    * it may not contain the change.
+    *
+    * @param path to the directory
+    * @param depth maximum depth of the directory tree
+    * @param generation the generation of the cache recorded before the tree
+    * was read
+    * @param directory the directory tree
+    */
+  def put(
+    path: Path,
+    depth: Option[Int],
+    generation: Long,
+    directory: DirectoryEntry
+  ): Unit =
+    if (!containsSymbolicLinks(directory)) {
+      synchronized {
+        if (isWatched(path) && !isChangedSince(path, generation)) {
+          snapshots.filterInPlace((root, _) => !root.startsWith(path))
+          snapshots.put(path, Snapshot(copy(directory, depth), depth))
+          while (snapshots.size > maxSnapshots) {
+            snapshots.remove(snapshots.head._1): Unit
+          }
+        }
+      }
+    }
+
+  /** Patches the snapshots containing the provided path with its current
+    * state on the file system.
+    *
+    * @param path the path that has been created, modified or deleted
+    */
+  def update(path: Path): Unit = {
+    val pending = synchronized {
+      current += 1
+      changes.enqueue((current, path))
+      while (changes.size > MaxTrackedChanges) changes.dequeue(): Unit
+      if (snapshots.keys.exists(path.startsWith(_))) {
+        val parents = Option(path.getParent).toList.flatMap { parent =>
+          snapshots.values.flatMap(_.find(parent))
+        }
+        Some((current, expansionDepth(parents.map(_._2))))
+      } else {
+        None
+      }
+    }
+    pending.foreach { case (generation, depth) =>
+      val entry =
+        try Right(read(path, depth))
+        catch { case NonFatal(ex) => Left(ex) }
+      synchronized {
+        val affected = snapshots.keys.filter(path.startsWith(_)).toList
+        affected.foreach { root =>
+          val keep = entry match {
+            case _ if isChangedSince(path, generation) =>
+              false
+            case Right(current) if root != path =>
+              try patch(snapshots(root), path, current, depth)
+              catch { case NonFatal(_) => false }
+            case Right(current) =>
+              current.isDefined
+            case Left(_) =>
+              false
+          }
+          if (!keep) snapshots.remove(root): Unit
+        }
+      }
+    }
+  }
+
+  /** Applies the current state of the path to the snapshot.
+    *
+    * @param snapshot the snapshot to patch
+    * @param path the changed path
+    * @param current the current entry of the path if it exists
+    * @param depth the depth the current entry was read with
+    * @return `false` if the snapshot can't be patched and should be dropped
+    */
+  private def patch(
+    snapshot: Snapshot,
+    path: Path,
+    current: Option[Entry],
+    depth: Option[Int]
+  ): Boolean =
+    snapshot.find(path.getParent) match {
+      case None =>
+        // the parent directory is truncated or not in the snapshot
+        true
+      case Some((parent, available)) =>
+        val index    = parent.children.indexWhere(_.path == path)
+        val required = available.map(_ - 1)
+        current match {
+          case None =>
+            if (index >= 0) parent.children.remove(index, 1)
+            true
+          case Some(_: SymbolicLinkEntry) =>
+            false
+          case Some(entry) if index >= 0 =>
+            if (isSameKind(parent.children(index), entry)) {
+              true
+            } else if (isExpanded(entry, depth, required)) {
+              val expanded = truncate(entry, required)
+              parent.children.update(index, expanded)
+              !containsSymbolicLinks(expanded)
+            } else {
+              false
+            }
+          case Some(entry) if isExpanded(entry, depth, required) =>
+            val expanded = truncate(entry, required)
+            val position =
+              parent.children.indexWhere(_.path.compareTo(path) > 0)
+            parent.children.insert(
+              if (position < 0) parent.children.length else position,
+              expanded
+            )
+            !containsSymbolicLinks(expanded)
+          case Some(_) =>
+            false
+        }
+    }
+
+  private def isWatched(path: Path): Boolean =
+    watchedRoots.keysIterator.exists(path.startsWith(_))
+
+  /** Checks if the tree of the path has changed after the given generation.
+    * When the changes are no longer tracked, the tree is assumed to have
+    * changed.
+    */
+  private def isChangedSince(path: Path, generation: Long): Boolean = {
+    val isTracked = changes.headOption.forall(_._1 <= generation + 1)
+    current > generation && (!isTracked || changes.exists {
+      case (changed, changedPath) =>
+        changed > generation &&
+        (changedPath.startsWith(path) || path.startsWith(changedPath))
+    })
+  }
+}
+
+object DirectoryTreeCache {
+
+  /** The default maximum number of cached snapshots. */
+  val DefaultMaxSnapshots: Int = 16
+
+  /** The number of the latest changes checked when storing a tree. */
+  private val MaxTrackedChanges: Int = 1024
+
+  /** A cached directory tree.
+    *
+    * @param root the root directory of the tree
+    * @param depth the depth the tree was read with
+    */
+  private case class Snapshot(root: DirectoryEntry, depth: Option[Int]) {
+
+    /** Finds the directory in the snapshot.
+      *
+      * @param path the path to the directory
+      * @return the directory and its available depth
+      */
+    def find(path: Path): Option[(DirectoryEntry, Option[Int])] =
+      if (path == root.path) {
+        Some((root, depth))
+      } else if (path.startsWith(root.path)) {
+        val names = root.path.relativize(path).iterator().asScala
+        names.foldLeft(Option((root, depth))) {
+          case (Some((directory, available)), name) =>
+            val childPath = directory.path.resolve(name)
+            directory.children.collectFirst {
+              case child: DirectoryEntry if child.path == childPath =>
+                (child, available.map(_ - 1))
+            }
+          case (None, _) =>
+            None
+        }
+      } else {
+        None
+      }
+  }
+
+  /** Checks if the directory read with the `available` depth contains the
+    * tree of the `requested` depth.
+    */
+  private def covers(
+    available: Option[Int],
+    requested: Option[Int]
+  ): Boolean =
+    available.forall(limit => requested.exists(_ <= limit))
+
+  /** Computes the depth to read a new directory with, so that it can be
+    * stored in all the parent directories.
+    *
+    * @param available the depths available in the parent directories
+    * @return the depth to read the new directory with
+    */
+  private def expansionDepth(available: Iterable[Option[Int]]): Option[Int] =
+    if (available.exists(_.isEmpty)) None
+    else Some(available.flatten.maxOption.fold(0)(_ - 1))
+
+  /** Reads the current entry of the path, reading the contents of a
+    * directory up to the provided depth.
+    *
+    * @param path the path to read
+    * @param depth the depth of the directory contents to read
+    * @return the current entry of the path if it exists
+    */
+  private def read(path: Path, depth: Option[Int]): Option[Entry] =
+    if (Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+      FileSystem.readEntry(path) match {
+        case DirectoryEntryTruncated(directory) if depth.forall(_ > 0) =>
+          Some(FileSystem.walk(directory, depth))
+        case entry =>
+          Some(entry)
+      }
+    } else {
+      None
+    }
+
+  /** Checks if the entry was read deep enough to be stored in a directory.
+    *
+    * @param entry the entry
+    * @param depth the depth the entry was read with
+    * @param required the depth required in the directory
+    */
+  private def isExpanded(
+    entry: Entry,
+    depth: Option[Int],
+    required: Option[Int]
+  ): Boolean =
+    entry match {
+      case _: DirectoryEntryTruncated => required.exists(_ <= 0)
+      case _: DirectoryEntry          => covers(depth, required)
+      case _                          => true
+    }
+
+  /** Truncates the entry to the depth required in a directory.
+    *
+    * @param entry the entry
+    * @param required the depth required in the directory
+    * @return the entry to store in the directory
+    */
+  private def truncate(entry: Entry, required: Option[Int]): Entry =
+    entry match {
+      case directory: DirectoryEntry if required.exists(_ <= 0) =>
+        DirectoryEntryTruncated(directory.path)
+      case directory: DirectoryEntry =>
+        copy(directory, required)
+      case entry =>
+        entry
+    }
+
+  /** Copies the directory tree, truncating it to the provided depth.
+    *
+    * @param directory the directory to copy
+    * @param depth maximum depth of the copied tree
+    * @return the copy of the directory tree
+    */
+  private def copy(
+    directory: DirectoryEntry,
+    depth: Option[Int]
+  ): DirectoryEntry = {
+    val children = directory.children.map {
+      case child: DirectoryEntry =>
+        if (depth.forall(_ > 1)) copy(child, depth.map(_ - 1))
+        else DirectoryEntryTruncated(child.path)
+      case entry =>
+        entry
+    }
+    DirectoryEntry(directory.path, children)
+  }
+
+  private def isSameKind(cached: Entry, current: Entry): Boolean =
+    (cached, current) match {
+      case (_: DirectoryEntry, _: DirectoryEntryTruncated) => true
+      case (cached, current) => cached.getClass == current.getClass
+    }
+
+  private def containsSymbolicLinks(entry: Entry): Boolean =
+    entry match {
+      case _: SymbolicLinkEntry =>
+        true
+      case directory: DirectoryEntry =>
+        Files.isSymbolicLink(directory.path) ||
+        directory.children.exists(containsSymbolicLinks)
+      case _ =>
+        false
+    }
+}
@@ -0,0 +1,121 @@
+package org.enso.languageserver.filemanager
+
+import java.nio.file.Path
+
+import org.enso.languageserver.filemanager.WatcherAdapter.{
+  EventType,
+  EventTypeCreate,
+  EventTypeDelete,
+  EventTypeModify,
+  WatcherEvent
+}
+
+import scala.collection.mutable
+
+/** A buffer of the file system events passed from the watcher thread to the
+  * [[PathWatcher]] actor.
+  *
+  * The events waiting in the buffer are debounced by path and collapsed to
+  * their net effect, e.g. a file created and then modified is reported as
+  * created, and a file created and then deleted is not reported at all. The
+  * buffer holds at most `capacity` paths. When it is full, the watcher thread
+  * adding an event of a new path is blocked until the actor drains the
+  * buffer.
+  *
+  * @param capacity the maximum number of the buffered paths
+  */
+final class FileEventBuffer(capacity: Int) {
+
+  private val events   = mutable.LinkedHashMap[Path, EventType]()
+  private var isClosed = false
+
+  /** Add the event to the buffer, blocking while the buffer is full.
+    *
+    * @param event the file system event
+    * @return `true` if the buffer was empty before adding the event
+    */
+  def add(event: WatcherEvent): Boolean =
+    synchronized {
+      try {
+        while (
+          !isClosed &&
+          events.size >= capacity &&
+          !events.contains(event.path)
+        ) {
+          wait()
+        }
+        val wasEmpty = events.isEmpty
+        if (!isClosed) {
+          events.get(event.path) match {
+            case Some(previous) =>
+              FileEventBuffer.collapse(previous, event.eventType) match {
+                case Some(eventType) => events(event.path) = eventType
+                case None            => events -= event.path
+              }
+            case None =>
+              events(event.path) = event.eventType
+          }
+        }
+        wasEmpty && events.nonEmpty
+      } catch {
+        case _: InterruptedException =>
+          Thread.currentThread().interrupt()
+          false
+      }
+    }
+
+  /** Remove the oldest events from the buffer.
+    *
+    * @param maxEvents the maximum number of the removed events
+    * @return the removed events
+    */
+  def drain(maxEvents: Int): Seq[WatcherEvent] =
+    synchronized {
+      val drained = events.iterator
+        .take(maxEvents)
+        .map { case (path, eventType) => WatcherEvent(path, eventType) }
+        .toVector
+      drained.foreach(event => events -= event.path)
+      notifyAll()
+      drained
+    }
+
+  /** @return `true` if there are no events in the buffer */
+  def isEmpty: Boolean =
+    synchronized {
+      events.isEmpty
+    }
+
+  /** Close the buffer, dropping the buffered events, the blocked events and
+    * the events added later.
+    */
+  def close(): Unit =
+    synchronized {
+      isClosed = true
+      events.clear()
+      notifyAll()
+    }
+}
+
+object FileEventBuffer {
+
+  /** Collapse two consecutive events of the same path.
+    *
+    * @param previous the type of the earlier event
+    * @param next the type of the later event
+    * @return the type of the event having the same net effect, or `None` if
+    * the events cancel each other out
+    */
+  private def collapse(
+    previous: EventType,
+    next: EventType
+  ): Option[EventType] =
+    (previous, next) match {
+      case (EventTypeCreate, EventTypeDelete) => None
+      case (EventTypeCreate, _)               => Some(EventTypeCreate)
+      case (EventTypeDelete, EventTypeDelete) => Some(EventTypeDelete)
+      case (EventTypeDelete, _)               => Some(EventTypeModify)
+      case (EventTypeModify, EventTypeDelete) => Some(EventTypeDelete)
+      case (EventTypeModify, _)               => Some(EventTypeModify)
+    }
+}
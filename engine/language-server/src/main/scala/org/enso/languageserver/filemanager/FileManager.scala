@@ -1,5 +1,7 @@
 package org.enso.languageserver.filemanager
 
+import java.io.File
+
 import akka.actor.{Actor, ActorLogging, Props}
 import akka.routing.SmallestMailboxPool
 import akka.pattern.pipe
@@ -14,11 +16,13 @@ import zio._
   *
   * @param config configuration
   * @param fs an instance of a [[FileSystem]] that creates the effects
+  * @param treeCache the cache of directory trees
   * @param exec effects executor
   */
 class FileManager(
   config: Config,
   fs: FileSystemApi[BlockingIO],
+  treeCache: DirectoryTreeCache,
   exec: Exec[BlockingIO]
 ) extends Actor
     with ActorLogging
@@ -26,6 +30,9 @@ class FileManager(
 
   import context.dispatcher
 
+  private val binaryOperations =
+    new BinaryFileOperations(config, fs, treeCache)
+
   override def receive: Receive = {
     case Ping =>
       sender() ! Pong
@@ -40,6 +47,7 @@ class FileManager(
         for {
           rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
           _        <- fs.write(path.toFile(rootPath), content)
+          _        <- updateTreeCache(path.toFile(rootPath))
         } yield ()
       exec
         .execTimed(config.fileManager.timeout, result)
@@ -48,11 +56,7 @@ class FileManager(
       ()
 
     case FileManagerProtocol.WriteBinaryFile(path, contents) =>
-      val result =
-        for {
-          rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
-          _        <- fs.writeBinary(path.toFile(rootPath), contents)
-        } yield ()
+      val result = binaryOperations.writeBinaryFile(path, contents)
       exec
         .execTimed(config.fileManager.timeout, result)
         .map(FileManagerProtocol.WriteFileResult)
@@ -71,22 +75,40 @@ class FileManager(
         .pipeTo(sender())
 
     case FileManagerProtocol.ReadBinaryFile(path) =>
-      val result =
-        for {
-          rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
-          file = path.toFile(rootPath)
-          contents <- fs.readBinary(file)
-        } yield FileManagerProtocol.BinaryFileContent(file, contents)
+      val result = binaryOperations.readBinaryFile(path)
       exec
         .execTimed(config.fileManager.timeout, result)
         .map(FileManagerProtocol.ReadBinaryFileResult)
         .pipeTo(sender())
 
+    case FileManagerProtocol.ReadBytes(segment) =>
+      val result = binaryOperations.readBytes(segment)
+      exec
+        .execTimed(config.fileManager.timeout, result)
+        .map(FileManagerProtocol.ReadBytesResult)
+        .pipeTo(sender())
+
+    case FileManagerProtocol.WriteBytes(path, offset, overwrite, bytes) =>
+      val result =
+        binaryOperations.writeBytes(path, offset, overwrite, bytes)
+      exec
+        .execTimed(config.fileManager.timeout, result)
+        .map(FileManagerProtocol.WriteBytesResult)
+        .pipeTo(sender())
+
+    case FileManagerProtocol.ChecksumBytes(segment) =>
+      val result = binaryOperations.checksumBytes(segment)
+      exec
+        .execTimed(config.fileManager.timeout, result)
+        .map(FileManagerProtocol.ChecksumBytesResult)
+        .pipeTo(sender())
+
     case FileManagerProtocol.CreateFile(FileSystemObject.File(name, path)) =>
       val result =
         for {
           rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
           _        <- fs.createFile(path.toFile(rootPath, name))
+          _        <- updateTreeCache(path.toFile(rootPath, name))
         } yield ()
       exec
         .execTimed(config.fileManager.timeout, result)
@@ -101,6 +123,7 @@ class FileManager(
         for {
           rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
           _        <- fs.createDirectory(path.toFile(rootPath, name))
+          _        <- updateTreeCache(path.toFile(rootPath, name))
         } yield ()
       exec
         .execTimed(config.fileManager.timeout, result)
@@ -113,6 +136,7 @@ class FileManager(
         for {
           rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
           _        <- fs.delete(path.toFile(rootPath))
+          _        <- updateTreeCache(path.toFile(rootPath))
         } yield ()
       exec
         .execTimed(config.fileManager.timeout, result)
@@ -126,6 +150,7 @@ class FileManager(
           rootPathFrom <- IO.fromEither(config.findContentRoot(from.rootId))
           rootPathTo   <- IO.fromEither(config.findContentRoot(to.rootId))
           _            <- fs.copy(from.toFile(rootPathFrom), to.toFile(rootPathTo))
+          _            <- updateTreeCache(to.toFile(rootPathTo))
         } yield ()
       exec
         .execTimed(config.fileManager.timeout, result)
@@ -139,6 +164,8 @@ class FileManager(
           rootPathFrom <- IO.fromEither(config.findContentRoot(from.rootId))
           rootPathTo   <- IO.fromEither(config.findContentRoot(to.rootId))
           _            <- fs.move(from.toFile(rootPathFrom), to.toFile(rootPathTo))
+          _            <- updateTreeCache(from.toFile(rootPathFrom))
+          _            <- updateTreeCache(to.toFile(rootPathTo))
         } yield ()
       exec
         .execTimed(config.fileManager.timeout, result)
@@ -174,7 +201,7 @@ class FileManager(
       val result =
         for {
           rootPath  <- IO.fromEither(config.findContentRoot(path.rootId))
-          directory <- fs.tree(path.toFile(rootPath), depth)
+          directory <- readTree(path.toFile(rootPath), depth)
         } yield DirectoryTree.fromDirectoryEntry(rootPath, path, directory)
       exec
         .execTimed(config.fileManager.timeout, result)
@@ -194,14 +221,54 @@ class FileManager(
         .pipeTo(sender())
       ()
   }
+
+  /** Returns the tree of a given path, reading it from the cache if
+    * possible.
+    *
+    * @param path to the directory
+    * @param depth maximum depth of a directory tree
+    * @return either [[FileSystemFailure]] or directory structure
+    */
+  private def readTree(
+    path: File,
+    depth: Option[Int]
+  ): BlockingIO[FileSystemFailure, FileSystemApi.DirectoryEntry] =
+    IO.effectTotal(treeCache.get(path.toPath, depth)).flatMap {
+      case Some(directory) =>
+        IO.succeed(directory)
+      case None =>
+        val generation = treeCache.generation
+        fs.tree(path, depth).tap { directory =>
+          IO.effectTotal(
+            treeCache.put(path.toPath, depth, generation, directory)
+          )
+        }
+    }
+
+  /** Patches the cached directory trees after the path has changed.
+    *
+    * @param path the changed path
+    */
+  private def updateTreeCache(path: File): UIO[Unit] =
+    IO.effectTotal(treeCache.update(path.toPath))
 }
 
 object FileManager {
 
-  def props(config: Config, fs: FileSystem, exec: Exec[BlockingIO]): Props =
-    Props(new FileManager(config, fs, exec))
+  def props(
+    config: Config,
+    fs: FileSystem,
+    treeCache: DirectoryTreeCache,
+    exec: Exec[BlockingIO]
+  ): Props =
+    Props(new FileManager(config, fs, treeCache, exec))
 
-  def pool(config: Config, fs: FileSystem, exec: Exec[BlockingIO]): Props =
+  def pool(
+    config: Config,
+    fs: FileSystem,
+    treeCache: DirectoryTreeCache,
+    exec: Exec[BlockingIO]
+  ): Props =
     SmallestMailboxPool(config.fileManager.parallelism)
-      .props(props(config, fs, exec))
+      .props(props(config, fs, treeCache, exec))
 }
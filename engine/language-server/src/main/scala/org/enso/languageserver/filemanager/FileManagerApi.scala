@@ -1,5 +1,7 @@
 package org.enso.languageserver.filemanager
 
+import io.circe.Json
+import io.circe.syntax._
 import org.enso.jsonrpc.{Error, HasParams, HasResult, Method, Unused}
 
 /** The file manager JSON RPC API provided by the language server.
@@ -163,4 +165,27 @@ object FileManagerApi {
 
   case object NotDirectoryError extends Error(1006, "Path is not a directory")
 
+  case object NotFileError extends Error(1007, "Path is not a file")
+
+  case object CannotOverwriteError
+      extends Error(
+        1008,
+        "Cannot overwrite the file without `overwriteExisting` set"
+      )
+
+  case class ReadOutOfBoundsError(length: Long)
+      extends Error(1009, "Read is out of bounds for the file") {
+    override def payload: Option[Json] =
+      Some(Json.obj("fileLength" -> length.asJson))
+  }
+
+  case class ReadChunkTooLargeError(maxLength: Long)
+      extends Error(1010, "Read is larger than the maximum chunk length") {
+    override def payload: Option[Json] =
+      Some(Json.obj("maxLength" -> maxLength.asJson))
+  }
+
+  case object InvalidByteRangeError
+      extends Error(1011, "Byte offset and length must not be negative")
+
 }
@@ -1,6 +1,7 @@
 package org.enso.languageserver.filemanager
 
 import java.io.File
+import java.nio.ByteBuffer
 import java.util.UUID
 
 object FileManagerProtocol {
@@ -77,6 +78,68 @@ object FileManagerProtocol {
     result: Either[FileSystemFailure, BinaryFileContent]
   )
 
+  /** A segment of a file.
+    *
+    * @param path a path to a file
+    * @param byteOffset the offset of the first byte of the segment
+    * @param length the length of the segment in bytes
+    */
+  case class FileSegment(path: Path, byteOffset: Long, length: Long)
+
+  /** Transfer object containing a segment of a binary file with its checksum.
+    *
+    * @param checksum the checksum of the bytes
+    * @param bytes the bytes of the segment
+    */
+  case class FileBytes(checksum: Array[Byte], bytes: ByteBuffer)
+
+  /** Requests the Language Server to read a segment of a file.
+    *
+    * @param segment a segment of a file
+    */
+  case class ReadBytes(segment: FileSegment)
+
+  /** Returns a result of reading a segment of a file.
+    *
+    * @param result either file system failure or the bytes read
+    */
+  case class ReadBytesResult(result: Either[FileSystemFailure, FileBytes])
+
+  /** Requests the Language Server to write a chunk of bytes to a file.
+    *
+    * @param path a path to a file
+    * @param byteOffset the offset at which the chunk is written
+    * @param overwriteExisting whether the existing bytes can be overwritten
+    * @param bytes the chunk to write
+    */
+  case class WriteBytes(
+    path: Path,
+    byteOffset: Long,
+    overwriteExisting: Boolean,
+    bytes: ByteBuffer
+  )
+
+  /** Returns a result of writing a chunk of bytes.
+    *
+    * @param result either file system failure or the checksum of the chunk
+    */
+  case class WriteBytesResult(result: Either[FileSystemFailure, Array[Byte]])
+
+  /** Requests the Language Server to compute the checksum of a segment of a
+    * file.
+    *
+    * @param segment a segment of a file
+    */
+  case class ChecksumBytes(segment: FileSegment)
+
+  /** Returns a result of computing the checksum of a segment of a file.
+    *
+    * @param result either file system failure or the checksum
+    */
+  case class ChecksumBytesResult(
+    result: Either[FileSystemFailure, Array[Byte]]
+  )
+
   /** Requests the Language Server create a file system object.
     *
     * @param `object` a file system object
@@ -1,8 +1,12 @@
 package org.enso.languageserver.filemanager
 
-import java.io.{File, FileNotFoundException}
+import java.io.{File, FileNotFoundException, IOException}
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
 import java.nio.file._
 import java.nio.file.attribute.BasicFileAttributes
+import java.security.MessageDigest
+import java.util.concurrent.{ForkJoinPool, ForkJoinTask, RecursiveAction}
 
 import org.apache.commons.io.{FileExistsException, FileUtils}
 import org.enso.languageserver.effect.BlockingIO
@@ -10,6 +14,7 @@ import zio._
 import zio.blocking.effectBlocking
 
 import scala.collection.mutable
+import scala.jdk.CollectionConverters._
 
 /** File manipulation facility.
   *
@@ -56,6 +61,121 @@ class FileSystem extends FileSystemApi[BlockingIO] {
     effectBlocking(FileUtils.readFileToByteArray(file))
       .mapError(errorHandling)
 
+  /** @inheritdoc */
+  override def readBytes(
+    file: File,
+    byteOffset: Long,
+    length: Long
+  ): BlockingIO[FileSystemFailure, ReadBytesResult] =
+    if (file.isDirectory) {
+      IO.fail(NotFile)
+    } else {
+      effectBlocking {
+        val channel = FileChannel.open(file.toPath, StandardOpenOption.READ)
+        try {
+          val fileLength = channel.size()
+          if (byteOffset > fileLength) {
+            Left(ReadOutOfBounds(fileLength))
+          } else {
+            val segmentLength = Math.min(
+              Math.min(length, fileLength - byteOffset),
+              Int.MaxValue.toLong
+            )
+            val bytes     = ByteBuffer.allocate(segmentLength.toInt)
+            var endOfFile = false
+            while (bytes.hasRemaining && !endOfFile) {
+              val read =
+                channel.read(bytes, byteOffset + bytes.position())
+              endOfFile = read < 0
+            }
+            bytes.flip()
+            Right(ReadBytesResult(FileSystem.checksum(bytes), bytes))
+          }
+        } finally {
+          channel.close()
+        }
+      }.mapError(errorHandling).absolve
+    }
+
+  /** @inheritdoc */
+  override def writeBytes(
+    file: File,
+    byteOffset: Long,
+    overwriteExisting: Boolean,
+    bytes: ByteBuffer
+  ): BlockingIO[FileSystemFailure, Array[Byte]] =
+    if (file.isDirectory) {
+      IO.fail(NotFile)
+    } else {
+      effectBlocking {
+        FileUtils.forceMkdirParent(file)
+        val channel = FileChannel.open(
+          file.toPath,
+          StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE
+        )
+        try {
+          if (!overwriteExisting && byteOffset < channel.size()) {
+            Left(CannotOverwrite)
+          } else {
+            val chunk    = bytes.duplicate()
+            var position = byteOffset
+            while (chunk.hasRemaining) {
+              position += channel.write(chunk, position)
+            }
+            Right(FileSystem.checksum(bytes))
+          }
+        } finally {
+          channel.close()
+        }
+      }.mapError(errorHandling).absolve
+    }
+
+  /** @inheritdoc */
+  override def checksumBytes(
+    file: File,
+    byteOffset: Long,
+    length: Long
+  ): BlockingIO[FileSystemFailure, Array[Byte]] =
+    if (file.isDirectory) {
+      IO.fail(NotFile)
+    } else {
+      effectBlocking {
+        val channel = FileChannel.open(file.toPath, StandardOpenOption.READ)
+        try {
+          val fileLength = channel.size()
+          if (byteOffset > fileLength) {
+            Left(ReadOutOfBounds(fileLength))
+          } else {
+            val digest =
+              MessageDigest.getInstance(FileSystem.DigestAlgorithm)
+            val buffer    = ByteBuffer.allocate(FileSystem.ChunkSize)
+            val remaining = fileLength - byteOffset
+            val end       = byteOffset + Math.min(remaining, length)
+            var position  = byteOffset
+            var endOfFile = false
+            while (position < end && !endOfFile) {
+              buffer.clear()
+              buffer.limit(
+                Math.min(buffer.capacity().toLong, end - position).toInt
+              )
+              val read = channel.read(buffer, position)
+              if (read < 0) {
+                endOfFile = true
+              } else {
+                buffer.flip()
+                digest.update(buffer)
+                position += read
+              }
+            }
+            Right(digest.digest())
+          }
+        } finally {
+          channel.close()
+        }
+      }.mapError(errorHandling).absolve
+    }
+
   /** Deletes the specified file or directory recursively.
     *
     * @param file path to the file or directory
@@ -184,17 +304,8 @@ class FileSystem extends FileSystemApi[BlockingIO] {
     val limit = FileSystem.Depth(depth)
     if (path.exists && limit.canGoDeeper) {
       if (path.isDirectory) {
-        effectBlocking {
-          val directory = DirectoryEntry.empty(path.toPath)
-          FileSystem.readDirectoryEntry(
-            directory,
-            limit.goDeeper,
-            Vector(),
-            mutable.Queue().appendAll(FileSystem.list(path.toPath)),
-            mutable.Queue()
-          )
-          directory
-        }.mapError(errorHandling)
+        effectBlocking(FileSystem.walk(path.toPath, depth))
+          .mapError(errorHandling)
       } else {
         IO.fail(NotDirectory)
       }
@@ -235,6 +346,24 @@ object FileSystem {
 
   import FileSystemApi._
 
+  /** The algorithm used to compute checksums of file segments. */
+  val DigestAlgorithm: String = "SHA3-224"
+
+  /** The size of a buffer used when streaming the file contents. */
+  private val ChunkSize: Int = 64 * 1024
+
+  /** Computes the checksum of the remaining bytes of a buffer without
+    * modifying its position.
+    *
+    * @param bytes the buffer to compute the checksum of
+    * @return the checksum of the buffer contents
+    */
+  def checksum(bytes: ByteBuffer): Array[Byte] = {
+    val digest = MessageDigest.getInstance(DigestAlgorithm)
+    digest.update(bytes.duplicate())
+    digest.digest()
+  }
+
   /** Represent a depth limit when recursively traversing a directory.
     */
   sealed private trait Depth {
@@ -268,36 +397,56 @@ object FileSystem {
       UnlimitedDepth
   }
 
-  /** Represents subdirectory in the tree algorithm.
+  /** The pool used to read the subdirectories of a tree in parallel. */
+  private lazy val walkerPool: ForkJoinPool =
+    new ForkJoinPool(
+      Math.max(4, java.lang.Runtime.getRuntime.availableProcessors())
+    )
+
+  /** Reads the directory tree of the provided path. Symlinks are resolved.
+    * The subdirectories are read in parallel.
     *
-    * @param entry subdir entry
-    * @param level subdir depth level
-    * @param visited list of visited symlinks
+    * @param path to the directory
+    * @param depth maximum depth of a directory tree, must be positive
+    * @return the directory tree
     */
-  private case class Subdir(
-    entry: DirectoryEntry,
-    level: Depth,
-    visited: Vector[SymbolicLinkEntry]
-  )
+  private[filemanager] def walk(
+    path: Path,
+    depth: Option[Int]
+  ): DirectoryEntry = {
+    val directory = DirectoryEntry.empty(path)
+    walkerPool.invoke(
+      new ReadDirectoryTask(directory, Depth(depth).goDeeper, Vector())
+    )
+    directory
+  }
 
   /** Read an entry without following the symlinks.
     */
-  private def readEntry(path: Path): Entry = {
-    if (Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS)) {
-      FileEntry(path)
-    } else if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
-      DirectoryEntryTruncated(path)
-    } else if (Files.isSymbolicLink(path)) {
-      val target = Files.readSymbolicLink(path)
-      if (Files.exists(target)) {
-        SymbolicLinkEntry(path, target)
+  private[filemanager] def readEntry(path: Path): Entry =
+    try {
+      val attrs = Files.readAttributes(
+        path,
+        classOf[BasicFileAttributes],
+        LinkOption.NOFOLLOW_LINKS
+      )
+      if (attrs.isRegularFile) {
+        FileEntry(path)
+      } else if (attrs.isDirectory) {
+        DirectoryEntryTruncated(path)
+      } else if (attrs.isSymbolicLink) {
+        val target = Files.readSymbolicLink(path)
+        if (Files.exists(target)) {
+          SymbolicLinkEntry(path, target)
+        } else {
+          OtherEntry(path)
+        }
       } else {
         OtherEntry(path)
       }
-    } else {
-      OtherEntry(path)
+    } catch {
+      case _: IOException => OtherEntry(path)
     }
-  }
 
   /** Read the target of a symlink.
     */
@@ -317,119 +466,76 @@ object FileSystem {
     * @return list of entries
     */
   private def list(path: Path): Vector[Entry] = {
-    def accumulator(acc: Vector[Entry], path: Path): Vector[Entry] =
-      acc :+ readEntry(path)
-    def combiner(as: Vector[Entry], bs: Vector[Entry]): Vector[Entry] =
-      as ++ bs
-    Files
-      .list(path)
-      .reduce(Vector(), accumulator, combiner)
-      .sortBy(_.path)
+    val stream = Files.newDirectoryStream(path)
+    try {
+      stream.iterator().asScala.map(readEntry).toVector.sortBy(_.path)
+    } finally {
+      stream.close()
+    }
   }
 
-  /** Makes BFS traversal and updates provided directory [[DirectoryEntry]].
-    * Symlinks are resolved. Returned [[SymbolicLinkEntry]] indicates a loop.
+  /** Reads the contents of a directory and forks the tasks reading its
+    * subdirectories. Symlinks are resolved. Returned [[SymbolicLinkEntry]]
+    * indicates a loop.
     *
-    * @param directory current directory
+    * The entries of a directory are processed in order, resolved symlinks
+    * are processed after the other entries.
+    *
+    * @param directory the directory to fill with its contents
     * @param level a maximum depth of the directory tree
     * @param visited symlinked directories
-    * @param entryQueue unprocessed directory entries
-    * @param subdirQueue unprocessed subdirectories
     */
-  @scala.annotation.tailrec
-  private def readDirectoryEntry(
+  private class ReadDirectoryTask(
     directory: DirectoryEntry,
     level: Depth,
-    visited: Vector[SymbolicLinkEntry],
-    entryQueue: mutable.Queue[Entry],
-    subdirQueue: mutable.Queue[Subdir]
-  ): Unit = {
-    if (entryQueue.isEmpty) {
-      // done with the current directory, sort children and go to the next one
-      directory.children.sortInPlaceBy(_.path)
-      if (subdirQueue.nonEmpty) {
-        val subdir = subdirQueue.dequeue()
-        readDirectoryEntry(
-          subdir.entry,
-          subdir.level,
-          subdir.visited,
-          mutable.Queue().appendAll(list(subdir.entry.path)),
-          subdirQueue
-        )
-      }
-    } else {
-      // process next entry
-      entryQueue.dequeue() match {
+    visited: Vector[SymbolicLinkEntry]
+  ) extends RecursiveAction {
+
+    override def compute(): Unit = {
+      val subdirs      = mutable.ArrayBuffer[ReadDirectoryTask]()
+      val resolved     = mutable.ArrayBuffer[Entry]()
+      var visitedLinks = visited
+
+      def addDirectory(path: Path): Unit =
+        if (level.canGoDeeper) {
+          // can go deeper, schedule reading the subdirectory
+          val subdir = DirectoryEntry.empty(path)
+          directory.children.append(subdir)
+          subdirs.append(
+            new ReadDirectoryTask(subdir, level.goDeeper, visitedLinks)
+          )
+        } else {
+          // can't go deeper, add truncated directory to children
+          directory.children.append(DirectoryEntryTruncated(path))
+        }
+
+      list(directory.path).foreach {
         case DirectoryEntryTruncated(path) =>
-          if (level.canGoDeeper) {
-            // can go deeper, enqueue subdirectory and continue
-            val subdir = DirectoryEntry.empty(path)
-            directory.children.append(subdir)
-            subdirQueue.enqueue(Subdir(subdir, level.goDeeper, visited))
-            readDirectoryEntry(
-              directory,
-              level,
-              visited,
-              entryQueue,
-              subdirQueue
-            )
-          } else {
-            // can't go deeper, add truncated directory to children and continue
-            directory.children.append(DirectoryEntryTruncated(path))
-            readDirectoryEntry(
-              directory,
-              level,
-              visited,
-              entryQueue,
-              subdirQueue
-            )
-          }
+          addDirectory(path)
         case symlink @ SymbolicLinkEntry(path, target) =>
           if (Files.isDirectory(target, LinkOption.NOFOLLOW_LINKS)) {
-            visited.find(_.target == target) match {
+            visitedLinks.find(_.target == target) match {
               case Some(SymbolicLinkEntry(visitedPath, _)) =>
                 // symlink has been already visited, break the loop
                 directory.children.append(SymbolicLinkEntry(path, visitedPath))
-                readDirectoryEntry(
-                  directory,
-                  level,
-                  visited,
-                  entryQueue,
-                  subdirQueue
-                )
               case None =>
-                // add symlink to visited, enqueue resolved symlink and continue
-                entryQueue.enqueue(readSymbolicLink(path))
-                readDirectoryEntry(
-                  directory,
-                  level,
-                  visited :+ symlink,
-                  entryQueue,
-                  subdirQueue
-                )
+                // add symlink to visited and resolve it later
+                visitedLinks :+= symlink
+                resolved.append(readSymbolicLink(path))
             }
           } else {
-            // symlink is not a directory, enqueue resolved symlink and continue
-            entryQueue.enqueue(readSymbolicLink(path))
-            readDirectoryEntry(
-              directory,
-              level,
-              visited,
-              entryQueue,
-              subdirQueue
-            )
+            resolved.append(readSymbolicLink(path))
           }
         case entry =>
-          // add entry and continue
           directory.children.append(entry)
-          readDirectoryEntry(
-            directory,
-            level,
-            visited,
-            entryQueue,
-            subdirQueue
-          )
       }
+      resolved.foreach {
+        case DirectoryEntryTruncated(path) => addDirectory(path)
+        case entry                         => directory.children.append(entry)
+      }
+      directory.children.sortInPlaceBy(_.path)
+
+      ForkJoinTask.invokeAll(subdirs.asJava): Unit
     }
   }
 }
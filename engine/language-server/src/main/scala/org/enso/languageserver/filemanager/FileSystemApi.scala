@@ -1,6 +1,7 @@
 package org.enso.languageserver.filemanager
 
 import java.io.File
+import java.nio.ByteBuffer
 import java.nio.file.Path
 import java.nio.file.attribute.{BasicFileAttributes, FileTime}
 import java.time.{OffsetDateTime, ZoneOffset}
@@ -54,6 +55,56 @@ trait FileSystemApi[F[_, _]] {
     */
   def readBinary(file: File): BlockingIO[FileSystemFailure, Array[Byte]]
 
+  /** Reads a segment of a binary file.
+    *
+    * Only the segment is read, so reading a small segment of a large file
+    * doesn't load the whole file into memory. The segment is truncated at the
+    * end of the file.
+    *
+    * @param file path to the file
+    * @param byteOffset the offset of the first byte to read
+    * @param length the maximum number of bytes to read
+    * @return either [[FileSystemFailure]] or the bytes read with their
+    *         checksum
+    */
+  def readBytes(
+    file: File,
+    byteOffset: Long,
+    length: Long
+  ): F[FileSystemFailure, ReadBytesResult]
+
+  /** Writes a chunk of bytes to a file at the given offset.
+    *
+    * Allows large files to be uploaded in a sequence of bounded chunks. The
+    * file is created if it doesn't exist.
+    *
+    * @param file path to the file
+    * @param byteOffset the offset at which the chunk is written
+    * @param overwriteExisting whether the chunk may overwrite the existing
+    *                          bytes of the file
+    * @param bytes the chunk to write
+    * @return either [[FileSystemFailure]] or the checksum of the written chunk
+    */
+  def writeBytes(
+    file: File,
+    byteOffset: Long,
+    overwriteExisting: Boolean,
+    bytes: ByteBuffer
+  ): F[FileSystemFailure, Array[Byte]]
+
+  /** Computes the checksum of a segment of a file.
+    *
+    * @param file path to the file
+    * @param byteOffset the offset of the first byte of the segment
+    * @param length the length of the segment
+    * @return either [[FileSystemFailure]] or the checksum of the segment
+    */
+  def checksumBytes(
+    file: File,
+    byteOffset: Long,
+    length: Long
+  ): F[FileSystemFailure, Array[Byte]]
+
   /** Deletes the specified file or directory recursively.
     *
     * @param file path to the file or directory
@@ -133,6 +184,13 @@ trait FileSystemApi[F[_, _]] {
 
 object FileSystemApi {
 
+  /** A result of reading a segment of a file.
+    *
+    * @param checksum the checksum of the bytes read
+    * @param bytes the bytes read
+    */
+  case class ReadBytesResult(checksum: Array[Byte], bytes: ByteBuffer)
+
   /** An object representing abstract file system entry.
     */
   sealed trait Entry {
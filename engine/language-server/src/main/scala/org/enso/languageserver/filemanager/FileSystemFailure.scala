@@ -28,6 +28,32 @@ case object OperationTimeout extends FileSystemFailure
   */
 case object NotDirectory extends FileSystemFailure
 
+/** Signal that the provided path is not a regular file.
+  */
+case object NotFile extends FileSystemFailure
+
+/** Signal that the write would overwrite existing bytes of a file without
+  * the permission to do so.
+  */
+case object CannotOverwrite extends FileSystemFailure
+
+/** Signal that the requested byte offset lies past the end of the file.
+  *
+  * @param fileLength the length of the file in bytes
+  */
+case class ReadOutOfBounds(fileLength: Long) extends FileSystemFailure
+
+/** Signal that the requested segment is longer than the server reads at
+  * once.
+  *
+  * @param maxLength the maximum length of a segment in bytes
+  */
+case class ReadChunkTooLarge(maxLength: Long) extends FileSystemFailure
+
+/** Signal that the requested byte offset or length is negative.
+  */
+case object InvalidByteRange extends FileSystemFailure
+
 /** Signals file system specific errors.
   *
   * @param reason a reason of failure
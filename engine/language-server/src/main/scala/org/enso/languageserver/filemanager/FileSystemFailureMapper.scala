@@ -1,12 +1,17 @@
 package org.enso.languageserver.filemanager
 
 import org.enso.languageserver.filemanager.FileManagerApi.{
+  CannotOverwriteError,
   ContentRootNotFoundError,
   FileExistsError,
   FileNotFoundError,
   FileSystemError,
+  InvalidByteRangeError,
   NotDirectoryError,
-  OperationTimeoutError
+  NotFileError,
+  OperationTimeoutError,
+  ReadChunkTooLargeError,
+  ReadOutOfBoundsError
 }
 import org.enso.jsonrpc.Error
 import org.enso.languageserver.protocol.json.ErrorApi
@@ -26,6 +31,11 @@ object FileSystemFailureMapper {
       case FileExists                       => FileExistsError
       case OperationTimeout                 => OperationTimeoutError
       case NotDirectory                     => NotDirectoryError
+      case NotFile                          => NotFileError
+      case CannotOverwrite                  => CannotOverwriteError
+      case ReadOutOfBounds(length)          => ReadOutOfBoundsError(length)
+      case ReadChunkTooLarge(maxLength)     => ReadChunkTooLargeError(maxLength)
+      case InvalidByteRange                 => InvalidByteRangeError
       case GenericFileSystemFailure(reason) => FileSystemError(reason)
     }
 
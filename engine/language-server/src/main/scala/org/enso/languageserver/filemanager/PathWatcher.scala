@@ -26,13 +26,20 @@ import scala.concurrent.Await
 /** Starts [[WatcherAdapter]], handles errors, converts and sends
   * events to the client.
   *
+  * The events are passed from the watcher thread through the
+  * [[FileEventBuffer]], collapsing the events of the same path. They are sent
+  * to the clients in batches, after waiting for the events timeout since the
+  * first event of a batch.
+  *
   * @param config configuration
   * @param fs file system
+  * @param treeCache the cache of directory trees patched with the events
   * @param exec executor of file system effects
   */
 final class PathWatcher(
   config: Config,
   fs: FileSystemApi[BlockingIO],
+  treeCache: DirectoryTreeCache,
   exec: Exec[BlockingIO]
 ) extends Actor
     with ActorLogging
@@ -42,7 +49,10 @@ final class PathWatcher(
 
   private val restartCounter =
     new PathWatcher.RestartCounter(config.pathWatcher.maxRestarts)
+  private val eventBuffer =
+    new FileEventBuffer(config.pathWatcher.maxPendingEvents)
   private var fileWatcher: Option[WatcherAdapter] = None
+  private var watchedRoot: Option[File]           = None
 
   override def preStart(): Unit = {
     context.system.eventStream
@@ -63,7 +73,7 @@ final class PathWatcher(
         pathToWatch <- IO.fromEither(pathToWatchResult)
         _           <- validatePath(pathToWatch)
         watcher     <- IO.fromEither(buildWatcher(pathToWatch))
-        _           <- IO.fromEither(startWatcher(watcher))
+        _           <- IO.fromEither(startWatcher(pathToWatch, watcher))
       } yield ()
 
     exec
@@ -99,10 +109,25 @@ final class PathWatcher(
         if clients.contains(client.rpcController) =>
       unregisterClient(root, base, clients - client.rpcController)
 
-    case e: WatcherAdapter.WatcherEvent =>
-      restartCounter.reset()
-      val event = FileEvent.fromWatcherEvent(root, base, e)
-      clients.foreach(_ ! FileEventResult(event))
+    case PathWatcher.EventsPending =>
+      context.system.scheduler.scheduleOnce(
+        config.pathWatcher.eventsTimeout,
+        self,
+        PathWatcher.FlushEvents
+      )
+
+    case PathWatcher.FlushEvents =>
+      val watcherEvents = eventBuffer.drain(config.pathWatcher.maxEventsBatch)
+      if (!eventBuffer.isEmpty) {
+        self ! PathWatcher.FlushEvents
+      }
+      if (watcherEvents.nonEmpty) {
+        restartCounter.reset()
+        watcherEvents.foreach(e => treeCache.update(e.path))
+        val events =
+          watcherEvents.map(FileEvent.fromWatcherEvent(root, base, _))
+        clients.foreach(_ ! FileEventsResult(events))
+      }
 
     case WatcherAdapter.WatcherError(e) =>
       stopWatcher()
@@ -147,22 +172,34 @@ final class PathWatcher(
     path: File
   ): Either[FileSystemFailure, WatcherAdapter] =
     Either
-      .catchNonFatal(WatcherAdapter.build(path.toPath, self ! _, self ! _))
+      .catchNonFatal(WatcherAdapter.build(path.toPath, onEvent, self ! _))
       .leftMap(errorHandler)
 
+  /** Buffers the event, called on the watcher thread. */
+  private def onEvent(event: WatcherAdapter.WatcherEvent): Unit =
+    if (eventBuffer.add(event)) {
+      self ! PathWatcher.EventsPending
+    }
+
   private def startWatcher(
+    path: File,
     watcher: WatcherAdapter
   ): Either[FileSystemFailure, Unit] =
     Either
       .catchNonFatal {
         fileWatcher = Some(watcher)
+        watchedRoot = Some(path)
         exec.exec_(watcher.start())
+        treeCache.watch(path.toPath)
       }
       .leftMap(errorHandler)
 
   private def stopWatcher(): Either[FileSystemFailure, Unit] =
     Either
       .catchNonFatal {
+        eventBuffer.close()
+        watchedRoot.foreach(root => treeCache.unwatch(root.toPath))
+        watchedRoot = None
         fileWatcher.foreach { watcher =>
           Await.ready(exec.exec(watcher.stop()), config.pathWatcher.timeout)
         }
@@ -176,6 +213,12 @@ final class PathWatcher(
 
 object PathWatcher {
 
+  /** Notifies that the events buffer is no longer empty. */
+  private case object EventsPending
+
+  /** Requests to send the buffered events to the clients. */
+  private case object FlushEvents
+
   /** Counter for unsuccessful file watcher restarts.
     *
     * @param maxRestarts maximum restart attempts
@@ -209,12 +252,14 @@ object PathWatcher {
     *
     * @param config configuration
     * @param fs file system
+    * @param treeCache the cache of directory trees patched with the events
     * @param exec executor of file system effects
     */
   def props(
     config: Config,
     fs: FileSystemApi[BlockingIO],
+    treeCache: DirectoryTreeCache,
     exec: Exec[BlockingIO]
   ): Props =
-    Props(new PathWatcher(config, fs, exec))
+    Props(new PathWatcher(config, fs, treeCache, exec))
 }
@@ -20,10 +20,10 @@ object PathWatcherProtocol {
     */
   case class UnwatchPath(client: ActorRef)
 
-  /** Returns a file event result.
+  /** Returns a batch of file events.
     *
-    * @param result file event
+    * @param events file events
     */
-  case class FileEventResult(result: FileEvent)
+  case class FileEventsResult(events: Seq[FileEvent])
 
 }
@@ -47,11 +47,13 @@ import org.enso.languageserver.util.UnhandledLogging
   *
   * @param config configuration
   * @param fs file system
+  * @param treeCache the cache of directory trees
   * @param exec executor of file system events
   */
 final class ReceivesTreeUpdatesHandler(
   config: Config,
   fs: FileSystemApi[BlockingIO],
+  treeCache: DirectoryTreeCache,
   exec: Exec[BlockingIO]
 ) extends Actor
     with ActorLogging
@@ -73,7 +75,7 @@ final class ReceivesTreeUpdatesHandler(
           )
         case None =>
           val watcher =
-            context.actorOf(PathWatcher.props(config, fs, exec))
+            context.actorOf(PathWatcher.props(config, fs, treeCache, exec))
           context.watch(watcher)
           watcher.forward(
             PathWatcherProtocol.WatchPath(path, client.rpcController)
@@ -142,12 +144,14 @@ object ReceivesTreeUpdatesHandler {
     *
     * @param config configuration
     * @param fs file system
+    * @param treeCache the cache of directory trees
     * @param exec executor of file system events
     */
   def props(
     config: Config,
     fs: FileSystemApi[BlockingIO],
+    treeCache: DirectoryTreeCache,
     exec: Exec[BlockingIO]
   ): Props =
-    Props(new ReceivesTreeUpdatesHandler(config, fs, exec))
+    Props(new ReceivesTreeUpdatesHandler(config, fs, treeCache, exec))
 }
@@ -0,0 +1,54 @@
+package org.enso.languageserver.monitoring
+
+import org.enso.polyglot.metrics.{Counter, MetricsRegistry}
+
+/** The metrics of the language server. */
+object LanguageServerMetrics {
+
+  /** The registry of the language server metrics. */
+  val Registry: MetricsRegistry = new MetricsRegistry
+
+  /** The number of the requests received on the JSON channel. */
+  val JsonRequestsReceived: Counter =
+    Registry.counter(
+      "enso_language_server_json_requests_total",
+      "Requests received on the JSON channel."
+    )
+
+  /** The number of the messages received on the binary channel. */
+  val BinaryMessagesReceived: Counter =
+    Registry.counter(
+      "enso_language_server_binary_messages_received_total",
+      "Messages received on the binary channel."
+    )
+
+  /** The number of the visualisation updates sent on the binary channel. */
+  val BinaryUpdatesSent: Counter =
+    Registry.counter(
+      "enso_language_server_binary_updates_sent_total",
+      "Visualisation updates sent on the binary channel."
+    )
+
+  /** The number of the expression types received from the runtime. */
+  val ExpressionTypesReceived: Counter =
+    Registry.counter(
+      "enso_language_server_expression_types_received_total",
+      "Expression types received from the runtime."
+    )
+
+  /** The number of the expression types written after merging the repeated
+    * updates of the same expression.
+    */
+  val ExpressionTypesWritten: Counter =
+    Registry.counter(
+      "enso_language_server_expression_types_written_total",
+      "Expression types written to the suggestions database."
+    )
+
+  /** The number of the suggestions updated with the expression types. */
+  val SuggestionTypesUpdated: Counter =
+    Registry.counter(
+      "enso_language_server_suggestion_types_updated_total",
+      "Suggestions updated with the expression types."
+    )
+}
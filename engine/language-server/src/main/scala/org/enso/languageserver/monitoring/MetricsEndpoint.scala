@@ -0,0 +1,67 @@
+package org.enso.languageserver.monitoring
+
+import java.util.UUID
+
+import akka.actor.ActorRef
+import akka.http.scaladsl.model.{ContentTypes, HttpEntity}
+import akka.http.scaladsl.server.Directives._
+import akka.http.scaladsl.server.Route
+import akka.pattern.ask
+import akka.util.Timeout
+import org.enso.jsonrpc._
+import org.enso.polyglot.runtime.Runtime.Api
+
+import scala.concurrent.duration._
+import scala.concurrent.{ExecutionContext, Future}
+import scala.util.{Failure, Success}
+
+/** HTTP endpoint that exports the metrics of the language server and the
+  * runtime in the Prometheus text format.
+  *
+  * The runtime metrics are requested from the runtime connector. If the
+  * runtime doesn't respond in time, only the language server metrics are
+  * exported.
+  *
+  * @param runtimeConnector a gateway to the runtime
+  * @param ec an execution context
+  */
+class MetricsEndpoint(runtimeConnector: ActorRef)(implicit
+  ec: ExecutionContext
+) extends Endpoint {
+
+  implicit private val timeout: Timeout = Timeout(5.seconds)
+
+  /** @inheritdoc */
+  override def route: Route =
+    path("metrics") {
+      get {
+        onComplete(getRuntimeMetrics) {
+          case Success(runtimeMetrics) =>
+            complete(metricsEntity(runtimeMetrics))
+
+          case Failure(_) =>
+            complete(metricsEntity(""))
+        }
+      }
+    }
+
+  private def getRuntimeMetrics: Future[String] = {
+    val request = Api.Request(UUID.randomUUID(), Api.GetMetricsRequest())
+    (runtimeConnector ? request).flatMap {
+      case Api.Response(_, Api.GetMetricsResponse(metrics)) =>
+        Future.successful(metrics)
+
+      case response =>
+        Future.failed(
+          new Exception(s"Unexpected runtime response: $response")
+        )
+    }
+  }
+
+  private def metricsEntity(runtimeMetrics: String): HttpEntity.Strict =
+    HttpEntity(
+      ContentTypes.`text/plain(UTF-8)`,
+      LanguageServerMetrics.Registry.format() + runtimeMetrics
+    )
+
+}
@@ -15,10 +15,14 @@ import org.enso.languageserver.http.server.BinaryWebSocketControlProtocol.{
   ConnectionFailed,
   OutboundStreamEstablished
 }
+import org.enso.languageserver.monitoring.LanguageServerMetrics
 import org.enso.languageserver.protocol.binary.BinaryConnectionController.InboundPayloadType
 import org.enso.languageserver.protocol.binary.InboundPayload.{
+  CHECKSUM_BYTES_CMD,
   INIT_SESSION_CMD,
+  READ_BYTES_CMD,
   READ_FILE_CMD,
+  WRITE_BYTES_CMD,
   WRITE_FILE_CMD
 }
 import org.enso.languageserver.protocol.binary.factory.{
@@ -28,10 +32,14 @@ import org.enso.languageserver.protocol.binary.factory.{
   VisualisationUpdateFactory
 }
 import org.enso.languageserver.requesthandler.file.{
+  ChecksumBytesHandler,
   ReadBinaryFileHandler,
-  WriteBinaryFileHandler
+  ReadBytesHandler,
+  WriteBinaryFileHandler,
+  WriteBytesHandler
 }
 import org.enso.languageserver.runtime.ContextRegistryProtocol.{
+  DiscardVisualisationUpdates,
   VisualisationEvaluationFailed,
   VisualisationUpdate
 }
@@ -44,7 +52,6 @@ import org.enso.languageserver.util.binary.DecodingFailure.{
   GenericDecodingFailure
 }
 
-import scala.annotation.unused
 import scala.concurrent.duration._
 
 /** An actor handling data communications between a single client and the
@@ -52,11 +59,16 @@ import scala.concurrent.duration._
   * all incoming requests and dispatching commands.
   *
   * @param clientIp a client ip that the connection controller is created for
+  * @param fileManager a file system manager actor
+  * @param requestTimeout a request timeout
+  * @param directDispatcher the dispatcher handling the file commands directly
+  * instead of the request handler actors
   */
 class BinaryConnectionController(
   clientIp: RemoteAddress.IP,
   fileManager: ActorRef,
-  requestTimeout: FiniteDuration = 10.seconds
+  requestTimeout: FiniteDuration                   = 10.seconds,
+  directDispatcher: Option[BinaryDirectDispatcher] = None
 ) extends Actor
     with Stash
     with ActorLogging
@@ -78,6 +90,7 @@ class BinaryConnectionController(
 
   private def connected(outboundChannel: ActorRef): Receive = {
     case Right(msg: InboundMessage) if msg.payloadType() == INIT_SESSION_CMD =>
+      LanguageServerMetrics.BinaryMessagesReceived.inc()
       val payload =
         msg.payload(new InitSessionCommand).asInstanceOf[InitSessionCommand]
       val clientId =
@@ -85,18 +98,23 @@ class BinaryConnectionController(
           payload.identifier().mostSigBits(),
           payload.identifier().leastSigBits()
         )
+      val chunkedUpdates = payload.chunkedVisualisationUpdates()
 
       val responsePacket = createSessionInitResponsePacket(msg.messageId())
       outboundChannel ! responsePacket
       val session = BinarySession(clientId, self)
+      directDispatcher.foreach(
+        _.register(clientId, outboundChannel, chunkedUpdates)
+      )
       context.system.eventStream.publish(BinarySessionInitialized(session))
       log.info(s"Data session initialized for client: $clientId [$clientIp]")
       context.become(
-        connectionEndHandler(Some(session))
+        connectionEndHandler(Some(session -> outboundChannel))
         orElse initialized(
           outboundChannel,
           clientId,
-          createRequestHandlers(outboundChannel)
+          createRequestHandlers(outboundChannel),
+          Option.unless(chunkedUpdates)(new VisualisationUpdateAssembler)
         )
         orElse decodingFailureHandler(outboundChannel)
       )
@@ -105,22 +123,32 @@ class BinaryConnectionController(
 
   private def initialized(
     outboundChannel: ActorRef,
-    @unused clientId: UUID,
-    handlers: Map[InboundPayloadType, Props]
+    clientId: UUID,
+    handlers: Map[InboundPayloadType, Props],
+    assembler: Option[VisualisationUpdateAssembler]
   ): Receive = {
     case Right(msg: InboundMessage) =>
-      if (handlers.contains(msg.payloadType())) {
-        val handler = context.actorOf(handlers(msg.payloadType()))
-        handler.forward(msg)
-      } else {
-        log.error(
-          s"Received InboundMessage with unknown payload type: ${msg.payloadType()}"
-        )
+      LanguageServerMetrics.BinaryMessagesReceived.inc()
+      if (!directDispatcher.exists(_.dispatch(clientId, msg))) {
+        if (handlers.contains(msg.payloadType())) {
+          val handler = context.actorOf(handlers(msg.payloadType()))
+          handler.forward(msg)
+        } else {
+          log.error(
+            s"Received InboundMessage with unknown payload type: ${msg.payloadType()}"
+          )
+        }
       }
 
-    case update: VisualisationUpdate =>
-      val updatePacket = convertVisualisationUpdateToOutPacket(update)
-      outboundChannel ! updatePacket
+    case chunk: VisualisationUpdate =>
+      assembler.fold(Option(chunk))(_.add(chunk)).foreach { update =>
+        val updatePacket = VisualisationUpdateFactory.createPacket(update)
+        outboundChannel ! updatePacket
+        LanguageServerMetrics.BinaryUpdatesSent.inc()
+      }
+
+    case discard: DiscardVisualisationUpdates =>
+      assembler.foreach(_.discard(discard))
 
     case VisualisationEvaluationFailed(_, msg) =>
       val errorPacket = ErrorFactory.createVisualisationEvaluationError(msg)
@@ -128,13 +156,11 @@ class BinaryConnectionController(
   }
 
   private def connectionEndHandler(
-    maybeDataSession: Option[BinarySession] = None
+    maybeDataSession: Option[(BinarySession, ActorRef)] = None
   ): Receive = {
     case ConnectionClosed =>
       log.info(s"Connection closed [$clientIp]")
-      maybeDataSession.foreach(session =>
-        context.system.eventStream.publish(BinarySessionTerminated(session))
-      )
+      maybeDataSession.foreach(terminateSession)
       context.stop(self)
 
     case ConnectionFailed(th) =>
@@ -142,12 +168,18 @@ class BinaryConnectionController(
         s"An error occurred during processing web socket connection [$clientIp]",
         th
       )
-      maybeDataSession.foreach(session =>
-        context.system.eventStream.publish(BinarySessionTerminated(session))
-      )
+      maybeDataSession.foreach(terminateSession)
       context.stop(self)
   }
 
+  private def terminateSession(
+    dataSession: (BinarySession, ActorRef)
+  ): Unit = {
+    val (session, outboundChannel) = dataSession
+    directDispatcher.foreach(_.unregister(session.clientId, outboundChannel))
+    context.system.eventStream.publish(BinarySessionTerminated(session))
+  }
+
   private def decodingFailureHandler(outboundChannel: ActorRef): Receive = {
     case Left(decodingFailure: DecodingFailure) =>
       val packet = convertDecodingFailureToOutPacket(decodingFailure)
@@ -165,23 +197,6 @@ class BinaryConnectionController(
         ErrorFactory.createServiceError()
     }
 
-  private def convertVisualisationUpdateToOutPacket(
-    update: VisualisationUpdate
-  ): ByteBuffer = {
-    implicit val builder = new FlatBufferBuilder(1024)
-    val event            = VisualisationUpdateFactory.create(update)
-    val msg = OutboundMessageFactory.create(
-      UUID.randomUUID(),
-      None,
-      OutboundPayload.VISUALISATION_UPDATE,
-      event
-    )
-
-    builder.finish(msg)
-    val updatePacket = builder.dataBuffer()
-    updatePacket
-  }
-
   private def createSessionInitResponsePacket(
     requestId: EnsoUUID
   ): ByteBuffer = {
@@ -204,6 +219,12 @@ class BinaryConnectionController(
       WRITE_FILE_CMD -> WriteBinaryFileHandler
         .props(requestTimeout, fileManager, outboundChannel),
       READ_FILE_CMD -> ReadBinaryFileHandler
+        .props(requestTimeout, fileManager, outboundChannel),
+      READ_BYTES_CMD -> ReadBytesHandler
+        .props(requestTimeout, fileManager, outboundChannel),
+      WRITE_BYTES_CMD -> WriteBytesHandler
+        .props(requestTimeout, fileManager, outboundChannel),
+      CHECKSUM_BYTES_CMD -> ChecksumBytesHandler
         .props(requestTimeout, fileManager, outboundChannel)
     )
   }
@@ -6,15 +6,28 @@ import org.enso.languageserver.http.server.ConnectionControllerFactory
 
 /** A factory for binary connection controllers.
   *
+  * @param fileManager a file system manager actor
+  * @param directDispatcher the dispatcher handling the file commands directly
   * @param system an actor system that hosts created connection controllers
   */
-class BinaryConnectionControllerFactory(fileManager: ActorRef)(implicit
+class BinaryConnectionControllerFactory(
+  fileManager: ActorRef,
+  directDispatcher: Option[BinaryDirectDispatcher] = None
+)(implicit
   system: ActorSystem
 ) extends ConnectionControllerFactory {
 
   /** @inheritdoc */
   override def createController(clientIp: RemoteAddress.IP): ActorRef = {
-    system.actorOf(Props(new BinaryConnectionController(clientIp, fileManager)))
+    system.actorOf(
+      Props(
+        new BinaryConnectionController(
+          clientIp,
+          fileManager,
+          directDispatcher = directDispatcher
+        )
+      )
+    )
   }
 
 }
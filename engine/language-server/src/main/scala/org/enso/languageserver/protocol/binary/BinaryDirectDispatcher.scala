@@ -0,0 +1,363 @@
+package org.enso.languageserver.protocol.binary
+
+import java.nio.ByteBuffer
+import java.util.UUID
+import java.util.concurrent.atomic.{AtomicInteger, AtomicReference}
+import java.util.concurrent.{ConcurrentHashMap, Executors, ThreadFactory}
+
+import akka.actor.ActorRef
+import com.typesafe.scalalogging.LazyLogging
+import org.enso.languageserver.effect.{BlockingIO, Exec}
+import org.enso.languageserver.filemanager.{
+  BinaryFileOperations,
+  FileManagerProtocol,
+  FileSystemFailure,
+  FileSystemFailureMapper
+}
+import org.enso.languageserver.monitoring.LanguageServerMetrics
+import org.enso.languageserver.protocol.binary.InboundPayload.{
+  CHECKSUM_BYTES_CMD,
+  READ_BYTES_CMD,
+  READ_FILE_CMD,
+  WRITE_BYTES_CMD,
+  WRITE_FILE_CMD
+}
+import org.enso.languageserver.protocol.binary.factory.{
+  ChecksumBytesReplyFactory,
+  ErrorFactory,
+  FileContentsReplyFactory,
+  ReadBytesReplyFactory,
+  SuccessReplyFactory,
+  VisualisationUpdateFactory,
+  WriteBytesReplyFactory
+}
+import org.enso.languageserver.runtime.ContextRegistryProtocol.{
+  DiscardVisualisationUpdates,
+  VisualisationUpdate
+}
+import org.enso.languageserver.util.file.PathUtils
+
+import scala.concurrent.duration.FiniteDuration
+import scala.concurrent.{ExecutionContext, Future, Promise}
+import scala.util.control.NonFatal
+
+/** Dispatches the file commands of the binary protocol and the visualisation
+  * updates directly to the outbound channels of the binary sessions.
+  *
+  * The direct dispatch bypasses the request handler actors and the
+  * [[org.enso.languageserver.filemanager.FileManager]] for the file commands,
+  * and the session router and the connection controller for the
+  * visualisation updates. The messages are handled on a dedicated executor.
+  * Each session has one lane for the commands and one for the updates, and
+  * the tasks of a lane are run one after another, so the replies and the
+  * updates are delivered in the order they were received.
+  *
+  * @param operations the effects of the binary file commands
+  * @param exec effects executor
+  * @param timeout the timeout of a file operation
+  * @param parallelism the number of the dispatcher threads
+  */
+final class BinaryDirectDispatcher(
+  operations: BinaryFileOperations,
+  exec: Exec[BlockingIO],
+  timeout: FiniteDuration,
+  parallelism: Int
+) extends AutoCloseable
+    with LazyLogging {
+
+  import BinaryDirectDispatcher._
+
+  private val executor =
+    Executors.newFixedThreadPool(parallelism, new DispatcherThreadFactory)
+
+  implicit private val ec: ExecutionContext =
+    ExecutionContext.fromExecutorService(executor)
+
+  private val sessions = new ConcurrentHashMap[UUID, Session]()
+
+  /** Register the binary session of a client.
+    *
+    * @param clientId the client id
+    * @param outboundChannel the channel delivering messages to the client
+    * @param chunkedUpdates whether the client accepts the chunks of the
+    * visualisation updates, otherwise the chunks are joined
+    */
+  def register(
+    clientId: UUID,
+    outboundChannel: ActorRef,
+    chunkedUpdates: Boolean
+  ): Unit = {
+    sessions.put(clientId, new Session(outboundChannel, chunkedUpdates))
+    ()
+  }
+
+  /** Unregister the binary session of a client.
+    *
+    * @param clientId the client id
+    * @param outboundChannel the channel of the terminated session
+    */
+  def unregister(clientId: UUID, outboundChannel: ActorRef): Unit = {
+    sessions.computeIfPresent(
+      clientId,
+      (_, session) =>
+        if (session.outboundChannel == outboundChannel) null else session
+    )
+    ()
+  }
+
+  /** Dispatch the request of a client.
+    *
+    * @param clientId the client id
+    * @param msg the request
+    * @return `true` if the request is handled by the dispatcher and `false`
+    * if it should be handled by the connection controller
+    */
+  def dispatch(clientId: UUID, msg: InboundMessage): Boolean = {
+    val session = sessions.get(clientId)
+    if (session == null || !DirectPayloadTypes.contains(msg.payloadType())) {
+      false
+    } else {
+      session.requests.submit { () =>
+        handleRequest(msg).map(session.outboundChannel ! _)
+      }
+      true
+    }
+  }
+
+  /** Deliver the visualisation update to a client.
+    *
+    * @param clientId the client id
+    * @param chunk a chunk of the visualisation update
+    * @return `true` if the update is delivered by the dispatcher and `false`
+    * if the client doesn't have a registered session
+    */
+  def deliver(clientId: UUID, chunk: VisualisationUpdate): Boolean = {
+    val session = sessions.get(clientId)
+    if (session == null) {
+      false
+    } else {
+      session.updates.submit { () =>
+        session.assemble(chunk).foreach { update =>
+          session.outboundChannel ! VisualisationUpdateFactory.createPacket(
+            update
+          )
+          LanguageServerMetrics.BinaryUpdatesSent.inc()
+        }
+        Future.unit
+      }
+      true
+    }
+  }
+
+  /** Drop the incomplete visualisation updates assembled for a client.
+    *
+    * @param clientId the client id
+    * @param discard the visualisations which updates should be dropped
+    * @return `true` if the updates are dropped by the dispatcher and `false`
+    * if the client doesn't have a registered session
+    */
+  def discard(clientId: UUID, discard: DiscardVisualisationUpdates): Boolean = {
+    val session = sessions.get(clientId)
+    if (session == null) {
+      false
+    } else {
+      session.updates.submit { () =>
+        session.discard(discard)
+        Future.unit
+      }
+      true
+    }
+  }
+
+  /** Stop the dispatcher threads. */
+  override def close(): Unit =
+    executor.shutdown()
+
+  private def handleRequest(msg: InboundMessage): Future[ByteBuffer] = {
+    val requestId = msg.messageId()
+    val reply =
+      try runRequest(msg, requestId)
+      catch { case NonFatal(ex) => Future.failed(ex) }
+    reply.recover { case NonFatal(ex) =>
+      logger.error(s"Failure during request [${msg.payloadType()}]", ex)
+      ErrorFactory.createServiceError(Some(requestId))
+    }
+  }
+
+  private def runRequest(
+    msg: InboundMessage,
+    requestId: EnsoUUID
+  ): Future[ByteBuffer] =
+    msg.payloadType() match {
+      case WRITE_FILE_CMD =>
+        val payload =
+          msg.payload(new WriteFileCommand).asInstanceOf[WriteFileCommand]
+        val path     = PathUtils.convertBinaryPath(payload.path())
+        val bytes    = payload.contentsAsByteBuffer()
+        val contents = Array.fill[Byte](bytes.remaining())(0)
+        bytes.get(contents)
+        run(operations.writeBinaryFile(path, contents), requestId) { _ =>
+          SuccessReplyFactory.createPacket(requestId)
+        }
+
+      case READ_FILE_CMD =>
+        val payload =
+          msg.payload(new ReadFileCommand).asInstanceOf[ReadFileCommand]
+        val path = PathUtils.convertBinaryPath(payload.path())
+        run(operations.readBinaryFile(path), requestId) { fileContent =>
+          FileContentsReplyFactory.createPacket(fileContent.contents, requestId)
+        }
+
+      case READ_BYTES_CMD =>
+        val payload =
+          msg.payload(new ReadBytesCommand).asInstanceOf[ReadBytesCommand]
+        val segment = toFileSegment(payload.segment())
+        run(operations.readBytes(segment), requestId) { fileBytes =>
+          ReadBytesReplyFactory.createPacket(
+            fileBytes.checksum,
+            fileBytes.bytes,
+            requestId
+          )
+        }
+
+      case WRITE_BYTES_CMD =>
+        val payload =
+          msg.payload(new WriteBytesCommand).asInstanceOf[WriteBytesCommand]
+        val result = operations.writeBytes(
+          PathUtils.convertBinaryPath(payload.path()),
+          payload.byteOffset(),
+          payload.overwriteExisting(),
+          payload.bytesAsByteBuffer()
+        )
+        run(result, requestId) { checksum =>
+          WriteBytesReplyFactory.createPacket(checksum, requestId)
+        }
+
+      case CHECKSUM_BYTES_CMD =>
+        val payload =
+          msg
+            .payload(new ChecksumBytesCommand)
+            .asInstanceOf[ChecksumBytesCommand]
+        val segment = toFileSegment(payload.segment())
+        run(operations.checksumBytes(segment), requestId) { checksum =>
+          ChecksumBytesReplyFactory.createPacket(checksum, requestId)
+        }
+
+      case payloadType =>
+        Future.failed(
+          new IllegalArgumentException(s"Unexpected payload [$payloadType]")
+        )
+    }
+
+  private def run[A](
+    effect: BlockingIO[FileSystemFailure, A],
+    requestId: EnsoUUID
+  )(reply: A => ByteBuffer): Future[ByteBuffer] =
+    exec.execTimed(timeout, effect).map {
+      case Right(result) =>
+        reply(result)
+      case Left(failure) =>
+        val error = FileSystemFailureMapper.mapFailure(failure)
+        ErrorFactory.createGenericError(
+          error.code,
+          error.message,
+          Some(requestId)
+        )
+    }
+
+  private def toFileSegment(
+    segment: FileSegment
+  ): FileManagerProtocol.FileSegment =
+    FileManagerProtocol.FileSegment(
+      PathUtils.convertBinaryPath(segment.path()),
+      segment.byteOffset(),
+      segment.length()
+    )
+
+  /** The lanes of a binary session.
+    *
+    * @param outboundChannel the channel delivering messages to the client
+    * @param chunkedUpdates whether the client accepts the chunks of the
+    * visualisation updates
+    */
+  final private class Session(
+    val outboundChannel: ActorRef,
+    chunkedUpdates: Boolean
+  ) {
+
+    val requests = new Lane
+
+    val updates = new Lane
+
+    private val assembler =
+      Option.unless(chunkedUpdates)(new VisualisationUpdateAssembler)
+
+    /** Joins the chunks of the visualisation update, if the client doesn't
+      * accept the chunks. Should only be called from the updates lane.
+      *
+      * @param chunk a chunk of the visualisation update
+      * @return the update to send to the client
+      */
+    def assemble(chunk: VisualisationUpdate): Option[VisualisationUpdate] =
+      assembler.fold(Option(chunk))(_.add(chunk))
+
+    /** Drops the incomplete updates assembled for the client. Should only be
+      * called from the updates lane.
+      *
+      * @param discard the visualisations which updates should be dropped
+      */
+    def discard(discard: DiscardVisualisationUpdates): Unit =
+      assembler.foreach(_.discard(discard))
+  }
+
+  /** Runs the submitted tasks one after another. */
+  final private class Lane {
+
+    private val last = new AtomicReference[Future[Unit]](Future.unit)
+
+    /** Submit the task that is started after the previous task of the lane
+      * is completed.
+      *
+      * @param task the task to run
+      */
+    def submit(task: () => Future[Unit]): Unit = {
+      val done = Promise[Unit]()
+      last.getAndSet(done.future).onComplete { _ =>
+        val result =
+          try task()
+          catch { case NonFatal(ex) => Future.failed(ex) }
+        result.failed.foreach { ex =>
+          logger.error("Failure during the direct dispatch", ex)
+        }
+        done.completeWith(result)
+      }
+    }
+  }
+}
+
+object BinaryDirectDispatcher {
+
+  /** The payload types handled by the direct dispatch. */
+  private val DirectPayloadTypes: Set[Byte] =
+    Set(
+      WRITE_FILE_CMD,
+      READ_FILE_CMD,
+      READ_BYTES_CMD,
+      WRITE_BYTES_CMD,
+      CHECKSUM_BYTES_CMD
+    )
+
+  /** Creates the daemon threads of the dispatcher. */
+  final private class DispatcherThreadFactory extends ThreadFactory {
+
+    private val counter = new AtomicInteger()
+
+    /** @inheritdoc */
+    override def newThread(runnable: Runnable): Thread = {
+      val thread =
+        new Thread(runnable, s"binary-dispatch-${counter.incrementAndGet()}")
+      thread.setDaemon(true)
+      thread
+    }
+  }
+}
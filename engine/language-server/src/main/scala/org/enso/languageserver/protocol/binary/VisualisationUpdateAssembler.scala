@@ -0,0 +1,68 @@
+package org.enso.languageserver.protocol.binary
+
+import java.io.ByteArrayOutputStream
+
+import org.enso.languageserver.runtime.ContextRegistryProtocol.{
+  DiscardVisualisationUpdates,
+  VisualisationContext,
+  VisualisationUpdate
+}
+
+import scala.collection.mutable
+
+/** Joins the chunks of the visualisation updates for the binary sessions that
+  * haven't enabled the chunked visualisation updates.
+  *
+  * The assembler is not thread-safe, the chunks of a session should be added
+  * one after another.
+  */
+final class VisualisationUpdateAssembler {
+
+  private val pending =
+    mutable.HashMap[VisualisationContext, ByteArrayOutputStream]()
+
+  /** Adds a chunk of the visualisation update.
+    *
+    * A chunk starting a new update discards the incomplete update of the same
+    * visualisation. The chunks of a discarded update are ignored.
+    *
+    * @param update a chunk of the visualisation update
+    * @return the whole update, if the chunk is the last one
+    */
+  def add(update: VisualisationUpdate): Option[VisualisationUpdate] =
+    if (update.sequenceNumber == 0 && update.isLast) {
+      pending.remove(update.visualisationContext)
+      Some(update)
+    } else {
+      if (update.sequenceNumber == 0) {
+        val buffer = new ByteArrayOutputStream()
+        pending.put(update.visualisationContext, buffer): Unit
+      }
+      pending.get(update.visualisationContext).flatMap { buffer =>
+        buffer.write(update.data, 0, update.data.length)
+        if (update.isLast) {
+          pending.remove(update.visualisationContext)
+          Some(
+            VisualisationUpdate(
+              update.visualisationContext,
+              buffer.toByteArray,
+              0,
+              isLast = true
+            )
+          )
+        } else {
+          None
+        }
+      }
+    }
+
+  /** Drops the incomplete updates that will never be completed.
+    *
+    * @param discard the visualisations which updates should be dropped
+    */
+  def discard(discard: DiscardVisualisationUpdates): Unit =
+    pending.filterInPlace { (context, _) =>
+      context.contextId != discard.contextId ||
+      discard.visualisationId.exists(_ != context.visualisationId)
+    }: Unit
+}
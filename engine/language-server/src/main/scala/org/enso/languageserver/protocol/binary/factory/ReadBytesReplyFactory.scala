@@ -0,0 +1,46 @@
+package org.enso.languageserver.protocol.binary.factory
+
+import java.nio.ByteBuffer
+import java.util.UUID
+
+import com.google.flatbuffers.FlatBufferBuilder
+import org.enso.languageserver.protocol.binary.{
+  EnsoUUID,
+  OutboundPayload,
+  ReadBytesReply
+}
+
+object ReadBytesReplyFactory {
+
+  /** Creates a [[ReadBytesReply]] packet.
+    *
+    * The bytes are copied straight from the provided buffer into the packet.
+    * The buffer is bounded by the maximum chunk length of the file manager.
+    *
+    * @param checksum the checksum of the bytes
+    * @param bytes the bytes read from a file
+    * @param correlationId correlation id used to correlate a response with a
+    *                      request
+    * @return an FlatBuffer representation of the created reply
+    */
+  def createPacket(
+    checksum: Array[Byte],
+    bytes: ByteBuffer,
+    correlationId: EnsoUUID
+  ): ByteBuffer = {
+    implicit val builder = new FlatBufferBuilder(bytes.remaining() + 1024)
+    val bytesOffset      = builder.createByteVector(bytes.duplicate())
+    val checksumOffset   = EnsoDigestFactory.create(checksum)
+    val reply =
+      ReadBytesReply.createReadBytesReply(builder, checksumOffset, bytesOffset)
+    val outMsg = OutboundMessageFactory.create(
+      UUID.randomUUID(),
+      Some(correlationId),
+      OutboundPayload.READ_BYTES_REPLY,
+      reply
+    )
+    builder.finish(outMsg)
+    builder.dataBuffer()
+  }
+
+}
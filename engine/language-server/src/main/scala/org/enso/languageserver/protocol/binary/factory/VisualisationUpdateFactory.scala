@@ -1,6 +1,10 @@
 package org.enso.languageserver.protocol.binary.factory
 
+import java.nio.ByteBuffer
+import java.util.UUID
+
 import com.google.flatbuffers.FlatBufferBuilder
+import org.enso.languageserver.protocol.binary.OutboundPayload
 import org.enso.languageserver.protocol.binary.{
   VisualisationContext => BinaryVisualisationContext,
   VisualisationUpdate => BinaryVisualisationUpdate
@@ -12,6 +16,23 @@ import org.enso.languageserver.runtime.ContextRegistryProtocol.{
 
 object VisualisationUpdateFactory {
 
+  /** Creates a [[VisualisationUpdate]] packet.
+    *
+    * @param update a visualisation update
+    * @return an FlatBuffer representation of the created update
+    */
+  def createPacket(update: VisualisationUpdate): ByteBuffer = {
+    implicit val builder = new FlatBufferBuilder(update.data.length + 1024)
+    val outMsg = OutboundMessageFactory.create(
+      UUID.randomUUID(),
+      None,
+      OutboundPayload.VISUALISATION_UPDATE,
+      VisualisationUpdateFactory.create(update)
+    )
+    builder.finish(outMsg)
+    builder.dataBuffer()
+  }
+
   /** Creates a [[VisualisationUpdate]] inside a [[FlatBufferBuilder]].
     *
     * @param update a visualisation update
@@ -29,7 +50,9 @@ object VisualisationUpdateFactory {
     BinaryVisualisationUpdate.createVisualisationUpdate(
       builder,
       ctx,
-      data
+      data,
+      update.sequenceNumber.toLong,
+      update.isLast
     )
   }
 
@@ -21,6 +21,7 @@ import org.enso.languageserver.filemanager.PathWatcherProtocol
 import org.enso.languageserver.io.InputOutputApi._
 import org.enso.languageserver.io.OutputKind.{StandardError, StandardOutput}
 import org.enso.languageserver.io.{InputOutputApi, InputOutputProtocol}
+import org.enso.languageserver.monitoring.LanguageServerMetrics
 import org.enso.languageserver.monitoring.MonitoringApi.{InitialPing, Ping}
 import org.enso.languageserver.refactoring.RefactoringApi.RenameProject
 import org.enso.languageserver.requesthandler._
@@ -92,7 +93,7 @@ class JsonConnectionController(
   override def receive: Receive = {
     case JsonRpcServer.WebConnect(webActor) =>
       unstashAll()
-      context.become(connected(webActor))
+      context.become(countingRequests(connected(webActor)))
     case _ => stash()
   }
 
@@ -130,7 +131,9 @@ class JsonConnectionController(
         InitProtocolConnectionHandler.props(fileManager, requestTimeout)
       )
       handler.forward(req)
-      context.become(initialised(webActor, session, requestHandlers))
+      context.become(
+        countingRequests(initialised(webActor, session, requestHandlers))
+      )
 
     case Request(_, id, _) =>
       sender() ! ResponseError(Some(id), SessionNotInitialisedError)
@@ -160,11 +163,13 @@ class JsonConnectionController(
     case TextProtocol.TextDidChange(changes) =>
       webActor ! Notification(TextDidChange, TextDidChange.Params(changes))
 
-    case PathWatcherProtocol.FileEventResult(event) =>
-      webActor ! Notification(
-        EventFile,
-        EventFile.Params(event.path, event.kind)
-      )
+    case PathWatcherProtocol.FileEventsResult(events) =>
+      events.foreach { event =>
+        webActor ! Notification(
+          EventFile,
+          EventFile.Params(event.path, event.kind)
+        )
+      }
 
     case ContextRegistryProtocol
           .ExpressionUpdatesNotification(contextId, updates, updatesOld) =>
@@ -236,6 +241,20 @@ class JsonConnectionController(
       handler.forward(req)
   }
 
+  /** Counts the received requests before handling them.
+    *
+    * @param receive the message handler
+    * @return the message handler counting the requests
+    */
+  private def countingRequests(receive: Receive): Receive = {
+    val counting: Receive = {
+      case request: Request[_, _] if receive.isDefinedAt(request) =>
+        LanguageServerMetrics.JsonRequestsReceived.inc()
+        receive(request)
+    }
+    counting orElse receive
+  }
+
   private def createRequestHandlers(
     rpcSession: JsonSession
   ): Map[Method, Props] =
@@ -3,7 +3,9 @@ package org.enso.languageserver.runtime
 import akka.actor.{Actor, ActorLogging, ActorRef, Props}
 import akka.pattern.pipe
 import org.enso.languageserver.data.Config
+import org.enso.languageserver.protocol.binary.BinaryDirectDispatcher
 import org.enso.languageserver.runtime.ContextRegistryProtocol.{
+  DiscardVisualisationUpdates,
   ExecutionDiagnostic,
   ExecutionDiagnosticKind,
   ExecutionFailure,
@@ -36,6 +38,8 @@ import scala.concurrent.duration._
   * @param contextId exectuion context identifier
   * @param sessionRouter the session router
   * @param updatesSendRate how often send the updates to the user
+  * @param directDispatcher the dispatcher delivering the visualisation updates
+  * directly to the binary session of the client
   */
 final class ContextEventsListener(
   config: Config,
@@ -43,7 +47,8 @@ final class ContextEventsListener(
   rpcSession: JsonSession,
   contextId: ContextId,
   sessionRouter: ActorRef,
-  updatesSendRate: FiniteDuration
+  updatesSendRate: FiniteDuration,
+  directDispatcher: Option[BinaryDirectDispatcher]
 ) extends Actor
     with ActorLogging
     with UnhandledLogging {
@@ -65,7 +70,8 @@ final class ContextEventsListener(
   override def receive: Receive = withState(Vector())
 
   def withState(expressionUpdates: Vector[Api.ExpressionUpdate]): Receive = {
-    case Api.VisualisationUpdate(ctx, data) if ctx.contextId == contextId =>
+    case Api.VisualisationUpdate(ctx, data, sequenceNumber, isLast)
+        if ctx.contextId == contextId =>
       val payload =
         VisualisationUpdate(
           VisualisationContext(
@@ -73,9 +79,13 @@ final class ContextEventsListener(
             ctx.contextId,
             ctx.expressionId
           ),
-          data
+          data,
+          sequenceNumber,
+          isLast
         )
-      sessionRouter ! DeliverToBinaryController(rpcSession.clientId, payload)
+      if (!directDispatcher.exists(_.deliver(rpcSession.clientId, payload))) {
+        sessionRouter ! DeliverToBinaryController(rpcSession.clientId, payload)
+      }
 
     case Api.ExpressionUpdates(`contextId`, apiUpdates) =>
       context.become(
@@ -99,10 +109,15 @@ final class ContextEventsListener(
       sessionRouter ! DeliverToJsonController(rpcSession.clientId, payload)
 
     case Api.VisualisationEvaluationFailed(`contextId`, msg) =>
+      discardVisualisationUpdates(DiscardVisualisationUpdates(contextId, None))
       val payload =
         ContextRegistryProtocol.VisualisationEvaluationFailed(contextId, msg)
       sessionRouter ! DeliverToJsonController(rpcSession.clientId, payload)
 
+    case discard: DiscardVisualisationUpdates
+        if discard.contextId == contextId =>
+      discardVisualisationUpdates(discard)
+
     case RunExpressionUpdates if expressionUpdates.nonEmpty =>
       runExpressionUpdates(expressionUpdates)
       context.become(withState(Vector()))
@@ -110,6 +125,16 @@ final class ContextEventsListener(
     case RunExpressionUpdates if expressionUpdates.isEmpty =>
   }
 
+  /** Drop the incomplete visualisation updates assembled for the binary
+    * session of the client.
+    */
+  private def discardVisualisationUpdates(
+    discard: DiscardVisualisationUpdates
+  ): Unit =
+    if (!directDispatcher.exists(_.discard(rpcSession.clientId, discard))) {
+      sessionRouter ! DeliverToBinaryController(rpcSession.clientId, discard)
+    }
+
   /** Process `ExpressionUpdate` notifications.
     *
     * Function resolves method pointers to the corresponding suggestion ids in
@@ -293,6 +318,8 @@ object ContextEventsListener {
     * @param contextId exectuion context identifier
     * @param sessionRouter the session router
     * @param updatesSendRate how often send the updates to the user
+    * @param directDispatcher the dispatcher delivering the visualisation
+    * updates directly to the binary session of the client
     */
   def props(
     config: Config,
@@ -300,7 +327,8 @@ object ContextEventsListener {
     rpcSession: JsonSession,
     contextId: ContextId,
     sessionRouter: ActorRef,
-    updatesSendRate: FiniteDuration = 1.second
+    updatesSendRate: FiniteDuration                  = 1.second,
+    directDispatcher: Option[BinaryDirectDispatcher] = None
   ): Props =
     Props(
       new ContextEventsListener(
@@ -309,7 +337,8 @@ object ContextEventsListener {
         rpcSession,
         contextId,
         sessionRouter: ActorRef,
-        updatesSendRate
+        updatesSendRate,
+        directDispatcher
       )
     )
 
@@ -9,6 +9,7 @@ import org.enso.languageserver.event.{
   ExecutionContextDestroyed
 }
 import org.enso.languageserver.monitoring.MonitoringProtocol.{Ping, Pong}
+import org.enso.languageserver.protocol.binary.BinaryDirectDispatcher
 import org.enso.languageserver.runtime.handler._
 import org.enso.languageserver.util.UnhandledLogging
 import org.enso.polyglot.runtime.Runtime.Api
@@ -54,12 +55,15 @@ import scala.concurrent.Future
   * @param config configuration
   * @param runtime reference to the [[RuntimeConnector]]
   * @param sessionRouter the session router
+  * @param directDispatcher the dispatcher delivering the visualisation updates
+  * directly to the binary sessions
   */
 final class ContextRegistry(
   repo: SuggestionsRepo[Future],
   config: Config,
   runtime: ActorRef,
-  sessionRouter: ActorRef
+  sessionRouter: ActorRef,
+  directDispatcher: Option[BinaryDirectDispatcher]
 ) extends Actor
     with ActorLogging
     with UnhandledLogging {
@@ -116,7 +120,8 @@ final class ContextRegistry(
             repo,
             client,
             contextId,
-            sessionRouter
+            sessionRouter,
+            directDispatcher = directDispatcher
           )
         )
       handler.forward(Api.CreateContextRequest(contextId))
@@ -194,6 +199,11 @@ final class ContextRegistry(
           expressionId
         ) =>
       if (store.hasContext(clientId, contextId)) {
+        store
+          .getListener(contextId)
+          .foreach(
+            _ ! DiscardVisualisationUpdates(contextId, Some(visualisationId))
+          )
         val handler =
           context.actorOf(DetachVisualisationHandler.props(timeout, runtime))
 
@@ -306,12 +316,23 @@ object ContextRegistry {
     * @param config language server configuration
     * @param runtime reference to the [[RuntimeConnector]]
     * @param sessionRouter the session router
+    * @param directDispatcher the dispatcher delivering the visualisation
+    * updates directly to the binary sessions
     */
   def props(
     repo: SuggestionsRepo[Future],
     config: Config,
     runtime: ActorRef,
-    sessionRouter: ActorRef
+    sessionRouter: ActorRef,
+    directDispatcher: Option[BinaryDirectDispatcher] = None
   ): Props =
-    Props(new ContextRegistry(repo, config, runtime, sessionRouter))
+    Props(
+      new ContextRegistry(
+        repo,
+        config,
+        runtime,
+        sessionRouter,
+        directDispatcher
+      )
+    )
 }
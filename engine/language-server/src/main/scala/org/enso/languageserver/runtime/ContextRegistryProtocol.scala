@@ -369,11 +369,27 @@ object ContextRegistryProtocol {
   /** An event signaling a visualisation update.
     *
     * @param visualisationContext a visualisation context
-    * @param data a visualisation data
+    * @param data a chunk of the visualisation data
+    * @param sequenceNumber the number of the chunk
+    * @param isLast whether the chunk is the last one
     */
   case class VisualisationUpdate(
     visualisationContext: VisualisationContext,
-    data: Array[Byte]
+    data: Array[Byte],
+    sequenceNumber: Int,
+    isLast: Boolean
+  )
+
+  /** An event signaling that the incomplete visualisation updates should be
+    * discarded, as their remaining chunks will never be sent.
+    *
+    * @param contextId a context identifier
+    * @param visualisationId a visualisation identifier, or `None` to discard
+    * the updates of all visualisations of the context
+    */
+  case class DiscardVisualisationUpdates(
+    contextId: UUID,
+    visualisationId: Option[UUID]
   )
 
   /** Signals that a module cannot be found.
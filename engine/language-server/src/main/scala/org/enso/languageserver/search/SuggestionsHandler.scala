@@ -16,6 +16,7 @@ import org.enso.languageserver.data.{
 }
 import org.enso.languageserver.event.InitializedEvent
 import org.enso.languageserver.filemanager.{FileDeletedEvent, Path}
+import org.enso.languageserver.monitoring.LanguageServerMetrics
 import org.enso.languageserver.refactoring.ProjectNameChangedEvent
 import org.enso.languageserver.search.SearchProtocol._
 import org.enso.languageserver.search.handler.{
@@ -32,12 +33,17 @@ import org.enso.searcher.{FileVersionsRepo, SuggestionsRepo}
 import org.enso.text.ContentVersion
 import org.enso.text.editing.model.Position
 
+import scala.collection.mutable
 import scala.concurrent.Future
+import scala.concurrent.duration._
 import scala.util.{Failure, Success}
 
 /** The handler of search requests.
   *
   * Handler initializes the database and responds to the search requests.
+  * The expression types computed by the runtime are collected during the
+  * [[SuggestionsHandler.TypeUpdatesFlushInterval]] and written to the
+  * database at once, notifying the clients once per write.
   *
   * == Implementation ==
   *
@@ -83,11 +89,21 @@ final class SuggestionsHandler(
     with ActorLogging
     with UnhandledLogging {
 
-  import SuggestionsHandler.ProjectNameUpdated
+  import SuggestionsHandler.{
+    FlushTypeUpdates,
+    ProjectNameUpdated,
+    TypeUpdatesFlushInterval
+  }
   import context.dispatcher
 
   private val timeout = config.executionContext.requestTimeout
 
+  /** The expression types waiting to be written, by expression id. */
+  private val pendingTypes = mutable.LinkedHashMap[Api.ExpressionId, String]()
+
+  /** The number of the expression types received since the last flush. */
+  private var receivedTypesCount = 0
+
   override def preStart(): Unit = {
     context.system.eventStream
       .subscribe(self, classOf[Api.ExpressionUpdates])
@@ -171,8 +187,22 @@ final class SuggestionsHandler(
       log.debug(
         s"ExpressionValuesComputed ${updates.map(u => (u.expressionId, u.expressionType))}"
       )
-      val types = updates.toSeq
-        .flatMap(update => update.expressionType.map(update.expressionId -> _))
+      if (pendingTypes.isEmpty && updates.exists(_.expressionType.nonEmpty)) {
+        context.system.scheduler
+          .scheduleOnce(TypeUpdatesFlushInterval, self, FlushTypeUpdates)
+      }
+      updates.foreach { update =>
+        update.expressionType.foreach { typeValue =>
+          pendingTypes += update.expressionId -> typeValue
+          receivedTypesCount += 1
+        }
+      }
+
+    case FlushTypeUpdates =>
+      val types    = pendingTypes.toSeq
+      val received = receivedTypesCount
+      pendingTypes.clear()
+      receivedTypesCount = 0
       suggestionsRepo
         .updateAll(types)
         .map { case (version, updatedIds) =>
@@ -183,6 +213,16 @@ final class SuggestionsHandler(
                 returnType = Some(fieldUpdate(typeValue))
               )
           }
+          LanguageServerMetrics.ExpressionTypesReceived.add(received.toLong)
+          LanguageServerMetrics.ExpressionTypesWritten.add(types.size.toLong)
+          LanguageServerMetrics.SuggestionTypesUpdated.add(updates.size.toLong)
+          log.debug(
+            "Flushed {} type updates merged from {} received, {} suggestions " +
+            "updated",
+            types.size,
+            received,
+            updates.size
+          )
           SuggestionsDatabaseUpdateNotification(version, updates)
         }
         .onComplete {
@@ -196,7 +236,7 @@ final class SuggestionsHandler(
             log.error(
               ex,
               "Error applying changes from computed values: {}",
-              updates
+              types
             )
         }
 
@@ -433,6 +473,14 @@ final class SuggestionsHandler(
 
 object SuggestionsHandler {
 
+  /** The time during which the expression types are collected before
+    * writing them to the suggestions database at once.
+    */
+  val TypeUpdatesFlushInterval: FiniteDuration = 100.millis
+
+  /** The command to write the collected expression types. */
+  private case object FlushTypeUpdates
+
   /** The notification about the project name update.
     *
     * @param projectName the new project name
@@ -0,0 +1,170 @@
+package org.enso.languageserver.filemanager
+
+import java.nio.file.{Files, Path, Paths}
+
+import org.apache.commons.io.FileUtils
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import scala.collection.mutable.ArrayBuffer
+
+class DirectoryTreeCacheSpec extends AnyFlatSpec with Matchers {
+
+  import FileSystemApi._
+
+  "A directory tree cache" should "not cache trees of unwatched directories" in new TestCtx {
+    //given
+    val path = Paths.get(testDirPath.toString, "dir")
+    createEmptyFile(Paths.get(path.toString, "a.txt"))
+    //when
+    cache.put(path, None, cache.generation, FileSystem.walk(path, None))
+    //then
+    cache.get(path, None) shouldBe None
+  }
+
+  it should "return cached trees of watched directories" in new TestCtx {
+    //given
+    val path   = Paths.get(testDirPath.toString, "dir")
+    val subdir = Paths.get(testDirPath.toString, "dir", "subdir")
+    val fileA  = Paths.get(testDirPath.toString, "dir", "subdir", "a.txt")
+    createEmptyFile(fileA)
+    cache.watch(testDirPath)
+    //when
+    cache.put(path, None, cache.generation, FileSystem.walk(path, None))
+    //then
+    cache.get(path, None) shouldBe Some(
+      DirectoryEntry(
+        path,
+        ArrayBuffer(DirectoryEntry(subdir, ArrayBuffer(FileEntry(fileA))))
+      )
+    )
+    cache.get(path, Some(1)) shouldBe Some(
+      DirectoryEntry(path, ArrayBuffer(DirectoryEntryTruncated(subdir)))
+    )
+    cache.get(subdir, None) shouldBe Some(
+      DirectoryEntry(subdir, ArrayBuffer(FileEntry(fileA)))
+    )
+  }
+
+  it should "not return trees deeper than the cached ones" in new TestCtx {
+    //given
+    val path = Paths.get(testDirPath.toString, "dir")
+    createEmptyFile(Paths.get(path.toString, "subdir", "a.txt"))
+    cache.watch(testDirPath)
+    //when
+    cache.put(path, Some(1), cache.generation, FileSystem.walk(path, Some(1)))
+    //then
+    cache.get(path, Some(1)) shouldBe defined
+    cache.get(path, Some(2)) shouldBe None
+    cache.get(path, None) shouldBe None
+  }
+
+  it should "patch cached trees with created and deleted paths" in new TestCtx {
+    //given
+    val path   = Paths.get(testDirPath.toString, "dir")
+    val fileA  = Paths.get(testDirPath.toString, "dir", "a.txt")
+    val fileB  = Paths.get(testDirPath.toString, "dir", "b.txt")
+    val subdir = Paths.get(testDirPath.toString, "dir", "subdir")
+    val fileC  = Paths.get(testDirPath.toString, "dir", "subdir", "c.txt")
+    createEmptyFile(fileB)
+    cache.watch(testDirPath)
+    cache.put(path, None, cache.generation, FileSystem.walk(path, None))
+    //when
+    createEmptyFile(fileA)
+    cache.update(fileA)
+    createEmptyFile(fileC)
+    cache.update(subdir)
+    Files.delete(fileB)
+    cache.update(fileB)
+    //then
+    cache.get(path, None) shouldBe Some(
+      DirectoryEntry(
+        path,
+        ArrayBuffer(
+          FileEntry(fileA),
+          DirectoryEntry(subdir, ArrayBuffer(FileEntry(fileC)))
+        )
+      )
+    )
+  }
+
+  it should "not store the trees changed while they were read" in new TestCtx {
+    //given
+    val path  = Paths.get(testDirPath.toString, "dir")
+    val fileA = Paths.get(testDirPath.toString, "dir", "a.txt")
+    val fileB = Paths.get(testDirPath.toString, "other", "b.txt")
+    Files.createDirectories(path)
+    cache.watch(testDirPath)
+    val generation = cache.generation
+    val directory  = FileSystem.walk(path, None)
+    //when
+    createEmptyFile(fileA)
+    cache.update(fileA)
+    cache.put(path, None, generation, directory)
+    //then
+    cache.get(path, None) shouldBe None
+    //when
+    val nextGeneration = cache.generation
+    val nextDirectory  = FileSystem.walk(path, None)
+    createEmptyFile(fileB)
+    cache.update(fileB)
+    cache.put(path, None, nextGeneration, nextDirectory)
+    //then
+    cache.get(path, None) shouldBe Some(
+      DirectoryEntry(path, ArrayBuffer(FileEntry(fileA)))
+    )
+  }
+
+  it should "drop the tree when its root is deleted" in new TestCtx {
+    //given
+    val path = Paths.get(testDirPath.toString, "dir")
+    Files.createDirectories(path)
+    cache.watch(testDirPath)
+    cache.put(path, None, cache.generation, FileSystem.walk(path, None))
+    //when
+    Files.delete(path)
+    cache.update(path)
+    //then
+    cache.get(path, None) shouldBe None
+  }
+
+  it should "drop the trees when the directory is no longer watched" in new TestCtx {
+    //given
+    val path = Paths.get(testDirPath.toString, "dir")
+    Files.createDirectories(path)
+    cache.watch(testDirPath)
+    cache.put(path, None, cache.generation, FileSystem.walk(path, None))
+    //when
+    cache.unwatch(testDirPath)
+    //then
+    cache.get(path, None) shouldBe None
+  }
+
+  it should "not cache trees with symlinked directories" in new TestCtx {
+    //given
+    val path    = Paths.get(testDirPath.toString, "dir")
+    val subdir  = Paths.get(testDirPath.toString, "dir", "subdir")
+    val symlink = Paths.get(testDirPath.toString, "dir", "symlink")
+    Files.createDirectories(subdir)
+    Files.createSymbolicLink(symlink, subdir)
+    cache.watch(testDirPath)
+    //when
+    cache.put(path, None, cache.generation, FileSystem.walk(path, None))
+    //then
+    cache.get(path, None) shouldBe None
+  }
+
+  def createEmptyFile(path: Path): Path = {
+    Files.createDirectories(path.getParent())
+    Files.createFile(path)
+  }
+
+  trait TestCtx {
+
+    val testDirPath = Files.createTempDirectory(null)
+    sys.addShutdownHook(FileUtils.deleteQuietly(testDirPath.toFile))
+
+    val cache = new DirectoryTreeCache
+
+  }
+}
@@ -0,0 +1,95 @@
+package org.enso.languageserver.filemanager
+
+import java.nio.file.Paths
+import java.util.concurrent.{CountDownLatch, TimeUnit}
+
+import org.enso.languageserver.filemanager.WatcherAdapter._
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+class FileEventBufferSpec extends AnyFlatSpec with Matchers {
+
+  val fileA = Paths.get("a.txt")
+  val fileB = Paths.get("b.txt")
+  val fileC = Paths.get("c.txt")
+
+  "A file event buffer" should "collapse the events of the same path" in {
+    //given
+    val buffer = new FileEventBuffer(10)
+    //when
+    buffer.add(WatcherEvent(fileA, EventTypeCreate)) shouldBe true
+    buffer.add(WatcherEvent(fileA, EventTypeModify)) shouldBe false
+    buffer.add(WatcherEvent(fileB, EventTypeModify)) shouldBe false
+    buffer.add(WatcherEvent(fileB, EventTypeDelete)) shouldBe false
+    buffer.add(WatcherEvent(fileC, EventTypeDelete)) shouldBe false
+    buffer.add(WatcherEvent(fileC, EventTypeCreate)) shouldBe false
+    //then
+    buffer.drain(10) shouldEqual Seq(
+      WatcherEvent(fileA, EventTypeCreate),
+      WatcherEvent(fileB, EventTypeDelete),
+      WatcherEvent(fileC, EventTypeModify)
+    )
+    buffer.isEmpty shouldBe true
+  }
+
+  it should "drop the events cancelling each other out" in {
+    //given
+    val buffer = new FileEventBuffer(10)
+    //when
+    buffer.add(WatcherEvent(fileA, EventTypeCreate))
+    buffer.add(WatcherEvent(fileA, EventTypeModify))
+    buffer.add(WatcherEvent(fileA, EventTypeDelete))
+    //then
+    buffer.isEmpty shouldBe true
+    buffer.add(WatcherEvent(fileA, EventTypeCreate)) shouldBe true
+  }
+
+  it should "drain bounded batches of the oldest events" in {
+    //given
+    val buffer = new FileEventBuffer(10)
+    buffer.add(WatcherEvent(fileA, EventTypeModify))
+    buffer.add(WatcherEvent(fileB, EventTypeModify))
+    buffer.add(WatcherEvent(fileC, EventTypeModify))
+    //when
+    val batch = buffer.drain(2)
+    //then
+    batch.map(_.path) shouldEqual Seq(fileA, fileB)
+    buffer.drain(2).map(_.path) shouldEqual Seq(fileC)
+  }
+
+  it should "block adding new paths when full" in {
+    //given
+    val buffer = new FileEventBuffer(1)
+    val added  = new CountDownLatch(1)
+    buffer.add(WatcherEvent(fileA, EventTypeCreate))
+    buffer.add(WatcherEvent(fileA, EventTypeModify))
+    //when
+    val thread = new Thread(() => {
+      buffer.add(WatcherEvent(fileB, EventTypeCreate))
+      added.countDown()
+    })
+    thread.start()
+    //then
+    added.await(100, TimeUnit.MILLISECONDS) shouldBe false
+    buffer.drain(1).map(_.path) shouldEqual Seq(fileA)
+    added.await(5, TimeUnit.SECONDS) shouldBe true
+    buffer.drain(1).map(_.path) shouldEqual Seq(fileB)
+  }
+
+  it should "release the blocked events when closed" in {
+    //given
+    val buffer = new FileEventBuffer(1)
+    val added  = new CountDownLatch(1)
+    buffer.add(WatcherEvent(fileA, EventTypeCreate))
+    val thread = new Thread(() => {
+      buffer.add(WatcherEvent(fileB, EventTypeCreate))
+      added.countDown()
+    })
+    thread.start()
+    //when
+    buffer.close()
+    //then
+    added.await(5, TimeUnit.SECONDS) shouldBe true
+    buffer.isEmpty shouldBe true
+  }
+}
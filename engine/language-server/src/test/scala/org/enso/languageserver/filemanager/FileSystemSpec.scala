@@ -1,5 +1,6 @@
 package org.enso.languageserver.filemanager
 
+import java.nio.ByteBuffer
 import java.nio.file.{Files, Path, Paths}
 import java.nio.file.attribute.BasicFileAttributes
 
@@ -100,6 +101,90 @@ class FileSystemSpec extends AnyFlatSpec with Matchers with Effects {
     result shouldBe Right(content)
   }
 
+  it should "read a segment of a binary file" in new TestCtx {
+    //given
+    val path    = Paths.get(testDirPath.toString, "foo.bin")
+    val content = Array[Byte](1, 2, 3, 4, 5, 6)
+    Files.write(path, content)
+    //when
+    val Right(result) =
+      objectUnderTest.readBytes(path.toFile, 2, 3).unsafeRunSync()
+    //then
+    val bytes = Array.fill[Byte](result.bytes.remaining())(0)
+    result.bytes.duplicate().get(bytes)
+    bytes.toList shouldBe List[Byte](3, 4, 5)
+    result.checksum.toList shouldBe checksum(Array[Byte](3, 4, 5)).toList
+  }
+
+  it should "truncate the read segment at the end of the file" in new TestCtx {
+    //given
+    val path    = Paths.get(testDirPath.toString, "foo.bin")
+    val content = Array[Byte](1, 2, 3)
+    Files.write(path, content)
+    //when
+    val Right(result) =
+      objectUnderTest.readBytes(path.toFile, 1, 100).unsafeRunSync()
+    //then
+    result.bytes.remaining() shouldBe 2
+  }
+
+  it should "return ReadOutOfBounds when reading past the end of the file" in new TestCtx {
+    //given
+    val path = Paths.get(testDirPath.toString, "foo.bin")
+    Files.write(path, Array[Byte](1, 2, 3))
+    //when
+    val result = objectUnderTest.readBytes(path.toFile, 10, 1).unsafeRunSync()
+    //then
+    result.map(_ => ()) shouldBe Left(ReadOutOfBounds(3))
+  }
+
+  it should "write a file in chunks" in new TestCtx {
+    //given
+    val path = Paths.get(testDirPath.toString, "foo.bin")
+    //when
+    val first = objectUnderTest
+      .writeBytes(path.toFile, 0, false, ByteBuffer.wrap(Array[Byte](1, 2)))
+      .unsafeRunSync()
+    val second = objectUnderTest
+      .writeBytes(path.toFile, 2, false, ByteBuffer.wrap(Array[Byte](3, 4)))
+      .unsafeRunSync()
+    //then
+    first.map(_.toList) shouldBe Right(checksum(Array[Byte](1, 2)).toList)
+    second.map(_.toList) shouldBe Right(checksum(Array[Byte](3, 4)).toList)
+    Files.readAllBytes(path).toList shouldBe List[Byte](1, 2, 3, 4)
+  }
+
+  it should "not overwrite existing bytes unless requested" in new TestCtx {
+    //given
+    val path = Paths.get(testDirPath.toString, "foo.bin")
+    Files.write(path, Array[Byte](1, 2, 3))
+    //when
+    val denied = objectUnderTest
+      .writeBytes(path.toFile, 1, false, ByteBuffer.wrap(Array[Byte](9)))
+      .unsafeRunSync()
+    val allowed = objectUnderTest
+      .writeBytes(path.toFile, 1, true, ByteBuffer.wrap(Array[Byte](9)))
+      .unsafeRunSync()
+    //then
+    denied.map(_ => ()) shouldBe Left(CannotOverwrite)
+    allowed.isRight shouldBe true
+    Files.readAllBytes(path).toList shouldBe List[Byte](1, 9, 3)
+  }
+
+  it should "compute the checksum of a file segment" in new TestCtx {
+    //given
+    val path    = Paths.get(testDirPath.toString, "foo.bin")
+    val content = Array.tabulate[Byte](200000)(_.toByte)
+    Files.write(path, content)
+    //when
+    val result =
+      objectUnderTest.checksumBytes(path.toFile, 10, 150000).unsafeRunSync()
+    //then
+    result.map(_.toList) shouldBe Right(
+      checksum(content.slice(10, 150010)).toList
+    )
+  }
+
   it should "create a directory" in new TestCtx {
     //given
     val path = Paths.get(testDirPath.toString, "foo", "bar")
@@ -647,6 +732,9 @@ class FileSystemSpec extends AnyFlatSpec with Matchers with Effects {
     content
   }
 
+  def checksum(bytes: Array[Byte]): Array[Byte] =
+    FileSystem.checksum(ByteBuffer.wrap(bytes))
+
   def createEmptyFile(path: Path): Path = {
     Files.createDirectories(path.getParent())
     Files.createFile(path)
@@ -17,6 +17,7 @@ import org.enso.languageserver.event.InitializedEvent
 import org.enso.languageserver.runtime.ContextRegistryProtocol.{
   ExecutionDiagnostic,
   ExecutionDiagnosticKind,
+  DiscardVisualisationUpdates,
   ExecutionDiagnosticNotification,
   ExecutionFailedNotification,
   ExecutionFailure,
@@ -306,7 +307,7 @@ class ContextEventsListenerSpec
           UUID.randomUUID()
         )
         val data = Array[Byte](1, 2, 3)
-        listener ! Api.VisualisationUpdate(ctx, data)
+        listener ! Api.VisualisationUpdate(ctx, data, 1, false)
 
         router.expectMsg(
           DeliverToBinaryController(
@@ -317,7 +318,9 @@ class ContextEventsListenerSpec
                 ctx.contextId,
                 ctx.expressionId
               ),
-              data
+              data,
+              1,
+              false
             )
           )
         )
@@ -378,6 +381,12 @@ class ContextEventsListenerSpec
         val message = "Test visualisation evaluation failed"
         listener ! Api.VisualisationEvaluationFailed(contextId, message)
 
+        router.expectMsg(
+          DeliverToBinaryController(
+            clientId,
+            DiscardVisualisationUpdates(contextId, None)
+          )
+        )
         router.expectMsg(
           DeliverToJsonController(
             clientId,
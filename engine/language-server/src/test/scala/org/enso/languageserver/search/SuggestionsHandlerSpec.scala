@@ -428,6 +428,55 @@ class SuggestionsHandlerSpec
         all shouldEqual Seq()
     }
 
+    "batch expression type updates" taggedAs Retry in withDb {
+      (_, repo, router, _, handler) =>
+        val clientId   = UUID.randomUUID()
+        val externalId = Suggestions.method.externalId.get
+
+        // acquire capability
+        handler ! AcquireCapability(
+          newJsonSession(clientId),
+          CapabilityRegistration(ReceivesSuggestionsDatabaseUpdates())
+        )
+        expectMsg(CapabilityAcquired)
+
+        val (version, ids) =
+          Await.result(repo.insertAll(Suggestions.all), Timeout)
+        val methodId = ids(Suggestions.all.indexOf(Suggestions.method)).get
+
+        // receive updates of the same expression
+        handler ! Api.ExpressionUpdates(
+          UUID.randomUUID(),
+          Set(expressionUpdate(externalId, "Number"))
+        )
+        handler ! Api.ExpressionUpdates(
+          UUID.randomUUID(),
+          Set(expressionUpdate(externalId, "Integer"))
+        )
+
+        val updates = Seq(
+          SearchProtocol.SuggestionsDatabaseUpdate.Modify(
+            id = methodId,
+            returnType = Some(
+              SearchProtocol.FieldUpdate(
+                SearchProtocol.FieldAction.Set,
+                Some("Integer")
+              )
+            )
+          )
+        )
+        router.expectMsg(
+          DeliverToJsonController(
+            clientId,
+            SearchProtocol.SuggestionsDatabaseUpdateNotification(
+              version + 1,
+              updates
+            )
+          )
+        )
+        router.expectNoMessage()
+    }
+
     "get initial suggestions database version" taggedAs Retry in withDb {
       (_, _, _, _, handler) =>
         handler ! SearchProtocol.GetSuggestionsDatabaseVersion
@@ -583,6 +632,19 @@ class SuggestionsHandlerSpec
   def newJsonSession(clientId: UUID): JsonSession =
     JsonSession(clientId, TestProbe().ref)
 
+  def expressionUpdate(
+    expressionId: Api.ExpressionId,
+    expressionType: String
+  ): Api.ExpressionUpdate =
+    Api.ExpressionUpdate(
+      expressionId,
+      Some(expressionType),
+      None,
+      Vector(),
+      false,
+      Api.ExpressionUpdate.Payload.Value()
+    )
+
   def withDb(
     test: (
       Config,
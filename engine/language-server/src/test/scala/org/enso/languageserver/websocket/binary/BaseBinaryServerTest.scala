@@ -15,9 +15,17 @@ import org.enso.languageserver.data.{
   PathWatcherConfig
 }
 import org.enso.languageserver.effect.ZioExec
-import org.enso.languageserver.filemanager.{FileManager, FileSystem}
+import org.enso.languageserver.filemanager.{
+  BinaryFileOperations,
+  DirectoryTreeCache,
+  FileManager,
+  FileSystem
+}
 import org.enso.languageserver.http.server.ConnectionControllerFactory
-import org.enso.languageserver.protocol.binary.BinaryConnectionController
+import org.enso.languageserver.protocol.binary.{
+  BinaryConnectionController,
+  BinaryDirectDispatcher
+}
 import org.enso.languageserver.protocol.binary.InboundPayload
 import org.enso.languageserver.websocket.binary.factory.{
   InboundMessageFactory,
@@ -43,17 +51,41 @@ class BaseBinaryServerTest extends BinaryServerTestKit {
   @volatile
   protected var lastConnectionController: ActorRef = _
 
+  /** Whether the connection controllers dispatch the file commands directly. */
+  protected def directDispatch: Boolean = false
+
+  private lazy val directDispatcher =
+    new BinaryDirectDispatcher(
+      new BinaryFileOperations(config, new FileSystem, new DirectoryTreeCache),
+      ZioExec(zio.Runtime.default),
+      config.fileManager.timeout,
+      parallelism = 2
+    )
+
   override def connectionControllerFactory: ConnectionControllerFactory = {
     (clientIp: RemoteAddress.IP) =>
       {
         val zioExec = ZioExec(zio.Runtime.default)
 
         val fileManager =
-          system.actorOf(FileManager.props(config, new FileSystem, zioExec))
+          system.actorOf(
+            FileManager.props(
+              config,
+              new FileSystem,
+              new DirectoryTreeCache,
+              zioExec
+            )
+          )
 
         val controller =
           system.actorOf(
-            Props(new BinaryConnectionController(clientIp, fileManager))
+            Props(
+              new BinaryConnectionController(
+                clientIp,
+                fileManager,
+                directDispatcher = Option.when(directDispatch)(directDispatcher)
+              )
+            )
           )
         lastConnectionController = controller
         controller
@@ -61,11 +93,13 @@ class BaseBinaryServerTest extends BinaryServerTestKit {
   }
 
   protected def createSessionInitCmd(
-    clientId: UUID = UUID.randomUUID()
+    clientId: UUID                       = UUID.randomUUID(),
+    chunkedVisualisationUpdates: Boolean = false
   ): ByteBuffer = {
     val requestId        = UUID.randomUUID()
     implicit val builder = new FlatBufferBuilder(1024)
-    val cmd              = SessionInitFactory.create(clientId)
+    val cmd =
+      SessionInitFactory.create(clientId, chunkedVisualisationUpdates)
     val inMsg = InboundMessageFactory.create(
       requestId,
       None,
@@ -0,0 +1,83 @@
+package org.enso.languageserver.websocket.binary
+
+import java.nio.ByteBuffer
+import java.util.UUID
+
+import org.enso.languageserver.protocol.binary.{
+  FileContentsReply,
+  OutboundMessage,
+  OutboundPayload,
+  Error => BinaryError
+}
+
+class BinaryDirectDispatchTest extends BinaryFileManipulationTest {
+
+  implicit private val outboundDecoder = OutboundMessageDecoder
+
+  override protected def directDispatch: Boolean = true
+
+  "A direct dispatch" must {
+
+    "reply to the requests of a session in order" in {
+      //given
+      val writeRequestId = UUID.randomUUID()
+      val readRequestId  = UUID.randomUUID()
+      val filename       = "baz.bin"
+      val contents       = Array[Byte](65, 66, 67) //ABC
+      val client         = newWsClient()
+      client.send(createSessionInitCmd())
+      client.expectFrame()
+      //when
+      client.send(
+        createWriteFileCmdPacket(
+          writeRequestId,
+          filename,
+          testContentRootId,
+          contents
+        )
+      )
+      client.send(
+        createReadFileCmdPacket(readRequestId, filename, testContentRootId)
+      )
+      //then
+      val Right(writeReply) = client.receiveMessage[OutboundMessage]()
+      writeReply.payloadType() shouldBe OutboundPayload.SUCCESS
+      writeReply
+        .correlationId()
+        .leastSigBits() shouldBe writeRequestId.getLeastSignificantBits
+      val Right(readReply) = client.receiveMessage[OutboundMessage]()
+      readReply.payloadType() shouldBe OutboundPayload.FILE_CONTENTS_REPLY
+      readReply
+        .correlationId()
+        .leastSigBits() shouldBe readRequestId.getLeastSignificantBits
+      val reply =
+        readReply
+          .payload(new FileContentsReply)
+          .asInstanceOf[FileContentsReply]
+      reply
+        .contentsAsByteBuffer()
+        .compareTo(ByteBuffer.wrap(contents)) shouldBe 0
+    }
+
+    "reply with an error when the file doesn't exist" in {
+      //given
+      val requestId = UUID.randomUUID()
+      val client    = newWsClient()
+      client.send(createSessionInitCmd())
+      client.expectFrame()
+      //when
+      client.send(
+        createReadFileCmdPacket(requestId, "missing.bin", testContentRootId)
+      )
+      //then
+      val Right(msg) = client.receiveMessage[OutboundMessage]()
+      msg.payloadType() shouldBe OutboundPayload.ERROR
+      msg
+        .correlationId()
+        .leastSigBits() shouldBe requestId.getLeastSignificantBits
+      val error = msg.payload(new BinaryError).asInstanceOf[BinaryError]
+      error.code() shouldBe 1003
+    }
+  }
+
+}
@@ -9,12 +9,15 @@ import org.apache.commons.io.FileUtils
 import org.enso.languageserver.protocol.binary.{
   InboundPayload,
   OutboundMessage,
-  OutboundPayload
+  OutboundPayload,
+  ReadBytesReply,
+  Error => BinaryError
 }
 import org.enso.languageserver.protocol.binary.FileContentsReply
 import org.enso.languageserver.websocket.binary.factory.{
   InboundMessageFactory,
   PathFactory,
+  ReadBytesCommandFactory,
   ReadFileCommandFactory,
   WriteFileCommandFactory
 }
@@ -93,6 +96,81 @@ class BinaryFileManipulationTest extends BaseBinaryServerTest with FlakySpec {
 
   }
 
+  "A ReadBytesCommand" must {
+
+    "read a segment of a file" in {
+      //given
+      val requestId = UUID.randomUUID()
+      val filename  = "segment.bin"
+      val file      = new File(testContentRoot.toFile, filename)
+      FileUtils.writeByteArrayToFile(file, Array[Byte](65, 66, 67, 68))
+      val client = newWsClient()
+      client.send(createSessionInitCmd())
+      client.expectFrame()
+      //when
+      client.send(
+        createReadBytesCmdPacket(requestId, filename, testContentRootId, 1, 2)
+      )
+      val Right(msg) = client.receiveMessage[OutboundMessage]()
+      //then
+      msg.payloadType() shouldBe OutboundPayload.READ_BYTES_REPLY
+      val reply =
+        msg.payload(new ReadBytesReply).asInstanceOf[ReadBytesReply]
+      reply
+        .bytesAsByteBuffer()
+        .compareTo(ByteBuffer.wrap(Array[Byte](66, 67))) shouldBe 0
+    }
+
+    "reject a segment longer than the maximum chunk length" in {
+      //given
+      val requestId = UUID.randomUUID()
+      val filename  = "large.bin"
+      val file      = new File(testContentRoot.toFile, filename)
+      FileUtils.writeByteArrayToFile(file, Array[Byte](65, 66, 67))
+      val client = newWsClient()
+      client.send(createSessionInitCmd())
+      client.expectFrame()
+      //when
+      client.send(
+        createReadBytesCmdPacket(
+          requestId,
+          filename,
+          testContentRootId,
+          0,
+          config.fileManager.maxChunkLength + 1
+        )
+      )
+      val Right(msg) = client.receiveMessage[OutboundMessage]()
+      //then
+      msg.payloadType() shouldBe OutboundPayload.ERROR
+      msg
+        .correlationId()
+        .leastSigBits() shouldBe requestId.getLeastSignificantBits
+      val error = msg.payload(new BinaryError).asInstanceOf[BinaryError]
+      error.code() shouldBe 1010
+    }
+
+    "reject a length that doesn't fit in a signed long" in {
+      //given
+      val requestId = UUID.randomUUID()
+      val filename  = "unsigned.bin"
+      val file      = new File(testContentRoot.toFile, filename)
+      FileUtils.writeByteArrayToFile(file, Array[Byte](65, 66, 67))
+      val client = newWsClient()
+      client.send(createSessionInitCmd())
+      client.expectFrame()
+      //when
+      client.send(
+        createReadBytesCmdPacket(requestId, filename, testContentRootId, 0, -1)
+      )
+      val Right(msg) = client.receiveMessage[OutboundMessage]()
+      //then
+      msg.payloadType() shouldBe OutboundPayload.ERROR
+      val error = msg.payload(new BinaryError).asInstanceOf[BinaryError]
+      error.code() shouldBe 1011
+    }
+  }
+
   def createWriteFileCmdPacket(
     requestId: UUID,
     pathSegment: String,
@@ -136,4 +214,27 @@ class BinaryFileManipulationTest extends BaseBinaryServerTest with FlakySpec {
     builder.dataBuffer()
   }
 
+  def createReadBytesCmdPacket(
+    requestId: UUID,
+    pathSegment: String,
+    rootId: UUID,
+    byteOffset: Long,
+    length: Long
+  ): ByteBuffer = {
+    implicit val builder = new FlatBufferBuilder(1024)
+
+    val path = PathFactory.create(rootId, Seq(pathSegment))
+
+    val cmd = ReadBytesCommandFactory.create(path, byteOffset, length)
+
+    val inMsg = InboundMessageFactory.create(
+      requestId,
+      None,
+      InboundPayload.READ_BYTES_CMD,
+      cmd
+    )
+    builder.finish(inMsg)
+    builder.dataBuffer()
+  }
+
 }
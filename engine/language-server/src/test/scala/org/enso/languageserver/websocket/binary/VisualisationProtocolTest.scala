@@ -9,6 +9,7 @@ import org.enso.languageserver.protocol.binary.{
   VisualisationUpdate => BinaryVisualisationUpdate
 }
 import org.enso.languageserver.runtime.ContextRegistryProtocol.{
+  DiscardVisualisationUpdates,
   VisualisationContext,
   VisualisationUpdate
 }
@@ -33,10 +34,10 @@ class VisualisationProtocolTest
         UUID.randomUUID(),
         UUID.randomUUID()
       )
-      client.send(createSessionInitCmd())
+      client.send(createSessionInitCmd(chunkedVisualisationUpdates = true))
       client.expectFrame()
       //when
-      lastConnectionController ! VisualisationUpdate(ctx, data)
+      lastConnectionController ! VisualisationUpdate(ctx, data, 2, false)
       val Right(msg) = client.receiveMessage[OutboundMessage]()
       //then
       msg.payloadType() shouldBe OutboundPayload.VISUALISATION_UPDATE
@@ -44,6 +45,8 @@ class VisualisationProtocolTest
         .payload(new BinaryVisualisationUpdate)
         .asInstanceOf[BinaryVisualisationUpdate]
       payload.dataAsByteBuffer().compareTo(ByteBuffer.wrap(data)) shouldBe 0
+      payload.sequenceNumber() shouldBe 2
+      payload.isLast() shouldBe false
       payload
         .visualisationContext()
         .contextId()
@@ -70,6 +73,88 @@ class VisualisationProtocolTest
         .mostSigBits() shouldBe ctx.visualisationId.getMostSignificantBits
     }
 
+    "join the chunks when the session doesn't accept chunked updates" taggedAs Flaky in {
+      //given
+      val client = newWsClient()
+      val ctx = VisualisationContext(
+        UUID.randomUUID(),
+        UUID.randomUUID(),
+        UUID.randomUUID()
+      )
+      client.send(createSessionInitCmd())
+      client.expectFrame()
+      //when
+      lastConnectionController ! VisualisationUpdate(
+        ctx,
+        Array[Byte](1, 2),
+        0,
+        false
+      )
+      lastConnectionController ! VisualisationUpdate(
+        ctx,
+        Array[Byte](3),
+        1,
+        true
+      )
+      val Right(msg) = client.receiveMessage[OutboundMessage]()
+      //then
+      msg.payloadType() shouldBe OutboundPayload.VISUALISATION_UPDATE
+      val payload = msg
+        .payload(new BinaryVisualisationUpdate)
+        .asInstanceOf[BinaryVisualisationUpdate]
+      payload
+        .dataAsByteBuffer()
+        .compareTo(ByteBuffer.wrap(Array[Byte](1, 2, 3))) shouldBe 0
+      payload.sequenceNumber() shouldBe 0
+      payload.isLast() shouldBe true
+    }
+
+    "drop the discarded chunks when the session doesn't accept chunked updates" taggedAs Flaky in {
+      //given
+      val client = newWsClient()
+      val ctx = VisualisationContext(
+        UUID.randomUUID(),
+        UUID.randomUUID(),
+        UUID.randomUUID()
+      )
+      client.send(createSessionInitCmd())
+      client.expectFrame()
+      //when
+      lastConnectionController ! VisualisationUpdate(
+        ctx,
+        Array[Byte](1, 2),
+        0,
+        false
+      )
+      lastConnectionController ! DiscardVisualisationUpdates(
+        ctx.contextId,
+        Some(ctx.visualisationId)
+      )
+      lastConnectionController ! VisualisationUpdate(
+        ctx,
+        Array[Byte](3),
+        1,
+        true
+      )
+      lastConnectionController ! VisualisationUpdate(
+        ctx,
+        Array[Byte](4),
+        0,
+        true
+      )
+      val Right(msg) = client.receiveMessage[OutboundMessage]()
+      //then
+      msg.payloadType() shouldBe OutboundPayload.VISUALISATION_UPDATE
+      val payload = msg
+        .payload(new BinaryVisualisationUpdate)
+        .asInstanceOf[BinaryVisualisationUpdate]
+      payload
+        .dataAsByteBuffer()
+        .compareTo(ByteBuffer.wrap(Array[Byte](4))) shouldBe 0
+      payload.sequenceNumber() shouldBe 0
+      payload.isLast() shouldBe true
+    }
+
   }
 
 }
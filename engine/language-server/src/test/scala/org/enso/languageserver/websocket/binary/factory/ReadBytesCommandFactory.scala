@@ -0,0 +1,21 @@
+package org.enso.languageserver.websocket.binary.factory
+
+import com.google.flatbuffers.FlatBufferBuilder
+import org.enso.languageserver.protocol.binary.{FileSegment, ReadBytesCommand}
+
+object ReadBytesCommandFactory {
+
+  def create(path: Int, byteOffset: Long, length: Long)(implicit
+    builder: FlatBufferBuilder
+  ): Int = {
+    FileSegment.startFileSegment(builder)
+    FileSegment.addPath(builder, path)
+    FileSegment.addByteOffset(builder, byteOffset)
+    FileSegment.addLength(builder, length)
+    val segment = FileSegment.endFileSegment(builder)
+    ReadBytesCommand.startReadBytesCommand(builder)
+    ReadBytesCommand.addSegment(builder, segment)
+    ReadBytesCommand.endReadBytesCommand(builder)
+  }
+
+}
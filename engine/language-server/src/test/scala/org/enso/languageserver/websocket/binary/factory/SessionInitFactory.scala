@@ -8,10 +8,16 @@ import org.enso.languageserver.protocol.binary.factory.EnsoUuidFactory
 
 object SessionInitFactory {
 
-  def create(clientId: UUID)(implicit builder: FlatBufferBuilder): Int = {
+  def create(clientId: UUID, chunkedVisualisationUpdates: Boolean = false)(
+    implicit builder: FlatBufferBuilder
+  ): Int = {
     InitSessionCommand.startInitSessionCommand(builder)
     val id = EnsoUuidFactory.create(clientId)
     InitSessionCommand.addIdentifier(builder, id)
+    InitSessionCommand.addChunkedVisualisationUpdates(
+      builder,
+      chunkedVisualisationUpdates
+    )
     InitSessionCommand.endInitSessionCommand(builder)
   }
 
@@ -13,6 +13,7 @@ import org.enso.languageserver.data._
 import org.enso.languageserver.effect.ZioExec
 import org.enso.languageserver.event.InitializedEvent
 import org.enso.languageserver.filemanager.{
+  DirectoryTreeCache,
   FileManager,
   FileSystem,
   ReceivesTreeUpdatesHandler
@@ -88,8 +89,11 @@ class BaseServerTest extends JsonRpcServerTestKit {
   val versionsRepo    = new SqlVersionsRepo(sqlDatabase)(system.dispatcher)
 
   override def clientControllerFactory: ClientControllerFactory = {
+    val treeCache = new DirectoryTreeCache
     val fileManager =
-      system.actorOf(FileManager.props(config, new FileSystem, zioExec))
+      system.actorOf(
+        FileManager.props(config, new FileSystem, treeCache, zioExec)
+      )
     val bufferRegistry =
       system.actorOf(
         BufferRegistry.props(
@@ -102,7 +106,8 @@ class BaseServerTest extends JsonRpcServerTestKit {
       )
     val fileEventRegistry =
       system.actorOf(
-        ReceivesTreeUpdatesHandler.props(config, new FileSystem, zioExec)
+        ReceivesTreeUpdatesHandler
+          .props(config, new FileSystem, treeCache, zioExec)
       )
 
     val contextRegistry =
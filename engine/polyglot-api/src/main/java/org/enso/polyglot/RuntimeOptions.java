@@ -19,6 +19,11 @@ public class RuntimeOptions {
   private static final OptionDescriptor STRICT_ERRORS_DESCRIPTOR =
       OptionDescriptor.newBuilder(STRICT_ERRORS_KEY, STRICT_ERRORS).build();
 
+  public static final String LIGHTWEIGHT_ERRORS = optionName("lightweightErrors");
+  public static final OptionKey<Boolean> LIGHTWEIGHT_ERRORS_KEY = new OptionKey<>(false);
+  private static final OptionDescriptor LIGHTWEIGHT_ERRORS_DESCRIPTOR =
+      OptionDescriptor.newBuilder(LIGHTWEIGHT_ERRORS_KEY, LIGHTWEIGHT_ERRORS).build();
+
   public static final String DISABLE_INLINE_CACHES = optionName("disableInlineCaches");
   public static final OptionKey<Boolean> DISABLE_INLINE_CACHES_KEY = new OptionKey<>(false);
   private static final OptionDescriptor DISABLE_INLINE_CACHES_DESCRIPTOR =
@@ -44,6 +49,7 @@ public class RuntimeOptions {
           Arrays.asList(
               PACKAGES_PATH_DESCRIPTOR,
               STRICT_ERRORS_DESCRIPTOR,
+              LIGHTWEIGHT_ERRORS_DESCRIPTOR,
               LOG_LEVEL_DESCRIPTOR,
               DISABLE_INLINE_CACHES_DESCRIPTOR,
               INTERPRETER_SEQUENTIAL_COMMAND_EXECUTION_DESCRIPTOR));
@@ -0,0 +1,19 @@
+package org.enso.polyglot;
+
+import org.graalvm.options.OptionDescriptor;
+import org.graalvm.options.OptionKey;
+
+/** Container for Sampling Profiler related constants. */
+public class SamplingProfilerInfo {
+  public static final String INSTRUMENT_NAME = "enso-sampling-profiler";
+
+  public static final String OUTPUT_OPTION = INSTRUMENT_NAME + ".output";
+  public static final OptionKey<String> OUTPUT_KEY = new OptionKey<>("");
+  public static final OptionDescriptor OUTPUT_DESCRIPTOR =
+      OptionDescriptor.newBuilder(OUTPUT_KEY, OUTPUT_OPTION).build();
+
+  public static final String INTERVAL_OPTION = INSTRUMENT_NAME + ".interval";
+  public static final OptionKey<Integer> INTERVAL_KEY = new OptionKey<>(10);
+  public static final OptionDescriptor INTERVAL_DESCRIPTOR =
+      OptionDescriptor.newBuilder(INTERVAL_KEY, INTERVAL_OPTION).build();
+}
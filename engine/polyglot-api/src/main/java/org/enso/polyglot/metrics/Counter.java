@@ -0,0 +1,55 @@
+package org.enso.polyglot.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** A monotonically increasing count of events. */
+public final class Counter implements Metric {
+
+  private final String name;
+  private final String help;
+  private final LongAdder count = new LongAdder();
+
+  Counter(String name, String help) {
+    this.name = name;
+    this.help = help;
+  }
+
+  /** Increment the counter. */
+  public void inc() {
+    count.increment();
+  }
+
+  /**
+   * Increase the counter.
+   *
+   * @param amount the non-negative amount to add.
+   */
+  public void add(long amount) {
+    count.add(amount);
+  }
+
+  /** @return the current count. */
+  public long getCount() {
+    return count.sum();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getHelp() {
+    return help;
+  }
+
+  @Override
+  public String getType() {
+    return "counter";
+  }
+
+  @Override
+  public void writeSamples(StringBuilder out) {
+    out.append(name).append(' ').append(getCount()).append('\n');
+  }
+}
@@ -0,0 +1,74 @@
+package org.enso.polyglot.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A value that can go up and down. The value is either set explicitly, or read from a bound
+ * supplier when the metric is exported.
+ */
+public final class Gauge implements Metric {
+
+  private final String name;
+  private final String help;
+  private final AtomicLong value = new AtomicLong();
+  private volatile LongSupplier supplier;
+
+  Gauge(String name, String help) {
+    this.name = name;
+    this.help = help;
+  }
+
+  /**
+   * Set the value of the gauge.
+   *
+   * @param newValue the new value.
+   */
+  public void set(long newValue) {
+    value.set(newValue);
+  }
+
+  /**
+   * Change the value of the gauge.
+   *
+   * @param delta the amount to add.
+   */
+  public void add(long delta) {
+    value.addAndGet(delta);
+  }
+
+  /**
+   * Read the value of the gauge from the supplier, replacing the previously bound supplier.
+   *
+   * @param supplier the supplier of the value.
+   */
+  public void bind(LongSupplier supplier) {
+    this.supplier = supplier;
+  }
+
+  /** @return the current value. */
+  public long getValue() {
+    LongSupplier current = supplier;
+    return current == null ? value.get() : current.getAsLong();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getHelp() {
+    return help;
+  }
+
+  @Override
+  public String getType() {
+    return "gauge";
+  }
+
+  @Override
+  public void writeSamples(StringBuilder out) {
+    out.append(name).append(' ').append(getValue()).append('\n');
+  }
+}
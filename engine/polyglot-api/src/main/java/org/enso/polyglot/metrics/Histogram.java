@@ -0,0 +1,137 @@
+package org.enso.polyglot.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A distribution of non-negative values, exported as a summary with the estimated quantiles.
+ *
+ * <p>The values are counted in log-linear buckets, in the style of the HDR histograms. Each power
+ * of two range is split into {@link #SUB_BUCKETS} buckets of equal width, so the quantiles are
+ * estimated with a relative error of at most 12.5% using a fixed array of counters. Recording a
+ * value is lock-free.
+ */
+public final class Histogram implements Metric {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+  private static final double[] EXPORTED_QUANTILES = {0.5, 0.9, 0.99};
+
+  private final String name;
+  private final String help;
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  Histogram(String name, String help) {
+    this.name = name;
+    this.help = help;
+  }
+
+  /**
+   * Record a value. The negative values are recorded as zero.
+   *
+   * @param value the recorded value.
+   */
+  public void record(long value) {
+    long recorded = Math.max(value, 0);
+    buckets.incrementAndGet(bucketIndex(recorded));
+    count.increment();
+    sum.add(recorded);
+    max.accumulate(recorded);
+  }
+
+  /** @return the number of the recorded values. */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /** @return the sum of the recorded values. */
+  public long getSum() {
+    return sum.sum();
+  }
+
+  /** @return the maximum recorded value. */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Estimate the value at the quantile.
+   *
+   * @param quantile the quantile between 0 and 1.
+   * @return the upper bound of the bucket containing the quantile, or 0 if no values were recorded.
+   */
+  public long getValueAtQuantile(double quantile) {
+    long[] counts = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets.get(i);
+      total += counts[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(bucketUpperBound(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getHelp() {
+    return help;
+  }
+
+  @Override
+  public String getType() {
+    return "summary";
+  }
+
+  @Override
+  public void writeSamples(StringBuilder out) {
+    for (double quantile : EXPORTED_QUANTILES) {
+      out.append(name)
+          .append("{quantile=\"")
+          .append(quantile)
+          .append("\"} ")
+          .append(getValueAtQuantile(quantile))
+          .append('\n');
+    }
+    out.append(name).append("_sum ").append(getSum()).append('\n');
+    out.append(name).append("_count ").append(getCount()).append('\n');
+  }
+
+  private static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucket = (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+  }
+
+  private static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+    long subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+    long lowerBound = (SUB_BUCKETS + subBucket) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+}
@@ -0,0 +1,21 @@
+package org.enso.polyglot.metrics;
+
+/** A metric that can be exported in the Prometheus text format. */
+public interface Metric {
+
+  /** @return the name of the metric. */
+  String getName();
+
+  /** @return the description of the metric. */
+  String getHelp();
+
+  /** @return the Prometheus type of the metric. */
+  String getType();
+
+  /**
+   * Write the samples of the metric, without the metadata lines.
+   *
+   * @param out the output to write the samples to.
+   */
+  void writeSamples(StringBuilder out);
+}
@@ -0,0 +1,73 @@
+package org.enso.polyglot.metrics;
+
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiFunction;
+
+/**
+ * A registry of the metrics of a component.
+ *
+ * <p>The metrics are created on first use and identified by their names. Updating the metrics is
+ * lock-free, so they can be recorded on the hot paths. The registry is exported in the Prometheus
+ * text format.
+ */
+public final class MetricsRegistry {
+
+  private final ConcurrentNavigableMap<String, Metric> metrics = new ConcurrentSkipListMap<>();
+
+  /**
+   * Get or create a counter.
+   *
+   * @param name the metric name.
+   * @param help the metric description.
+   * @return the counter registered with the name.
+   */
+  public Counter counter(String name, String help) {
+    return register(name, help, Counter.class, Counter::new);
+  }
+
+  /**
+   * Get or create a gauge.
+   *
+   * @param name the metric name.
+   * @param help the metric description.
+   * @return the gauge registered with the name.
+   */
+  public Gauge gauge(String name, String help) {
+    return register(name, help, Gauge.class, Gauge::new);
+  }
+
+  /**
+   * Get or create a histogram.
+   *
+   * @param name the metric name.
+   * @param help the metric description.
+   * @return the histogram registered with the name.
+   */
+  public Histogram histogram(String name, String help) {
+    return register(name, help, Histogram.class, Histogram::new);
+  }
+
+  /** @return the metrics in the Prometheus text format, sorted by name. */
+  public String format() {
+    StringBuilder out = new StringBuilder();
+    for (Metric metric : metrics.values()) {
+      out.append("# HELP ").append(metric.getName()).append(' ');
+      out.append(metric.getHelp().replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+      out.append("# TYPE ").append(metric.getName()).append(' ');
+      out.append(metric.getType()).append('\n');
+      metric.writeSamples(out);
+    }
+    return out.toString();
+  }
+
+  private <M extends Metric> M register(
+      String name, String help, Class<M> kind, BiFunction<String, String, M> constructor) {
+    Metric metric = metrics.computeIfAbsent(name, key -> constructor.apply(key, help));
+    if (!kind.isInstance(metric)) {
+      throw new IllegalArgumentException(
+          "Metric " + name + " is already registered as a " + metric.getType());
+    }
+    return kind.cast(metric);
+  }
+}
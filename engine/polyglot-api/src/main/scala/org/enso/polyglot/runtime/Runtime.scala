@@ -188,6 +188,14 @@ object Runtime {
       new JsonSubTypes.Type(
         value = classOf[Api.ImportSuggestionResponse],
         name  = "importSuggestionResponse"
+      ),
+      new JsonSubTypes.Type(
+        value = classOf[Api.GetMetricsRequest],
+        name  = "getMetricsRequest"
+      ),
+      new JsonSubTypes.Type(
+        value = classOf[Api.GetMetricsResponse],
+        name  = "getMetricsResponse"
       )
     )
   )
@@ -713,13 +721,20 @@ object Runtime {
     ) extends ApiNotification
 
     /** An event signaling a visualisation update.
+      *
+      * The large visualisation data is split into chunks sent as consecutive
+      * updates, numbered from zero.
       *
       * @param visualisationContext a visualisation context
-      * @param data a visualisation data
+      * @param data a chunk of the visualisation data
+      * @param sequenceNumber the number of the chunk
+      * @param isLast whether the chunk is the last one
       */
     case class VisualisationUpdate(
       visualisationContext: VisualisationContext,
-      data: Array[Byte]
+      data: Array[Byte],
+      sequenceNumber: Int,
+      isLast: Boolean
     ) extends ApiNotification
 
     /** Envelope for an Api request.
@@ -1052,6 +1067,15 @@ object Runtime {
       exports: Seq[Export]
     ) extends ApiResponse
 
+    /** A request to return the runtime metrics. */
+    case class GetMetricsRequest() extends ApiRequest
+
+    /** The runtime metrics.
+      *
+      * @param metrics the metrics in the Prometheus text format
+      */
+    case class GetMetricsResponse(metrics: String) extends ApiResponse
+
     private lazy val mapper = {
       val factory = new CBORFactory()
       val mapper  = new ObjectMapper(factory) with ScalaObjectMapper
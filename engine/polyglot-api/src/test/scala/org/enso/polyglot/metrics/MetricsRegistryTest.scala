@@ -0,0 +1,67 @@
+package org.enso.polyglot.metrics
+
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class MetricsRegistryTest extends AnyWordSpec with Matchers {
+
+  "MetricsRegistry" should {
+
+    "return the registered metric" in {
+      val registry = new MetricsRegistry
+      val counter  = registry.counter("requests", "Requests.")
+
+      registry.counter("requests", "Requests.") shouldBe theSameInstanceAs(
+        counter
+      )
+    }
+
+    "reject a metric registered with a different type" in {
+      val registry = new MetricsRegistry
+      registry.counter("requests", "Requests.")
+
+      an[IllegalArgumentException] should be thrownBy registry.gauge(
+        "requests",
+        "Requests."
+      )
+    }
+
+    "format the metrics sorted by name" in {
+      val registry = new MetricsRegistry
+      registry.gauge("queued", "Queued jobs.").bind(() => 3L)
+      val counter = registry.counter("cache_hits", "Cache hits.")
+      counter.inc()
+      counter.add(2)
+
+      registry.format() shouldEqual
+      """# HELP cache_hits Cache hits.
+        |# TYPE cache_hits counter
+        |cache_hits 3
+        |# HELP queued Queued jobs.
+        |# TYPE queued gauge
+        |queued 3
+        |""".stripMargin
+    }
+  }
+
+  "Histogram" should {
+
+    "estimate the quantiles" in {
+      val histogram = new MetricsRegistry().histogram("time", "Time.")
+      (1L to 1000L).foreach(histogram.record)
+
+      histogram.getCount shouldEqual 1000
+      histogram.getSum shouldEqual 500500
+      histogram.getMax shouldEqual 1000
+      histogram.getValueAtQuantile(0.5) should (be >= 500L and be <= 563L)
+      histogram.getValueAtQuantile(0.9) should (be >= 900L and be <= 1000L)
+      histogram.getValueAtQuantile(1.0) shouldEqual 1000
+    }
+
+    "return zero when empty" in {
+      val histogram = new MetricsRegistry().histogram("time", "Time.")
+
+      histogram.getValueAtQuantile(0.99) shouldEqual 0
+    }
+  }
+}
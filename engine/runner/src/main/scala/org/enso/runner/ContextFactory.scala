@@ -8,7 +8,12 @@ import org.enso.polyglot.debugger.{
   DebugServerInfo,
   DebuggerSessionManagerEndpoint
 }
-import org.enso.polyglot.{LanguageInfo, PolyglotContext, RuntimeOptions}
+import org.enso.polyglot.{
+  LanguageInfo,
+  PolyglotContext,
+  RuntimeOptions,
+  SamplingProfilerInfo
+}
 import org.graalvm.polyglot.Context
 
 /** Utility class for creating Graal polyglot contexts.
@@ -23,6 +28,8 @@ class ContextFactory {
     * @param repl the Repl manager to use for this context
     * @param logLevel the log level for this context
     * @param strictErrors whether or not to use strict errors
+    * @param profilingOutput the file to write the profiling samples to, if
+    *                        the program should be profiled
     * @return configured Context instance
     */
   def create(
@@ -31,9 +38,10 @@ class ContextFactory {
     out: OutputStream,
     repl: Repl,
     logLevel: LogLevel,
-    strictErrors: Boolean = false
+    strictErrors: Boolean           = false,
+    profilingOutput: Option[String] = None
   ): PolyglotContext = {
-    val context = Context
+    val builder = Context
       .newBuilder(LanguageInfo.ID)
       .allowExperimentalOptions(true)
       .allowAllAccess(true)
@@ -54,7 +62,9 @@ class ContextFactory {
       .logHandler(
         JavaLoggingLogHandler.create(JavaLoggingLogHandler.defaultLevelMapping)
       )
-      .build
-    new PolyglotContext(context)
+    profilingOutput.foreach { path =>
+      builder.option(SamplingProfilerInfo.OUTPUT_OPTION, path)
+    }
+    new PolyglotContext(builder.build)
   }
 }
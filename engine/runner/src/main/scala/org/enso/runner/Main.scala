@@ -32,6 +32,7 @@ object Main {
   private val INTERFACE_OPTION            = "interface"
   private val RPC_PORT_OPTION             = "rpc-port"
   private val DATA_PORT_OPTION            = "data-port"
+  private val DATA_DIRECT_DISPATCH_OPTION = "data-direct-dispatch"
   private val ROOT_ID_OPTION              = "root-id"
   private val ROOT_PATH_OPTION            = "path"
   private val IN_PROJECT_OPTION           = "in-project"
@@ -39,6 +40,7 @@ object Main {
   private val JSON_OPTION                 = "json"
   private val LOG_LEVEL                   = "log-level"
   private val LOGGER_CONNECT              = "logger-connect"
+  private val PROFILING_OUTPUT            = "profiling-output"
 
   /** Builds the [[Options]] object representing the CLI syntax.
     *
@@ -126,6 +128,13 @@ object Main {
       .argName("data-port")
       .desc("Data port for visualisation protocol")
       .build()
+    val dataDirectDispatchOption = CliOption.builder
+      .longOpt(DATA_DIRECT_DISPATCH_OPTION)
+      .desc(
+        "Handles the file commands and the visualisation updates of the " +
+        "data port on a dedicated executor, bypassing the actors."
+      )
+      .build()
     val uuidOption = CliOption.builder
       .hasArg(true)
       .numberOfArgs(1)
@@ -175,6 +184,16 @@ object Main {
       .longOpt(LOGGER_CONNECT)
       .desc("Connects to a logging service server and passes all logs to it.")
       .build
+    val profilingOutputOption = CliOption.builder
+      .hasArg(true)
+      .numberOfArgs(1)
+      .argName("file")
+      .longOpt(PROFILING_OUTPUT)
+      .desc(
+        "Samples the call stacks of the program run with the --run option " +
+        "and writes them to the file in the collapsed stack format."
+      )
+      .build
 
     val options = new Options
     options
@@ -190,6 +209,7 @@ object Main {
       .addOption(interfaceOption)
       .addOption(rpcPortOption)
       .addOption(dataPortOption)
+      .addOption(dataDirectDispatchOption)
       .addOption(uuidOption)
       .addOption(pathOption)
       .addOption(inProjectOption)
@@ -197,6 +217,7 @@ object Main {
       .addOption(json)
       .addOption(logLevelOption)
       .addOption(loggerConnectOption)
+      .addOption(profilingOutputOption)
 
     options
   }
@@ -261,11 +282,14 @@ object Main {
     * @param projectPath if specified, the script is run in context of a
     *                    project located at that path
     * @param logLevel log level to set for the engine runtime
+    * @param profilingOutput the file to write the profiling samples to, if
+    *                        the program should be profiled
     */
   private def run(
     path: String,
     projectPath: Option[String],
-    logLevel: LogLevel
+    logLevel: LogLevel,
+    profilingOutput: Option[String]
   ): Unit = {
     val file = new File(path)
     if (!file.exists) {
@@ -292,8 +316,9 @@ object Main {
       System.in,
       System.out,
       Repl(TerminalIO()),
-      strictErrors = true,
-      logLevel     = logLevel
+      strictErrors    = true,
+      logLevel        = logLevel,
+      profilingOutput = profilingOutput
     )
     if (projectMode) {
       val pkg  = PackageManager.Default.fromDirectory(file)
@@ -472,7 +497,14 @@ object Main {
       dataPort   <- Either
                       .catchNonFatal(dataPortStr.toInt)
                       .leftMap(_ => "Port must be integer")
-    } yield boot.LanguageServerConfig(interface, rpcPort, dataPort, rootId, rootPath)
+    } yield boot.LanguageServerConfig(
+      interface,
+      rpcPort,
+      dataPort,
+      rootId,
+      rootPath,
+      binaryDirectDispatch = line.hasOption(DATA_DIRECT_DISPATCH_OPTION)
+    )
     // format: on
 
   /** Prints the version of the Enso executable.
@@ -555,7 +587,8 @@ object Main {
       run(
         line.getOptionValue(RUN_OPTION),
         Option(line.getOptionValue(IN_PROJECT_OPTION)),
-        logLevel
+        logLevel,
+        Option(line.getOptionValue(PROFILING_OUTPUT))
       )
     }
     if (line.hasOption(REPL_OPTION)) {
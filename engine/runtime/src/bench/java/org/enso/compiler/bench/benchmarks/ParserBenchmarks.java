@@ -0,0 +1,145 @@
+package org.enso.compiler.bench.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import org.enso.compiler.bench.fixtures.ParserFixtures;
+import org.enso.compiler.bench.fixtures.ParserInput;
+import org.enso.compiler.bench.fixtures.ParserStages;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.annotations.AuxCounters.Type;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the stages of the parser pipeline used by the compiler.
+ *
+ * <p>Besides the average time, each benchmark reports the rate of processed source bytes and the
+ * allocation rate of the measured stage. The benchmarks on the large synthetic input are kept in
+ * {@link ParserLargeInputBenchmarks}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParserBenchmarks {
+  private static ParserFixtures fixtures = new ParserFixtures();
+
+  @State(Scope.Thread)
+  @AuxCounters(Type.OPERATIONS)
+  public static class PipelineCounters {
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private long allocationStart = 0;
+
+    public long sourceBytes = 0;
+    public long allocatedBytes = 0;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      sourceBytes = 0;
+      allocatedBytes = 0;
+    }
+
+    void start() {
+      allocationStart = threads.getCurrentThreadAllocatedBytes();
+    }
+
+    void finish(ParserInput input) {
+      allocatedBytes += threads.getCurrentThreadAllocatedBytes() - allocationStart;
+      sourceBytes += input.bytes();
+    }
+  }
+
+  static void parse(ParserInput input, PipelineCounters counters, Blackhole blackhole) {
+    counters.start();
+    for (String source : input.sources()) {
+      blackhole.consume(ParserStages.parse(source));
+    }
+    counters.finish(input);
+  }
+
+  private void parseDocumentation(
+      ParserInput input, PipelineCounters counters, Blackhole blackhole) {
+    var parsed = input.parsed();
+    counters.start();
+    for (var ast : parsed) {
+      blackhole.consume(ParserStages.parseDocumentation(ast));
+    }
+    counters.finish(input);
+  }
+
+  private void translate(ParserInput input, PipelineCounters counters, Blackhole blackhole) {
+    var parsed = input.parsed();
+    counters.start();
+    for (var ast : parsed) {
+      blackhole.consume(ParserStages.translate(ast));
+    }
+    counters.finish(input);
+  }
+
+  static void generateIR(ParserInput input, PipelineCounters counters, Blackhole blackhole) {
+    counters.start();
+    for (String source : input.sources()) {
+      blackhole.consume(ParserStages.generateIR(source));
+    }
+    counters.finish(input);
+  }
+
+  // === Parser ===
+
+  @Benchmark
+  public void benchParseStdLib(PipelineCounters counters, Blackhole blackhole) {
+    parse(fixtures.stdLib(), counters, blackhole);
+  }
+
+  @Benchmark
+  public void benchParseSynthetic1KB(PipelineCounters counters, Blackhole blackhole) {
+    parse(fixtures.synthetic1KB(), counters, blackhole);
+  }
+
+  @Benchmark
+  public void benchParseSynthetic1MB(PipelineCounters counters, Blackhole blackhole) {
+    parse(fixtures.synthetic1MB(), counters, blackhole);
+  }
+
+  // === Documentation Parser ===
+
+  @Benchmark
+  public void benchDocParserStdLib(PipelineCounters counters, Blackhole blackhole) {
+    parseDocumentation(fixtures.stdLib(), counters, blackhole);
+  }
+
+  @Benchmark
+  public void benchDocParserSynthetic1MB(PipelineCounters counters, Blackhole blackhole) {
+    parseDocumentation(fixtures.synthetic1MB(), counters, blackhole);
+  }
+
+  // === AST to IR Translation ===
+
+  @Benchmark
+  public void benchAstToIrStdLib(PipelineCounters counters, Blackhole blackhole) {
+    translate(fixtures.stdLib(), counters, blackhole);
+  }
+
+  @Benchmark
+  public void benchAstToIrSynthetic1MB(PipelineCounters counters, Blackhole blackhole) {
+    translate(fixtures.synthetic1MB(), counters, blackhole);
+  }
+
+  // === Full Pipeline ===
+
+  @Benchmark
+  public void benchGenerateIRStdLib(PipelineCounters counters, Blackhole blackhole) {
+    generateIR(fixtures.stdLib(), counters, blackhole);
+  }
+
+  @Benchmark
+  public void benchGenerateIRSynthetic1KB(PipelineCounters counters, Blackhole blackhole) {
+    generateIR(fixtures.synthetic1KB(), counters, blackhole);
+  }
+
+  @Benchmark
+  public void benchGenerateIRSynthetic1MB(PipelineCounters counters, Blackhole blackhole) {
+    generateIR(fixtures.synthetic1MB(), counters, blackhole);
+  }
+}
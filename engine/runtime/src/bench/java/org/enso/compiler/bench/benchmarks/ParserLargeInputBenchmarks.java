@@ -0,0 +1,34 @@
+package org.enso.compiler.bench.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.enso.compiler.bench.fixtures.ParserFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the parser pipeline on a large synthetic module.
+ *
+ * <p>The input is 10 MiB by default, and its size can be changed with the {@code
+ * enso.bench.parser.largeInputSize} system property. As generating and parsing it is slow, these
+ * benchmarks are not part of the regression test run on CI.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParserLargeInputBenchmarks {
+  private static ParserFixtures fixtures = new ParserFixtures();
+
+  @Benchmark
+  public void benchParseSyntheticLarge(
+      ParserBenchmarks.PipelineCounters counters, Blackhole blackhole) {
+    ParserBenchmarks.parse(fixtures.syntheticLarge(), counters, blackhole);
+  }
+
+  @Benchmark
+  public void benchGenerateIRSyntheticLarge(
+      ParserBenchmarks.PipelineCounters counters, Blackhole blackhole) {
+    ParserBenchmarks.generateIR(fixtures.syntheticLarge(), counters, blackhole);
+  }
+}
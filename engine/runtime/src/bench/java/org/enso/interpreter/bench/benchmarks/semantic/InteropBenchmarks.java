@@ -0,0 +1,40 @@
+package org.enso.interpreter.bench.benchmarks.semantic;
+
+import java.util.concurrent.TimeUnit;
+import org.enso.interpreter.bench.fixtures.semantic.InteropFixtures;
+import org.enso.interpreter.test.DefaultInterpreterRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InteropBenchmarks {
+  private static InteropFixtures fixtures = new InteropFixtures();
+
+  private void runOnMillion(DefaultInterpreterRunner.MainMethod main) {
+    main.mainFunction().value().execute(main.mainConstructor(), fixtures.million());
+  }
+
+  @Benchmark
+  public void benchStaticCalls() {
+    runOnMillion(fixtures.staticCalls());
+  }
+
+  @Benchmark
+  public void benchInstanceCalls() {
+    runOnMillion(fixtures.instanceCalls());
+  }
+
+  @Benchmark
+  public void benchArrayReads() {
+    runOnMillion(fixtures.arrayReads());
+  }
+}
@@ -0,0 +1,51 @@
+package org.enso.interpreter.bench.benchmarks.semantic;
+
+import java.util.concurrent.TimeUnit;
+import org.enso.interpreter.bench.fixtures.semantic.NumericFixtures;
+import org.enso.interpreter.test.DefaultInterpreterRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NumericBenchmarks {
+  private static NumericFixtures fixtures = new NumericFixtures();
+
+  private void runOnTenMillion(DefaultInterpreterRunner.MainMethod main) {
+    main.mainFunction().value().execute(main.mainConstructor(), fixtures.tenMillion());
+  }
+
+  @Benchmark
+  public void benchSumSmall() {
+    runOnTenMillion(fixtures.sumSmall());
+  }
+
+  @Benchmark
+  public void benchPolynomialHash() {
+    runOnTenMillion(fixtures.polynomialHash());
+  }
+
+  @Benchmark
+  public void benchHoverOverflow() {
+    runOnTenMillion(fixtures.hoverOverflow());
+  }
+
+  @Benchmark
+  public void benchMultiplyOverflow() {
+    runOnTenMillion(fixtures.multiplyOverflow());
+  }
+
+  @Benchmark
+  public void benchFactorial() {
+    DefaultInterpreterRunner.MainMethod main = fixtures.factorial();
+    main.mainFunction().value().execute(main.mainConstructor(), fixtures.hundred());
+  }
+}
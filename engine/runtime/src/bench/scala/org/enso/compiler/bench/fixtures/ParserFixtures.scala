@@ -0,0 +1,141 @@
+package org.enso.compiler.bench.fixtures
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.{Files, Path, Paths}
+
+import org.enso.compiler.codegen.AstToIr
+import org.enso.compiler.core.IR
+import org.enso.syntax.text.{AST, DocParserRunner, Parser}
+
+import scala.jdk.CollectionConverters._
+
+/** A set of sources that the parser benchmarks are run on.
+  *
+  * @param sources the source code of the modules
+  */
+class ParserInput(val sources: Array[String]) {
+
+  /** The total size of the sources in bytes (according to utf-8). */
+  val bytes: Long =
+    sources.map(_.getBytes(StandardCharsets.UTF_8).length.toLong).sum
+
+  /** The sources parsed ahead of time, used to benchmark the later stages in
+    * isolation.
+    */
+  lazy val parsed: Array[AST.Module] = sources.map(ParserStages.parse)
+}
+object ParserInput {
+
+  /** Reads all Enso modules in the provided directory.
+    *
+    * @param root the directory to read the modules from
+    * @return the sources of all modules in `root`
+    */
+  def fromDirectory(root: Path): ParserInput = {
+    val stream = Files.walk(root)
+    try {
+      val sources = stream.iterator.asScala
+        .filter(_.toString.endsWith(".enso"))
+        .toArray
+        .sorted
+        .map(path => preprocess(Files.readString(path)))
+      new ParserInput(sources)
+    } finally {
+      stream.close()
+    }
+  }
+
+  /** Generates a single module of at least the provided size.
+    *
+    * The module consists of repeated documented type and method definitions
+    * using a mix of the syntactic constructs seen in the standard library.
+    *
+    * @param size the size of the module in bytes
+    * @return an input consisting of a single synthetic module
+    */
+  def synthetic(size: Int): ParserInput = {
+    val builder = new StringBuilder("from Base import all\n\n")
+    var index   = 0
+    while (builder.length < size) {
+      builder.append(definition(index))
+      index += 1
+    }
+    new ParserInput(Array(builder.toString))
+  }
+
+  private def definition(index: Int): String =
+    s"""## A type number $index.
+       |
+       |   Arguments:
+       |   - value: the value stored in the type.
+       |type Type_$index value
+       |
+       |## Computes a summary of the arguments.
+       |
+       |   > Example
+       |     Compute a summary of two numbers.
+       |         method_$index 1 2
+       |method_$index x y=10 =
+       |    z = x + y * $index - (x / 2)
+       |    w = if z > 10 then "big " + z.to_text else 'small'
+       |    items = [z, w, x.to_text]
+       |    mapped = items.map (e -> e.to_text + "!")
+       |    case Type_$index z of
+       |        Type_$index v -> mapped.fold v (+)
+       |        _ -> Nothing
+       |
+       |Type_$index.describe = this.value.to_text + " (" + $index.to_text + ")"
+       |
+       |""".stripMargin
+
+  /** Replace all CRLF line endings in the input by LF. */
+  private def preprocess(input: String): String =
+    input.replace("\r\n", "\n")
+}
+
+/** The stages of the parser pipeline used by the compiler. */
+object ParserStages {
+
+  /** Parses the source, resolving macros and attaching the identifiers, as
+    * done by [[org.enso.compiler.Compiler.parse]].
+    */
+  def parse(source: String): AST.Module =
+    Parser().runWithIds(source)
+
+  /** Runs the documentation parser on the comments of the module. */
+  def parseDocumentation(ast: AST.Module): AST =
+    DocParserRunner.createDocs(ast)
+
+  /** Translates the parsed module to the compiler IR. */
+  def translate(ast: AST.Module): IR.Module =
+    AstToIr.translate(ast)
+
+  /** Runs the whole pipeline, as done by
+    * [[org.enso.compiler.Compiler.generateIR]] on a freshly parsed module.
+    */
+  def generateIR(source: String): IR.Module =
+    translate(parse(source))
+}
+
+/** The inputs of the parser benchmarks. The inputs are created on first use,
+  * so that running a subset of the benchmarks only creates the inputs it
+  * needs.
+  */
+class ParserFixtures {
+  lazy val stdLib: ParserInput =
+    ParserInput.fromDirectory(Paths.get("../../distribution/std-lib"))
+
+  lazy val synthetic1KB: ParserInput = ParserInput.synthetic(1024)
+  lazy val synthetic1MB: ParserInput = ParserInput.synthetic(1024 * 1024)
+  lazy val syntheticLarge: ParserInput =
+    ParserInput.synthetic(ParserFixtures.largeInputSize)
+}
+object ParserFixtures {
+
+  /** The system property setting the size of the large synthetic input. */
+  val LargeInputSizeProperty = "enso.bench.parser.largeInputSize"
+
+  /** The size of the large synthetic input in bytes, 10 MiB by default. */
+  def largeInputSize: Int =
+    Integer.getInteger(LargeInputSizeProperty, 10 * 1024 * 1024)
+}
@@ -1,5 +1,6 @@
 package org.enso.interpreter.bench
 
+import org.enso.compiler.bench.benchmarks.ParserLargeInputBenchmarks
 import org.scalatest.flatspec.AnyFlatSpec
 import org.scalatest.matchers.should.Matchers
 
@@ -10,8 +11,13 @@ class RegressionTest extends AnyFlatSpec with Matchers {
   // This tolerance may be adjusted depending on the stability of CI
   final val TOLERANCE = 0.2
 
-  val runner     = new BenchmarksRunner
-  val benchmarks = runner.getAvailable.asScala
+  /** The benchmarks that are too slow to run on every CI build. */
+  final val EXCLUDED = Seq(classOf[ParserLargeInputBenchmarks].getName)
+
+  val runner = new BenchmarksRunner
+  val benchmarks = runner.getAvailable.asScala.filterNot { benchmark =>
+    EXCLUDED.exists(excluded => benchmark.startsWith(excluded + "."))
+  }
 
   benchmarks.foreach { benchmark =>
     benchmark should "not be slower than before" in {
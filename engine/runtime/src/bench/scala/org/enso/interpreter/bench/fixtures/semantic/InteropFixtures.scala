@@ -0,0 +1,56 @@
+package org.enso.interpreter.bench.fixtures.semantic
+
+import org.enso.interpreter.test.DefaultInterpreterRunner
+
+class InteropFixtures extends DefaultInterpreterRunner {
+  val million: Long = 1000000
+
+  val staticCallsCode =
+    """
+      |polyglot java import org.enso.example.TestClass
+      |
+      |main = n ->
+      |    summator = acc -> i ->
+      |        if i == 0 then acc else @Tail_Call summator (TestClass.add acc i) i-1
+      |    res = summator 0 n
+      |    res
+      |""".stripMargin
+  val staticCalls = getMain(staticCallsCode)
+
+  val instanceCallsCode =
+    """
+      |polyglot java import java.util.ArrayList
+      |
+      |main = n ->
+      |    list = ArrayList.new
+      |    filler = i ->
+      |        if i == 0 then Nothing else
+      |            list.add i
+      |            @Tail_Call filler i-1
+      |    filler n
+      |    summator = acc -> i ->
+      |        if i == list.size then acc else @Tail_Call summator acc+(list.get i) i+1
+      |    res = summator 0 0
+      |    res
+      |""".stripMargin
+  val instanceCalls = getMain(instanceCallsCode)
+
+  val arrayReadsCode =
+    """
+      |polyglot java import java.util.ArrayList
+      |
+      |main = n ->
+      |    list = ArrayList.new
+      |    filler = i ->
+      |        if i == 0 then Nothing else
+      |            list.add i
+      |            @Tail_Call filler i-1
+      |    filler n
+      |    array = list.toArray
+      |    summator = acc -> i ->
+      |        if i == array.length then acc else @Tail_Call summator acc+(array.at i) i+1
+      |    res = summator 0 0
+      |    res
+      |""".stripMargin
+  val arrayReads = getMain(arrayReadsCode)
+}
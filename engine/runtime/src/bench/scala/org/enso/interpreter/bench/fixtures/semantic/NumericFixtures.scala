@@ -0,0 +1,65 @@
+package org.enso.interpreter.bench.fixtures.semantic
+
+import org.enso.interpreter.test.DefaultInterpreterRunner
+
+class NumericFixtures extends DefaultInterpreterRunner {
+  val tenMillion: Long = 10000000
+  val hundred: Long    = 100
+
+  val sumSmallCode =
+    """
+      |main = n ->
+      |    summator = acc -> i ->
+      |        if i == 0 then acc else @Tail_Call summator acc+i i-1
+      |    res = summator 0 n
+      |    res
+      |""".stripMargin
+  val sumSmall = getMain(sumSmallCode)
+
+  val polynomialHashCode =
+    """
+      |main = n ->
+      |    hasher = acc -> i ->
+      |        if i == 0 then acc else @Tail_Call hasher ((acc * 31 + i) % 1000000007) i-1
+      |    res = hasher 7 n
+      |    res
+      |""".stripMargin
+  val polynomialHash = getMain(polynomialHashCode)
+
+  val hoverOverflowCode =
+    """
+      |main = n ->
+      |    max = 9223372036854775807
+      |    hover = acc -> i ->
+      |        if i == 0 then acc else
+      |            big = acc + max
+      |            @Tail_Call hover (big - max + (i % 3) - 1) i-1
+      |    res = hover 1 n
+      |    res
+      |""".stripMargin
+  val hoverOverflow = getMain(hoverOverflowCode)
+
+  val multiplyOverflowCode =
+    """
+      |main = n ->
+      |    multiplier = acc -> i ->
+      |        if i == 0 then acc else
+      |            wide = i * 3037000500 * 3037000500
+      |            @Tail_Call multiplier (acc + wide % 1000) i-1
+      |    res = multiplier 0 n
+      |    res
+      |""".stripMargin
+  val multiplyOverflow = getMain(multiplyOverflowCode)
+
+  val factorialCode =
+    """
+      |main = n ->
+      |    factorial = acc -> i ->
+      |        if i == 0 then acc else @Tail_Call factorial acc*i i-1
+      |    repeat = acc -> i ->
+      |        if i == 0 then acc else @Tail_Call repeat (factorial 1 n) i-1
+      |    res = repeat 0 1000
+      |    res
+      |""".stripMargin
+  val factorial = getMain(factorialCode)
+}
@@ -16,6 +16,9 @@ public class Constants {
     public static final String FUNCTION_INTEROP_LIBRARY = "10";
     public static final String THUNK_EXECUTOR_NODE = "10";
     public static final String EVAL_NODE = "10";
+    public static final String CASE_JUMP_TABLE = "10";
+    public static final String HOST_METHOD_CALL_TYPE = "10";
     public static final int BUILTIN_INTEROP_DISPATCH = 10;
+    public static final int CASE_JUMP_TABLE_ENTRIES = 64;
   }
 }
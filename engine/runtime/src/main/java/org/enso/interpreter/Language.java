@@ -75,6 +75,16 @@ public final class Language extends TruffleLanguage<Context> {
     context.initialize();
   }
 
+  /**
+   * Finalize the context, stopping the threads created by it.
+   *
+   * @param context the language context
+   */
+  @Override
+  protected void finalizeContext(Context context) {
+    context.shutdown();
+  }
+
   /**
    * Checks if this Enso execution environment is accessible in a multithreaded context.
    *
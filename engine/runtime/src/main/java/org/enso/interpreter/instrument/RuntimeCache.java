@@ -1,5 +1,6 @@
 package org.enso.interpreter.instrument;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import java.lang.ref.SoftReference;
 import java.util.*;
 
@@ -30,7 +31,18 @@ public final class RuntimeCache {
   /** Get the value from the cache. */
   public Object get(UUID key) {
     SoftReference<Object> ref = cache.get(key);
-    return ref != null ? ref.get() : null;
+    Object value = ref != null ? ref.get() : null;
+    countLookup(value != null);
+    return value;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  private static void countLookup(boolean isHit) {
+    if (isHit) {
+      RuntimeMetrics.CACHE_HITS.inc();
+    } else {
+      RuntimeMetrics.CACHE_MISSES.inc();
+    }
   }
 
   /** Remove the value from the cache. */
@@ -0,0 +1,69 @@
+package org.enso.interpreter.instrument;
+
+import org.enso.polyglot.metrics.Counter;
+import org.enso.polyglot.metrics.Gauge;
+import org.enso.polyglot.metrics.Histogram;
+import org.enso.polyglot.metrics.MetricsRegistry;
+
+/** The metrics of the runtime instrument. */
+public final class RuntimeMetrics {
+
+  /** The registry of the runtime metrics. */
+  public static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+  /** The number of the values found in the runtime cache. */
+  public static final Counter CACHE_HITS =
+      REGISTRY.counter("enso_runtime_cache_hits_total", "Values found in the runtime cache.");
+
+  /** The number of the values missing from the runtime cache. */
+  public static final Counter CACHE_MISSES =
+      REGISTRY.counter("enso_runtime_cache_misses_total", "Values missing from the runtime cache.");
+
+  /** The number of the jobs waiting in the queue. */
+  public static final Gauge JOBS_QUEUED =
+      REGISTRY.gauge("enso_runtime_jobs_queued", "Jobs waiting in the job queue.");
+
+  /** The number of the jobs superseded by a newer job. */
+  public static final Counter JOBS_SUPERSEDED =
+      REGISTRY.counter(
+          "enso_runtime_jobs_superseded_total", "Queued jobs superseded by a newer job.");
+
+  /** The time the jobs spent in the queue. */
+  public static final Histogram JOB_WAIT_MICROS =
+      REGISTRY.histogram(
+          "enso_runtime_job_wait_microseconds", "Time the jobs spent in the job queue.");
+
+  /** The time of the job execution. */
+  public static final Histogram JOB_RUN_MICROS =
+      REGISTRY.histogram("enso_runtime_job_run_microseconds", "Time of the job execution.");
+
+  /** The time of the module compilation. */
+  public static final Histogram COMPILATION_MICROS =
+      REGISTRY.histogram(
+          "enso_runtime_compilation_microseconds", "Time of compiling a module.");
+
+  /** The time spent waiting for the compilation lock. */
+  public static final Histogram COMPILATION_LOCK_WAIT_MICROS =
+      REGISTRY.histogram(
+          "enso_runtime_compilation_lock_wait_microseconds",
+          "Time spent waiting for the compilation lock.");
+
+  /** The time spent waiting for the compiler lock. */
+  public static final Histogram COMPILER_LOCK_WAIT_MICROS =
+      REGISTRY.histogram(
+          "enso_runtime_compiler_lock_wait_microseconds",
+          "Time spent waiting for the compiler lock.");
+
+  /** The time spent waiting for a module lock. */
+  public static final Histogram MODULE_LOCK_WAIT_MICROS =
+      REGISTRY.histogram(
+          "enso_runtime_module_lock_wait_microseconds", "Time spent waiting for a module lock.");
+
+  /** The time spent waiting for an execution context lock. */
+  public static final Histogram CONTEXT_LOCK_WAIT_MICROS =
+      REGISTRY.histogram(
+          "enso_runtime_context_lock_wait_microseconds",
+          "Time spent waiting for an execution context lock.");
+
+  private RuntimeMetrics() {}
+}
@@ -0,0 +1,235 @@
+package org.enso.interpreter.instrument.profiling;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.EventContext;
+import com.oracle.truffle.api.instrumentation.ExecutionEventNode;
+import com.oracle.truffle.api.instrumentation.SourceSectionFilter;
+import com.oracle.truffle.api.instrumentation.StandardTags;
+import com.oracle.truffle.api.instrumentation.TruffleInstrument;
+import com.oracle.truffle.api.nodes.RootNode;
+import org.enso.polyglot.SamplingProfilerInfo;
+import org.graalvm.options.OptionDescriptors;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An instrument sampling the Enso call stacks of all threads running guest code.
+ *
+ * <p>The instrument keeps a shadow stack of the executing functions for each thread, updated on
+ * the entries and exits of the function bodies. A sampler thread periodically records the
+ * current stacks, and the gathered samples are written in the collapsed stack format, with one
+ * {@code frame;frame;frame count} line per distinct stack. The output can be rendered as a
+ * flamegraph by the common flamegraph tools.
+ *
+ * <p>The profiler is enabled by setting the {@link SamplingProfilerInfo#OUTPUT_OPTION}. The
+ * samples are written when the engine is closed or, failing that, when the JVM shuts down.
+ */
+@TruffleInstrument.Registration(
+    id = SamplingProfilerInfo.INSTRUMENT_NAME,
+    services = SamplingProfilerInstrument.class)
+public class SamplingProfilerInstrument extends TruffleInstrument {
+  private final Map<Thread, ShadowStack> stacks = new ConcurrentHashMap<>();
+  private final ThreadLocal<ShadowStack> currentStack =
+      ThreadLocal.withInitial(
+          () -> {
+            ShadowStack stack = new ShadowStack();
+            stacks.put(Thread.currentThread(), stack);
+            return stack;
+          });
+  private final Map<String, Long> samples = new TreeMap<>();
+  private final AtomicBoolean isFinished = new AtomicBoolean(false);
+  private Env env;
+  private Path output;
+  private Thread sampler;
+  private Thread shutdownHook;
+
+  /**
+   * Initializes the instrument. Substitute for a constructor, called by the Truffle framework.
+   *
+   * @param env the instrumentation environment
+   */
+  @Override
+  protected void onCreate(Env env) {
+    this.env = env;
+    env.registerService(this);
+    String outputPath = env.getOptions().get(SamplingProfilerInfo.OUTPUT_KEY);
+    if (!outputPath.isEmpty()) {
+      start(Paths.get(outputPath), env.getOptions().get(SamplingProfilerInfo.INTERVAL_KEY));
+    }
+  }
+
+  @Override
+  protected void onDispose(Env env) {
+    if (sampler != null) {
+      try {
+        Runtime.getRuntime().removeShutdownHook(shutdownHook);
+      } catch (IllegalStateException ignored) {
+        // The JVM is already shutting down and the hook writes the samples.
+      }
+      finish();
+    }
+    super.onDispose(env);
+  }
+
+  @Override
+  protected OptionDescriptors getOptionDescriptors() {
+    return OptionDescriptors.create(
+        Arrays.asList(
+            SamplingProfilerInfo.OUTPUT_DESCRIPTOR, SamplingProfilerInfo.INTERVAL_DESCRIPTOR));
+  }
+
+  private void start(Path output, int intervalMillis) {
+    this.output = output;
+    SourceSectionFilter filter =
+        SourceSectionFilter.newBuilder().tagIs(StandardTags.RootTag.class).build();
+    env.getInstrumenter().attachExecutionEventFactory(filter, this::createStackNode);
+    sampler = new Thread(() -> sample(Math.max(intervalMillis, 1)), "enso-sampling-profiler");
+    sampler.setDaemon(true);
+    sampler.start();
+    shutdownHook = new Thread(this::finish);
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
+  }
+
+  private ExecutionEventNode createStackNode(EventContext context) {
+    RootNode rootNode = context.getInstrumentedNode().getRootNode();
+    return new ShadowStackNode(rootNode == null ? "<unknown>" : rootNode.getName());
+  }
+
+  private void sample(int intervalMillis) {
+    try {
+      while (!isFinished.get()) {
+        Thread.sleep(intervalMillis);
+        stacks.keySet().removeIf(thread -> !thread.isAlive());
+        for (ShadowStack stack : stacks.values()) {
+          String collapsed = stack.collapse();
+          if (collapsed != null) {
+            samples.merge(collapsed, 1L, Long::sum);
+          }
+        }
+      }
+    } catch (InterruptedException ignored) {
+    }
+  }
+
+  private void finish() {
+    if (isFinished.compareAndSet(false, true)) {
+      sampler.interrupt();
+      while (true) {
+        try {
+          sampler.join();
+          break;
+        } catch (InterruptedException ignored) {
+        }
+      }
+      writeSamples();
+    }
+  }
+
+  private void writeSamples() {
+    try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+      for (Map.Entry<String, Long> entry : samples.entrySet()) {
+        writer.write(entry.getKey());
+        writer.write(' ');
+        writer.write(Long.toString(entry.getValue()));
+        writer.newLine();
+      }
+    } catch (IOException e) {
+      env.getLogger(SamplingProfilerInstrument.class)
+          .warning("Failed to write the profiling samples to " + output + ": " + e.getMessage());
+    }
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  private void push(String frame) {
+    currentStack.get().push(frame);
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  private void pop() {
+    currentStack.get().pop();
+  }
+
+  /** Tracks the entries and exits of a function body on the shadow stack of the thread. */
+  private final class ShadowStackNode extends ExecutionEventNode {
+    private final String name;
+
+    ShadowStackNode(String name) {
+      this.name = name;
+    }
+
+    @Override
+    protected void onEnter(VirtualFrame frame) {
+      push(name);
+    }
+
+    @Override
+    protected void onReturnValue(VirtualFrame frame, Object result) {
+      pop();
+    }
+
+    @Override
+    protected void onReturnExceptional(VirtualFrame frame, Throwable exception) {
+      pop();
+    }
+  }
+
+  /**
+   * The stack of functions executed by a thread.
+   *
+   * <p>The stack is only modified by its thread. The sampler reads it without synchronization, so
+   * a sample taken during a call or a return may miss the innermost frame.
+   */
+  private static final class ShadowStack {
+    private static final int INITIAL_DEPTH = 64;
+
+    private volatile String[] frames = new String[INITIAL_DEPTH];
+    private volatile int depth = 0;
+
+    void push(String frame) {
+      String[] current = frames;
+      int currentDepth = depth;
+      if (currentDepth == current.length) {
+        current = Arrays.copyOf(current, current.length * 2);
+        frames = current;
+      }
+      current[currentDepth] = frame;
+      depth = currentDepth + 1;
+    }
+
+    void pop() {
+      int currentDepth = depth;
+      if (currentDepth > 0) {
+        depth = currentDepth - 1;
+      }
+    }
+
+    /** @return the frames of this stack joined with semicolons, or null if it is empty */
+    String collapse() {
+      String[] current = frames;
+      int currentDepth = Math.min(depth, current.length);
+      if (currentDepth == 0) {
+        return null;
+      }
+      StringJoiner joiner = new StringJoiner(";");
+      for (int i = 0; i < currentDepth; i++) {
+        String frame = current[i];
+        if (frame != null) {
+          joiner.add(frame);
+        }
+      }
+      return joiner.toString();
+    }
+  }
+}
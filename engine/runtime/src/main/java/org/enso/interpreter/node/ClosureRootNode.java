@@ -33,6 +33,7 @@ public class ClosureRootNode extends EnsoRootNode {
       String name) {
     super(language, localScope, moduleScope, name, section);
     this.body = body;
+    this.body.markAsRootBody();
   }
 
   /**
@@ -38,6 +38,7 @@ public abstract class ExpressionNode extends BaseNode implements InstrumentableN
   private @CompilerDirectives.CompilationFinal int sourceStartIndex;
   private @CompilerDirectives.CompilationFinal int sourceLength;
   private @CompilerDirectives.CompilationFinal UUID id = null;
+  private @CompilerDirectives.CompilationFinal boolean isRootBody = false;
 
   /** Creates a new instance of this node. */
   public ExpressionNode() {
@@ -97,6 +98,16 @@ public abstract class ExpressionNode extends BaseNode implements InstrumentableN
     this.id = id;
   }
 
+  /**
+   * Marks this node as the body of a root node, tagging it with {@link StandardTags.RootTag}.
+   *
+   * <p>This lets the instruments observe the entries and exits of the functions.
+   */
+  public void markAsRootBody() {
+    CompilerDirectives.transferToInterpreterAndInvalidate();
+    this.isRootBody = true;
+  }
+
   /**
    * Executes the current node, returning the result as a {@code long}.
    *
@@ -181,7 +192,9 @@ public abstract class ExpressionNode extends BaseNode implements InstrumentableN
    */
   @Override
   public boolean hasTag(Class<? extends Tag> tag) {
-    return tag == StandardTags.ExpressionTag.class || (tag == IdentifiedTag.class && id != null);
+    return tag == StandardTags.ExpressionTag.class
+        || (tag == StandardTags.RootTag.class && isRootBody)
+        || (tag == IdentifiedTag.class && id != null);
   }
 
   /**
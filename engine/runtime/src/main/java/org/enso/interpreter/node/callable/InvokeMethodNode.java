@@ -11,6 +11,7 @@ import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.source.SourceSection;
 import java.util.UUID;
+import org.enso.interpreter.Constants;
 import org.enso.interpreter.Language;
 import org.enso.interpreter.node.BaseNode;
 import org.enso.interpreter.node.callable.dispatch.InvokeFunctionNode;
@@ -109,6 +110,45 @@ public abstract class InvokeMethodNode extends BaseNode {
     throw _this;
   }
 
+  @ExplodeLoop
+  @Specialization(
+      guards = {
+        "!context.isCachingDisabled()",
+        "symbol == cachedSymbol",
+        "cachedHostClass != null",
+        "isHostSymbol(context, _this) == cachedIsHostSymbol",
+        "getHostClass(context, _this) == cachedHostClass"
+      },
+      limit = Constants.CacheSizes.HOST_METHOD_CALL_TYPE)
+  Stateful doHostCached(
+      VirtualFrame frame,
+      Object state,
+      UnresolvedSymbol symbol,
+      Object _this,
+      Object[] arguments,
+      @CachedContext(Language.class) Context context,
+      @Cached("symbol") UnresolvedSymbol cachedSymbol,
+      @Cached("isHostSymbol(context, _this)") boolean cachedIsHostSymbol,
+      @Cached("getHostClass(context, _this)") Class<?> cachedHostClass,
+      @Cached("getPolyglotCallType(_this, cachedSymbol.getName())")
+          HostMethodCallNode.PolyglotCallType cachedCallType,
+      @Cached("buildExecutors()") ThunkExecutorNode[] argExecutors,
+      @Cached AnyResolverNode anyResolverNode,
+      @Cached HostMethodCallNode hostMethodCallNode) {
+    if (cachedCallType == HostMethodCallNode.PolyglotCallType.NOT_SUPPORTED) {
+      Function function = anyResolverNode.execute(symbol, _this);
+      return invokeFunctionNode.execute(function, frame, state, arguments);
+    }
+    Object[] args = new Object[argExecutors.length];
+    for (int i = 0; i < argExecutors.length; i++) {
+      Stateful r = argExecutors[i].executeThunk(arguments[i + 1], state, TailStatus.NOT_TAIL);
+      state = r.getState();
+      args[i] = r.getValue();
+    }
+    return new Stateful(
+        state, hostMethodCallNode.execute(cachedCallType, cachedSymbol.getName(), _this, args));
+  }
+
   @ExplodeLoop
   @Specialization(
       guards = {
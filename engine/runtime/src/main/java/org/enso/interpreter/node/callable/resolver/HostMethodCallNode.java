@@ -1,5 +1,6 @@
 package org.enso.interpreter.node.callable.resolver;
 
+import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.dsl.*;
 import com.oracle.truffle.api.interop.*;
 import com.oracle.truffle.api.library.CachedLibrary;
@@ -58,6 +59,58 @@ public abstract class HostMethodCallNode extends Node {
     }
   }
 
+  /**
+   * Returns the call type of a method, using an uncached interop library. Meant to be used in the
+   * initializers of cached values.
+   *
+   * @param _this the method call target
+   * @param methodName the method name
+   * @return a {@link PolyglotCallType} to use for this target and method
+   */
+  public static PolyglotCallType getPolyglotCallType(Object _this, String methodName) {
+    return getPolyglotCallType(
+        _this, methodName, InteropLibrary.getFactory().getUncached(_this));
+  }
+
+  /**
+   * Checks whether the value is a host symbol, i.e. a value exposing the static members of a host
+   * class.
+   *
+   * @param context the current language context
+   * @param _this the value to check
+   * @return whether the value is a host symbol
+   */
+  public static boolean isHostSymbol(Context context, Object _this) {
+    return context.getEnvironment().isHostSymbol(_this);
+  }
+
+  /**
+   * Returns the host class determining the members of a host value.
+   *
+   * <p>All host objects of the same class expose the same members, and so do all host symbols of
+   * the same class, which makes the class (together with {@link #isHostSymbol(Context, Object)}) a
+   * sound key for caching the {@link PolyglotCallType}s of their methods.
+   *
+   * @param context the current language context
+   * @param _this the value to check
+   * @return the class of a host object, the symbolized class of a host symbol, or {@code null} for
+   *     other values
+   */
+  public static Class<?> getHostClass(Context context, Object _this) {
+    TruffleLanguage.Env env = context.getEnvironment();
+    if (!env.isHostObject(_this)) {
+      return null;
+    }
+    Object hostObject = env.asHostObject(_this);
+    if (hostObject == null) {
+      return null;
+    } else if (env.isHostSymbol(_this)) {
+      return (Class<?>) hostObject;
+    } else {
+      return hostObject.getClass();
+    }
+  }
+
   /**
    * Calls a method on an object, using a specified {@link PolyglotCallType}.
    *
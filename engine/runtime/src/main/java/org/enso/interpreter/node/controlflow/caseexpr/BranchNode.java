@@ -34,12 +34,21 @@ public abstract class BranchNode extends BaseNode {
    * @param args the arguments to be passed to the branch body
    */
   protected void accept(VirtualFrame frame, Object state, Object[] args) {
+    throw new BranchSelectedException(call(frame, state, args));
+  }
+
+  /**
+   * Calls the branch body, returning its result.
+   *
+   * @param frame the stack frame in which to execute
+   * @param state current monadic state
+   * @param args the arguments to be passed to the branch body
+   * @return the result of executing the branch body
+   */
+  protected Stateful call(VirtualFrame frame, Object state, Object[] args) {
     // Note [Caller Info For Case Branches]
-    Stateful result =
-        (Stateful)
-            callNode.call(
-                Function.ArgumentsHelper.buildArguments(frame.materialize(), state, args));
-    throw new BranchSelectedException(result);
+    return (Stateful)
+        callNode.call(Function.ArgumentsHelper.buildArguments(frame.materialize(), state, args));
   }
 
   /* Note [Caller Info For Case Branches]
@@ -2,6 +2,7 @@ package org.enso.interpreter.node.controlflow.caseexpr;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.CachedContext;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -9,12 +10,18 @@ import com.oracle.truffle.api.frame.FrameUtil;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.NodeInfo;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.enso.interpreter.Constants;
 import org.enso.interpreter.Language;
 import org.enso.interpreter.node.ExpressionNode;
 import org.enso.interpreter.runtime.Context;
+import org.enso.interpreter.runtime.callable.atom.Atom;
+import org.enso.interpreter.runtime.callable.atom.AtomConstructor;
 import org.enso.interpreter.runtime.error.DataflowError;
 import org.enso.interpreter.runtime.error.PanicException;
 import org.enso.interpreter.runtime.error.PanicSentinel;
+import org.enso.interpreter.runtime.state.Stateful;
 import org.enso.interpreter.runtime.type.TypesGen;
 
 /**
@@ -22,13 +29,17 @@ import org.enso.interpreter.runtime.type.TypesGen;
  *
  * <p>Has a scrutinee node and a collection of {@link BranchNode}s. The case nodes get executed one
  * by one, until one throws an {@link BranchSelectedException}, the value of which becomes the
- * result of this pattern match.
+ * result of this pattern match. Atoms are dispatched directly to the selected branch when possible,
+ * see Note [Case Jump Table].
  */
 @NodeChild(value = "scrutinee", type = ExpressionNode.class)
 @NodeInfo(shortName = "case_of", description = "The runtime representation of a case expression.")
 public abstract class CaseNode extends ExpressionNode {
 
+  static final int NO_BRANCH = -1;
+
   @Children private final BranchNode[] cases;
+  private final Map<AtomConstructor, Integer> jumpTable = new ConcurrentHashMap<>();
 
   CaseNode(BranchNode[] cases) {
     this.cases = cases;
@@ -72,6 +83,46 @@ public abstract class CaseNode extends ExpressionNode {
     throw sentinel;
   }
 
+  /**
+   * Executes the case expression on an atom whose constructor is mapped directly to the branch
+   * selected for it.
+   *
+   * <p>See Note [Case Jump Table].
+   *
+   * @param frame the stack frame in which to execute
+   * @param target the atom being matched against
+   * @param cachedConstructor the constructor of the atom
+   * @param branchIndex the index of the branch selected for the constructor
+   * @return the result of executing the case expression on {@code target}
+   */
+  @Specialization(
+      guards = {"target.getConstructor() == cachedConstructor", "branchIndex != NO_BRANCH"},
+      limit = Constants.CacheSizes.CASE_JUMP_TABLE)
+  public Object doAtomCached(
+      VirtualFrame frame,
+      Atom target,
+      @Cached("target.getConstructor()") AtomConstructor cachedConstructor,
+      @Cached("findBranch(cachedConstructor)") int branchIndex) {
+    return executeBranch(frame, target, branchIndex);
+  }
+
+  /**
+   * Executes the case expression on an atom, looking up the selected branch in the jump table of
+   * this node.
+   *
+   * <p>See Note [Case Jump Table].
+   *
+   * @param frame the stack frame in which to execute
+   * @param target the atom being matched against
+   * @return the result of executing the case expression on {@code target}
+   */
+  @Specialization(
+      guards = "lookupBranch(target.getConstructor()) != NO_BRANCH",
+      replaces = "doAtomCached")
+  public Object doAtomUncached(VirtualFrame frame, Atom target) {
+    return executeBranch(frame, target, lookupBranch(target.getConstructor()));
+  }
+
   /**
    * Executes the case expression.
    *
@@ -102,6 +153,82 @@ public abstract class CaseNode extends ExpressionNode {
     }
   }
 
+  /**
+   * Executes the branch selected for an atom.
+   *
+   * @param frame the stack frame in which to execute
+   * @param target the atom being matched against
+   * @param branchIndex the index of the selected branch
+   * @return the result of executing the selected branch
+   */
+  @ExplodeLoop
+  private Object executeBranch(VirtualFrame frame, Atom target, int branchIndex) {
+    Object state = FrameUtil.getObjectSafe(frame, getStateFrameSlot());
+    for (int i = 0; i < cases.length; i++) {
+      if (i == branchIndex) {
+        BranchNode branchNode = cases[i];
+        Stateful result;
+        if (branchNode instanceof ConstructorBranchNode) {
+          result = ((ConstructorBranchNode) branchNode).executeSelected(frame, state, target);
+        } else {
+          result = ((CatchAllBranchNode) branchNode).executeSelected(frame, state, target);
+        }
+        frame.setObject(getStateFrameSlot(), result.getState());
+        return result.getValue();
+      }
+    }
+    CompilerDirectives.transferToInterpreter();
+    throw new IllegalStateException("Invalid case branch index.");
+  }
+
+  /**
+   * Finds the branch selected for atoms of the provided constructor.
+   *
+   * <p>The branches are checked in order. Only the constructor and catch-all branches can be
+   * selected statically, if any other branch precedes the selected one, the atom has to be matched
+   * against each branch at runtime.
+   *
+   * @param constructor the constructor of the scrutinee
+   * @return the index of the selected branch, or {@link #NO_BRANCH} if it can't be determined
+   */
+  int findBranch(AtomConstructor constructor) {
+    for (int i = 0; i < cases.length; i++) {
+      BranchNode branchNode = cases[i];
+      if (branchNode instanceof CatchAllBranchNode) {
+        return i;
+      } else if (branchNode instanceof ConstructorBranchNode) {
+        if (((ConstructorBranchNode) branchNode).getMatcher() == constructor) {
+          return i;
+        }
+      } else {
+        return NO_BRANCH;
+      }
+    }
+    return NO_BRANCH;
+  }
+
+  /**
+   * Looks up the branch selected for atoms of the provided constructor in the jump table.
+   *
+   * <p>Once the jump table holds {@link Constants.CacheSizes#CASE_JUMP_TABLE_ENTRIES} constructors,
+   * the branches of the other constructors are found without being added to the table.
+   *
+   * @param constructor the constructor of the scrutinee
+   * @return the index of the selected branch, or {@link #NO_BRANCH} if it can't be determined
+   */
+  @CompilerDirectives.TruffleBoundary
+  int lookupBranch(AtomConstructor constructor) {
+    Integer cached = jumpTable.get(constructor);
+    if (cached != null) {
+      return cached;
+    }
+    int branchIndex = findBranch(constructor);
+    if (jumpTable.size() < Constants.CacheSizes.CASE_JUMP_TABLE_ENTRIES) {
+      jumpTable.putIfAbsent(constructor, branchIndex);
+    }
+    return branchIndex;
+  }
+
   boolean isDataflowError(Object error) {
     return TypesGen.isDataflowError(error);
   }
@@ -122,4 +249,22 @@ public abstract class CaseNode extends ExpressionNode {
    * The main alternative to this was desugaring to a nested-if, which would've been significantly
    * harder to maintain, and also resulted in significantly higher code complexity.
    */
+
+  /* Note [Case Jump Table]
+   * ~~~~~~~~~~~~~~~~~~~~~~
+   * Matching an atom against the branches one by one means that every successful match throws a
+   * `BranchSelectedException`. The compiler can usually optimize the exception away, but it is
+   * costly in the interpreter and in the matches that see many different constructors.
+   *
+   * For the atoms, the branch that gets selected depends only on the constructor of the atom, as
+   * long as all branches preceding it are constructor branches. In that case the constructor is
+   * mapped directly to the index of the selected branch, which is then called without throwing.
+   * The mapping is cached in the specialization for the common constructors, and kept in the jump
+   * table of the node for the megamorphic matches. Like the specialization cache, the jump table is
+   * bounded, so that a node doesn't keep an unbounded number of constructors alive. The branches of
+   * the constructors that don't fit in the table are found on every match.
+   *
+   * If any other branch (a literal, polyglot, array, etc.) precedes the selected one, or no branch
+   * matches, the atom is matched as described in Note [Branch Selection Control Flow].
+   */
 }
@@ -3,6 +3,7 @@ package org.enso.interpreter.node.controlflow.caseexpr;
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.NodeInfo;
+import org.enso.interpreter.runtime.state.Stateful;
 
 /**
  * This node represents an explicit catch-call case in a pattern match, as provided by the user. It
@@ -37,4 +38,16 @@ public class CatchAllBranchNode extends BranchNode {
   public void execute(VirtualFrame frame, Object state, Object target) {
     accept(frame, state, new Object[] {target});
   }
+
+  /**
+   * Executes the catch-all code, without signalling the branch selection with an exception.
+   *
+   * @param frame the stack frame in which to execute
+   * @param state current monadic state
+   * @param target the object being matched
+   * @return the result of executing the catch-all code
+   */
+  Stateful executeSelected(VirtualFrame frame, Object state, Object target) {
+    return call(frame, state, new Object[] {target});
+  }
 }
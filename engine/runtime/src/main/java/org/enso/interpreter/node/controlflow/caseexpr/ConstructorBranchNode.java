@@ -8,6 +8,7 @@ import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import org.enso.interpreter.runtime.callable.atom.Atom;
 import org.enso.interpreter.runtime.callable.atom.AtomConstructor;
+import org.enso.interpreter.runtime.state.Stateful;
 
 /** An implementation of the case expression specialised to working on constructors. */
 @NodeInfo(shortName = "ConstructorMatch")
@@ -31,6 +32,28 @@ public abstract class ConstructorBranchNode extends BranchNode {
     return ConstructorBranchNodeGen.create(matcher, branch);
   }
 
+  /**
+   * Gets the constructor matched by this branch.
+   *
+   * @return the constructor matched by this branch
+   */
+  AtomConstructor getMatcher() {
+    return matcher;
+  }
+
+  /**
+   * Executes the branch body for a target already known to match, without signalling the branch
+   * selection with an exception.
+   *
+   * @param frame the stack frame in which to execute
+   * @param state current monadic state
+   * @param target the atom matching this branch
+   * @return the result of executing the branch body
+   */
+  Stateful executeSelected(VirtualFrame frame, Object state, Atom target) {
+    return call(frame, state, target.getFields());
+  }
+
   @Specialization
   void doAtom(VirtualFrame frame, Object state, Atom target) {
     if (profile.profile(matcher == target.getConstructor())) {
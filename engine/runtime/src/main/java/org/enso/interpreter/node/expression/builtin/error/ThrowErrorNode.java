@@ -1,15 +1,28 @@
 package org.enso.interpreter.node.expression.builtin.error;
 
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.Node;
+import org.enso.interpreter.Language;
 import org.enso.interpreter.dsl.BuiltinMethod;
+import org.enso.interpreter.runtime.Context;
 import org.enso.interpreter.runtime.error.DataflowError;
 
 @BuiltinMethod(
     type = "Error",
     name = "throw",
     description = "Returns a new value error with given payload.")
-public class ThrowErrorNode extends Node {
-  public Object execute(Object _this, Object payload) {
-    return DataflowError.withDefaultTrace(payload, this);
+public abstract class ThrowErrorNode extends Node {
+
+  public abstract Object execute(Object _this, Object payload);
+
+  /** @return a new ThrowErrorNode. */
+  public static ThrowErrorNode build() {
+    return ThrowErrorNodeGen.create();
+  }
+
+  @Specialization
+  Object doThrow(Object _this, Object payload, @CachedContext(Language.class) Context context) {
+    return DataflowError.create(context, payload, this);
   }
 }
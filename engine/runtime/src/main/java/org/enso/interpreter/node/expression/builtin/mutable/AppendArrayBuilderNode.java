@@ -0,0 +1,27 @@
+package org.enso.interpreter.node.expression.builtin.mutable;
+
+import com.oracle.truffle.api.nodes.Node;
+import org.enso.interpreter.Language;
+import org.enso.interpreter.dsl.AcceptsError;
+import org.enso.interpreter.dsl.BuiltinMethod;
+import org.enso.interpreter.runtime.builtin.Builtins;
+import org.enso.interpreter.runtime.data.ArrayBuilder;
+import org.enso.interpreter.runtime.error.PanicException;
+
+@BuiltinMethod(
+    type = "Array_Builder",
+    name = "append",
+    description = "Appends the given element to the end of the array builder.")
+public class AppendArrayBuilderNode extends Node {
+
+  Object execute(ArrayBuilder _this, @AcceptsError Object value) {
+    if (_this.isFull()) {
+      Builtins builtins = lookupContextReference(Language.class).get().getBuiltins();
+      throw new PanicException(
+          builtins.error().makeInvalidArrayIndexError(_this, (long) ArrayBuilder.MAX_CAPACITY),
+          this);
+    }
+    _this.append(value);
+    return _this;
+  }
+}
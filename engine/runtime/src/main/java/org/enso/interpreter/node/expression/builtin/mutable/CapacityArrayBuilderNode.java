@@ -0,0 +1,16 @@
+package org.enso.interpreter.node.expression.builtin.mutable;
+
+import com.oracle.truffle.api.nodes.Node;
+import org.enso.interpreter.dsl.BuiltinMethod;
+import org.enso.interpreter.runtime.data.ArrayBuilder;
+
+@BuiltinMethod(
+    type = "Array_Builder",
+    name = "capacity",
+    description = "Returns the size of the storage of an array builder.")
+public class CapacityArrayBuilderNode extends Node {
+
+  long execute(ArrayBuilder _this) {
+    return _this.getCapacity();
+  }
+}
@@ -0,0 +1,16 @@
+package org.enso.interpreter.node.expression.builtin.mutable;
+
+import com.oracle.truffle.api.nodes.Node;
+import org.enso.interpreter.dsl.BuiltinMethod;
+import org.enso.interpreter.runtime.data.ArrayBuilder;
+
+@BuiltinMethod(
+    type = "Array_Builder",
+    name = "length",
+    description = "Returns the number of elements appended to an array builder.")
+public class LengthArrayBuilderNode extends Node {
+
+  long execute(ArrayBuilder _this) {
+    return _this.getSize();
+  }
+}
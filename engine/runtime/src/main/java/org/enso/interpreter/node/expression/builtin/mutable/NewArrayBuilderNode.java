@@ -0,0 +1,24 @@
+package org.enso.interpreter.node.expression.builtin.mutable;
+
+import com.oracle.truffle.api.nodes.Node;
+import org.enso.interpreter.Language;
+import org.enso.interpreter.dsl.BuiltinMethod;
+import org.enso.interpreter.runtime.builtin.Builtins;
+import org.enso.interpreter.runtime.data.ArrayBuilder;
+import org.enso.interpreter.runtime.error.PanicException;
+
+@BuiltinMethod(
+    type = "Array_Builder",
+    name = "new",
+    description = "Creates a new array builder with the given initial capacity.")
+public class NewArrayBuilderNode extends Node {
+
+  Object execute(Object _this, long capacity) {
+    if (capacity < 0 || capacity > ArrayBuilder.MAX_CAPACITY) {
+      Builtins builtins = lookupContextReference(Language.class).get().getBuiltins();
+      throw new PanicException(
+          builtins.error().makeUnsupportedArgumentsError(new Object[] {capacity}), this);
+    }
+    return new ArrayBuilder((int) capacity);
+  }
+}
@@ -0,0 +1,39 @@
+package org.enso.interpreter.node.expression.builtin.mutable;
+
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.api.nodes.Node;
+import org.enso.interpreter.Language;
+import org.enso.interpreter.dsl.BuiltinMethod;
+import org.enso.interpreter.runtime.Context;
+import org.enso.interpreter.runtime.callable.function.Function;
+import org.enso.interpreter.runtime.data.Array;
+import org.enso.interpreter.runtime.error.TypeError;
+
+@BuiltinMethod(
+    type = "Array",
+    name = "par_map",
+    description = "Applies a function to each element of an array in parallel.")
+public abstract class ParMapNode extends Node {
+
+  static ParMapNode build() {
+    return ParMapNodeGen.create();
+  }
+
+  abstract Object execute(Object _this, Object function);
+
+  @Specialization
+  Object doFunction(
+      Array _this, Function function, @CachedContext(Language.class) Context context) {
+    Object[] results = context.getParallelExecutor().map(_this.getItems(), function);
+    LoopNode.reportLoopCount(this, results.length);
+    return new Array(results);
+  }
+
+  @Fallback
+  Object doOther(Object _this, Object function) {
+    throw new TypeError("Unexpected type provided for argument `function` in Array.par_map", this);
+  }
+}
@@ -0,0 +1,16 @@
+package org.enso.interpreter.node.expression.builtin.mutable;
+
+import com.oracle.truffle.api.nodes.Node;
+import org.enso.interpreter.dsl.BuiltinMethod;
+import org.enso.interpreter.runtime.data.ArrayBuilder;
+
+@BuiltinMethod(
+    type = "Array_Builder",
+    name = "seal",
+    description = "Creates an array containing the elements appended to an array builder.")
+public class SealArrayBuilderNode extends Node {
+
+  Object execute(ArrayBuilder _this) {
+    return _this.seal();
+  }
+}
@@ -32,8 +32,9 @@ public abstract class ModNode extends Node {
     try {
       return toEnsoNumberNode.execute(BigIntegerOps.modulo(_this.getValue(), that));
     } catch (ArithmeticException e) {
-      return DataflowError.withDefaultTrace(
-          ctxRef.get().getBuiltins().error().getDivideByZeroError(), this);
+      Context context = ctxRef.get();
+      return DataflowError.create(
+          context, context.getBuiltins().error().getDivideByZeroError(), this);
     }
   }
 
@@ -26,8 +26,9 @@ public abstract class DivNode extends Node {
     try {
       return _this / that;
     } catch (ArithmeticException e) {
-      return DataflowError.withDefaultTrace(
-          ctxRef.get().getBuiltins().error().getDivideByZeroError(), this);
+      Context context = ctxRef.get();
+      return DataflowError.create(
+          context, context.getBuiltins().error().getDivideByZeroError(), this);
     }
   }
 
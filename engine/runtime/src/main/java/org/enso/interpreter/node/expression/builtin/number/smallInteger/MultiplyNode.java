@@ -3,6 +3,7 @@ package org.enso.interpreter.node.expression.builtin.number.smallInteger;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 import org.enso.interpreter.dsl.BuiltinMethod;
 import org.enso.interpreter.node.expression.builtin.number.utils.BigIntegerOps;
 import org.enso.interpreter.node.expression.builtin.number.utils.ToEnsoNumberNode;
@@ -12,6 +13,7 @@ import org.enso.interpreter.runtime.number.EnsoBigInteger;
 @BuiltinMethod(type = "Small_Integer", name = "*", description = "Multiplication of numbers.")
 public abstract class MultiplyNode extends Node {
   private @Child ToEnsoNumberNode toEnsoNumberNode = ToEnsoNumberNode.build();
+  private final ConditionProfile overflowProfile = ConditionProfile.createCountingProfile();
 
   abstract Object execute(long _this, Object that);
 
@@ -24,9 +26,14 @@ public abstract class MultiplyNode extends Node {
     return Math.multiplyExact(_this, that);
   }
 
-  @Specialization
+  @Specialization(replaces = "doLong")
   Object doOverflow(long _this, long that) {
-    return toEnsoNumberNode.execute(BigIntegerOps.multiply(_this, that));
+    long high = Math.multiplyHigh(_this, that);
+    long low = _this * that;
+    if (overflowProfile.profile(high != (low >> 63))) {
+      return new EnsoBigInteger(BigIntegerOps.fromInt128(high, low));
+    }
+    return low;
   }
 
   @Specialization
@@ -2,13 +2,14 @@ package org.enso.interpreter.node.expression.builtin.number.smallInteger;
 
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 import org.enso.interpreter.dsl.BuiltinMethod;
 import org.enso.interpreter.node.expression.builtin.number.utils.BigIntegerOps;
-import org.enso.interpreter.node.expression.builtin.number.utils.ToEnsoNumberNode;
+import org.enso.interpreter.runtime.number.EnsoBigInteger;
 
 @BuiltinMethod(type = "Small_Integer", name = "negate", description = "Negation for numbers.")
 public abstract class NegateNode extends Node {
-  private @Child ToEnsoNumberNode toEnsoNumberNode = ToEnsoNumberNode.build();
+  private final ConditionProfile overflowProfile = ConditionProfile.createCountingProfile();
 
   static NegateNode build() {
     return NegateNodeGen.create();
@@ -21,8 +22,11 @@ public abstract class NegateNode extends Node {
     return Math.negateExact(_this);
   }
 
-  @Specialization
+  @Specialization(replaces = "doNormal")
   Object doOverflow(long _this) {
-    return toEnsoNumberNode.execute(BigIntegerOps.negate(_this));
+    if (overflowProfile.profile(_this == Long.MIN_VALUE)) {
+      return new EnsoBigInteger(BigIntegerOps.negate(_this));
+    }
+    return -_this;
   }
 }
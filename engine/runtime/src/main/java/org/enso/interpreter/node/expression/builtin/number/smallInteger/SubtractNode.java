@@ -3,6 +3,7 @@ package org.enso.interpreter.node.expression.builtin.number.smallInteger;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 import org.enso.interpreter.dsl.BuiltinMethod;
 import org.enso.interpreter.node.expression.builtin.number.utils.BigIntegerOps;
 import org.enso.interpreter.node.expression.builtin.number.utils.ToEnsoNumberNode;
@@ -12,6 +13,7 @@ import org.enso.interpreter.runtime.number.EnsoBigInteger;
 @BuiltinMethod(type = "Small_Integer", name = "-", description = "Subtraction of numbers.")
 public abstract class SubtractNode extends Node {
   private @Child ToEnsoNumberNode toEnsoNumberNode = ToEnsoNumberNode.build();
+  private final ConditionProfile overflowProfile = ConditionProfile.createCountingProfile();
 
   abstract Object execute(long _this, Object that);
 
@@ -24,9 +26,13 @@ public abstract class SubtractNode extends Node {
     return Math.subtractExact(_this, that);
   }
 
-  @Specialization
+  @Specialization(replaces = "doLong")
   Object doOverflow(long _this, long that) {
-    return toEnsoNumberNode.execute(BigIntegerOps.subtract(_this, that));
+    long result = _this - that;
+    if (overflowProfile.profile(((_this ^ that) & (_this ^ result)) < 0)) {
+      return new EnsoBigInteger(BigIntegerOps.fromInt128(~(result >> 63), result));
+    }
+    return result;
   }
 
   @Specialization
@@ -11,6 +11,24 @@ public class BigIntegerOps {
   private static final BigInteger MIN_LONG_BIGINT = BigInteger.valueOf(Long.MIN_VALUE);
   private static final BigInteger MAX_LONG_BIGINT = BigInteger.valueOf(Long.MAX_VALUE);
 
+  /**
+   * Creates a big integer from a 128-bit two's complement number, e.g. the exact result of an
+   * arithmetic operation on longs that overflowed.
+   *
+   * @param high the upper 64 bits of the number
+   * @param low the lower 64 bits of the number
+   * @return the big integer equal to the number
+   */
+  @CompilerDirectives.TruffleBoundary
+  public static BigInteger fromInt128(long high, long low) {
+    byte[] bytes = new byte[2 * Long.BYTES];
+    for (int i = 0; i < Long.BYTES; i++) {
+      bytes[Long.BYTES - 1 - i] = (byte) (high >>> (8 * i));
+      bytes[2 * Long.BYTES - 1 - i] = (byte) (low >>> (8 * i));
+    }
+    return new BigInteger(bytes);
+  }
+
   @CompilerDirectives.TruffleBoundary
   public static BigInteger multiply(long a, long b) {
     return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b));
@@ -45,7 +45,9 @@ public class Context {
   private @CompilationFinal TopLevelScope topScope;
   private final ThreadManager threadManager;
   private final ResourceManager resourceManager;
+  private final ParallelExecutor parallelExecutor;
   private final boolean isCachingDisabled;
+  private final boolean isLightweightErrors;
   private final Builtins builtins;
   private final String home;
 
@@ -64,7 +66,9 @@ public class Context {
     this.inReader = new BufferedReader(new InputStreamReader(environment.in()));
     this.threadManager = new ThreadManager();
     this.resourceManager = new ResourceManager(this);
+    this.parallelExecutor = new ParallelExecutor(this);
     this.isCachingDisabled = environment.getOptions().get(RuntimeOptions.DISABLE_INLINE_CACHES_KEY);
+    this.isLightweightErrors = environment.getOptions().get(RuntimeOptions.LIGHTWEIGHT_ERRORS_KEY);
     this.home = home;
 
     builtins = new Builtins(this);
@@ -321,10 +325,25 @@ public class Context {
     return resourceManager;
   }
 
+  /** @return the executor of the parallel operations for this context */
+  public ParallelExecutor getParallelExecutor() {
+    return parallelExecutor;
+  }
+
+  /** Stops the threads created by this context. */
+  public void shutdown() {
+    parallelExecutor.shutdown();
+  }
+
   /** @return whether inline caches should be disabled for this context. */
   public boolean isCachingDisabled() {
     return isCachingDisabled;
   }
 
+  /** @return whether dataflow errors should be created without capturing their stack traces. */
+  public boolean isLightweightErrors() {
+    return isLightweightErrors;
+  }
+
 
 }
@@ -0,0 +1,171 @@
+package org.enso.interpreter.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.interop.ArityException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.interop.UnsupportedTypeException;
+import org.enso.interpreter.runtime.control.ThreadInterruptedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Evaluates Enso functions over arrays in parallel, on a pool of threads entered into the
+ * language context.
+ *
+ * <p>The work is split into contiguous chunks, a few per thread, so that the chunks taking longer
+ * than others don't leave the remaining threads idle. The calling thread evaluates the first
+ * chunk itself. The parallel operations started on the pool threads are evaluated sequentially,
+ * as waiting for the chunks queued behind the waiting thread could deadlock the pool.
+ *
+ * <p>The functions are called with an empty state and must not use other guest languages, as
+ * these may not allow multithreaded access.
+ */
+public class ParallelExecutor {
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  private final Context context;
+  private final int parallelism;
+  private final AtomicInteger threadCounter = new AtomicInteger(0);
+  private final ThreadLocal<Boolean> isWorkerThread = ThreadLocal.withInitial(() -> false);
+  private ExecutorService pool;
+  private boolean isClosed = false;
+
+  /**
+   * Creates a new parallel executor.
+   *
+   * @param context the language context
+   */
+  public ParallelExecutor(Context context) {
+    this.context = context;
+    this.parallelism = Runtime.getRuntime().availableProcessors();
+  }
+
+  /** @return the number of threads evaluating the parallel operations */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Applies a function to each of the items, in parallel.
+   *
+   * @param items the items to map over
+   * @param function the function to apply, must be executable
+   * @return an array containing the results of the function for the corresponding items
+   */
+  @CompilerDirectives.TruffleBoundary
+  public Object[] map(Object[] items, Object function) {
+    Object[] results = new Object[items.length];
+    int chunkCount = Math.min(items.length, parallelism * CHUNKS_PER_THREAD);
+    if (parallelism == 1 || chunkCount <= 1 || isWorkerThread.get()) {
+      mapRange(items, results, function, 0, items.length);
+      return results;
+    }
+    ExecutorService executor = getPool();
+    List<Future<?>> futures = new ArrayList<>(chunkCount - 1);
+    try {
+      for (int chunk = 1; chunk < chunkCount; chunk++) {
+        int from = chunkStart(items.length, chunkCount, chunk);
+        int to = chunkStart(items.length, chunkCount, chunk + 1);
+        futures.add(executor.submit(() -> runChunk(items, results, function, from, to)));
+      }
+      mapRange(items, results, function, 0, chunkStart(items.length, chunkCount, 1));
+      awaitAll(futures);
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+    return results;
+  }
+
+  /**
+   * Stops the threads of this executor, waiting for them to finish.
+   *
+   * <p>This is only useful when the underlying context is being finalized and no more user code
+   * will be run in it.
+   */
+  public synchronized void shutdown() {
+    isClosed = true;
+    if (pool != null) {
+      pool.shutdownNow();
+      while (true) {
+        try {
+          pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+          break;
+        } catch (InterruptedException ignored) {
+        }
+      }
+    }
+  }
+
+  private synchronized ExecutorService getPool() {
+    if (isClosed) {
+      throw new IllegalStateException(
+          "Can't run parallel operations after the parallel executor is closed.");
+    }
+    if (pool == null) {
+      pool = Executors.newFixedThreadPool(parallelism - 1, this::createThread);
+    }
+    return pool;
+  }
+
+  private Thread createThread(Runnable runnable) {
+    Thread thread =
+        context.createThread(
+            () -> {
+              isWorkerThread.set(true);
+              runnable.run();
+            });
+    thread.setName("enso-parallel-" + threadCounter.incrementAndGet());
+    return thread;
+  }
+
+  private static int chunkStart(int length, int chunkCount, int chunk) {
+    return (int) ((long) length * chunk / chunkCount);
+  }
+
+  private void runChunk(Object[] items, Object[] results, Object function, int from, int to) {
+    context.getThreadManager().enter();
+    try {
+      mapRange(items, results, function, from, to);
+    } finally {
+      context.getThreadManager().leave();
+    }
+  }
+
+  private static void mapRange(
+      Object[] items, Object[] results, Object function, int from, int to) {
+    InteropLibrary library = InteropLibrary.getUncached(function);
+    try {
+      for (int i = from; i < to; i++) {
+        results[i] = library.execute(function, items[i]);
+      }
+    } catch (UnsupportedMessageException | ArityException | UnsupportedTypeException e) {
+      throw new IllegalStateException("Unreachable");
+    }
+  }
+
+  private static void awaitAll(List<Future<?>> futures) {
+    try {
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      throw new ThreadInterruptedException();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+}
@@ -8,6 +8,7 @@ import org.enso.interpreter.runtime.scope.ModuleScope;
 /** Container for builtin array-related types and functions. */
 public class Mutable {
   private final AtomConstructor array;
+  private final AtomConstructor arrayBuilder;
   private final AtomConstructor ref;
 
   /**
@@ -31,6 +32,18 @@ public class Mutable {
     scope.registerMethod(array, "set_at", SetAtMethodGen.makeFunction(language));
     scope.registerMethod(array, "copy", CopyMethodGen.makeFunction(language));
     scope.registerMethod(array, "sort", SortMethodGen.makeFunction(language));
+    scope.registerMethod(array, "par_map", ParMapMethodGen.makeFunction(language));
+
+    arrayBuilder = new AtomConstructor("Array_Builder", scope).initializeFields();
+    scope.registerConstructor(arrayBuilder);
+    scope.registerMethod(arrayBuilder, "new", NewArrayBuilderMethodGen.makeFunction(language));
+    scope.registerMethod(
+        arrayBuilder, "append", AppendArrayBuilderMethodGen.makeFunction(language));
+    scope.registerMethod(
+        arrayBuilder, "length", LengthArrayBuilderMethodGen.makeFunction(language));
+    scope.registerMethod(
+        arrayBuilder, "capacity", CapacityArrayBuilderMethodGen.makeFunction(language));
+    scope.registerMethod(arrayBuilder, "seal", SealArrayBuilderMethodGen.makeFunction(language));
 
     ref = new AtomConstructor("Ref", scope).initializeFields();
     scope.registerConstructor(ref);
@@ -44,6 +57,11 @@ public class Mutable {
     return array;
   }
 
+  /** @return the Array_Builder constructor. */
+  public AtomConstructor arrayBuilder() {
+    return arrayBuilder;
+  }
+
   /** @return the Ref constructor. */
   public AtomConstructor ref() {
     return ref;
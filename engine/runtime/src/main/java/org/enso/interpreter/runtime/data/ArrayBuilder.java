@@ -0,0 +1,151 @@
+package org.enso.interpreter.runtime.data;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import org.enso.interpreter.Language;
+import org.enso.interpreter.runtime.Context;
+import org.enso.interpreter.runtime.callable.UnresolvedSymbol;
+import org.enso.interpreter.runtime.callable.function.Function;
+import org.enso.interpreter.runtime.library.dispatch.MethodDispatchLibrary;
+
+import java.util.Arrays;
+
+/**
+ * A growable array, used to gather elements when their number is not known upfront.
+ *
+ * <p>The storage grows by doubling its capacity, so appending an element takes amortized constant
+ * time. Once all elements are appended, the builder is sealed into an {@link Array}.
+ */
+@ExportLibrary(MethodDispatchLibrary.class)
+public class ArrayBuilder implements TruffleObject {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  /** The maximum capacity of a builder, the largest array size supported by the VMs. */
+  public static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  private Object[] items;
+  private int size;
+  private boolean isShared;
+
+  /**
+   * Creates a new builder with the given initial capacity.
+   *
+   * @param capacity the initial capacity of the builder, between 0 and {@link #MAX_CAPACITY}, where
+   *     0 selects the default capacity
+   */
+  public ArrayBuilder(int capacity) {
+    if (capacity < 0 || capacity > MAX_CAPACITY) {
+      throw new IllegalArgumentException(
+          "The capacity must be between 0 and " + MAX_CAPACITY + ".");
+    }
+    this.items = new Object[capacity > 0 ? capacity : DEFAULT_CAPACITY];
+    this.size = 0;
+    this.isShared = false;
+  }
+
+  /** @return whether this builder has reached its maximum capacity */
+  public boolean isFull() {
+    return size == MAX_CAPACITY;
+  }
+
+  /**
+   * Appends an element to the end of this builder. The builder must not be full.
+   *
+   * @param item the element to append
+   */
+  public void append(Object item) {
+    if (size == items.length) {
+      grow();
+    }
+    items[size++] = item;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  private void grow() {
+    int capacity =
+        items.length > MAX_CAPACITY / 2
+            ? MAX_CAPACITY
+            : Math.max(items.length * 2, DEFAULT_CAPACITY);
+    items = Arrays.copyOf(items, capacity);
+    isShared = false;
+  }
+
+  /** @return the number of elements appended to this builder */
+  public int getSize() {
+    return size;
+  }
+
+  /** @return the current capacity of this builder */
+  public int getCapacity() {
+    return items.length;
+  }
+
+  /**
+   * Creates an array containing all elements appended to this builder.
+   *
+   * <p>The storage of the builder is handed over to the array if it is fully used, as the builder
+   * never overwrites the elements appended so far. Otherwise, or if the storage has already been
+   * handed over to another array, the elements are copied.
+   *
+   * @return an array containing the appended elements
+   */
+  public Array seal() {
+    if (size == items.length && !isShared) {
+      isShared = true;
+      return new Array(items);
+    }
+    return new Array(Arrays.copyOf(items, size));
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(Arrays.copyOf(items, size));
+  }
+
+  @ExportMessage
+  boolean hasFunctionalDispatch() {
+    return true;
+  }
+
+  @ExportMessage
+  static class GetFunctionalDispatch {
+
+    static final int CACHE_SIZE = 10;
+
+    @CompilerDirectives.TruffleBoundary
+    static Function doResolve(Context context, UnresolvedSymbol symbol) {
+      return symbol.resolveFor(
+          context.getBuiltins().mutable().arrayBuilder(), context.getBuiltins().any());
+    }
+
+    @Specialization(
+        guards = {"!context.isCachingDisabled()", "cachedSymbol == symbol", "function != null"},
+        limit = "CACHE_SIZE")
+    static Function resolveCached(
+        ArrayBuilder _this,
+        UnresolvedSymbol symbol,
+        @CachedContext(Language.class) Context context,
+        @Cached("symbol") UnresolvedSymbol cachedSymbol,
+        @Cached("doResolve(context, cachedSymbol)") Function function) {
+      return function;
+    }
+
+    @Specialization(replaces = "resolveCached")
+    static Function resolve(
+        ArrayBuilder _this,
+        UnresolvedSymbol symbol,
+        @CachedContext(Language.class) Context context)
+        throws MethodDispatchLibrary.NoSuchMethodException {
+      Function function = doResolve(context, symbol);
+      if (function == null) {
+        throw new MethodDispatchLibrary.NoSuchMethodException();
+      }
+      return function;
+    }
+  }
+}
@@ -12,14 +12,14 @@ import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.SourceSection;
 import org.enso.interpreter.Language;
 import org.enso.interpreter.runtime.Context;
 import org.enso.interpreter.runtime.callable.UnresolvedSymbol;
 import org.enso.interpreter.runtime.callable.function.Function;
 import org.enso.interpreter.runtime.library.dispatch.MethodDispatchLibrary;
 
-import javax.xml.crypto.Data;
-
 /**
  * A runtime object representing an arbitrary, user-created dataflow error.
  *
@@ -31,6 +31,7 @@ import javax.xml.crypto.Data;
 public class DataflowError extends RuntimeException implements TruffleObject, TruffleException {
   private final Object payload;
   private final Node location;
+  private final boolean isLightweight;
 
   /**
    * Construct a new dataflow error with the default stack trace.
@@ -42,11 +43,42 @@ public class DataflowError extends RuntimeException implements TruffleObject, Tr
    * @return a new dataflow error
    */
   public static DataflowError withDefaultTrace(Object payload, Node location) {
-    var error = new DataflowError(payload, location);
-    error.fillInStackTrace();
+    var error = new DataflowError(payload, location, false);
+    error.captureStackTrace();
     return error;
   }
 
+  /**
+   * Construct a new dataflow error without capturing the stack trace.
+   *
+   * <p>Creating such an error does not walk the stack, which makes it suitable for the hot paths
+   * that produce errors as a part of their normal operation. The stack trace of the error is
+   * computed lazily from its location, the first time it is requested.
+   *
+   * @param payload the user-provided value carried by the error
+   * @param location the node in which the error was created
+   * @return a new dataflow error
+   */
+  public static DataflowError withoutTrace(Object payload, Node location) {
+    return new DataflowError(payload, location, true);
+  }
+
+  /**
+   * Construct a new dataflow error, capturing its stack trace unless the lightweight errors are
+   * enabled in the context.
+   *
+   * @param context the current language context
+   * @param payload the user-provided value carried by the error
+   * @param location the node in which the error was created
+   * @return a new dataflow error
+   */
+  public static DataflowError create(Context context, Object payload, Node location) {
+    if (context.isLightweightErrors()) {
+      return withoutTrace(payload, location);
+    }
+    return withDefaultTrace(payload, location);
+  }
+
   /**
    * Construct a new dataflow error with the provided stack trace.
    *
@@ -59,14 +91,62 @@ public class DataflowError extends RuntimeException implements TruffleObject, Tr
    * @return a new dataflow error
    */
   public static DataflowError withTrace(Object payload, Node location, StackTraceElement[] trace) {
-    var error = new DataflowError(payload, location);
+    var error = new DataflowError(payload, location, false);
     error.setStackTrace(trace);
     return error;
   }
 
-  DataflowError(Object payload, Node location) {
+  DataflowError(Object payload, Node location, boolean isLightweight) {
     this.payload = payload;
     this.location = location;
+    this.isLightweight = isLightweight;
+  }
+
+  /**
+   * Does not capture the stack trace, as it is captured explicitly by the factory methods.
+   *
+   * @return this error
+   */
+  @Override
+  public Throwable fillInStackTrace() {
+    return this;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  private void captureStackTrace() {
+    super.fillInStackTrace();
+  }
+
+  /**
+   * Returns the stack trace of this error.
+   *
+   * <p>The lightweight errors get a single element trace pointing to the location of the error.
+   *
+   * @return the stack trace of this error
+   */
+  @Override
+  @CompilerDirectives.TruffleBoundary
+  public StackTraceElement[] getStackTrace() {
+    StackTraceElement[] trace = super.getStackTrace();
+    if (isLightweight && trace.length == 0 && location != null) {
+      trace = new StackTraceElement[] {getLocationTraceElement()};
+      setStackTrace(trace);
+    }
+    return trace;
+  }
+
+  private StackTraceElement getLocationTraceElement() {
+    RootNode rootNode = location.getRootNode();
+    SourceSection section = location.getEncapsulatingSourceSection();
+    String methodName = rootNode == null ? "<unknown>" : rootNode.getName();
+    String fileName = section == null ? null : section.getSource().getName();
+    int lineNumber = section == null ? -1 : section.getStartLine();
+    return new StackTraceElement("Enso", methodName, fileName, lineNumber);
+  }
+
+  /** @return whether the stack trace of this error was not captured on its creation */
+  public boolean isLightweight() {
+    return isLightweight;
   }
 
   @Override
@@ -188,6 +188,11 @@ public class ModuleScope implements TruffleObject {
     imports.add(scope);
   }
 
+  /** @return a snapshot of the scopes of the modules imported by this module */
+  public Set<ModuleScope> getImports() {
+    return new HashSet<>(imports);
+  }
+
   /**
    * Adds an information about the module exporting another module.
    *
@@ -5,6 +5,7 @@ public class Constants {
 
   public static final String ANY = "Builtins.Main.Any";
   public static final String ARRAY = "Builtins.Main.Array";
+  public static final String ARRAY_BUILDER = "Builtins.Main.Array_Builder";
   public static final String BOOLEAN = "Builtins.Main.Boolean";
   public static final String ERROR = "Builtins.Main.Error";
   public static final String FUNCTION = "Builtins.Main.Function";
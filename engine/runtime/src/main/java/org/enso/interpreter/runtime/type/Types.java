@@ -9,6 +9,7 @@ import org.enso.interpreter.runtime.callable.atom.Atom;
 import org.enso.interpreter.runtime.callable.atom.AtomConstructor;
 import org.enso.interpreter.runtime.callable.function.Function;
 import org.enso.interpreter.runtime.data.Array;
+import org.enso.interpreter.runtime.data.ArrayBuilder;
 import org.enso.interpreter.runtime.data.ManagedResource;
 import org.enso.interpreter.runtime.data.Ref;
 import org.enso.interpreter.runtime.data.text.Text;
@@ -39,6 +40,7 @@ import org.enso.interpreter.runtime.scope.ModuleScope;
   DataflowError.class,
   UnresolvedSymbol.class,
   Array.class,
+  ArrayBuilder.class,
   EnsoBigInteger.class,
   ManagedResource.class,
   ModuleScope.class,
@@ -120,6 +122,8 @@ public class Types {
       return Constants.ERROR;
     } else if (TypesGen.isArray(value)) {
       return Constants.ARRAY;
+    } else if (TypesGen.isArrayBuilder(value)) {
+      return Constants.ARRAY_BUILDER;
     } else if (TypesGen.isRef(value)) {
       return Constants.REF;
     } else if (TypesGen.isPanicSentinel(value)) {
@@ -10,11 +10,16 @@ import org.enso.polyglot.runtime.Runtime.Api.{
 import scala.collection.mutable.Stack
 
 /** Storage for active execution contexts.
+  *
+  * The contexts are kept in an immutable snapshot. The writers replace the
+  * snapshot while holding the lock, and the readers, like the instrument
+  * looking up the visualisations of the computed expressions, read the
+  * current snapshot without locking.
   */
 class ExecutionContextManager {
 
-  private var contexts: Map[ContextId, ExecutionContextState] =
-    Map().withDefaultValue(ExecutionContextState.empty)
+  @volatile private var contexts: Map[ContextId, ExecutionContextState] =
+    Map()
 
   /** Creates a new context with a given id.
     *
@@ -39,30 +44,24 @@ class ExecutionContextManager {
     * @return the context with the given id, if exists.
     */
   def get(id: ContextId): Option[ContextId] =
-    synchronized {
-      for {
-        _ <- contexts.get(id)
-      } yield id
-    }
+    for {
+      _ <- contexts.get(id)
+    } yield id
 
   /** Gets a stack for a given context id.
     *
     * @param id the context id.
-    * @return the stack.
+    * @return the stack, or an empty stack if the context does not exist.
     */
   def getStack(id: ContextId): Stack[InstrumentFrame] =
-    synchronized {
-      contexts(id).stack
-    }
+    contexts.get(id).map(_.stack).getOrElse(Stack.empty)
 
   /** Gets all execution contexts.
     *
     * @return all currently available execution contexsts.
     */
   def getAll: collection.MapView[ContextId, Stack[InstrumentFrame]] =
-    synchronized {
-      contexts.view.mapValues(_.stack)
-    }
+    contexts.view.mapValues(_.stack)
 
   /** If the context exists, push the item on the stack.
     *
@@ -96,9 +95,7 @@ class ExecutionContextManager {
     * @return true if the context is stored or false otherwise
     */
   def contains(contextId: ContextId): Boolean =
-    synchronized {
-      contexts.contains(contextId)
-    }
+    contexts.contains(contextId)
 
   /** Upserts a visualisation for the specified context.
     *
@@ -109,10 +106,7 @@ class ExecutionContextManager {
     contextId: ContextId,
     visualisation: Visualisation
   ): Unit =
-    synchronized {
-      val state = contexts(contextId)
-      state.visualisations.upsert(visualisation)
-    }
+    updateVisualisations(contextId)(_.upsert(visualisation))
 
   /** Returns a visualisation with the provided id.
     *
@@ -124,12 +118,10 @@ class ExecutionContextManager {
     contextId: ContextId,
     visualisationId: VisualisationId
   ): Option[Visualisation] =
-    synchronized {
-      for {
-        state         <- contexts.get(contextId)
-        visualisation <- state.visualisations.getById(visualisationId)
-      } yield visualisation
-    }
+    for {
+      state         <- contexts.get(contextId)
+      visualisation <- state.visualisations.getById(visualisationId)
+    } yield visualisation
 
   /** Finds all visualisations attached to an expression.
     *
@@ -141,11 +133,9 @@ class ExecutionContextManager {
     contextId: ContextId,
     expressionId: ExpressionId
   ): List[Visualisation] =
-    synchronized {
-      for {
-        state         <- contexts.get(contextId).toList
-        visualisation <- state.visualisations.find(expressionId)
-      } yield visualisation
+    contexts.get(contextId) match {
+      case Some(state) => state.visualisations.find(expressionId)
+      case None        => List.empty
     }
 
   /** Removes a visualisation from the holder.
@@ -159,10 +149,24 @@ class ExecutionContextManager {
     contextId: ContextId,
     expressionId: ExpressionId,
     visualisationId: VisualisationId
+  ): Unit =
+    updateVisualisations(contextId)(_.remove(visualisationId, expressionId))
+
+  /** Replaces the visualisations of the context, if the context exists.
+    *
+    * @param contextId the identifier of the execution context
+    * @param update the function updating the visualisations
+    */
+  private def updateVisualisations(contextId: ContextId)(
+    update: VisualisationHolder => VisualisationHolder
   ): Unit =
     synchronized {
-      val state = contexts(contextId)
-      state.visualisations.remove(visualisationId, expressionId)
+      contexts.get(contextId).foreach { state =>
+        contexts = contexts.updated(
+          contextId,
+          state.copy(visualisations = update(state.visualisations))
+        )
+      }
     }
 
 }
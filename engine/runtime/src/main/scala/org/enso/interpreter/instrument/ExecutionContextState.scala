@@ -7,8 +7,8 @@ import scala.collection.mutable
 /** Represents a state of an execution context.
   *
   * @param stack the current call stack for the execution context
-  * @param visualisations the holder of all visualisations attached to the
-  *                       execution context
+  * @param visualisations the immutable holder of all visualisations attached
+  *                       to the execution context
   */
 case class ExecutionContextState(
   stack: mutable.Stack[InstrumentFrame],
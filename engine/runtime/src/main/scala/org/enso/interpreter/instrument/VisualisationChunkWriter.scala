@@ -0,0 +1,185 @@
+package org.enso.interpreter.instrument
+
+import java.nio.charset.{CodingErrorAction, StandardCharsets}
+import java.nio.{ByteBuffer, CharBuffer}
+import java.util
+
+import org.enso.interpreter.runtime.data.{Array => EnsoArray}
+import org.enso.interpreter.runtime.data.text.{ConcatRope, Text}
+
+/** Encodes the visualisation data to chunks of bytes.
+  *
+  * The data is written to a buffer of at most `chunkSize` bytes. When the
+  * buffer is full and more data is written, the buffer is emitted as a chunk
+  * and a new buffer is started. The last chunk is emitted when the writer is
+  * closed, so the data that fits in one chunk is emitted as a single chunk
+  * marked as the last one.
+  *
+  * The text is encoded directly from the leaves of the rope, without
+  * flattening it to an intermediate string.
+  *
+  * @param chunkSize the maximum size of a chunk in bytes, at least 4 bytes to
+  * fit any encoded character
+  * @param emit the consumer of the chunks and the flags marking the last chunk
+  */
+final class VisualisationChunkWriter(
+  chunkSize: Int,
+  emit: (Array[Byte], Boolean) => Unit
+) {
+
+  import VisualisationChunkWriter._
+
+  private val encoder =
+    StandardCharsets.UTF_8
+      .newEncoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE)
+
+  private var buffer: ByteBuffer =
+    ByteBuffer.allocate(math.min(InitialBufferSize, chunkSize))
+
+  /** The high surrogate at the end of the previous text, that is encoded
+    * together with the beginning of the next text.
+    */
+  private var pendingSurrogate: Int = NoSurrogate
+
+  /** Write the visualisation data.
+    *
+    * @param data the data returned by the visualisation callback
+    */
+  def write(data: AnyRef): Unit =
+    data match {
+      case text: String       => writeChars(text)
+      case text: Text         => writeText(text)
+      case bytes: Array[Byte] => writeBytes(bytes)
+      case chunks: EnsoArray  => chunks.getItems.foreach(write)
+      case other =>
+        throw new IllegalArgumentException(cannotEncode(other))
+    }
+
+  /** Emit the last chunk. */
+  def close(): Unit = {
+    finishChars()
+    emit(takeChunk(), true)
+  }
+
+  private def writeText(text: Text): Unit = {
+    val stack = new util.ArrayDeque[AnyRef]()
+    stack.push(text.getContents)
+    while (!stack.isEmpty) {
+      stack.pop() match {
+        case leaf: String => writeChars(leaf)
+        case rope: ConcatRope =>
+          stack.push(rope.getRight)
+          stack.push(rope.getLeft)
+        case other =>
+          throw new IllegalStateException(s"Unexpected text contents $other")
+      }
+    }
+  }
+
+  private def writeChars(chars: CharSequence): Unit = {
+    val in = CharBuffer.wrap(chars)
+    while (pendingSurrogate != NoSurrogate && in.hasRemaining) {
+      val pair = CharBuffer.wrap(Array(pendingSurrogate.toChar, in.get()))
+      pendingSurrogate = NoSurrogate
+      encode(pair)
+    }
+    if (pendingSurrogate == NoSurrogate) {
+      encode(in)
+    }
+  }
+
+  private def encode(in: CharBuffer): Unit = {
+    while (encoder.encode(in, buffer, false).isOverflow) {
+      nextBuffer()
+    }
+    if (in.hasRemaining) {
+      pendingSurrogate = in.get().toInt
+    }
+  }
+
+  private def finishChars(): Unit =
+    if (pendingSurrogate != NoSurrogate) {
+      val in = CharBuffer.wrap(Array(pendingSurrogate.toChar))
+      pendingSurrogate = NoSurrogate
+      while (encoder.encode(in, buffer, true).isOverflow) {
+        nextBuffer()
+      }
+      encoder.reset()
+    }
+
+  private def writeBytes(bytes: Array[Byte]): Unit = {
+    finishChars()
+    var offset = 0
+    while (offset < bytes.length) {
+      if (!buffer.hasRemaining) {
+        nextBuffer()
+      }
+      val length = math.min(buffer.remaining(), bytes.length - offset)
+      buffer.put(bytes, offset, length)
+      offset += length
+    }
+  }
+
+  /** Make room in the buffer, either by growing it up to the chunk size, or
+    * by emitting it as a chunk.
+    */
+  private def nextBuffer(): Unit =
+    if (buffer.capacity() < chunkSize) {
+      val grown =
+        ByteBuffer.allocate(math.min(buffer.capacity() * 2, chunkSize))
+      buffer.flip()
+      grown.put(buffer)
+      buffer = grown
+    } else {
+      emit(takeChunk(), false)
+      buffer = ByteBuffer.allocate(chunkSize)
+    }
+
+  private def takeChunk(): Array[Byte] =
+    if (buffer.position() == buffer.capacity()) buffer.array()
+    else util.Arrays.copyOf(buffer.array(), buffer.position())
+}
+
+object VisualisationChunkWriter {
+
+  /** The maximum size of a visualisation chunk. */
+  val ChunkSize: Int = 256 * 1024
+
+  private val InitialBufferSize: Int = 1024
+
+  private val NoSurrogate: Int = -1
+
+  /** Check that the visualisation data can be encoded.
+    *
+    * The data is either a text, an array of bytes, or an array of texts and
+    * arrays of bytes that are encoded one after another.
+    *
+    * @param data the data returned by the visualisation callback
+    * @return the data or the error message if the data cannot be encoded
+    */
+  def validate(data: AnyRef): Either[String, AnyRef] =
+    data match {
+      case chunks: EnsoArray =>
+        chunks.getItems
+          .find(!isChunk(_))
+          .map(item => Left(cannotEncode(item)))
+          .getOrElse(Right(data))
+      case chunk if isChunk(chunk) =>
+        Right(data)
+      case other =>
+        Left(cannotEncode(other))
+    }
+
+  private def isChunk(data: AnyRef): Boolean =
+    data match {
+      case _: String | _: Text | _: Array[Byte] => true
+      case _                                    => false
+    }
+
+  private def cannotEncode(data: AnyRef): String = {
+    val dataType = Option(data).map(_.getClass.toString).getOrElse("null")
+    s"Cannot encode $dataType to byte array"
+  }
+}
@@ -2,21 +2,32 @@ package org.enso.interpreter.instrument
 
 import org.enso.polyglot.runtime.Runtime.Api.{ExpressionId, VisualisationId}
 
-/** A mutable holder of all visualisations attached to an execution context.
+/** An immutable holder of all visualisations attached to an execution
+  * context. The visualisations are indexed both by the expression and by the
+  * visualisation id.
+  *
+  * @param byExpression the visualisations attached to the expressions
+  * @param byId the visualisations by their identifiers
   */
-class VisualisationHolder() {
-
-  private var visualisationMap: Map[ExpressionId, List[Visualisation]] =
-    Map.empty.withDefaultValue(List.empty)
+final class VisualisationHolder private (
+  private val byExpression: Map[ExpressionId, List[Visualisation]],
+  private val byId: Map[VisualisationId, Visualisation]
+) {
 
   /** Upserts a visualisation.
     *
     * @param visualisation the visualisation to upsert
+    * @return the holder with the visualisation
     */
-  def upsert(visualisation: Visualisation): Unit = {
-    val visualisations = visualisationMap(visualisation.expressionId)
-    val removed        = visualisations.filterNot(_.id == visualisation.id)
-    visualisationMap += (visualisation.expressionId -> (visualisation :: removed))
+  def upsert(visualisation: Visualisation): VisualisationHolder = {
+    val holder = byId.get(visualisation.id).fold(this)(removeVisualisation)
+    new VisualisationHolder(
+      holder.byExpression.updated(
+        visualisation.expressionId,
+        visualisation :: holder.find(visualisation.expressionId)
+      ),
+      holder.byId.updated(visualisation.id, visualisation)
+    )
   }
 
   /** Removes a visualisation from the holder.
@@ -24,15 +35,18 @@ class VisualisationHolder() {
     * @param visualisationId the visualisation identifier
     * @param expressionId the id of expression that the visualisation is
     *                     attached to
+    * @return the holder without the visualisation
     */
   def remove(
     visualisationId: VisualisationId,
     expressionId: ExpressionId
-  ): Unit = {
-    val visualisations = visualisationMap(expressionId)
-    val removed        = visualisations.filterNot(_.id == visualisationId)
-    visualisationMap += (expressionId -> removed)
-  }
+  ): VisualisationHolder =
+    byId.get(visualisationId) match {
+      case Some(visualisation) if visualisation.expressionId == expressionId =>
+        removeVisualisation(visualisation)
+      case _ =>
+        this
+    }
 
   /** Finds all visualisations attached to an expression.
     *
@@ -40,7 +54,7 @@ class VisualisationHolder() {
     * @return a list of matching visualisation
     */
   def find(expressionId: ExpressionId): List[Visualisation] =
-    visualisationMap(expressionId)
+    byExpression.getOrElse(expressionId, List.empty)
 
   /** Returns a visualisation with the provided id.
     *
@@ -48,14 +62,24 @@ class VisualisationHolder() {
     * @return an option with visualisation
     */
   def getById(visualisationId: VisualisationId): Option[Visualisation] =
-    visualisationMap.values.flatten.find(_.id == visualisationId)
+    byId.get(visualisationId)
+
+  private def removeVisualisation(
+    visualisation: Visualisation
+  ): VisualisationHolder = {
+    val remaining =
+      find(visualisation.expressionId).filterNot(_.id == visualisation.id)
+    val updated =
+      if (remaining.isEmpty) byExpression - visualisation.expressionId
+      else byExpression.updated(visualisation.expressionId, remaining)
+    new VisualisationHolder(updated, byId - visualisation.id)
+  }
 
 }
 
 object VisualisationHolder {
 
-  /** Returns an empty holder.
-    */
-  def empty = new VisualisationHolder()
+  /** An empty holder. */
+  val empty: VisualisationHolder = new VisualisationHolder(Map(), Map())
 
 }
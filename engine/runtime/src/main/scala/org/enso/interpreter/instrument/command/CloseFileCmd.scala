@@ -17,13 +17,15 @@ class CloseFileCmd(request: Api.CloseFileNotification) extends Command(None) {
     ec: ExecutionContext
   ): Future[Unit] =
     Future {
-      ctx.locking.acquireFileLock(request.path)
       ctx.locking.acquireReadCompilationLock()
+      ctx.locking.acquireCompilerLock()
+      ctx.locking.acquireFileLock(request.path)
       try {
         ctx.executionService.resetModuleSources(request.path)
       } finally {
-        ctx.locking.releaseReadCompilationLock()
         ctx.locking.releaseFileLock(request.path)
+        ctx.locking.releaseCompilerLock()
+        ctx.locking.releaseReadCompilationLock()
       }
     }
 
@@ -0,0 +1,28 @@
+package org.enso.interpreter.instrument.command
+
+import org.enso.interpreter.instrument.RuntimeMetrics
+import org.enso.interpreter.instrument.execution.RuntimeContext
+import org.enso.polyglot.runtime.Runtime.Api
+
+import scala.concurrent.{ExecutionContext, Future}
+
+/** A command that returns the runtime metrics.
+  *
+  * @param maybeRequestId an option with request id
+  */
+class GetMetricsCmd(maybeRequestId: Option[Api.RequestId])
+    extends Command(maybeRequestId) {
+
+  /** Executes a request.
+    *
+    * @param ctx contains suppliers of services to perform a request
+    */
+  override def execute(implicit
+    ctx: RuntimeContext,
+    ec: ExecutionContext
+  ): Future[Unit] =
+    Future {
+      reply(Api.GetMetricsResponse(RuntimeMetrics.REGISTRY.format()))
+    }
+
+}
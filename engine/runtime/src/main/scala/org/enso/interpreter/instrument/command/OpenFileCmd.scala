@@ -17,8 +17,9 @@ class OpenFileCmd(request: Api.OpenFileNotification) extends Command(None) {
     ec: ExecutionContext
   ): Future[Unit] =
     Future {
-      ctx.locking.acquireFileLock(request.path)
       ctx.locking.acquireReadCompilationLock()
+      ctx.locking.acquireCompilerLock()
+      ctx.locking.acquireFileLock(request.path)
       try {
         ctx.executionService.setModuleSources(
           request.path,
@@ -26,8 +27,9 @@ class OpenFileCmd(request: Api.OpenFileNotification) extends Command(None) {
           request.isIndexed
         )
       } finally {
-        ctx.locking.releaseReadCompilationLock()
         ctx.locking.releaseFileLock(request.path)
+        ctx.locking.releaseCompilerLock()
+        ctx.locking.releaseReadCompilationLock()
       }
     }
 
@@ -1,20 +1,34 @@
 package org.enso.interpreter.instrument.execution
 
 import java.util.UUID
-import java.util.concurrent.atomic.AtomicReference
-import java.util.concurrent.Executors
+import java.util.concurrent.atomic.{AtomicLong, AtomicReference}
+import java.util.concurrent.{
+  PriorityBlockingQueue,
+  ThreadPoolExecutor,
+  TimeUnit
+}
 import java.util.logging.Level
 
-import org.enso.interpreter.instrument.InterpreterContext
+import org.enso.interpreter.instrument.{InterpreterContext, RuntimeMetrics}
 import org.enso.interpreter.instrument.job.Job
-import org.enso.polyglot.RuntimeServerInfo
+import org.enso.polyglot.{RuntimeOptions, RuntimeServerInfo}
 import org.enso.text.Sha3_224VersionCalculator
 
 import scala.concurrent.{Future, Promise}
 import scala.util.control.NonFatal
 
-/** This component schedules the execution of jobs. It keep a queue of
-  * pending jobs and activates job execution in FIFO order.
+/** This component schedules the execution of jobs. It keeps a queue of
+  * pending jobs and starts the jobs with higher priorities first, keeping the
+  * FIFO order of the jobs with equal priorities.
+  *
+  * A queued job is superseded by a newer job with the same supersession key,
+  * so that a burst of requests doesn't run the redundant jobs. The newer job
+  * takes the place of the earliest job it supersedes in the queue, so the
+  * supersession never moves the queued work behind the jobs submitted in the
+  * meantime. The compilations have the highest priority, so an execution
+  * never starts before a pending compilation. When the commands are executed
+  * sequentially, the jobs are run in the FIFO order and are never superseded,
+  * to keep the execution deterministic.
   *
   * @param interpreterContext suppliers of services that provide interpreter
   * specific functionality
@@ -38,10 +52,37 @@ class JobExecutionEngine(
       .get(RuntimeServerInfo.JOB_PARALLELISM_KEY)
       .intValue()
 
-  val jobExecutor = Executors.newFixedThreadPool(
-    jobParallelism,
-    new TruffleThreadFactory(context, "job-pool")
-  )
+  private val isSequential =
+    context.getEnvironment.getOptions
+      .get(RuntimeOptions.INTERPRETER_SEQUENTIAL_COMMAND_EXECUTION_KEY)
+      .booleanValue()
+
+  private val sequence = new AtomicLong(0)
+
+  val jobExecutor: ThreadPoolExecutor =
+    new ThreadPoolExecutor(
+      jobParallelism,
+      jobParallelism,
+      0L,
+      TimeUnit.MILLISECONDS,
+      new PriorityBlockingQueue[Runnable](),
+      new TruffleThreadFactory(context, "job-pool")
+    ) {
+
+      /** Wraps the runnables that are not jobs, like the commands executed
+        * sequentially, to order them with the jobs.
+        */
+      override def execute(command: Runnable): Unit =
+        command match {
+          case task: QueuedTask => super.execute(task)
+          case _ =>
+            super.execute(
+              new QueuedTask(command, Job.Priority.Background, nextSequence())
+            )
+        }
+    }
+
+  RuntimeMetrics.JOBS_QUEUED.bind(() => jobExecutor.getQueue.size().toLong)
 
   private val runtimeContext =
     RuntimeContext(
@@ -58,31 +99,85 @@ class JobExecutionEngine(
 
   /** @inheritdoc */
   override def run[A](job: Job[A]): Future[A] = {
-    val jobId   = UUID.randomUUID()
-    val promise = Promise[A]()
-    val logger  = runtimeContext.executionService.getLogger
+    val jobId       = UUID.randomUUID()
+    val promise     = Promise[A]()
+    val logger      = runtimeContext.executionService.getLogger
+    val submittedAt = System.nanoTime()
     logger.log(Level.FINE, s"Submitting job: $job...")
-    val future = jobExecutor.submit(() => {
-      logger.log(Level.FINE, s"Executing job: $job...")
-      try {
-        val result = job.run(runtimeContext)
-        logger.log(Level.FINE, s"Job $job finished.")
-        promise.success(result)
-      } catch {
-        case NonFatal(ex) =>
-          logger.log(Level.SEVERE, s"Error executing $job", ex)
-          promise.failure(ex)
-      } finally {
-        runningJobsRef.updateAndGet(_.filterNot(_.id == jobId))
-      }
-    })
-    val runningJob = RunningJob(jobId, job, future)
+    val priority =
+      if (isSequential) Job.Priority.Background else job.priority
+    val supersededSequence =
+      if (isSequential) None
+      else job.supersessionKey.flatMap(supersede(_, promise.future))
+    val task = new QueuedTask(
+      () => {
+        val startedAt    = System.nanoTime()
+        val waitedMillis = (startedAt - submittedAt) / 1000000
+        RuntimeMetrics.JOB_WAIT_MICROS.record((startedAt - submittedAt) / 1000)
+        logger.log(
+          Level.FINE,
+          s"Executing job: $job after waiting $waitedMillis ms " +
+          s"(${jobExecutor.getQueue.size()} jobs queued)..."
+        )
+        try {
+          val result = job.run(runtimeContext)
+          logger.log(Level.FINE, s"Job $job finished.")
+          promise.success(result)
+        } catch {
+          case NonFatal(ex) =>
+            logger.log(Level.SEVERE, s"Error executing $job", ex)
+            promise.failure(ex)
+        } finally {
+          RuntimeMetrics.JOB_RUN_MICROS.record(
+            (System.nanoTime() - startedAt) / 1000
+          )
+          runningJobsRef.updateAndGet(_.filterNot(_.id == jobId))
+        }
+      },
+      priority,
+      supersededSequence.getOrElse(nextSequence())
+    )
+    val runningJob = RunningJob(jobId, job, task, promise)
 
     runningJobsRef.updateAndGet(_ :+ runningJob)
+    jobExecutor.execute(task)
 
     promise.future
   }
 
+  /** Supersedes the queued jobs with the provided key.
+    *
+    * @param key the supersession key of the new job
+    * @param result the result of the new job
+    * @return the earliest sequence number of the superseded jobs, that the new
+    * job inherits
+    */
+  private def supersede(key: Any, result: Future[Any]): Option[Long] = {
+    val superseded = runningJobsRef.get().filter { runningJob =>
+      runningJob.job.supersessionKey.contains(key) &&
+      runningJob.future.supersede()
+    }
+    if (superseded.nonEmpty) {
+      val ids = superseded.map(_.id).toSet
+      runningJobsRef.updateAndGet(_.filterNot(job => ids.contains(job.id)))
+      superseded.foreach { runningJob =>
+        jobExecutor.remove(runningJob.future)
+        // the jobs with equal keys are of the same type
+        runningJob.promise.asInstanceOf[Promise[Any]].completeWith(result)
+        RuntimeMetrics.JOBS_SUPERSEDED.inc()
+        runtimeContext.executionService.getLogger.log(
+          Level.FINE,
+          s"Job ${runningJob.job} superseded by a newer job."
+        )
+      }
+      Some(superseded.map(_.future.sequence).min)
+    } else {
+      None
+    }
+  }
+
+  private def nextSequence(): Long = sequence.getAndIncrement()
+
   /** @inheritdoc */
   override def abortAllJobs(): Unit = {
     val allJobs         = runningJobsRef.updateAndGet(_.filterNot(_.future.isCancelled))
@@ -3,7 +3,18 @@ package org.enso.interpreter.instrument.execution
 import java.io.File
 import java.util.UUID
 
+import org.enso.pkg.QualifiedName
+
 /** Provides locking capabilities for the runtime server.
+  *
+  * The compilation lock guards the operations that affect the whole project,
+  * while the module locks guard the individual modules. The compiler is not
+  * thread-safe, so compiling requires the compiler lock in addition to the
+  * read compilation lock and the write locks of the compiled modules.
+  * Executing a program requires the read compilation lock and the read locks
+  * of the modules it depends on. The context lock is always acquired before
+  * the compilation lock, the compilation lock before the compiler lock, and
+  * the compiler lock before the module locks.
   */
 trait Locking {
 
@@ -35,6 +46,14 @@ trait Locking {
     */
   def releaseReadCompilationLock(): Unit
 
+  /** Acquires the compiler lock.
+    */
+  def acquireCompilerLock(): Unit
+
+  /** Releases the compiler lock.
+    */
+  def releaseCompilerLock(): Unit
+
   /** Acquires a pending edits lock.
     */
   def acquirePendingEditsLock(): Unit
@@ -67,4 +86,32 @@ trait Locking {
     */
   def releaseFileLock(file: File): Unit
 
+  /** Acquires the read locks of the modules. The module locks are acquired in
+    * a global order, so that the threads locking the overlapping sets of
+    * modules can't deadlock.
+    *
+    * @param modules the names of the modules to lock
+    */
+  def acquireReadModuleLocks(modules: Iterable[QualifiedName]): Unit
+
+  /** Releases the read locks of the modules.
+    *
+    * @param modules the names of the modules to unlock
+    */
+  def releaseReadModuleLocks(modules: Iterable[QualifiedName]): Unit
+
+  /** Acquires the write locks of the modules. The module locks are acquired in
+    * a global order, so that the threads locking the overlapping sets of
+    * modules can't deadlock.
+    *
+    * @param modules the names of the modules to lock
+    */
+  def acquireWriteModuleLocks(modules: Iterable[QualifiedName]): Unit
+
+  /** Releases the write locks of the modules.
+    *
+    * @param modules the names of the modules to unlock
+    */
+  def releaseWriteModuleLocks(modules: Iterable[QualifiedName]): Unit
+
 }
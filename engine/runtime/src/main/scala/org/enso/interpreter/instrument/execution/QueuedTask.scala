@@ -0,0 +1,53 @@
+package org.enso.interpreter.instrument.execution
+
+import java.util.concurrent.FutureTask
+import java.util.concurrent.atomic.AtomicInteger
+
+/** A task waiting in the queue of the job executor.
+  *
+  * The tasks with higher priorities are run first, and the tasks with equal
+  * priorities are run in the order of submission.
+  *
+  * @param runnable the computation to run
+  * @param priority the priority of the task
+  * @param sequence the submission number of the task, or the one inherited
+  * from the earliest task it supersedes
+  */
+class QueuedTask(runnable: Runnable, val priority: Int, val sequence: Long)
+    extends FutureTask[Unit](runnable, ())
+    with Comparable[QueuedTask] {
+
+  private val state = new AtomicInteger(QueuedTask.State.Queued)
+
+  /** Marks the task as superseded by a newer task, if it hasn't started yet.
+    *
+    * @return true if the task was superseded and will never run
+    */
+  def supersede(): Boolean =
+    state.compareAndSet(QueuedTask.State.Queued, QueuedTask.State.Superseded)
+
+  /** @inheritdoc */
+  override def run(): Unit = {
+    if (
+      state.compareAndSet(QueuedTask.State.Queued, QueuedTask.State.Running)
+    ) {
+      super.run()
+    }
+  }
+
+  /** @inheritdoc */
+  override def compareTo(that: QueuedTask): Int = {
+    val byPriority = Integer.compare(that.priority, priority)
+    if (byPriority != 0) byPriority
+    else java.lang.Long.compare(sequence, that.sequence)
+  }
+}
+
+object QueuedTask {
+
+  private object State {
+    val Queued: Int     = 0
+    val Running: Int    = 1
+    val Superseded: Int = 2
+  }
+}
@@ -2,15 +2,29 @@ package org.enso.interpreter.instrument.execution
 
 import java.io.File
 import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.locks.{Lock, ReentrantLock, ReentrantReadWriteLock}
 
+import org.enso.interpreter.instrument.RuntimeMetrics
+import org.enso.pkg.QualifiedName
+import org.enso.polyglot.metrics.Histogram
+
 /** Provides locking capabilities for the runtime server. Ir uses reentrant
   * locks.
+  *
+  * Each module is guarded by its own read-write lock, and the module locks
+  * are always acquired in the order of the module names. The time spent
+  * waiting for the locks is recorded in the [[RuntimeMetrics]].
   */
 class ReentrantLocking extends Locking {
 
   private val compilationLock = new ReentrantReadWriteLock(true)
 
+  private val compilerLock = new ReentrantLock(true)
+
+  private val moduleLocks =
+    new ConcurrentHashMap[String, ReentrantReadWriteLock]()
+
   private val pendingEditsLock = new ReentrantLock()
 
   private val contextMapLock = new ReentrantLock()
@@ -71,9 +85,47 @@ class ReentrantLocking extends Locking {
     }
   }
 
+  private def getModuleLocks(
+    modules: Iterable[QualifiedName]
+  ): Seq[ReentrantReadWriteLock] =
+    modules
+      .map(_.toString)
+      .toSeq
+      .distinct
+      .sorted
+      .map(getModuleLock)
+
+  private def getModuleLock(module: String): ReentrantReadWriteLock =
+    moduleLocks.computeIfAbsent(module, _ => new ReentrantReadWriteLock(true))
+
+  private def lockAll(locks: Seq[Lock]): Unit = {
+    var acquired = List.empty[Lock]
+    try {
+      locks.foreach { lock =>
+        timed(RuntimeMetrics.MODULE_LOCK_WAIT_MICROS)(lock.lockInterruptibly())
+        acquired ::= lock
+      }
+    } catch {
+      case ex: InterruptedException =>
+        acquired.foreach(_.unlock())
+        throw ex
+    }
+  }
+
+  private def unlockAll(locks: Seq[Lock]): Unit =
+    locks.reverse.foreach(_.unlock())
+
+  private def timed(waitMicros: Histogram)(acquire: => Unit): Unit = {
+    val start = System.nanoTime()
+    acquire
+    waitMicros.record((System.nanoTime() - start) / 1000)
+  }
+
   /** @inheritdoc */
   override def acquireWriteCompilationLock(): Unit =
-    compilationLock.writeLock().lockInterruptibly()
+    timed(RuntimeMetrics.COMPILATION_LOCK_WAIT_MICROS)(
+      compilationLock.writeLock().lockInterruptibly()
+    )
 
   /** @inheritdoc */
   override def releaseWriteCompilationLock(): Unit =
@@ -81,12 +133,24 @@ class ReentrantLocking extends Locking {
 
   /** @inheritdoc */
   override def acquireReadCompilationLock(): Unit =
-    compilationLock.readLock().lockInterruptibly()
+    timed(RuntimeMetrics.COMPILATION_LOCK_WAIT_MICROS)(
+      compilationLock.readLock().lockInterruptibly()
+    )
 
   /** @inheritdoc */
   override def releaseReadCompilationLock(): Unit =
     compilationLock.readLock().unlock()
 
+  /** @inheritdoc */
+  override def acquireCompilerLock(): Unit =
+    timed(RuntimeMetrics.COMPILER_LOCK_WAIT_MICROS)(
+      compilerLock.lockInterruptibly()
+    )
+
+  /** @inheritdoc */
+  override def releaseCompilerLock(): Unit =
+    compilerLock.unlock()
+
   /** @inheritdoc */
   override def acquirePendingEditsLock(): Unit =
     pendingEditsLock.lock()
@@ -97,7 +161,9 @@ class ReentrantLocking extends Locking {
 
   /** @inheritdoc */
   override def acquireContextLock(contextId: UUID): Unit =
-    getContextLock(contextId).lockInterruptibly()
+    timed(RuntimeMetrics.CONTEXT_LOCK_WAIT_MICROS)(
+      getContextLock(contextId).lockInterruptibly()
+    )
 
   /** @inheritdoc */
   override def releaseContextLock(contextId: UUID): Unit =
@@ -110,4 +176,24 @@ class ReentrantLocking extends Locking {
   /** @inheritdoc */
   override def releaseFileLock(file: File): Unit = getFileLock(file).unlock()
 
+  /** @inheritdoc */
+  override def acquireReadModuleLocks(modules: Iterable[QualifiedName]): Unit =
+    lockAll(getModuleLocks(modules).map(_.readLock()))
+
+  /** @inheritdoc */
+  override def releaseReadModuleLocks(modules: Iterable[QualifiedName]): Unit =
+    unlockAll(getModuleLocks(modules).map(_.readLock()))
+
+  /** @inheritdoc */
+  override def acquireWriteModuleLocks(
+    modules: Iterable[QualifiedName]
+  ): Unit =
+    lockAll(getModuleLocks(modules).map(_.writeLock()))
+
+  /** @inheritdoc */
+  override def releaseWriteModuleLocks(
+    modules: Iterable[QualifiedName]
+  ): Unit =
+    unlockAll(getModuleLocks(modules).map(_.writeLock()))
+
 }
@@ -1,14 +1,21 @@
 package org.enso.interpreter.instrument.execution
 
 import java.util.UUID
-import java.util.concurrent.Future
 
 import org.enso.interpreter.instrument.job.Job
 
+import scala.concurrent.Promise
+
 /** Represents a running job.
   *
   * @param id a job id
   * @param job a job
   * @param future represents the result of an asynchronous computation
+  * @param promise the promise completed with the result of the job
   */
-case class RunningJob(id: UUID, job: Job[_], future: Future[_])
+case class RunningJob(
+  id: UUID,
+  job: Job[_],
+  future: QueuedTask,
+  promise: Promise[_]
+)
@@ -15,12 +15,17 @@ import org.enso.compiler.pass.analyse.{
   CachePreferenceAnalysis,
   GatherDiagnostics
 }
-import org.enso.interpreter.instrument.{CacheInvalidation, InstrumentFrame}
+import org.enso.interpreter.instrument.{
+  CacheInvalidation,
+  InstrumentFrame,
+  RuntimeMetrics
+}
 import org.enso.interpreter.instrument.execution.{
   LocationResolver,
   RuntimeContext
 }
 import org.enso.interpreter.runtime.Module
+import org.enso.pkg.QualifiedName
 import org.enso.polyglot.Suggestion
 import org.enso.polyglot.data.Tree
 import org.enso.polyglot.runtime.Runtime.Api
@@ -38,12 +43,22 @@ class EnsureCompiledJob(protected val files: Iterable[File])
 
   import EnsureCompiledJob.CompilationStatus
 
+  /** @inheritdoc */
+  override def priority: Int = Job.Priority.Compilation
+
+  /** @inheritdoc */
+  override def supersessionKey: Option[Any] =
+    Some(EnsureCompiledJob.SupersessionKey(files.toSet))
+
   /** @inheritdoc */
   override def run(implicit ctx: RuntimeContext): CompilationStatus = {
-    ctx.locking.acquireWriteCompilationLock()
+    ctx.locking.acquireReadCompilationLock()
+    ctx.locking.acquireCompilerLock()
+    val modules = getLockedModules(files)
+    ctx.locking.acquireWriteModuleLocks(modules)
     try {
       val compilationResult = ensureCompiledFiles(files)
-      ctx.contextManager.getAll.values.foreach { stack =>
+      getDependentStacks(modules).foreach { stack =>
         getCacheMetadata(stack).foreach { metadata =>
           CacheInvalidation.run(
             stack,
@@ -56,10 +71,49 @@ class EnsureCompiledJob(protected val files: Iterable[File])
       }
       compilationResult
     } finally {
-      ctx.locking.releaseWriteCompilationLock()
+      ctx.locking.releaseWriteModuleLocks(modules)
+      ctx.locking.releaseCompilerLock()
+      ctx.locking.releaseReadCompilationLock()
+    }
+  }
+
+  /** Get the modules modified by the compilation: the modules of the compiled
+    * files, and the modules in scope that are not compiled yet.
+    *
+    * @param files the files to compile
+    * @param ctx the runtime context
+    * @return the names of the modules to lock
+    */
+  private def getLockedModules(
+    files: Iterable[File]
+  )(implicit ctx: RuntimeContext): Set[QualifiedName] = {
+    val context = ctx.executionService.getContext
+    val compiledModules = files.flatMap(context.getModuleForFile(_).toScala)
+    val pendingModules = context.getTopScope.getModules.asScala.filterNot {
+      _.getCompilationStage.isAtLeast(Module.CompilationStage.AFTER_CODEGEN)
     }
+    (compiledModules ++ pendingModules).map(_.getName).toSet
   }
 
+  /** Get the stacks of the execution contexts that depend on the modules.
+    *
+    * The contexts executing the locked modules wait for the compilation, so
+    * their caches can be updated safely. The caches of the other contexts
+    * are left intact.
+    *
+    * @param modules the names of the locked modules
+    * @param ctx the runtime context
+    * @return the stacks of the dependent contexts
+    */
+  private def getDependentStacks(
+    modules: Set[QualifiedName]
+  )(implicit ctx: RuntimeContext): Iterable[Iterable[InstrumentFrame]] =
+    ctx.contextManager.getAll.values.filter { stack =>
+      stack.nonEmpty && ModuleDependencies
+        .ofStack(stack)
+        .exists(modules.contains)
+    }
+
   /** Run the scheduled compilation and invalidation logic, and send the
     * suggestion updates.
     *
@@ -100,7 +154,7 @@ class EnsureCompiledJob(protected val files: Iterable[File])
         case Some(module) =>
           val cacheInvalidationCommands =
             buildCacheInvalidationCommands(changeset, module.getLiteralSource)
-          runInvalidationCommands(cacheInvalidationCommands)
+          runInvalidationCommands(module, cacheInvalidationCommands)
           analyzeModule(module, changeset)
           runCompilationDiagnostics(module)
         case None =>
@@ -323,11 +377,15 @@ class EnsureCompiledJob(protected val files: Iterable[File])
     module: Module
   )(implicit ctx: RuntimeContext): Either[Throwable, Option[Module]] = {
     val prevStage = module.getCompilationStage
+    val startedAt = System.nanoTime()
     val compilationResult = Either.catchNonFatal {
       module.compileScope(ctx.executionService.getContext).getModule
     }
     compilationResult.map { compiledModule =>
       if (prevStage != compiledModule.getCompilationStage) {
+        RuntimeMetrics.COMPILATION_MICROS.record(
+          (System.nanoTime() - startedAt) / 1000
+        )
         ctx.executionService.getLogger.log(
           Level.FINEST,
           s"Compiled ${module.getName} $prevStage->${module.getCompilationStage}"
@@ -391,19 +449,18 @@ class EnsureCompiledJob(protected val files: Iterable[File])
     )
   }
 
-  /** Run the invalidation commands.
+  /** Run the invalidation commands on the contexts depending on the module.
     *
+    * @param module the recompiled module
     * @param invalidationCommands the invalidation command to run
     * @param ctx the runtime context
     */
   private def runInvalidationCommands(
+    module: Module,
     invalidationCommands: Iterable[CacheInvalidation]
   )(implicit ctx: RuntimeContext): Unit = {
-    ctx.contextManager.getAll.values
-      .collect {
-        case stack if stack.nonEmpty =>
-          CacheInvalidation.runAll(stack, invalidationCommands)
-      }
+    getDependentStacks(Set(module.getName))
+      .foreach(CacheInvalidation.runAll(_, invalidationCommands))
   }
 
   /** Send notification about module updates.
@@ -506,6 +563,14 @@ object EnsureCompiledJob {
       }
   }
 
+  /** The key of the compilation jobs that make each other redundant. The
+    * pending edits are applied when the job runs, so a queued compilation is
+    * superseded by a newer compilation of the same files.
+    *
+    * @param files the files to compile
+    */
+  private case class SupersessionKey(files: Set[File])
+
   /** Create [[EnsureCompiledJob]] for a single file.
     *
     * @param file the file to compile
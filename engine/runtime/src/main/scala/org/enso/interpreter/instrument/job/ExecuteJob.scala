@@ -30,10 +30,27 @@ class ExecuteJob(
       exe.sendMethodCallUpdates
     )
 
+  /** @inheritdoc */
+  override def supersessionKey: Option[Any] =
+    Some(
+      ExecuteJob.SupersessionKey(
+        contextId,
+        updatedVisualisations.toSet,
+        sendMethodCallUpdates
+      )
+    )
+
   /** @inheritdoc */
   override def run(implicit ctx: RuntimeContext): Unit = {
     ctx.locking.acquireContextLock(contextId)
     ctx.locking.acquireReadCompilationLock()
+    // The imports are resolved under the compiler lock, and stay fixed while
+    // the read locks of the modules are held.
+    ctx.locking.acquireCompilerLock()
+    val modules  = ModuleDependencies.ofStack(stack)
+    val compiles = !ModuleDependencies.areCompiled(modules)
+    ctx.locking.acquireReadModuleLocks(modules)
+    if (!compiles) ctx.locking.releaseCompilerLock()
     ctx.executionService.getContext.getThreadManager.enter()
     try {
       val outcome =
@@ -58,9 +75,28 @@ class ExecuteJob(
       )
     } finally {
       ctx.executionService.getContext.getThreadManager.leave()
+      ctx.locking.releaseReadModuleLocks(modules)
+      if (compiles) ctx.locking.releaseCompilerLock()
       ctx.locking.releaseReadCompilationLock()
       ctx.locking.releaseContextLock(contextId)
     }
   }
 
 }
+
+object ExecuteJob {
+
+  /** The key of the execution jobs that make each other redundant. A queued
+    * execution of a context is superseded by a newer one, which executes the
+    * latest stack of the context.
+    *
+    * @param contextId an identifier of a context to execute
+    * @param updatedVisualisations the updated visualisations
+    * @param sendMethodCallUpdates whether the method call updates are sent
+    */
+  private case class SupersessionKey(
+    contextId: UUID,
+    updatedVisualisations: Set[UUID],
+    sendMethodCallUpdates: Boolean
+  )
+}
@@ -24,6 +24,38 @@ abstract class Job[+A](
     */
   def run(implicit ctx: RuntimeContext): A
 
+  /** The priority of the job. The queued jobs with higher priorities are
+    * started first, and the jobs with equal priorities are started in the
+    * order of submission.
+    */
+  def priority: Int = Job.Priority.Background
+
+  /** The key of the jobs that make each other redundant.
+    *
+    * A queued job is superseded by a newer job with the same key, and
+    * completes with the result of the newer job. The jobs sharing a key must
+    * have the same result type.
+    */
+  def supersessionKey: Option[Any] = None
+
   override def toString: String = this.getClass.getSimpleName
 
 }
+
+object Job {
+
+  /** The job priorities. */
+  object Priority {
+
+    /** The priority of the jobs running in the background. */
+    val Background: Int = 0
+
+    /** The priority of the jobs serving the interactive requests. */
+    val Interactive: Int = 10
+
+    /** The priority of the compilations. The executions must never start
+      * before a pending compilation, so it is above all the other priorities.
+      */
+    val Compilation: Int = 20
+  }
+}
@@ -0,0 +1,83 @@
+package org.enso.interpreter.instrument.job
+
+import org.enso.interpreter.instrument.InstrumentFrame
+import org.enso.interpreter.instrument.execution.RuntimeContext
+import org.enso.interpreter.runtime.Module
+import org.enso.pkg.QualifiedName
+import org.enso.polyglot.runtime.Runtime.Api
+
+import scala.annotation.tailrec
+import scala.jdk.CollectionConverters._
+import scala.jdk.OptionConverters._
+
+/** Resolves the modules that the jobs depend on. */
+object ModuleDependencies {
+
+  /** Finds the modules used when executing the call stack, that is the
+    * modules of the explicit calls and the modules they transitively import.
+    * The imports are changed by the compiler, so the caller should hold the
+    * compiler lock.
+    *
+    * @param stack the call stack
+    * @param ctx the runtime context
+    * @return the names of the modules used by the stack
+    */
+  def ofStack(
+    stack: Iterable[InstrumentFrame]
+  )(implicit ctx: RuntimeContext): Set[QualifiedName] = {
+    val modules = stack.map(_.item).flatMap {
+      case Api.StackItem.ExplicitCall(methodPointer, _, _) =>
+        ctx.executionService.getContext
+          .findModule(methodPointer.module)
+          .toScala
+      case _ =>
+        None
+    }
+    closure(modules)
+  }
+
+  /** Checks whether the modules are compiled. Executing the modules that are
+    * not compiled yet runs the compiler.
+    *
+    * @param modules the names of the modules
+    * @param ctx the runtime context
+    * @return `true` if all the modules are compiled
+    */
+  def areCompiled(
+    modules: Iterable[QualifiedName]
+  )(implicit ctx: RuntimeContext): Boolean =
+    modules.forall { module =>
+      ctx.executionService.getContext
+        .findModule(module.toString)
+        .toScala
+        .forall(
+          _.getCompilationStage.isAtLeast(Module.CompilationStage.AFTER_CODEGEN)
+        )
+    }
+
+  /** Finds the modules and the modules they transitively import.
+    *
+    * @param modules the modules
+    * @return the names of the modules and their imports
+    */
+  def closure(modules: Iterable[Module]): Set[QualifiedName] = {
+    @tailrec
+    def go(
+      pending: List[Module],
+      visited: Set[QualifiedName]
+    ): Set[QualifiedName] =
+      pending match {
+        case Nil => visited
+        case module :: rest if visited.contains(module.getName) =>
+          go(rest, visited)
+        case module :: rest =>
+          go(imports(module) ++ rest, visited + module.getName)
+      }
+    go(modules.toList, Set())
+  }
+
+  private def imports(module: Module): List[Module] =
+    Option(module.getScope).toList.flatMap { scope =>
+      scope.getImports.asScala.toList.map(_.getModule)
+    }
+}
@@ -25,10 +25,10 @@ import org.enso.interpreter.instrument.{
   InstrumentFrame,
   MethodCallsCache,
   RuntimeCache,
-  Visualisation
+  Visualisation,
+  VisualisationChunkWriter
 }
 import org.enso.interpreter.node.callable.FunctionCallInstrumentationNode.FunctionCall
-import org.enso.interpreter.runtime.data.text.Text
 import org.enso.interpreter.service.error.{
   ConstructorNotFoundException,
   MethodNotFoundException,
@@ -402,16 +402,7 @@ trait ProgramExecutionSupport {
           )
         }
         .leftMap(_.getMessage)
-        .flatMap {
-          case text: String =>
-            Right(text.getBytes("UTF-8"))
-          case text: Text =>
-            Right(text.toString.getBytes("UTF-8"))
-          case bytes: Array[Byte] =>
-            Right(bytes)
-          case other =>
-            Left(s"Cannot encode ${other.getClass} to byte array")
-        }
+        .flatMap(VisualisationChunkWriter.validate)
 
     errorMsgOrVisualisationData match {
       case Left(msg) =>
@@ -424,18 +415,40 @@ trait ProgramExecutionSupport {
           Level.FINEST,
           s"Sending visualisation ${visualisation.expressionId}"
         )
-        ctx.endpoint.sendToClient(
-          Api.Response(
-            Api.VisualisationUpdate(
-              Api.VisualisationContext(
-                visualisation.id,
-                contextId,
-                expressionId
-              ),
-              data
+        val visualisationContext =
+          Api.VisualisationContext(visualisation.id, contextId, expressionId)
+        var sequenceNumber = 0
+        val writer = new VisualisationChunkWriter(
+          VisualisationChunkWriter.ChunkSize,
+          (chunk, isLast) => {
+            ctx.endpoint.sendToClient(
+              Api.Response(
+                Api.VisualisationUpdate(
+                  visualisationContext,
+                  chunk,
+                  sequenceNumber,
+                  isLast
+                )
+              )
             )
-          )
+            sequenceNumber += 1
+          }
         )
+        Either
+          .catchNonFatal {
+            writer.write(data)
+            writer.close()
+          }
+          .left
+          .foreach { error =>
+            // The chunks sent so far are never followed by the last chunk, so
+            // the failure tells the client to discard them.
+            ctx.endpoint.sendToClient(
+              Api.Response(
+                Api.VisualisationEvaluationFailed(contextId, error.getMessage)
+              )
+            )
+          }
     }
   }
 
@@ -38,6 +38,9 @@ class UpsertVisualisationJob(
     )
     with ProgramExecutionSupport {
 
+  /** @inheritdoc */
+  override def priority: Int = Job.Priority.Interactive
+
   /** @inheritdoc */
   override def run(implicit ctx: RuntimeContext): Option[Executable] = {
     ctx.locking.acquireContextLock(config.executionContextId)
@@ -0,0 +1,89 @@
+package org.enso.interpreter.test.instrument
+
+import java.util.concurrent.PriorityBlockingQueue
+
+import org.enso.interpreter.instrument.execution.QueuedTask
+import org.enso.interpreter.instrument.job.Job
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import scala.collection.mutable
+
+class QueuedTaskTest extends AnyFlatSpec with Matchers {
+
+  private def task(
+    name: String,
+    priority: Int,
+    sequence: Long,
+    log: mutable.Buffer[String]
+  ): QueuedTask =
+    new QueuedTask(() => log += name, priority, sequence)
+
+  private def drain(queue: PriorityBlockingQueue[QueuedTask]): Unit =
+    Iterator.continually(queue.poll()).takeWhile(_ ne null).foreach(_.run())
+
+  "QueuedTask" should "run the tasks of equal priorities in order" in {
+    val log   = mutable.Buffer[String]()
+    val queue = new PriorityBlockingQueue[QueuedTask]()
+    queue.add(task("c", Job.Priority.Background, 2, log))
+    queue.add(task("a", Job.Priority.Background, 0, log))
+    queue.add(task("b", Job.Priority.Background, 1, log))
+
+    drain(queue)
+    log shouldEqual Seq("a", "b", "c")
+  }
+
+  it should "run the interactive tasks before the background ones" in {
+    val log   = mutable.Buffer[String]()
+    val queue = new PriorityBlockingQueue[QueuedTask]()
+    queue.add(task("execute", Job.Priority.Background, 0, log))
+    queue.add(task("visualisation", Job.Priority.Interactive, 1, log))
+
+    drain(queue)
+    log shouldEqual Seq("visualisation", "execute")
+  }
+
+  it should "never run the executions before a pending compilation" in {
+    val log   = mutable.Buffer[String]()
+    val queue = new PriorityBlockingQueue[QueuedTask]()
+    queue.add(task("execute", Job.Priority.Background, 0, log))
+    queue.add(task("visualisation", Job.Priority.Interactive, 1, log))
+    queue.add(task("compile", Job.Priority.Compilation, 2, log))
+
+    drain(queue)
+    log shouldEqual Seq("compile", "visualisation", "execute")
+  }
+
+  it should "keep the place of the superseded task in the queue" in {
+    val log      = mutable.Buffer[String]()
+    val queue    = new PriorityBlockingQueue[QueuedTask]()
+    val outdated = task("outdated", Job.Priority.Background, 0, log)
+    queue.add(outdated)
+    queue.add(task("other", Job.Priority.Background, 1, log))
+
+    outdated.supersede() shouldBe true
+    queue.remove(outdated)
+    queue.add(task("newer", Job.Priority.Background, outdated.sequence, log))
+
+    drain(queue)
+    log shouldEqual Seq("newer", "other")
+  }
+
+  it should "not run a superseded task" in {
+    val log      = mutable.Buffer[String]()
+    val outdated = task("outdated", Job.Priority.Background, 0, log)
+
+    outdated.supersede() shouldBe true
+    outdated.run()
+    log shouldBe empty
+  }
+
+  it should "not supersede a task that has started" in {
+    val log     = mutable.Buffer[String]()
+    val started = task("started", Job.Priority.Background, 0, log)
+
+    started.run()
+    started.supersede() shouldBe false
+    log shouldEqual Seq("started")
+  }
+}
@@ -0,0 +1,94 @@
+package org.enso.interpreter.test.instrument
+
+import java.util.concurrent.{CountDownLatch, TimeUnit}
+
+import org.enso.interpreter.instrument.RuntimeMetrics
+import org.enso.interpreter.instrument.execution.{Locking, ReentrantLocking}
+import org.enso.pkg.QualifiedName
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+class ReentrantLockingTest extends AnyFlatSpec with Matchers {
+
+  private val moduleA = QualifiedName.fromString("Test.A")
+
+  private val moduleB = QualifiedName.fromString("Test.B")
+
+  private def readInThread(
+    locking: Locking,
+    modules: Iterable[QualifiedName]
+  ): CountDownLatch = {
+    val acquired = new CountDownLatch(1)
+    val thread = new Thread(() => {
+      locking.acquireReadModuleLocks(modules)
+      acquired.countDown()
+      locking.releaseReadModuleLocks(modules)
+    })
+    thread.setDaemon(true)
+    thread.start()
+    acquired
+  }
+
+  "Module locks" should "not block the reads of unrelated modules" in {
+    val locking = new ReentrantLocking
+    locking.acquireWriteModuleLocks(Seq(moduleA))
+    try {
+      readInThread(locking, Seq(moduleB))
+        .await(5, TimeUnit.SECONDS) shouldBe true
+    } finally {
+      locking.releaseWriteModuleLocks(Seq(moduleA))
+    }
+  }
+
+  it should "block the reads of the written modules" in {
+    val locking = new ReentrantLocking
+    locking.acquireWriteModuleLocks(Seq(moduleA))
+    val acquired =
+      try {
+        val acquired = readInThread(locking, Seq(moduleB, moduleA))
+        acquired.await(200, TimeUnit.MILLISECONDS) shouldBe false
+        acquired
+      } finally {
+        locking.releaseWriteModuleLocks(Seq(moduleA))
+      }
+    acquired.await(5, TimeUnit.SECONDS) shouldBe true
+  }
+
+  "Compiler lock" should "make the compilations mutually exclusive" in {
+    val locking = new ReentrantLocking
+    locking.acquireReadCompilationLock()
+    locking.acquireCompilerLock()
+    val acquired = new CountDownLatch(1)
+    val thread = new Thread(() => {
+      locking.acquireReadCompilationLock()
+      locking.acquireCompilerLock()
+      acquired.countDown()
+      locking.releaseCompilerLock()
+      locking.releaseReadCompilationLock()
+    })
+    thread.setDaemon(true)
+    thread.start()
+    try {
+      acquired.await(200, TimeUnit.MILLISECONDS) shouldBe false
+    } finally {
+      locking.releaseCompilerLock()
+      locking.releaseReadCompilationLock()
+    }
+    acquired.await(5, TimeUnit.SECONDS) shouldBe true
+  }
+
+  "Locking" should "record the lock wait times in the runtime metrics" in {
+    val locking          = new ReentrantLocking
+    val compilationWaits = RuntimeMetrics.COMPILATION_LOCK_WAIT_MICROS.getCount
+    val moduleWaits      = RuntimeMetrics.MODULE_LOCK_WAIT_MICROS.getCount
+    locking.acquireReadCompilationLock()
+    locking.acquireReadModuleLocks(Seq(moduleA, moduleB))
+    locking.releaseReadModuleLocks(Seq(moduleA, moduleB))
+    locking.releaseReadCompilationLock()
+
+    RuntimeMetrics.COMPILATION_LOCK_WAIT_MICROS.getCount should be >=
+    compilationWaits + 1
+    RuntimeMetrics.MODULE_LOCK_WAIT_MICROS.getCount should be >=
+    moduleWaits + 2
+  }
+}
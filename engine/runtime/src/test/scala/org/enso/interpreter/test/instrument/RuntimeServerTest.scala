@@ -3902,7 +3902,9 @@ class RuntimeServerTest
                 `contextId`,
                 `idMain`
               ),
-              data
+              data,
+              0,
+              true
             )
           ) =>
         data
@@ -3928,7 +3930,9 @@ class RuntimeServerTest
                 `contextId`,
                 `idMain`
               ),
-              data
+              data,
+              0,
+              true
             )
           ) =>
         data
@@ -4077,7 +4081,9 @@ class RuntimeServerTest
                 `contextId`,
                 `expectedExpressionId`
               ),
-              data
+              data,
+              0,
+              true
             )
           ) =>
         data
@@ -4119,7 +4125,9 @@ class RuntimeServerTest
                 `contextId`,
                 `expectedExpressionId`
               ),
-              data
+              data,
+              0,
+              true
             )
           ) =>
         data
@@ -4405,7 +4413,9 @@ class RuntimeServerTest
                 `contextId`,
                 `expectedExpressionId`
               ),
-              data
+              data,
+              0,
+              true
             )
           ) =>
         data
@@ -4437,7 +4447,9 @@ class RuntimeServerTest
                 `contextId`,
                 `expectedExpressionId`
               ),
-              data
+              data,
+              0,
+              true
             )
           ) =>
         data
@@ -4524,7 +4536,9 @@ class RuntimeServerTest
                 `contextId`,
                 `expectedExpressionId`
               ),
-              data
+              data,
+              0,
+              true
             )
           ) =>
         data
@@ -4559,7 +4573,9 @@ class RuntimeServerTest
                   `contextId`,
                   `expectedExpressionId`
                 ),
-                data
+                data,
+                0,
+                true
               )
             ) =>
           data
@@ -4652,7 +4668,9 @@ class RuntimeServerTest
                   `contextId`,
                   `expectedExpressionId`
                 ),
-                data
+                data,
+                0,
+                true
               )
             ) =>
           data
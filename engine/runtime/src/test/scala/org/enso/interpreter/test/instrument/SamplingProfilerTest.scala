@@ -0,0 +1,44 @@
+package org.enso.interpreter.test.instrument
+
+import java.nio.file.Files
+
+import org.enso.polyglot.{LanguageInfo, PolyglotContext, SamplingProfilerInfo}
+import org.graalvm.polyglot.Context
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import scala.jdk.CollectionConverters._
+
+class SamplingProfilerTest extends AnyFlatSpec with Matchers {
+
+  "The sampling profiler" should "write the sampled stacks on close" in {
+    val output = Files.createTempFile("enso-profile", ".txt")
+    output.toFile.deleteOnExit()
+    val context = Context
+      .newBuilder(LanguageInfo.ID)
+      .allowExperimentalOptions(true)
+      .allowAllAccess(true)
+      .option(SamplingProfilerInfo.OUTPUT_OPTION, output.toString)
+      .option(SamplingProfilerInfo.INTERVAL_OPTION, "1")
+      .build()
+    val code =
+      """from Builtins import all
+        |
+        |sum_to n =
+        |    go acc i = if i > n then acc else @Tail_Call go (acc + i) (i + 1)
+        |    go 0 1
+        |
+        |main =
+        |    here.sum_to 20000000
+        |""".stripMargin
+    val module   = new PolyglotContext(context).evalModule(code, "Test")
+    val mainCons = module.getAssociatedConstructor
+    module.getMethod(mainCons, "main").execute(mainCons.newInstance())
+    context.close()
+
+    val lines = Files.readAllLines(output).asScala
+    lines should not be empty
+    all(lines) should fullyMatch regex """\S.* \d+"""
+    lines.exists(_.contains("main")) shouldBe true
+  }
+}
@@ -0,0 +1,75 @@
+package org.enso.interpreter.test.instrument
+
+import java.nio.charset.StandardCharsets
+
+import org.enso.interpreter.instrument.VisualisationChunkWriter
+import org.enso.interpreter.runtime.data.{Array => EnsoArray}
+import org.enso.interpreter.runtime.data.text.Text
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import scala.collection.mutable
+
+class VisualisationChunkWriterTest extends AnyFlatSpec with Matchers {
+
+  def writeChunks(data: AnyRef, chunkSize: Int): Seq[(Seq[Byte], Boolean)] = {
+    val chunks = mutable.ArrayBuffer[(Seq[Byte], Boolean)]()
+    val writer = new VisualisationChunkWriter(
+      chunkSize,
+      (chunk, isLast) => chunks += ((chunk.toSeq, isLast))
+    )
+    writer.write(data)
+    writer.close()
+    chunks.toSeq
+  }
+
+  def utf8(text: String): Seq[Byte] =
+    text.getBytes(StandardCharsets.UTF_8).toSeq
+
+  "VisualisationChunkWriter" should "emit small data in a single chunk" in {
+    writeChunks("42", 16) shouldEqual Seq((utf8("42"), true))
+  }
+
+  it should "emit an empty last chunk for empty data" in {
+    writeChunks("", 16) shouldEqual Seq((Seq(), true))
+  }
+
+  it should "split large data into chunks" in {
+    val bytes = Array.tabulate[Byte](10)(_.toByte)
+
+    writeChunks(bytes, 4) shouldEqual Seq(
+      (Seq[Byte](0, 1, 2, 3), false),
+      (Seq[Byte](4, 5, 6, 7), false),
+      (Seq[Byte](8, 9), true)
+    )
+  }
+
+  it should "encode the text rope without splitting characters" in {
+    val text = Text.create(
+      Text.create(Text.create("z\u00e9"), "\ud83d"),
+      "\ude00\u20ac"
+    )
+    val chunks = writeChunks(text, 4)
+
+    chunks.flatMap(_._1) shouldEqual utf8("z\u00e9\ud83d\ude00\u20ac")
+    chunks.map(_._1.length).max should be <= 4
+    chunks.map(_._2) shouldEqual chunks.indices.map(_ == chunks.length - 1)
+    chunks
+      .map(chunk => new String(chunk._1.toArray, StandardCharsets.UTF_8))
+      .mkString shouldEqual "z\u00e9\ud83d\ude00\u20ac"
+  }
+
+  it should "concatenate the chunks of an array" in {
+    val data = new EnsoArray("a", Text.create("b"), Array[Byte](99))
+
+    writeChunks(data, 16) shouldEqual Seq((utf8("abc"), true))
+  }
+
+  it should "reject the data that cannot be encoded" in {
+    VisualisationChunkWriter.validate(Long.box(42)).isLeft shouldBe true
+    VisualisationChunkWriter
+      .validate(new EnsoArray("a", Long.box(42)))
+      .isLeft shouldBe true
+    VisualisationChunkWriter.validate("a").isRight shouldBe true
+  }
+}
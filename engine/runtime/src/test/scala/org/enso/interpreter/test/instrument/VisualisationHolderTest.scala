@@ -0,0 +1,54 @@
+package org.enso.interpreter.test.instrument
+
+import java.util.UUID
+
+import org.enso.interpreter.instrument.{Visualisation, VisualisationHolder}
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+class VisualisationHolderTest extends AnyFlatSpec with Matchers {
+
+  def visualisation(id: UUID, expressionId: UUID): Visualisation =
+    Visualisation(id, expressionId, new Object)
+
+  "VisualisationHolder" should "index visualisations by expression and id" in {
+    val expressionId = UUID.randomUUID()
+    val first        = visualisation(UUID.randomUUID(), expressionId)
+    val second       = visualisation(UUID.randomUUID(), expressionId)
+    val holder =
+      VisualisationHolder.empty.upsert(first).upsert(second)
+
+    holder.find(expressionId) shouldEqual List(second, first)
+    holder.getById(first.id) shouldEqual Some(first)
+    holder.find(UUID.randomUUID()) shouldEqual List()
+    VisualisationHolder.empty.find(expressionId) shouldEqual List()
+  }
+
+  it should "replace a visualisation attached to another expression" in {
+    val id       = UUID.randomUUID()
+    val original = visualisation(id, UUID.randomUUID())
+    val modified = visualisation(id, UUID.randomUUID())
+    val holder =
+      VisualisationHolder.empty.upsert(original).upsert(modified)
+
+    holder.find(original.expressionId) shouldEqual List()
+    holder.find(modified.expressionId) shouldEqual List(modified)
+    holder.getById(id) shouldEqual Some(modified)
+  }
+
+  it should "remove visualisations" in {
+    val expressionId = UUID.randomUUID()
+    val first        = visualisation(UUID.randomUUID(), expressionId)
+    val second       = visualisation(UUID.randomUUID(), expressionId)
+    val holder =
+      VisualisationHolder.empty.upsert(first).upsert(second)
+    val removed = holder.remove(first.id, expressionId)
+
+    removed.find(expressionId) shouldEqual List(second)
+    removed.getById(first.id) shouldEqual None
+    holder.find(expressionId) shouldEqual List(second, first)
+    holder.remove(first.id, UUID.randomUUID()) shouldBe theSameInstanceAs(
+      holder
+    )
+  }
+}
@@ -34,5 +34,24 @@ class JavaInteropTest extends InterpreterTest {
           |""".stripMargin
       eval(code) shouldEqual 21
     }
+
+    "allow calling methods on objects of different classes at one call site" in {
+      val code =
+        """
+          |polyglot java import java.util.ArrayList
+          |polyglot java import java.util.HashSet
+          |from Builtins import all
+          |
+          |main =
+          |    size x = x.size
+          |    list = ArrayList.new
+          |    list.add 1
+          |    list.add 2
+          |    set = HashSet.new
+          |    set.add 3
+          |    (size list) + (size set) + (size list)
+          |""".stripMargin
+      eval(code) shouldEqual 5
+    }
   }
 }
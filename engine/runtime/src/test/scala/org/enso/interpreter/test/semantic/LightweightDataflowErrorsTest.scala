@@ -0,0 +1,47 @@
+package org.enso.interpreter.test.semantic
+
+import org.enso.interpreter.test.{InterpreterContext, InterpreterTest}
+import org.enso.polyglot.RuntimeOptions
+import org.graalvm.polyglot.Context
+
+class LightweightDataflowErrorsTest extends InterpreterTest {
+  override def subject: String = "Lightweight Dataflow Errors"
+
+  override def contextModifiers: Option[Context#Builder => Context#Builder] =
+    Some(_.option(RuntimeOptions.LIGHTWEIGHT_ERRORS, "true"))
+
+  override def specify(implicit
+    interpreterContext: InterpreterContext
+  ): Unit = {
+
+    "propagate and be caught" in {
+      val code =
+        """from Builtins import all
+          |
+          |type MyError
+          |
+          |main =
+          |    brokenVal = Error.throw MyError
+          |    result = brokenVal + 1
+          |    IO.println result
+          |    IO.println (result.catch_primitive (_ -> 10))
+          |""".stripMargin
+      eval(code)
+      consumeOut shouldEqual List("(Error: MyError)", "10")
+    }
+
+    "be returned from the division by zero" in {
+      val code =
+        """from Builtins import all
+          |
+          |main =
+          |    f i = (10 . div (i - 3)) . catch_primitive (_ -> 0)
+          |    IO.println (f 1)
+          |    IO.println (f 3)
+          |    IO.println ((10 % 0) . catch_primitive .message)
+          |""".stripMargin
+      eval(code)
+      consumeOut shouldEqual List("-5", "0", "Cannot divide by zero.")
+    }
+  }
+}
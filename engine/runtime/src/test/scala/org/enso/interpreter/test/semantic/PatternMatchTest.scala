@@ -153,5 +153,87 @@ class PatternMatchTest extends InterpreterTest {
 
       eval(code) shouldEqual 50
     }
+
+    "work for matches over many constructors" in {
+      val code =
+        """from Builtins import all
+          |
+          |type C1
+          |type C2
+          |type C3
+          |type C4
+          |type C5
+          |type C6
+          |type C7
+          |type C8
+          |type C9
+          |type C10
+          |type C11
+          |type C12
+          |
+          |main =
+          |    f = case _ of
+          |        C1 -> 1
+          |        C2 -> 2
+          |        C3 -> 3
+          |        C4 -> 4
+          |        C5 -> 5
+          |        C6 -> 6
+          |        C7 -> 7
+          |        C8 -> 8
+          |        C9 -> 9
+          |        C10 -> 10
+          |        C11 -> 11
+          |        C12 -> 12
+          |        _ -> 100
+          |
+          |    a = f C1 + f C2 + f C3 + f C4 + f C5 + f C6
+          |    b = f C7 + f C8 + f C9 + f C10 + f C11 + f C12
+          |    a + b + f Nil
+          |""".stripMargin
+
+      eval(code) shouldEqual 178
+    }
+
+    "work for constructor patterns following literal patterns" in {
+      val code =
+        """from Builtins import all
+          |
+          |type MyAtom a
+          |
+          |main =
+          |    f = case _ of
+          |        Builtins.Cons a _ -> a
+          |        5 -> 10
+          |        MyAtom a -> a
+          |        _ -> 0
+          |
+          |    f (Builtins.Cons 1 Nil) + f 5 + f (MyAtom 100) + f Nil
+          |""".stripMargin
+
+      eval(code) shouldEqual 111
+    }
+
+    "work for matches over more constructors than the jump table holds" in {
+      val count = 100
+      val types = (1 to count).map(i => s"type C$i").mkString("\n")
+      val branches =
+        (1 to count).map(i => s"        C$i -> $i").mkString("\n")
+      val calls = (1 to count).map(i => s"f C$i").mkString(" + ")
+      val code =
+        s"""from Builtins import all
+           |
+           |$types
+           |
+           |main =
+           |    f = case _ of
+           |$branches
+           |        _ -> 0
+           |
+           |    ($calls) + ($calls)
+           |""".stripMargin
+
+      eval(code) shouldEqual count * (count + 1)
+    }
   }
 }
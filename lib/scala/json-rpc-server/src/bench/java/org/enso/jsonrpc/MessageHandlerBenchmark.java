@@ -0,0 +1,55 @@
+package org.enso.jsonrpc;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MessageHandlerBenchmark {
+
+  @Param({"1", "100"})
+  int size;
+
+  MessageFrames frames;
+
+  @Setup
+  public void setup() {
+    frames = new MessageFrames(size);
+  }
+
+  @Benchmark
+  public Object decodeTree() {
+    return frames.decodeTree();
+  }
+
+  @Benchmark
+  public Object decodeStreaming() {
+    return frames.decodeStreaming();
+  }
+
+  @Benchmark
+  public Object encodeUnbuffered() {
+    return frames.encodeUnbuffered();
+  }
+
+  @Benchmark
+  public Object encode() {
+    return frames.encode();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder().include(MessageHandlerBenchmark.class.getSimpleName()).build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,90 @@
+package org.enso.jsonrpc
+
+import java.util.UUID
+
+import io.circe.Json
+import io.circe.generic.auto._
+import io.circe.syntax._
+
+/** The `text/applyEdit`-like protocol used by the message handler benchmark. */
+object MessageFrames {
+
+  case object ApplyEdit extends Method("text/applyEdit") {
+    implicit val hasParams = new HasParams[this.type] {
+      type Params = ApplyEditParams
+    }
+    implicit val hasResult = new HasResult[this.type] {
+      type Result = Unused.type
+    }
+  }
+
+  case class Position(line: Int, character: Int)
+  case class Range(start: Position, end: Position)
+  case class TextEdit(range: Range, text: String)
+  case class Path(rootId: UUID, segments: Vector[String])
+  case class FileEdit(
+    path: Path,
+    edits: Vector[TextEdit],
+    oldVersion: String,
+    newVersion: String
+  )
+  case class ApplyEditParams(edit: FileEdit)
+
+  val protocol: Protocol = Protocol.empty.registerRequest(ApplyEdit)
+}
+
+/** The messages of the benchmarked size.
+  *
+  * @param size the number of the request edits and the response elements
+  */
+class MessageFrames(size: Int) {
+
+  import MessageFrames._
+
+  private val decoder = protocol.getParamsDecoder(ApplyEdit).get
+
+  val request: String = {
+    val textEdits = Vector.tabulate(size) { i =>
+      TextEdit(Range(Position(i, 0), Position(i, 8)), s"foo $i = bar $i")
+    }
+    val params = ApplyEditParams(
+      FileEdit(
+        Path(UUID.randomUUID(), Vector("src", "Main.enso")),
+        textEdits,
+        "5795c3d628fd638c9835a4c79a55809f265068c88729a1a3fcdf8522",
+        "e13fa1d7d0b6d7d5d4e2cd7e7a5b6d7e6f3e1e2d8c0a4b5c6d7e8f90"
+      )
+    )
+    JsonProtocol.encode(
+      JsonProtocol.Request(ApplyEdit.name, Id.Number(1), params.asJson)
+    )
+  }
+
+  val response: JsonProtocol.JsonMessage =
+    JsonProtocol.ResponseResult(
+      Id.Number(1),
+      Json.arr(Vector.tabulate(size)(i => Json.obj("id" -> i.asJson)): _*)
+    )
+
+  def decodeTree(): Option[Any] =
+    JsonProtocol.parse(request).flatMap {
+      case JsonProtocol.Request(_, id, params) =>
+        decoder.buildRequest(id, params)
+      case _ =>
+        None
+    }
+
+  def decodeStreaming(): Option[Any] =
+    MessageReader.read(request).flatMap {
+      case MessageReader.Request(_, id, params) =>
+        params.parse.flatMap(decoder.buildRequest(id, _))
+      case _ =>
+        None
+    }
+
+  def encode(): String =
+    JsonProtocol.encode(response)
+
+  def encodeUnbuffered(): String =
+    response.asJson(JsonProtocol.bareMessageEncoder).noSpaces
+}
@@ -159,10 +159,15 @@ object JsonProtocol {
     io.circe.parser.parse(str).toOption.flatMap(_.as[JsonMessage].toOption)
   }
 
+  /** The printer reusing its output buffer between the calls on the same
+    * thread.
+    */
+  private val printer: Printer = Printer.noSpaces.copy(reuseWriters = true)
+
   /** Encodes a message into a proper JSON RPC string.
     * @param msg the message to encode.
     * @return a string representing a valid JSON RPC package.
     */
-  def encode(msg: JsonMessage): String = msg.asJson.noSpaces
+  def encode(msg: JsonMessage): String = printer.print(msg.asJson)
 
 }
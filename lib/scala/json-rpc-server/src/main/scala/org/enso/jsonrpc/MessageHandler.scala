@@ -98,17 +98,19 @@ class MessageHandler(val protocol: Protocol, val controller: ActorRef)
     webConnection: ActorRef,
     awaitingResponses: Map[Id, Method]
   ): Unit = {
-    val bareMsg = JsonProtocol.parse(msg)
+    val bareMsg = MessageReader.read(msg)
     bareMsg match {
       case None =>
         webConnection ! MessageHandler.WebMessage(
           makeError(None, Errors.ParseError)
         )
 
-      case Some(JsonProtocol.Request(methodName, id, params)) =>
-        val decoder = resolveDecoder(methodName)
-        val request =
-          decoder.flatMap(_.buildRequest(id, params).toRight(InvalidParams))
+      case Some(MessageReader.Request(methodName, id, params)) =>
+        val request = for {
+          decoder <- resolveDecoder(methodName)
+          json    <- params.parse.toRight(Errors.ParseError)
+          req     <- decoder.buildRequest(id, json).toRight(InvalidParams)
+        } yield req
         request match {
           case Left(error) =>
             webConnection ! MessageHandler.WebMessage(
@@ -118,22 +120,25 @@ class MessageHandler(val protocol: Protocol, val controller: ActorRef)
             controller ! req
         }
 
-      case Some(JsonProtocol.Notification(methodName, params)) =>
-        val notification = resolveDecoder(methodName).flatMap(
-          _.buildNotification(params).toRight(InvalidParams)
-        )
+      case Some(MessageReader.Notification(methodName, params)) =>
+        val notification = for {
+          decoder <- resolveDecoder(methodName)
+          json    <- params.parse.toRight(Errors.ParseError)
+          message <- decoder.buildNotification(json).toRight(InvalidParams)
+        } yield message
         notification.foreach(controller ! _)
 
-      case Some(JsonProtocol.ResponseResult(id, result)) =>
+      case Some(MessageReader.ResponseResult(id, result)) =>
         val maybeDecoded: Option[Any] = for {
           method   <- awaitingResponses.get(id)
           decoder  <- protocol.getResultDecoder(method)
-          response <- decoder.buildResponse(id, result)
+          json     <- result.parse
+          response <- decoder.buildResponse(id, json)
         } yield response
         maybeDecoded.foreach(controller ! _)
         context.become(established(webConnection, awaitingResponses - id))
 
-      case Some(JsonProtocol.ResponseError(mayId, bareError)) =>
+      case Some(MessageReader.ResponseError(mayId, bareError)) =>
         val error = protocol
           .resolveError(bareError.code)
           .getOrElse(
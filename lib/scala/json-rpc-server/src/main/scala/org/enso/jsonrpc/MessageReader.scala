@@ -0,0 +1,417 @@
+package org.enso.jsonrpc
+
+import io.circe.Json
+import io.circe.generic.auto._
+
+/** A single-pass reader of the JSON RPC messages.
+  *
+  * The reader scans the message frame once, validating the JSON syntax and
+  * reading the `jsonrpc`, `method` and `id` fields in place. The payloads
+  * (`params` and `result`) are not materialized while scanning. Instead,
+  * their positions in the frame are recorded, so that a payload is parsed
+  * only after its method is resolved, directly before decoding it into the
+  * registered params or result type. The messages are classified the same
+  * way [[JsonProtocol.decoder]] does.
+  */
+object MessageReader {
+
+  /** Supertype of the messages read from the web. */
+  sealed trait RawMessage
+
+  /** A request with unparsed params.
+    *
+    * @param method the method name
+    * @param id the request id
+    * @param params the request params
+    */
+  case class Request(method: String, id: Id, params: Payload)
+      extends RawMessage
+
+  /** A notification with unparsed params.
+    *
+    * @param method the method name
+    * @param params the notification params
+    */
+  case class Notification(method: String, params: Payload) extends RawMessage
+
+  /** A successful response with an unparsed result.
+    *
+    * @param id the request id
+    * @param result the response result
+    */
+  case class ResponseResult(id: Id, result: Payload) extends RawMessage
+
+  /** An error response.
+    *
+    * @param id the request id
+    * @param error the error details
+    */
+  case class ResponseError(id: Option[Id], error: JsonProtocol.ErrorData)
+      extends RawMessage
+
+  /** A JSON value of the message frame that is parsed on demand.
+    *
+    * @param frame the message frame
+    * @param start the index of the first character of the value
+    * @param end the index following the last character of the value
+    */
+  case class Payload(frame: String, start: Int, end: Int) {
+
+    /** Parse the payload.
+      *
+      * @return the parsed JSON value, if valid
+      */
+    def parse: Option[Json] =
+      io.circe.parser.parse(frame.substring(start, end)).toOption
+  }
+
+  object Payload {
+
+    /** The payload of the messages without the payload field. */
+    val Null: Payload = Payload("null", 0, 4)
+  }
+
+  /** Read a message from the frame.
+    *
+    * @param frame the serialized message
+    * @return the message, if the frame is a valid JSON RPC message
+    */
+  def read(frame: String): Option[RawMessage] = {
+    val scanner = new Scanner(frame)
+    if (scanner.scanMessage()) scanner.message else None
+  }
+
+  private val MaxDepth = 512
+
+  private val JsonRpcField = 0
+  private val MethodField  = 1
+  private val IdField      = 2
+  private val ParamsField  = 3
+  private val ResultField  = 4
+  private val ErrorField   = 5
+  private val FieldNames = Array(
+    JsonProtocol.Constants.jsonrpc,
+    JsonProtocol.Constants.method,
+    JsonProtocol.Constants.id,
+    JsonProtocol.Constants.params,
+    JsonProtocol.Constants.result,
+    JsonProtocol.Constants.error
+  )
+
+  /** The scanner of a single message frame.
+    *
+    * @param frame the serialized message
+    */
+  final private class Scanner(frame: String) {
+
+    private var position      = 0
+    private var unknownFields = 0
+    private val starts        = Array.fill(FieldNames.length)(-1)
+    private val ends          = Array.fill(FieldNames.length)(-1)
+
+    /** Scan the top-level object of the frame, recording the positions of
+      * its fields.
+      *
+      * @return `true` if the frame is a valid JSON object
+      */
+    def scanMessage(): Boolean = {
+      skipWhitespace()
+      val isValid = consume('{') && {
+        skipWhitespace()
+        consume('}') || scanFields()
+      }
+      skipWhitespace()
+      isValid && position == frame.length
+    }
+
+    /** Build the message from the scanned fields.
+      *
+      * @return the message, if the fields form a valid JSON RPC message
+      */
+    def message: Option[RawMessage] = {
+      val version = readString(JsonRpcField)
+      if (version.contains(JsonProtocol.Constants.jsonrpcVersion)) {
+        if (isPresent(MethodField) && isPresent(IdField)) {
+          for {
+            method <- readString(MethodField)
+            id     <- readId(IdField)
+          } yield Request(method, id, payload(ParamsField))
+        } else if (isPresent(MethodField)) {
+          readString(MethodField).map(Notification(_, payload(ParamsField)))
+        } else if (hasOnly(IdField, ResultField)) {
+          readId(IdField).map(ResponseResult(_, payload(ResultField)))
+        } else if (hasOnly(IdField, ErrorField)) {
+          for {
+            id    <- optionalId(IdField)
+            json  <- payload(ErrorField).parse
+            error <- json.as[JsonProtocol.ErrorData].toOption
+          } yield ResponseError(id, error)
+        } else {
+          None
+        }
+      } else {
+        None
+      }
+    }
+
+    private def isPresent(field: Int): Boolean =
+      starts(field) >= 0
+
+    private def hasOnly(first: Int, second: Int): Boolean =
+      unknownFields == 0 &&
+      FieldNames.indices.forall { field =>
+        isPresent(field) == (
+          field == JsonRpcField || field == first || field == second
+        )
+      }
+
+    private def payload(field: Int): Payload =
+      if (isPresent(field)) Payload(frame, starts(field), ends(field))
+      else Payload.Null
+
+    private def readString(field: Int): Option[String] =
+      if (!isPresent(field)) None
+      else if (isPlainString(starts(field), ends(field)))
+        Some(frame.substring(starts(field) + 1, ends(field) - 1))
+      else decode[String](field)
+
+    private def readId(field: Int): Option[Id] =
+      if (!isPresent(field)) None
+      else if (isPlainString(starts(field), ends(field)))
+        Some(Id.String(frame.substring(starts(field) + 1, ends(field) - 1)))
+      else if (isSmallInteger(starts(field), ends(field)))
+        Some(Id.Number(frame.substring(starts(field), ends(field)).toInt))
+      else decode[Id](field)
+
+    private def optionalId(field: Int): Option[Option[Id]] =
+      if (frame.startsWith("null", starts(field))) Some(None)
+      else readId(field).map(Some(_))
+
+    private def decode[A: io.circe.Decoder](field: Int): Option[A] =
+      io.circe.parser
+        .decode[A](frame.substring(starts(field), ends(field)))
+        .toOption
+
+    /** @return `true` if the value is a string without escape sequences */
+    private def isPlainString(start: Int, end: Int): Boolean =
+      frame.charAt(start) == '"' && !exists(start, end, _ == '\\')
+
+    /** @return `true` if the value is an integer fitting in an [[Int]] */
+    private def isSmallInteger(start: Int, end: Int): Boolean = {
+      val digitsStart = if (frame.charAt(start) == '-') start + 1 else start
+      end - digitsStart > 0 && end - digitsStart < 10 &&
+      !exists(digitsStart, end, !isDigit(_))
+    }
+
+    private def exists(start: Int, end: Int, p: Char => Boolean): Boolean = {
+      var i = start
+      while (i < end && !p(frame.charAt(i))) {
+        i += 1
+      }
+      i < end
+    }
+
+    private def scanFields(): Boolean = {
+      var isValid    = true
+      var isFinished = false
+      while (isValid && !isFinished) {
+        val keyStart = position
+        isValid = skipString() && {
+          val field = fieldIndex(keyStart, position)
+          skipWhitespace()
+          consume(':') && {
+            skipWhitespace()
+            val valueStart = position
+            skipValue(1) && {
+              if (field >= 0) {
+                starts(field) = valueStart
+                ends(field)   = position
+              } else {
+                unknownFields += 1
+              }
+              skipWhitespace()
+              if (consume(',')) {
+                skipWhitespace()
+                true
+              } else {
+                isFinished = true
+                consume('}')
+              }
+            }
+          }
+        }
+      }
+      isValid
+    }
+
+    /** Resolve the field name.
+      *
+      * @param start the position of the opening quote of the name
+      * @param end the position following the closing quote of the name
+      * @return the field index, or -1 if the field is unknown
+      */
+    private def fieldIndex(start: Int, end: Int): Int = {
+      val length = end - start - 2
+      if (isPlainString(start, end)) {
+        FieldNames.indexWhere { name =>
+          name.length == length && frame.startsWith(name, start + 1)
+        }
+      } else {
+        io.circe.parser
+          .decode[String](frame.substring(start, end))
+          .fold(_ => -1, name => FieldNames.indexOf(name))
+      }
+    }
+
+    private def skipValue(depth: Int): Boolean =
+      position < frame.length && depth <= MaxDepth && {
+        frame.charAt(position) match {
+          case '{' => skipObject(depth)
+          case '[' => skipArray(depth)
+          case '"' => skipString()
+          case 't' => skipLiteral("true")
+          case 'f' => skipLiteral("false")
+          case 'n' => skipLiteral("null")
+          case _   => skipNumber()
+        }
+      }
+
+    private def skipObject(depth: Int): Boolean = {
+      position += 1
+      skipWhitespace()
+      consume('}') || {
+        var isValid    = true
+        var isFinished = false
+        while (isValid && !isFinished) {
+          isValid = skipString() && {
+            skipWhitespace()
+            consume(':') && {
+              skipWhitespace()
+              skipValue(depth + 1) && {
+                skipWhitespace()
+                if (consume(',')) {
+                  skipWhitespace()
+                  true
+                } else {
+                  isFinished = true
+                  consume('}')
+                }
+              }
+            }
+          }
+        }
+        isValid
+      }
+    }
+
+    private def skipArray(depth: Int): Boolean = {
+      position += 1
+      skipWhitespace()
+      consume(']') || {
+        var isValid    = true
+        var isFinished = false
+        while (isValid && !isFinished) {
+          isValid = skipValue(depth + 1) && {
+            skipWhitespace()
+            if (consume(',')) {
+              skipWhitespace()
+              true
+            } else {
+              isFinished = true
+              consume(']')
+            }
+          }
+        }
+        isValid
+      }
+    }
+
+    private def skipString(): Boolean =
+      consume('"') && {
+        var isValid  = true
+        var isClosed = false
+        while (isValid && !isClosed) {
+          if (position >= frame.length) {
+            isValid = false
+          } else {
+            val char = frame.charAt(position)
+            position += 1
+            if (char == '"') {
+              isClosed = true
+            } else if (char == '\\') {
+              isValid = skipEscape()
+            } else if (char < ' ') {
+              isValid = false
+            }
+          }
+        }
+        isValid
+      }
+
+    private def skipEscape(): Boolean =
+      position < frame.length && {
+        val char = frame.charAt(position)
+        position += 1
+        char match {
+          case '"' | '\\' | '/' | 'b' | 'f' | 'n' | 'r' | 't' => true
+          case 'u' =>
+            val end = position + 4
+            end <= frame.length && {
+              val isHex = !exists(position, end, Character.digit(_, 16) < 0)
+              position = end
+              isHex
+            }
+          case _ => false
+        }
+      }
+
+    private def skipNumber(): Boolean = {
+      consume('-')
+      val isIntegerValid =
+        consume('0') || (isDigitAhead && skipDigits())
+      val isFractionValid =
+        !consume('.') || (isDigitAhead && skipDigits())
+      val isExponentValid =
+        !(consume('e') || consume('E')) || {
+          consume('+') || consume('-')
+          isDigitAhead && skipDigits()
+        }
+      isIntegerValid && isFractionValid && isExponentValid
+    }
+
+    private def isDigitAhead: Boolean =
+      position < frame.length && isDigit(frame.charAt(position))
+
+    private def skipDigits(): Boolean = {
+      while (isDigitAhead) {
+        position += 1
+      }
+      true
+    }
+
+    private def isDigit(char: Char): Boolean =
+      char >= '0' && char <= '9'
+
+    private def skipLiteral(literal: String): Boolean =
+      frame.startsWith(literal, position) && {
+        position += literal.length
+        true
+      }
+
+    private def skipWhitespace(): Unit =
+      while (
+        position < frame.length && {
+          val char = frame.charAt(position)
+          char == ' ' || char == '\n' || char == '\r' || char == '\t'
+        }
+      ) {
+        position += 1
+      }
+
+    private def consume(char: Char): Boolean =
+      position < frame.length && frame.charAt(position) == char && {
+        position += 1
+        true
+      }
+  }
+}
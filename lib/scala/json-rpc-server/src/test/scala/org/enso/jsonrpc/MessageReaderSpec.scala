@@ -0,0 +1,91 @@
+package org.enso.jsonrpc
+
+import io.circe.literal._
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class MessageReaderSpec extends AnyWordSpec with Matchers {
+
+  "Message reader" should {
+
+    "read requests" in {
+      val frame =
+        """{ "params": { "foo": [1, 2.5e3, "a\"b"] },
+          |  "id": 42,
+          |  "method": "Method",
+          |  "jsonrpc": "2.0" }""".stripMargin
+
+      MessageReader.read(frame).map {
+        case MessageReader.Request(method, id, params) =>
+          (method, id, params.parse)
+        case other =>
+          other
+      } shouldEqual Some(
+        ("Method", Id.Number(42), Some(json"""{ "foo": [1, 2.5e3, "a\"b"] }"""))
+      )
+    }
+
+    "read notifications without params" in {
+      val frame = """{"jsonrpc":"2.0","method":"Meth\"od"}"""
+
+      MessageReader.read(frame) shouldEqual Some(
+        MessageReader.Notification("Meth\"od", MessageReader.Payload.Null)
+      )
+    }
+
+    "read responses" in {
+      val result = """{"jsonrpc":"2.0","id":"a\nb","result":null}"""
+      val error =
+        """{"jsonrpc":"2.0","id":null,"error":{"code":1,"message":"Error"}}"""
+
+      MessageReader.read(result).map {
+        case MessageReader.ResponseResult(id, result) =>
+          (id, result.parse)
+        case other =>
+          other
+      } shouldEqual Some((Id.String("a\nb"), Some(json"null")))
+      MessageReader.read(error) shouldEqual Some(
+        MessageReader.ResponseError(None, JsonProtocol.ErrorData(1, "Error"))
+      )
+    }
+
+    "read ids not fitting the fast path" in {
+      def idOf(id: String): Option[Id] = {
+        val frame = s"""{"jsonrpc":"2.0","id":$id,"method":"m"}"""
+        MessageReader.read(frame).map {
+          case request: MessageReader.Request => request.id
+          case other                          => fail(s"Unexpected $other")
+        }
+      }
+
+      idOf("-7") shouldEqual Some(Id.Number(-7))
+      idOf("2147483647") shouldEqual Some(Id.Number(Int.MaxValue))
+      idOf("2147483648") shouldEqual None
+      idOf("\"a\\tb\"") shouldEqual Some(Id.String("a\tb"))
+      idOf("{}") shouldEqual None
+    }
+
+    "reject malformed messages" in {
+      val frames = Seq(
+        """""",
+        """[]""",
+        """{"jsonrpc":"2.0","method":"m"} {}""",
+        """{"jsonrpc":"2.0","method":"m","params":[1,]}""",
+        """{"jsonrpc":"2.0","method":"m","params":01}""",
+        """{"jsonrpc":"2.0","method":"m","params":"\x"}""",
+        """{"jsonrpc":"2.0","method":"m","params":tru}""",
+        """{"jsonrpc":"2.0","method":"m",}""",
+        """{"jsonrpc":"1.0","method":"m"}""",
+        """{"jsonrpc":"2.0","method":1}""",
+        """{"jsonrpc":"2.0","id":1,"result":1,"extra":1}""",
+        """{"jsonrpc":"2.0","id":1}"""
+      )
+
+      frames.foreach { frame =>
+        withClue(frame) {
+          MessageReader.read(frame) shouldEqual None
+        }
+      }
+    }
+  }
+}
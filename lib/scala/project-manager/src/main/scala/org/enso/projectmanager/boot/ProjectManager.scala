@@ -59,6 +59,7 @@ object ProjectManager extends App with LazyLogging {
     val mainModule =
       new MainModule[ZIO[ZEnv, +*, +*]](config, computeExecutionContext)
     for {
+      _       <- mainModule.projectRepository.getAll().ignore.fork
       binding <- bindServer(mainModule)
       _       <- logServerStartup()
       _       <- getStrLn
@@ -66,6 +67,7 @@ object ProjectManager extends App with LazyLogging {
       _       <- effectTotal { binding.unbind() }
       _       <- killAllLanguageServer(mainModule)
       _       <- waitTillAllShutdownHooksWillBeFired(mainModule)
+      _       <- effectTotal { mainModule.projectRepository.close() }
       _       <- effectTotal { mainModule.system.terminate() }
     } yield ()
   }
@@ -21,6 +21,13 @@ trait Applicative[F[+_, +_]] {
   /** Applies the binary function to the effectful falues ma and mb.
     */
   def map2[E, A, B, C](ma: F[E, A], mb: F[E, B])(f: (A, B) => C): F[E, C]
+
+  /** Applies the binary function to the effectful values ma and mb,
+    * evaluating them in parallel.
+    */
+  def map2Par[E, A, B, C](ma: F[E, A], mb: F[E, B])(
+    f: (A, B) => C
+  ): F[E, C]
 }
 
 object Applicative {
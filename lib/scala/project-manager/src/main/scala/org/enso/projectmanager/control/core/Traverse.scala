@@ -13,6 +13,17 @@ trait Traverse[G[_]] {
   def traverse[F[+_, +_]: Applicative, E, A, B](s: G[A])(
     f: A => F[E, B]
   ): F[E, G[B]]
+
+  /** Applies the function `f` to each element of the collection, evaluating
+    * the effects in parallel.
+    *
+    * @param s a collection of elements
+    * @param f the mapping function
+    * @return the new collection with the function applied to each element
+    */
+  def traversePar[F[+_, +_]: Applicative, E, A, B](s: G[A])(
+    f: A => F[E, B]
+  ): F[E, G[B]]
 }
 
 object Traverse {
@@ -29,6 +40,14 @@ object Traverse {
       xs.foldRight(Applicative[F].pure[E, List[B]](List())) { (a, facc) =>
         Applicative[F].map2(f(a), facc)(_ :: _)
       }
+
+    /** @inheritdoc */
+    override def traversePar[F[+_, +_]: Applicative, E, A, B](
+      xs: List[A]
+    )(f: A => F[E, B]): F[E, List[B]] =
+      xs.foldRight(Applicative[F].pure[E, List[B]](List())) { (a, facc) =>
+        Applicative[F].map2Par(f(a), facc)(_ :: _)
+      }
   }
 
 }
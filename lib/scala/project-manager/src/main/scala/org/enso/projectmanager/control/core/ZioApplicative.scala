@@ -25,4 +25,10 @@ private[core] class ZioApplicative[R] extends Applicative[ZIO[R, +*, +*]] {
     f: (A, B) => C
   ): ZIO[R, E, C] =
     ma.flatMap(a => mb.map(b => f(a, b)))
+
+  /** @inheritdoc */
+  override def map2Par[E, A, B, C](ma: ZIO[R, E, A], mb: ZIO[R, E, B])(
+    f: (A, B) => C
+  ): ZIO[R, E, C] =
+    ma.zipWithPar(mb)(f)
 }
@@ -3,6 +3,8 @@ package org.enso.projectmanager.infrastructure.repository
 import java.io.File
 import java.nio.file.Path
 import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicReference
 
 import org.enso.pkg.{Package, PackageManager}
 import org.enso.projectmanager.boot.configuration.StorageConfig
@@ -28,7 +30,22 @@ import org.enso.projectmanager.infrastructure.repository.ProjectRepositoryFailur
 import org.enso.projectmanager.infrastructure.time.Clock
 import org.enso.projectmanager.model.{Project, ProjectMetadata}
 
+import scala.jdk.CollectionConverters._
+
 /** File based implementation of the project repository.
+  *
+  * The projects are kept in an in-memory [[ProjectIndex]], so listing and
+  * looking up the projects doesn't touch the disk. The index is filled by a
+  * parallel scan of the projects directory on first use. Afterwards, only the
+  * project directories reported as changed by the
+  * [[ProjectsDirectoryWatcher]] are reloaded. While the projects directory
+  * can't be watched, e.g. because it doesn't exist, the index is rebuilt by a
+  * full scan on every access.
+  *
+  * As the watcher may report the changes late, e.g. when it falls back to
+  * polling, every access also compares the modification times of the
+  * projects directory and of the files the projects were loaded from with
+  * the ones recorded when they were loaded, and reloads the changed ones.
   *
   * @param storageConfig a storage config
   * @param clock a clock
@@ -42,22 +59,169 @@ class ProjectFileRepository[
   clock: Clock[F],
   fileSystem: FileSystem[F],
   gen: Generator[F]
-) extends ProjectRepository[F] {
+) extends ProjectRepository[F]
+    with AutoCloseable {
+
+  private val cachedIndex = new AtomicReference[Option[ProjectIndex]](None)
+
+  private val staleDirectories = ConcurrentHashMap.newKeySet[File]()
+
+  /** The modification times recorded before loading the project directories.
+    */
+  private val fingerprints = new ConcurrentHashMap[File, List[Long]]()
+
+  /** The modification time recorded before listing the projects directory. */
+  @volatile private var rootModified: Long = 0L
+
+  private val watcher = new ProjectsDirectoryWatcher(
+    storageConfig.userProjectsPath,
+    storageConfig.projectMetadataDirectory,
+    directory => { staleDirectories.add(directory): Unit },
+    () => cachedIndex.set(None)
+  )
+
+  /** The maximum number of projects loaded in parallel. */
+  private val scanParallelism: Int =
+    Math.max(4, java.lang.Runtime.getRuntime.availableProcessors())
 
   /** @inheritdoc */
   override def exists(
     name: String
   ): F[ProjectRepositoryFailure, Boolean] =
-    getAll().map(_.exists(_.name == PackageManager.Default.normalizeName(name)))
+    getIndex.map(_.exists(PackageManager.Default.normalizeName(name)))
 
   /** @inheritdoc */
   override def find(
     predicate: Project => Boolean
   ): F[ProjectRepositoryFailure, List[Project]] =
-    getAll().map(_.filter(predicate))
+    getIndex.map(_.find(predicate))
 
   /** @inheritdoc */
   override def getAll(): F[ProjectRepositoryFailure, List[Project]] =
+    getIndex.map(_.projects.values.toList)
+
+  /** @inheritdoc */
+  override def findById(
+    projectId: UUID
+  ): F[ProjectRepositoryFailure, Option[Project]] =
+    getIndex.map(_.findById(projectId))
+
+  /** @inheritdoc */
+  override def close(): Unit =
+    watcher.close()
+
+  /** Returns the index of the projects.
+    *
+    * The projects directory is scanned if the index is not initialized yet,
+    * or if the directory isn't watched. Otherwise, only the directories that
+    * have changed since the last call are reloaded.
+    */
+  private def getIndex: F[ProjectRepositoryFailure, ProjectIndex] =
+    Sync[F].effect(startWatching().filter(_ => checkModified())).flatMap {
+      case Some(index) if staleDirectories.isEmpty =>
+        CovariantFlatMap[F].pure(index)
+      case Some(_) =>
+        refreshStaleDirectories()
+      case None =>
+        scanProjectsDirectory()
+    }
+
+  private def scanProjectsDirectory()
+    : F[ProjectRepositoryFailure, ProjectIndex] =
+    for {
+      _ <- Sync[F].effect {
+        staleDirectories.clear()
+        fingerprints.clear()
+        rootModified = storageConfig.userProjectsPath.lastModified()
+      }
+      directories <- listProjectDirectories()
+      loaded      <- loadProjects(directories)
+      index <- Sync[F].effect {
+        val projects = loaded.flatMap(_._2).map(p => p.id -> p)
+        val index    = ProjectIndex(projects.toMap)
+        if (watcher.isRunning) cachedIndex.set(Some(index))
+        index
+      }
+    } yield index
+
+  private def refreshStaleDirectories()
+    : F[ProjectRepositoryFailure, ProjectIndex] =
+    for {
+      directories <- Sync[F].effect {
+        val stale = staleDirectories.asScala.toList
+        stale.foreach(staleDirectories.remove)
+        stale
+      }
+      loaded <- loadProjects(directories)
+      index <- updateIndex { index =>
+        loaded.foldLeft(index) { case (acc, (directory, project)) =>
+          val removed = acc.removeByPath(directory.toString)
+          project.fold(removed)(removed.upsert)
+        }
+      }
+    } yield index
+
+  /** Atomically modifies the cached index, rescanning the projects directory
+    * if the index has been invalidated in the meantime.
+    */
+  private def updateIndex(
+    f: ProjectIndex => ProjectIndex
+  ): F[ProjectRepositoryFailure, ProjectIndex] =
+    Sync[F].effect(cachedIndex.updateAndGet(_.map(f))).flatMap {
+      case Some(index) => CovariantFlatMap[F].pure(index)
+      case None        => scanProjectsDirectory()
+    }
+
+  /** Checks the modification times recorded when the projects were loaded,
+    * marking the changed project directories to be reloaded.
+    *
+    * @return `false` if the projects directory has changed and should be
+    * rescanned
+    */
+  private def checkModified(): Boolean =
+    if (storageConfig.userProjectsPath.lastModified() != rootModified) {
+      cachedIndex.set(None)
+      false
+    } else {
+      fingerprints.forEach { (directory, recorded) =>
+        if (fingerprint(directory) != recorded) {
+          staleDirectories.add(directory): Unit
+        }
+      }
+      true
+    }
+
+  /** Returns the modification times of the files a project is loaded from.
+    * The time of a missing file is 0, so removing the files changes it too.
+    */
+  private def fingerprint(directory: File): List[Long] = {
+    val metadataDirectory =
+      new File(directory, storageConfig.projectMetadataDirectory)
+    List(
+      directory,
+      new File(directory, Package.configFileName),
+      metadataDirectory,
+      new File(metadataDirectory, storageConfig.projectMetadataFileName)
+    ).map(_.lastModified())
+  }
+
+  /** Marks the project directory to be reloaded on the next access. */
+  private def invalidate(directory: File): F[Nothing, Unit] =
+    Sync[F].effect(staleDirectories.add(directory): Unit)
+
+  /** Starts watching the projects directory if it isn't watched yet.
+    *
+    * @return the cached index, if it is kept up to date by the watcher
+    */
+  private def startWatching(): Option[ProjectIndex] = {
+    if (watcher.start()) {
+      cachedIndex.set(None)
+    }
+    if (watcher.isRunning) cachedIndex.get() else None
+  }
+
+  private def listProjectDirectories()
+    : F[ProjectRepositoryFailure, List[File]] =
     fileSystem
       .list(storageConfig.userProjectsPath)
       .map(_.filter(_.isDirectory))
@@ -65,13 +229,31 @@ class ProjectFileRepository[
         Nil
       }
       .mapError(th => StorageFailure(th.toString))
-      .flatMap(s => Traverse[List].traverse(s)(tryLoadProject).map(_.flatten))
 
-  /** @inheritdoc */
-  override def findById(
-    projectId: UUID
-  ): F[ProjectRepositoryFailure, Option[Project]] =
-    getAll().map(_.find(_.id == projectId))
+  /** Loads the projects from the provided directories, loading up to
+    * [[scanParallelism]] projects in parallel.
+    */
+  private def loadProjects(
+    directories: List[File]
+  ): F[ProjectRepositoryFailure, List[(File, Option[Project])]] =
+    Sync[F]
+      .effect(directories.foreach(recordFingerprint))
+      .flatMap { _ =>
+        Traverse[List]
+          .traverse(directories.grouped(scanParallelism).toList) { group =>
+            Traverse[List].traversePar(group) { directory =>
+              tryLoadProject(directory).map(directory -> _)
+            }
+          }
+      }
+      .map(_.flatten)
+
+  private def recordFingerprint(directory: File): Unit =
+    if (directory.exists()) {
+      fingerprints.put(directory, fingerprint(directory)): Unit
+    } else {
+      fingerprints.remove(directory): Unit
+    }
 
   /** @inheritdoc */
   override def findPathForNewProject(
@@ -120,6 +302,7 @@ class ProjectFileRepository[
         project.path match {
           case Some(directory) =>
             renamePackage(new File(directory), name)
+              .flatMap(_ => invalidate(new File(directory)))
           case None =>
             ErrorChannel[F].fail(ProjectNotFoundInIndex)
         }
@@ -190,6 +373,8 @@ class ProjectFileRepository[
             )
           )
           .mapError(th => StorageFailure(th.toString))
+          .flatMap(_ => updateIndex(_.removeByPath(path).upsert(project)))
+          .map(_ => ())
       case None =>
         ErrorChannel[F].fail(ProjectNotFoundInIndex)
     }
@@ -204,6 +389,8 @@ class ProjectFileRepository[
               fileSystem
                 .removeDir(new File(directory))
                 .mapError(th => StorageFailure(th.toString))
+                .flatMap(_ => updateIndex(_.remove(projectId)))
+                .map(_ => ())
             case None =>
               ErrorChannel[F].fail(ProjectNotFoundInIndex)
           }
@@ -254,6 +441,8 @@ class ProjectFileRepository[
       .mapError[ProjectRepositoryFailure](failure =>
         StorageFailure(failure.toString)
       )
+      .flatMap(_ => invalidate(new File(project.path.get)))
+      .flatMap(_ => invalidate(targetPath))
   }
 
   private def findTargetPath(
@@ -35,6 +35,16 @@ case class ProjectIndex(projects: Map[UUID, Project] = Map.empty) {
   def remove(projectId: UUID): ProjectIndex =
     ProjectIndex(projects - projectId)
 
+  /** Removes the project located at the provided path.
+    *
+    * @param path the project path
+    * @return an updated project
+    */
+  def removeByPath(path: String): ProjectIndex =
+    ProjectIndex(projects.filter { case (_, project) =>
+      !project.path.contains(path)
+    })
+
   /** Finds user project by ID.
     *
     * @param projectId a project id
@@ -0,0 +1,176 @@
+package org.enso.projectmanager.infrastructure.repository
+
+import java.io.File
+import java.nio.file.{
+  ClosedWatchServiceException,
+  FileSystems,
+  Files,
+  Path,
+  StandardWatchEventKinds,
+  WatchKey,
+  WatchService
+}
+import java.util.concurrent.ConcurrentHashMap
+
+import com.typesafe.scalalogging.Logger
+
+import scala.jdk.CollectionConverters._
+import scala.util.control.NonFatal
+
+/** Watches the projects directory for changes made outside of the project
+  * manager.
+  *
+  * The projects directory is watched for added and removed projects, and each
+  * project directory is watched for changes of its top-level files, like the
+  * package configuration, and of its metadata directory. The watcher only
+  * reports the project directories that have changed, it is up to the caller
+  * to reload them.
+  *
+  * When the projects directory is removed, the watcher stops and reports
+  * that the whole directory should be rescanned. It can be started again once
+  * the directory is recreated. When a project directory stops being watched,
+  * e.g. because it was removed, the project is reported as changed.
+  *
+  * @param root the projects directory
+  * @param metadataDirectory the name of the project metadata directory
+  * @param onProjectChanged a callback called with a project directory that
+  *                         was added, removed or modified
+  * @param onRescanRequired a callback called when some events were lost or
+  *                         the projects directory was removed, and the whole
+  *                         directory should be rescanned
+  */
+class ProjectsDirectoryWatcher(
+  root: File,
+  metadataDirectory: String,
+  onProjectChanged: File => Unit,
+  onRescanRequired: () => Unit
+) extends AutoCloseable {
+
+  private val logger = Logger[ProjectsDirectoryWatcher]
+
+  private val rootPath = root.toPath
+
+  private val watchService: WatchService =
+    FileSystems.getDefault.newWatchService()
+
+  private val keys = new ConcurrentHashMap[Path, WatchKey]()
+
+  private val thread = new Thread(() => run(), "projects-directory-watcher")
+  thread.setDaemon(true)
+
+  @volatile private var running: Boolean = false
+
+  /** Checks if the projects directory is being watched.
+    *
+    * @return `true` if the changes of the projects directory are reported
+    */
+  def isRunning: Boolean = running
+
+  /** Starts watching the projects directory.
+    *
+    * Has no effect if the projects directory doesn't exist, or if the watcher
+    * is already running.
+    *
+    * @return `true` if the watcher has been started by this call
+    */
+  def start(): Boolean =
+    synchronized {
+      if (running || !root.isDirectory) {
+        false
+      } else if (register(rootPath)) {
+        root.listFiles().filter(_.isDirectory).foreach { directory =>
+          registerProject(directory.toPath)
+        }
+        running = true
+        if (thread.getState == Thread.State.NEW) {
+          thread.start()
+        }
+        true
+      } else {
+        false
+      }
+    }
+
+  /** @inheritdoc */
+  override def close(): Unit = {
+    running = false
+    watchService.close()
+  }
+
+  private def stop(): Unit =
+    synchronized {
+      running = false
+      keys.values().forEach(_.cancel())
+      keys.clear()
+    }
+
+  private def registerProject(directory: Path): Unit = {
+    register(directory)
+    val metadata = directory.resolve(metadataDirectory)
+    if (Files.isDirectory(metadata)) {
+      register(metadata)
+    }
+  }
+
+  private def register(directory: Path): Boolean =
+    try {
+      val key = directory.register(
+        watchService,
+        StandardWatchEventKinds.ENTRY_CREATE,
+        StandardWatchEventKinds.ENTRY_DELETE,
+        StandardWatchEventKinds.ENTRY_MODIFY
+      )
+      keys.put(directory, key)
+      true
+    } catch {
+      case NonFatal(ex) =>
+        logger.warn(s"Failed to watch directory [$directory].", ex)
+        false
+    }
+
+  private def run(): Unit =
+    try {
+      while (true) {
+        val key       = watchService.take()
+        val directory = key.watchable().asInstanceOf[Path]
+        handle(directory, key)
+        if (!key.reset() && keys.remove(directory, key)) {
+          if (directory == rootPath) {
+            stop()
+            onRescanRequired()
+          } else {
+            onProjectChanged(projectDirectory(directory).toFile)
+          }
+        }
+      }
+    } catch {
+      case _: ClosedWatchServiceException =>
+      case _: InterruptedException        =>
+    }
+
+  private def handle(directory: Path, key: WatchKey): Unit =
+    key.pollEvents().asScala.foreach { event =>
+      if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+        onRescanRequired()
+      } else {
+        val child = directory.resolve(event.context().asInstanceOf[Path])
+        val isCreatedDirectory =
+          event.kind() == StandardWatchEventKinds.ENTRY_CREATE &&
+          Files.isDirectory(child)
+        if (directory == rootPath) {
+          if (isCreatedDirectory) registerProject(child)
+          onProjectChanged(child.toFile)
+        } else if (directory.getParent == rootPath) {
+          val isMetadata = child.getFileName.toString == metadataDirectory
+          if (isCreatedDirectory && isMetadata) register(child)
+          onProjectChanged(directory.toFile)
+        } else {
+          onProjectChanged(directory.getParent.toFile)
+        }
+      }
+    }
+
+  /** Returns the project directory containing a watched directory. */
+  private def projectDirectory(directory: Path): Path =
+    if (directory.getParent == rootPath) directory else directory.getParent
+}
@@ -197,6 +197,7 @@ class BaseServerSpec extends JsonRpcServerTestKit with BeforeAndAfterAll {
   override def afterAll(): Unit = {
     super.afterAll()
 
+    projectRepository.close()
     FileUtils.deleteQuietly(testProjectsRoot)
   }
 
@@ -0,0 +1,109 @@
+package org.enso.projectmanager.infrastructure.repository
+
+import java.io.File
+import java.nio.file.Files
+import java.util.concurrent.{LinkedBlockingQueue, TimeUnit}
+
+import org.apache.commons.io.FileUtils
+import org.scalatest.BeforeAndAfterEach
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+class ProjectsDirectoryWatcherSpec
+    extends AnyFlatSpec
+    with Matchers
+    with BeforeAndAfterEach {
+
+  private val Timeout = 10L
+
+  private val Rescan = new File("<rescan>")
+
+  var tmpDir: File                      = _
+  var root: File                        = _
+  var events: LinkedBlockingQueue[File] = _
+  var watcher: ProjectsDirectoryWatcher = _
+
+  override def beforeEach(): Unit = {
+    tmpDir = Files.createTempDirectory(null).toRealPath().toFile
+    root   = new File(tmpDir, "projects")
+    events = new LinkedBlockingQueue[File]()
+    watcher = new ProjectsDirectoryWatcher(
+      root,
+      ".enso",
+      directory => events.put(directory),
+      () => events.put(Rescan)
+    )
+  }
+
+  override def afterEach(): Unit = {
+    watcher.close()
+    FileUtils.deleteQuietly(tmpDir)
+  }
+
+  private def awaitEvent(expected: File): Unit = {
+    val received = Iterator
+      .continually(events.poll(Timeout, TimeUnit.SECONDS))
+      .find(event => event == null || event == expected)
+    received shouldEqual Some(expected)
+  }
+
+  "ProjectsDirectoryWatcher" should "not start when the directory is missing" in {
+    watcher.start() shouldBe false
+    watcher.isRunning shouldBe false
+
+    root.mkdirs()
+    watcher.start() shouldBe true
+    watcher.isRunning shouldBe true
+    watcher.start() shouldBe false
+  }
+
+  it should "report the created projects" in {
+    root.mkdirs()
+    watcher.start() shouldBe true
+
+    val project = new File(root, "Foo")
+    project.mkdirs()
+    awaitEvent(project)
+  }
+
+  it should "report the changes of the project metadata" in {
+    val project  = new File(root, "Foo")
+    val metadata = new File(project, ".enso")
+    metadata.mkdirs()
+    watcher.start() shouldBe true
+
+    Files.write(new File(metadata, "project.json").toPath, Array[Byte](1))
+    awaitEvent(project)
+  }
+
+  it should "watch the metadata directory of a new project" in {
+    root.mkdirs()
+    watcher.start() shouldBe true
+
+    val project  = new File(root, "Foo")
+    val metadata = new File(project, ".enso")
+    project.mkdirs()
+    awaitEvent(project)
+    metadata.mkdirs()
+    awaitEvent(project)
+    events.clear()
+
+    Files.write(new File(metadata, "project.json").toPath, Array[Byte](1))
+    awaitEvent(project)
+  }
+
+  it should "stop and request a rescan when the directory is removed" in {
+    root.mkdirs()
+    watcher.start() shouldBe true
+
+    FileUtils.deleteDirectory(root)
+    awaitEvent(Rescan)
+    watcher.isRunning shouldBe false
+
+    root.mkdirs()
+    watcher.start() shouldBe true
+    val project = new File(root, "Foo")
+    project.mkdirs()
+    awaitEvent(project)
+  }
+}
@@ -26,7 +26,8 @@ import org.enso.cli.task.{
 import org.enso.runtimeversionmanager.OS
 import org.enso.runtimeversionmanager.archive.internal.{
   ArchiveIterator,
-  BaseRenamer
+  BaseRenamer,
+  ExtractionPipeline
 }
 import org.enso.runtimeversionmanager.internal.ReadProgress
 
@@ -83,7 +84,12 @@ object Archive {
     * The extraction is run in a background thread, the function returns
     * immediately with a [[TaskProgress]] instance that can be used to track
     * extraction progress (for example by displaying a progress bar or just
-    * waiting for it to complete).
+    * waiting for it to complete). The progress is reported in bytes of the
+    * archive file that have been read.
+    *
+    * The archive is decompressed on the background thread, while the
+    * extracted files are written by a pool of writers, see
+    * [[ExtractionPipeline]].
     *
     * If `renameRootFolder` is provided, the root folder of the archive is
     * renamed to the provided value. It is an error to request root folder
@@ -108,15 +114,86 @@ object Archive {
       case Some(value) => new BaseRenamer(value)
       case None        => identity[Path]
     }
+    val taskProgress = new TaskProgressImplementation[Unit](ProgressUnit.Bytes)
+
+    def runExtraction(): Unit = {
+      logger.debug(s"Extracting `$archivePath` to `$destinationDirectory`.")
+      var missingPermissions: Int = 0
+
+      val result = withOpenArchive(archivePath, format) { (archive, progress) =>
+        Using(
+          new ExtractionPipeline(
+            writerParallelism,
+            extractionChunkSize,
+            maxExtractionBytesInFlight
+          )
+        ) { pipeline =>
+          for (entry <- ArchiveIterator(archive)) {
+            if (!archive.canReadEntryData(entry)) {
+              throw new RuntimeException(
+                s"Cannot read ${entry.getName} from $archivePath. " +
+                s"The archive may be corrupted."
+              )
+            }
+
+            val destinationPath = destinationDirectory.resolve(
+              rewritePath(parseArchiveEntryName(entry.getName))
+            )
+            val permissions =
+              if (OS.isUNIX) {
+                val decoded = getMode(entry).map(POSIXPermissions.decode)
+                if (decoded.isEmpty) missingPermissions += 1
+                decoded
+              } else None
+
+            if (entry.isDirectory) {
+              pipeline.writeDirectory(destinationPath, permissions)
+            } else {
+              Files.createDirectories(destinationPath.getParent)
+              pipeline.writeFile(
+                destinationPath,
+                entry.getSize,
+                archive,
+                permissions
+              )
+            }
+
+            taskProgress.reportProgress(
+              progress.alreadyRead(),
+              progress.total()
+            )
+          }
 
-    iterateArchive(archivePath, format) { entry =>
-      val destinationPath =
-        destinationDirectory.resolve(rewritePath(entry.relativePath))
-      entry.extractTo(destinationPath)
-      true
+          pipeline.awaitCompletion()
+        }.get
+      }
+
+      if (missingPermissions > 0) {
+        logger.warn(
+          s"Could not find permissions for $missingPermissions files in " +
+          s"archive `$archivePath`, some files may not have been marked as " +
+          s"executable."
+        )
+      }
+
+      taskProgress.setComplete(result)
     }
+    val thread = new Thread(() => runExtraction(), "Extracting-Archive")
+    thread.start()
+    taskProgress
   }
 
+  /** The number of threads writing the extracted files. */
+  private val writerParallelism: Int =
+    Math.max(2, Runtime.getRuntime.availableProcessors())
+
+  /** The maximum size of a chunk of a file handed over to a single writer. */
+  private val extractionChunkSize: Int = 4 * 1024 * 1024
+
+  /** The maximum number of decompressed bytes that are waiting to be written.
+    */
+  private val maxExtractionBytesInFlight: Int = 64 * 1024 * 1024
+
   /** Iterates over entries of the archive at `archivePath`.
     *
     * The iteration is run in a background thread, the function returns
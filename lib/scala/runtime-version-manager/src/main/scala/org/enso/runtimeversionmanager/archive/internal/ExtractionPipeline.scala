@@ -0,0 +1,310 @@
+package org.enso.runtimeversionmanager.archive.internal
+
+import java.io.{InputStream, RandomAccessFile}
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.attribute.PosixFilePermission
+import java.nio.file.{Files, Path}
+import java.util
+import java.util.concurrent.atomic.{AtomicInteger, AtomicReference}
+import java.util.concurrent.{
+  ConcurrentHashMap,
+  ExecutorService,
+  Executors,
+  Semaphore,
+  ThreadFactory
+}
+
+import org.apache.commons.io.IOUtils
+
+import scala.collection.mutable
+import scala.util.control.NonFatal
+
+/** Writes the extracted archive entries on a pool of writer threads.
+  *
+  * The thread decompressing the archive reads the contents of each regular
+  * file in chunks of at most `chunkSize` bytes and hands them over to the
+  * pipeline, so the decompression can proceed with the next entry while the
+  * previous ones are still being written.
+  *
+  * Files that fit in a single chunk are written as a whole by one writer.
+  * When the size of the entry is known, its first chunk is sized to fit it,
+  * so the small files only take the memory and the in-flight capacity they
+  * need.
+  * Larger files are preallocated and their chunks are written with positional
+  * writes to a shared [[FileChannel]], so the chunks of a single file may be
+  * written concurrently.
+  *
+  * The amount of decompressed data waiting to be written is bounded by
+  * `maxBytesInFlight` - if the writers fall behind, the decompressing thread
+  * blocks until some of the chunks are written.
+  *
+  * An archive may contain multiple entries with the same path, and the last
+  * one should win. Before a file is scheduled, the pending writes of the same
+  * path are awaited, so the entries are written in the archive order. The
+  * permissions of the directories are only set once all the files are
+  * written, as they may forbid writing the files inside.
+  *
+  * The pipeline should only be fed from a single thread.
+  *
+  * @param parallelism the number of writer threads
+  * @param chunkSize the maximum size of a single chunk
+  * @param maxBytesInFlight the maximum number of bytes read from the archive
+  *                         but not yet written
+  */
+class ExtractionPipeline(
+  parallelism: Int,
+  chunkSize: Int,
+  maxBytesInFlight: Int
+) extends AutoCloseable {
+  require(
+    chunkSize <= maxBytesInFlight,
+    "A single chunk must fit in the in-flight limit."
+  )
+
+  private val executor: ExecutorService =
+    Executors.newFixedThreadPool(parallelism, ExtractionPipeline.threadFactory)
+  private val bytesInFlight = new Semaphore(maxBytesInFlight)
+  private val failure       = new AtomicReference[Throwable](null)
+  private val pendingLock   = new Object
+  private var pendingTasks  = 0
+  private val pendingPaths  = mutable.HashMap[Path, Int]()
+  private val openFiles     = ConcurrentHashMap.newKeySet[SharedFile]()
+
+  private val directoryPermissions =
+    mutable.LinkedHashMap[Path, util.Set[PosixFilePermission]]()
+
+  /** Schedules the file to be written from the current entry of the archive.
+    *
+    * The contents of the entry are read from `input` on the calling thread
+    * before this method returns, so the stream can be advanced to the next
+    * entry afterwards. Parent directories of `destination` must already exist.
+    *
+    * @param destination path of the extracted file
+    * @param size size of the entry, if known, or a negative number otherwise
+    * @param input stream positioned at the contents of the entry
+    * @param permissions POSIX permissions to set after the file is written
+    */
+  def writeFile(
+    destination: Path,
+    size: Long,
+    input: InputStream,
+    permissions: Option[util.Set[PosixFilePermission]]
+  ): Unit = {
+    rethrowFailure()
+    awaitPendingWrites(destination)
+    // one more byte than the entry size, to detect the end of the entry
+    val firstLimit =
+      if (size >= 0) Math.min(size + 1, chunkSize.toLong).toInt
+      else chunkSize
+    val firstChunk = readChunk(input, firstLimit)
+    if (firstChunk.length < firstLimit) {
+      submit(destination, firstChunk.length) {
+        Files.write(destination, firstChunk)
+        permissions.foreach(Files.setPosixFilePermissions(destination, _))
+      }
+    } else {
+      val file       = new RandomAccessFile(destination.toFile, "rw")
+      val sharedFile = new SharedFile(file, destination, permissions)
+      try {
+        file.setLength(Math.max(size, 0L))
+        var position = 0L
+        var chunk    = firstChunk
+        var limit    = firstLimit
+        while (chunk.nonEmpty) {
+          submitChunk(sharedFile, position, chunk)
+          position += chunk.length
+          chunk =
+            if (chunk.length < limit) Array.emptyByteArray
+            else readChunk(input, chunkSize)
+          limit = chunkSize
+        }
+      } finally {
+        sharedFile.allChunksSubmitted()
+      }
+    }
+  }
+
+  /** Creates the directory, deferring setting its permissions until all
+    * the files are written.
+    *
+    * @param destination path of the extracted directory
+    * @param permissions POSIX permissions to set after the files are written
+    */
+  def writeDirectory(
+    destination: Path,
+    permissions: Option[util.Set[PosixFilePermission]]
+  ): Unit = {
+    rethrowFailure()
+    Files.createDirectories(destination)
+    permissions.foreach(directoryPermissions.put(destination, _))
+  }
+
+  /** Waits until all scheduled writes are finished, and sets the permissions
+    * of the directories, starting from the innermost ones.
+    *
+    * If any of the writes has failed, the first failure is rethrown.
+    */
+  def awaitCompletion(): Unit = {
+    pendingLock.synchronized {
+      while (pendingTasks > 0) {
+        pendingLock.wait()
+      }
+    }
+    rethrowFailure()
+    directoryPermissions.toSeq
+      .sortBy { case (directory, _) => -directory.getNameCount }
+      .foreach { case (directory, permissions) =>
+        Files.setPosixFilePermissions(directory, permissions)
+      }
+    directoryPermissions.clear()
+  }
+
+  /** @inheritdoc */
+  override def close(): Unit = {
+    try {
+      executor.shutdownNow()
+    } finally {
+      // the files with the chunks that were never run are not released
+      openFiles.forEach { file =>
+        try file.close()
+        catch { case NonFatal(_) => }
+      }
+    }
+  }
+
+  /** Blocks until the scheduled writes of the path are finished. */
+  private def awaitPendingWrites(destination: Path): Unit =
+    pendingLock.synchronized {
+      while (pendingPaths.contains(destination)) {
+        pendingLock.wait()
+      }
+    }
+
+  private def rethrowFailure(): Unit = {
+    val error = failure.get()
+    if (error != null) throw error
+  }
+
+  /** Reads at most `limit` bytes from the input.
+    *
+    * Blocks until enough capacity is available in the in-flight limit.
+    */
+  private def readChunk(input: InputStream, limit: Int): Array[Byte] = {
+    bytesInFlight.acquire(limit)
+    val buffer = new Array[Byte](limit)
+    val read   = IOUtils.read(input, buffer)
+    if (read < limit) {
+      bytesInFlight.release(limit - read)
+      util.Arrays.copyOf(buffer, read)
+    } else buffer
+  }
+
+  private def submitChunk(
+    sharedFile: SharedFile,
+    position: Long,
+    chunk: Array[Byte]
+  ): Unit = {
+    sharedFile.chunkSubmitted()
+    val onDone = () => sharedFile.chunkWritten()
+    submit(sharedFile.destination, chunk.length, onDone) {
+      val buffer = ByteBuffer.wrap(chunk)
+      var offset = position
+      while (buffer.hasRemaining) {
+        offset += sharedFile.channel.write(buffer, offset)
+      }
+    }
+  }
+
+  /** Submits a write task of the `destination` path that releases `bytes`
+    * from the in-flight limit once it completes.
+    *
+    * The `action` is skipped if any of the previous writes has failed, but
+    * `onDone` is always run.
+    */
+  private def submit(
+    destination: Path,
+    bytes: Int,
+    onDone: () => Unit = () => ()
+  )(action: => Unit): Unit = {
+    pendingLock.synchronized {
+      pendingTasks += 1
+      pendingPaths.updateWith(destination)(n => Some(n.fold(1)(_ + 1))): Unit
+    }
+    val task: Runnable = () =>
+      try {
+        if (failure.get() == null) action
+      } catch {
+        case error: Throwable =>
+          failure.compareAndSet(null, error)
+      } finally {
+        try onDone()
+        catch {
+          case error: Throwable =>
+            failure.compareAndSet(null, error)
+        }
+        bytesInFlight.release(bytes)
+        pendingLock.synchronized {
+          pendingTasks -= 1
+          pendingPaths.updateWith(destination)(_.map(_ - 1).filter(_ > 0))
+          pendingLock.notifyAll()
+        }
+      }
+    executor.execute(task)
+  }
+
+  /** A file written in multiple chunks.
+    *
+    * The file is closed and its permissions are set once all of its chunks
+    * are written.
+    */
+  private class SharedFile(
+    file: RandomAccessFile,
+    val destination: Path,
+    permissions: Option[util.Set[PosixFilePermission]]
+  ) {
+    val channel: FileChannel = file.getChannel
+
+    openFiles.add(this)
+
+    // The extra reference is held by the submitting thread until all chunks
+    // are submitted, so that the file is not closed prematurely.
+    private val references = new AtomicInteger(1)
+
+    def chunkSubmitted(): Unit = {
+      references.incrementAndGet()
+    }
+
+    def chunkWritten(): Unit = release()
+
+    def allChunksSubmitted(): Unit = release()
+
+    def close(): Unit = {
+      openFiles.remove(this)
+      file.close()
+    }
+
+    private def release(): Unit = {
+      if (references.decrementAndGet() == 0) {
+        close()
+        if (failure.get() == null) {
+          permissions.foreach(Files.setPosixFilePermissions(destination, _))
+        }
+      }
+    }
+  }
+}
+
+object ExtractionPipeline {
+
+  private val threadCounter = new AtomicInteger(0)
+
+  private val threadFactory: ThreadFactory = { runnable =>
+    val thread = new Thread(
+      runnable,
+      s"Writing-Archive-${threadCounter.incrementAndGet()}"
+    )
+    thread.setDaemon(true)
+    thread
+  }
+}
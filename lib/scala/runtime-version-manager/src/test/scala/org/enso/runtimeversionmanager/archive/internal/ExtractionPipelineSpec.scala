@@ -0,0 +1,163 @@
+package org.enso.runtimeversionmanager.archive.internal
+
+import java.io.ByteArrayInputStream
+import java.nio.file.Files
+import java.nio.file.attribute.PosixFilePermissions
+
+import org.apache.commons.io.FileUtils
+import org.enso.runtimeversionmanager.OS
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+import scala.util.Using
+
+class ExtractionPipelineSpec extends AnyWordSpec with Matchers {
+  "ExtractionPipeline" should {
+    "write small and chunked files" in {
+      val directory = Files.createTempDirectory("extraction-pipeline")
+      try {
+        val small = Array.tabulate[Byte](10)(_.toByte)
+        val large = Array.tabulate[Byte](1000)(i => (i * 7).toByte)
+        val exact = Array.tabulate[Byte](64)(i => (i * 3).toByte)
+
+        Using(new ExtractionPipeline(4, 64, 256)) { pipeline =>
+          pipeline.writeFile(
+            directory.resolve("small"),
+            small.length.toLong,
+            new ByteArrayInputStream(small),
+            None
+          )
+          pipeline.writeFile(
+            directory.resolve("large"),
+            -1,
+            new ByteArrayInputStream(large),
+            None
+          )
+          pipeline.writeFile(
+            directory.resolve("exact"),
+            exact.length.toLong,
+            new ByteArrayInputStream(exact),
+            None
+          )
+          pipeline.awaitCompletion()
+        }.get
+
+        Files.readAllBytes(directory.resolve("small")) shouldEqual small
+        Files.readAllBytes(directory.resolve("large")) shouldEqual large
+        Files.readAllBytes(directory.resolve("exact")) shouldEqual exact
+      } finally {
+        FileUtils.deleteDirectory(directory.toFile)
+      }
+    }
+
+    "write the whole entries when their declared size is wrong" in {
+      val directory = Files.createTempDirectory("extraction-pipeline")
+      try {
+        val small = Array.tabulate[Byte](10)(_.toByte)
+        val large = Array.tabulate[Byte](1000)(i => (i * 7).toByte)
+
+        Using(new ExtractionPipeline(4, 64, 256)) { pipeline =>
+          pipeline.writeFile(
+            directory.resolve("small"),
+            4,
+            new ByteArrayInputStream(small),
+            None
+          )
+          pipeline.writeFile(
+            directory.resolve("large"),
+            20,
+            new ByteArrayInputStream(large),
+            None
+          )
+          pipeline.awaitCompletion()
+        }.get
+
+        Files.readAllBytes(directory.resolve("small")) shouldEqual small
+        Files.readAllBytes(directory.resolve("large")) shouldEqual large
+      } finally {
+        FileUtils.deleteDirectory(directory.toFile)
+      }
+    }
+
+    "write the duplicate entries in order" in {
+      val directory = Files.createTempDirectory("extraction-pipeline")
+      try {
+        val destination = directory.resolve("duplicate")
+        val first       = Array.fill[Byte](1000)(1)
+        val last        = Array.fill[Byte](10)(2)
+
+        Using(new ExtractionPipeline(4, 64, 256)) { pipeline =>
+          pipeline.writeFile(
+            destination,
+            first.length.toLong,
+            new ByteArrayInputStream(first),
+            None
+          )
+          pipeline.writeFile(
+            destination,
+            last.length.toLong,
+            new ByteArrayInputStream(last),
+            None
+          )
+          pipeline.awaitCompletion()
+        }.get
+
+        Files.readAllBytes(destination) shouldEqual last
+      } finally {
+        FileUtils.deleteDirectory(directory.toFile)
+      }
+    }
+
+    "set the directory permissions after the files are written" in {
+      assume(OS.isUNIX)
+      val directory = Files.createTempDirectory("extraction-pipeline")
+      val readOnly  = directory.resolve("read-only")
+      try {
+        val contents = Array.tabulate[Byte](1000)(_.toByte)
+
+        Using(new ExtractionPipeline(4, 64, 256)) { pipeline =>
+          pipeline.writeDirectory(
+            readOnly,
+            Some(PosixFilePermissions.fromString("r-xr-xr-x"))
+          )
+          pipeline.writeFile(
+            readOnly.resolve("file"),
+            contents.length.toLong,
+            new ByteArrayInputStream(contents),
+            None
+          )
+          pipeline.awaitCompletion()
+        }.get
+
+        Files.readAllBytes(readOnly.resolve("file")) shouldEqual contents
+        Files.getPosixFilePermissions(readOnly) shouldEqual
+        PosixFilePermissions.fromString("r-xr-xr-x")
+      } finally {
+        Files.setPosixFilePermissions(
+          readOnly,
+          PosixFilePermissions.fromString("rwxr-xr-x")
+        )
+        FileUtils.deleteDirectory(directory.toFile)
+      }
+    }
+
+    "report write failures" in {
+      val directory = Files.createTempDirectory("extraction-pipeline")
+      try {
+        val result = Using(new ExtractionPipeline(2, 64, 256)) { pipeline =>
+          pipeline.writeFile(
+            directory.resolve("missing").resolve("file"),
+            1,
+            new ByteArrayInputStream(Array[Byte](1)),
+            None
+          )
+          pipeline.awaitCompletion()
+        }
+
+        result.isFailure shouldEqual true
+      } finally {
+        FileUtils.deleteDirectory(directory.toFile)
+      }
+    }
+  }
+}
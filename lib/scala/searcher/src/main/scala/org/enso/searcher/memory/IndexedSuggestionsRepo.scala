@@ -0,0 +1,338 @@
+package org.enso.searcher.memory
+
+import org.enso.polyglot.Suggestion
+import org.enso.polyglot.data.Tree
+import org.enso.polyglot.runtime.Runtime.Api.{
+  SuggestionAction,
+  SuggestionArgumentAction,
+  SuggestionUpdate,
+  SuggestionsDatabaseAction
+}
+import org.enso.searcher.data.QueryResult
+import org.enso.searcher.sql.SqlSuggestionsRepo
+import org.enso.searcher.{SuggestionEntry, SuggestionsRepo}
+
+import scala.concurrent.{ExecutionContext, Future, Promise}
+
+/** The suggestions repo answering the queries from an in-memory index.
+  *
+  * The index is loaded from the SQL repo on initialization. The updates are
+  * written to the SQL repo, which assigns the suggestion ids and the
+  * database versions, and the index is updated with the results. The updates
+  * run one after another, each one updating the index before the next one
+  * writes to the database, so the index follows the database versions in
+  * order. The reads never access the database.
+  *
+  * @param repo the SQL repo persisting the suggestions
+  */
+final class IndexedSuggestionsRepo(repo: SqlSuggestionsRepo)(implicit
+  ec: ExecutionContext
+) extends SuggestionsRepo[Future] {
+
+  private val index = new SuggestionIndex
+
+  /** The last queued update. */
+  private var lastUpdate: Future[Any] = Future.unit
+
+  /** Initialize the repo, loading the suggestions from the database. */
+  def init: Future[Unit] =
+    serialized {
+      for {
+        _ <- repo.init
+        _ <- reload()
+      } yield ()
+    }
+
+  /** Close the database. */
+  def close(): Unit =
+    repo.close()
+
+  /** Find the suggestions which names start with the prefix.
+    *
+    * @param prefix the name prefix
+    * @return the current database version and the list of found suggestion ids
+    */
+  def searchByPrefix(prefix: String): Future[(Long, Seq[Long])] =
+    read(index => (index.currentVersion, index.searchByPrefix(prefix)))
+
+  /** Find the suggestions which names contain the characters of the pattern
+    * in the same order, ignoring the case.
+    *
+    * @param pattern the search pattern
+    * @return the current database version and the list of found suggestion ids
+    */
+  def searchFuzzy(pattern: String): Future[(Long, Seq[Long])] =
+    read(index => (index.currentVersion, index.searchFuzzy(pattern)))
+
+  /** @inheritdoc */
+  override def currentVersion: Future[Long] =
+    read(_.currentVersion)
+
+  /** @inheritdoc */
+  override def getAll: Future[(Long, Seq[SuggestionEntry])] =
+    read(index => (index.currentVersion, index.getAll))
+
+  /** @inheritdoc */
+  override def getAllMethods(
+    calls: Seq[(String, String, String)]
+  ): Future[Seq[Option[Long]]] =
+    read { index =>
+      calls.map { case (module, selfType, name) =>
+        index.findMethod(module, selfType, name)
+      }
+    }
+
+  /** @inheritdoc */
+  override def search(
+    module: Option[String],
+    selfType: Option[String],
+    returnType: Option[String],
+    kinds: Option[Seq[Suggestion.Kind]],
+    position: Option[Suggestion.Position]
+  ): Future[(Long, Seq[Long])] =
+    read { index =>
+      val results = index.search(module, selfType, returnType, kinds, position)
+      (index.currentVersion, results)
+    }
+
+  /** @inheritdoc */
+  override def select(id: Long): Future[Option[Suggestion]] =
+    read(_.get(id))
+
+  /** @inheritdoc */
+  override def insert(suggestion: Suggestion): Future[Option[Long]] =
+    serialized {
+      repo.insertVersioned(suggestion).map { case (version, idOpt) =>
+        write { index =>
+          idOpt.foreach(index.add(_, suggestion))
+          index.setVersion(version)
+          idOpt
+        }
+      }
+    }
+
+  /** @inheritdoc */
+  override def insertAll(
+    suggestions: Seq[Suggestion]
+  ): Future[(Long, Seq[Option[Long]])] =
+    serialized {
+      repo.insertAll(suggestions).map { case result @ (version, ids) =>
+        write { index =>
+          ids.zip(suggestions).foreach { case (idOpt, suggestion) =>
+            idOpt.foreach(index.add(_, suggestion))
+          }
+          index.setVersion(version)
+          result
+        }
+      }
+    }
+
+  /** @inheritdoc */
+  override def applyTree(
+    tree: Tree[SuggestionUpdate]
+  ): Future[(Long, Seq[QueryResult[SuggestionUpdate]])] =
+    serialized {
+      for {
+        result @ (version, results) <- repo.applyTree(tree)
+        suggestions                 <- selectAll(modifiedIds(results))
+      } yield write { index =>
+        results.foreach {
+          case QueryResult(ids, SuggestionUpdate(suggestion, action)) =>
+            action match {
+              case SuggestionAction.Add() =>
+                ids.foreach(index.add(_, suggestion))
+              case SuggestionAction.Remove() =>
+                ids.foreach(index.remove)
+              case _: SuggestionAction.Modify =>
+            }
+        }
+        suggestions.foreach(Function.tupled(index.add))
+        index.setVersion(version)
+        result
+      }
+    }
+
+  /** @inheritdoc */
+  override def applyActions(
+    actions: Seq[SuggestionsDatabaseAction]
+  ): Future[Seq[QueryResult[SuggestionsDatabaseAction]]] =
+    serialized {
+      repo.applyActionsVersioned(actions).map { case (version, results) =>
+        write { index =>
+          results.foreach(_.ids.foreach(index.remove))
+          index.setVersion(version)
+          results
+        }
+      }
+    }
+
+  /** @inheritdoc */
+  override def remove(suggestion: Suggestion): Future[Option[Long]] =
+    serialized {
+      repo.removeVersioned(suggestion).map { case (version, idOpt) =>
+        write { index =>
+          idOpt.foreach(index.remove)
+          index.setVersion(version)
+          idOpt
+        }
+      }
+    }
+
+  /** @inheritdoc */
+  override def removeByModule(name: String): Future[(Long, Seq[Long])] =
+    serialized {
+      repo.removeByModule(name).map { case result @ (version, ids) =>
+        write { index =>
+          ids.foreach(index.remove)
+          index.setVersion(version)
+          result
+        }
+      }
+    }
+
+  /** @inheritdoc */
+  override def removeAll(
+    suggestions: Seq[Suggestion]
+  ): Future[(Long, Seq[Option[Long]])] =
+    serialized {
+      repo.removeAll(suggestions).map { case result @ (version, ids) =>
+        write { index =>
+          ids.flatten.foreach(index.remove)
+          index.setVersion(version)
+          result
+        }
+      }
+    }
+
+  /** @inheritdoc */
+  override def update(
+    suggestion: Suggestion,
+    externalId: Option[Option[Suggestion.ExternalId]],
+    arguments: Option[Seq[SuggestionArgumentAction]],
+    returnType: Option[String],
+    documentation: Option[Option[String]],
+    scope: Option[Suggestion.Scope]
+  ): Future[(Long, Option[Long])] =
+    serialized {
+      for {
+        result @ (version, idOpt) <- repo.update(
+          suggestion,
+          externalId,
+          arguments,
+          returnType,
+          documentation,
+          scope
+        )
+        suggestions <- selectAll(idOpt.toSeq)
+      } yield write { index =>
+        suggestions.foreach(Function.tupled(index.add))
+        index.setVersion(version)
+        result
+      }
+    }
+
+  /** @inheritdoc */
+  override def updateAll(
+    expressions: Seq[(Suggestion.ExternalId, String)]
+  ): Future[(Long, Seq[Option[Long]])] =
+    serialized {
+      repo.updateAll(expressions).map { case result @ (version, ids) =>
+        write { index =>
+          ids.zip(expressions).foreach {
+            case (Some(id), (_, returnType)) =>
+              index.get(id).foreach { suggestion =>
+                index.add(id, withReturnType(suggestion, returnType))
+              }
+            case (None, _) =>
+          }
+          index.setVersion(version)
+          result
+        }
+      }
+    }
+
+  /** @inheritdoc */
+  override def clean: Future[Unit] =
+    serialized(repo.clean.map(_ => write(_.clear())))
+
+  /** @inheritdoc */
+  override def renameProject(oldName: String, newName: String): Future[Unit] =
+    serialized {
+      for {
+        _ <- repo.renameProject(oldName, newName)
+        _ <- reload()
+      } yield ()
+    }
+
+  /** Replace the contents of the index with the contents of the database. */
+  private def reload(): Future[Unit] =
+    repo.getAll.map { case (version, entries) =>
+      write { index =>
+        index.clear()
+        entries.foreach(entry => index.add(entry.id, entry.suggestion))
+        index.setVersion(version)
+      }
+    }
+
+  /** Select the suggestions from the database.
+    *
+    * @param ids the suggestion ids
+    * @return the found suggestions with their ids
+    */
+  private def selectAll(ids: Seq[Long]): Future[Seq[(Long, Suggestion)]] =
+    Future
+      .traverse(ids)(id => repo.select(id).map(_.map(id -> _)))
+      .map(_.flatten)
+
+  /** Get the ids of the modified suggestions.
+    *
+    * @param results the results of applying the suggestion updates
+    * @return the ids of the suggestions modified by the updates
+    */
+  private def modifiedIds(
+    results: Seq[QueryResult[SuggestionUpdate]]
+  ): Seq[Long] =
+    results.flatMap { result =>
+      result.value.action match {
+        case _: SuggestionAction.Modify => result.ids
+        case _                          => Seq()
+      }
+    }
+
+  /** Run the update after the previously queued updates have completed.
+    *
+    * @param update the update writing to the database and the index
+    * @return the result of the update
+    */
+  private def serialized[A](update: => Future[A]): Future[A] = {
+    val promise = Promise[A]()
+    val previous = synchronized {
+      val previous = lastUpdate
+      lastUpdate = promise.future
+      previous
+    }
+    previous.onComplete(_ => promise.completeWith(Future.delegate(update)))
+    promise.future
+  }
+
+  private def read[A](f: SuggestionIndex => A): Future[A] =
+    Future.successful(index.synchronized(f(index)))
+
+  private def write[A](f: SuggestionIndex => A): A =
+    index.synchronized(f(index))
+
+  private def withReturnType(
+    suggestion: Suggestion,
+    returnType: String
+  ): Suggestion =
+    suggestion match {
+      case atom: Suggestion.Atom =>
+        atom.copy(returnType = returnType)
+      case method: Suggestion.Method =>
+        method.copy(returnType = returnType)
+      case function: Suggestion.Function =>
+        function.copy(returnType = returnType)
+      case local: Suggestion.Local =>
+        local.copy(returnType = returnType)
+    }
+}
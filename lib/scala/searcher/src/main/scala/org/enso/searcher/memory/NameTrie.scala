@@ -0,0 +1,167 @@
+package org.enso.searcher.memory
+
+import scala.collection.mutable
+
+/** A compressed trie mapping the suggestion names to the suggestion ids.
+  *
+  * Each edge of the trie is labeled with a non-empty string, and the nodes
+  * having a single child and no ids are merged with their child, so that the
+  * depth of the trie is bounded by the number of distinct name prefixes
+  * rather than by the name lengths. The trie is not thread-safe.
+  */
+final class NameTrie {
+
+  private val root = new NameTrie.Node("")
+
+  /** Add the id of a name.
+    *
+    * @param name the suggestion name
+    * @param id the suggestion id
+    */
+  def add(name: String, id: Long): Unit =
+    add(root, name, id)
+
+  /** Remove the id of a name.
+    *
+    * @param name the suggestion name
+    * @param id the suggestion id
+    */
+  def remove(name: String, id: Long): Unit =
+    remove(root, name, id)
+
+  /** Remove all the names. */
+  def clear(): Unit = {
+    root.ids.clear()
+    root.children.clear()
+  }
+
+  /** Find the ids of the names starting with the prefix.
+    *
+    * @param prefix the name prefix
+    * @return the ids of the matching names
+    */
+  def prefixed(prefix: String): Seq[Long] = {
+    val builder = Vector.newBuilder[Long]
+    find(root, prefix).foreach(collect(_, builder))
+    builder.result()
+  }
+
+  /** Find the ids of the names containing the characters of the pattern in
+    * the same order, ignoring the case.
+    *
+    * @param pattern the search pattern
+    * @return the ids of the matching names
+    */
+  def fuzzy(pattern: String): Seq[Long] = {
+    val builder = Vector.newBuilder[Long]
+    fuzzy(root, pattern.toLowerCase, 0, builder)
+    builder.result()
+  }
+
+  private def add(node: NameTrie.Node, key: String, id: Long): Unit =
+    if (key.isEmpty) {
+      node.ids += id
+    } else {
+      node.children.get(key.head) match {
+        case None =>
+          val child = new NameTrie.Node(key)
+          child.ids += id
+          node.children(key.head) = child
+        case Some(child) =>
+          val common = commonPrefixLength(child.label, key)
+          if (common == child.label.length) {
+            add(child, key.drop(common), id)
+          } else {
+            val middle = new NameTrie.Node(child.label.take(common))
+            child.label = child.label.drop(common)
+            middle.children(child.label.head) = child
+            node.children(key.head) = middle
+            add(middle, key.drop(common), id)
+          }
+      }
+    }
+
+  private def remove(node: NameTrie.Node, key: String, id: Long): Unit =
+    if (key.isEmpty) {
+      node.ids -= id
+    } else {
+      node.children.get(key.head).foreach { child =>
+        if (key.startsWith(child.label)) {
+          remove(child, key.drop(child.label.length), id)
+          if (child.ids.isEmpty && child.children.isEmpty) {
+            node.children -= key.head
+          } else if (child.ids.isEmpty && child.children.size == 1) {
+            val grandchild = child.children.head._2
+            grandchild.label = child.label + grandchild.label
+            node.children(key.head) = grandchild
+          }
+        }
+      }
+    }
+
+  private def find(
+    node: NameTrie.Node,
+    prefix: String
+  ): Option[NameTrie.Node] =
+    if (prefix.isEmpty) {
+      Some(node)
+    } else {
+      node.children.get(prefix.head).flatMap { child =>
+        if (child.label.startsWith(prefix)) Some(child)
+        else if (prefix.startsWith(child.label))
+          find(child, prefix.drop(child.label.length))
+        else None
+      }
+    }
+
+  private def fuzzy(
+    node: NameTrie.Node,
+    pattern: String,
+    matched: Int,
+    builder: mutable.Builder[Long, Vector[Long]]
+  ): Unit = {
+    var position = matched
+    node.label.foreach { char =>
+      if (
+        position < pattern.length &&
+        Character.toLowerCase(char) == pattern.charAt(position)
+      ) {
+        position += 1
+      }
+    }
+    if (position == pattern.length) {
+      collect(node, builder)
+    } else {
+      node.children.values.foreach(fuzzy(_, pattern, position, builder))
+    }
+  }
+
+  private def collect(
+    node: NameTrie.Node,
+    builder: mutable.Builder[Long, Vector[Long]]
+  ): Unit = {
+    builder ++= node.ids
+    node.children.values.foreach(collect(_, builder))
+  }
+
+  private def commonPrefixLength(a: String, b: String): Int = {
+    val length = math.min(a.length, b.length)
+    var i      = 0
+    while (i < length && a.charAt(i) == b.charAt(i)) {
+      i += 1
+    }
+    i
+  }
+}
+
+object NameTrie {
+
+  /** A node of the trie.
+    *
+    * @param label the label of the edge leading to this node
+    */
+  final private class Node(var label: String) {
+    val ids: mutable.Set[Long]                  = mutable.HashSet()
+    val children: mutable.SortedMap[Char, Node] = mutable.TreeMap()
+  }
+}
@@ -0,0 +1,89 @@
+package org.enso.searcher.memory
+
+import org.enso.polyglot.Suggestion
+
+import scala.collection.mutable
+
+/** An index of the suggestion scopes answering which scopes contain a line.
+  *
+  * The scopes are kept sorted by their start lines, together with the
+  * running maximum of their end lines, so that a lookup only visits the
+  * scopes starting before the line and stops as soon as none of the
+  * remaining scopes can reach it. The sorted arrays are rebuilt lazily after
+  * the index is modified. The index is not thread-safe.
+  */
+final class ScopeIndex {
+
+  private val scopes = mutable.HashMap[Long, Suggestion.Scope]()
+
+  private var isSorted   = true
+  private var ids        = Array.emptyLongArray
+  private var startLines = Array.emptyIntArray
+  private var endLines   = Array.emptyIntArray
+  private var maxEnds    = Array.emptyIntArray
+
+  /** Add the scope of a suggestion.
+    *
+    * @param id the suggestion id
+    * @param scope the suggestion scope
+    */
+  def add(id: Long, scope: Suggestion.Scope): Unit = {
+    scopes(id) = scope
+    isSorted   = false
+  }
+
+  /** Remove the scope of a suggestion.
+    *
+    * @param id the suggestion id
+    */
+  def remove(id: Long): Unit =
+    if (scopes.remove(id).isDefined) {
+      isSorted = false
+    }
+
+  /** Remove all the scopes. */
+  def clear(): Unit = {
+    scopes.clear()
+    isSorted = false
+  }
+
+  /** Find the suggestions which scopes span the line.
+    *
+    * @param line the line number
+    * @return the ids of the suggestions
+    */
+  def containing(line: Int): Seq[Long] = {
+    sort()
+    val builder = Vector.newBuilder[Long]
+    var i       = lastStartingBefore(line)
+    while (i >= 0 && maxEnds(i) >= line) {
+      if (endLines(i) >= line) {
+        builder += ids(i)
+      }
+      i -= 1
+    }
+    builder.result()
+  }
+
+  private def sort(): Unit =
+    if (!isSorted) {
+      val sorted = scopes.toArray.sortBy(_._2.start.line)
+      ids        = sorted.map(_._1)
+      startLines = sorted.map(_._2.start.line)
+      endLines   = sorted.map(_._2.end.line)
+      maxEnds    = endLines.scanLeft(Int.MinValue)(math.max).tail
+      isSorted   = true
+    }
+
+  /** @return the index of the last scope starting at or before the line */
+  private def lastStartingBefore(line: Int): Int = {
+    var low  = 0
+    var high = startLines.length
+    while (low < high) {
+      val middle = (low + high) >>> 1
+      if (startLines(middle) <= line) low = middle + 1
+      else high = middle
+    }
+    low - 1
+  }
+}
@@ -0,0 +1,274 @@
+package org.enso.searcher.memory
+
+import org.enso.polyglot.Suggestion
+import org.enso.searcher.SuggestionEntry
+import org.enso.searcher.sql.SelfTypeColumn
+
+import scala.collection.mutable
+
+/** The in-memory index of the suggestions database.
+  *
+  * Besides the suggestions by id, the index keeps a trie of the suggestion
+  * names, the secondary indexes by the self type, the return type and the
+  * module, and the index of the scopes of the local suggestions. The search
+  * starts from the most selective index matching the query and filters the
+  * candidates with the same predicate the SQL search uses. The index is not
+  * thread-safe.
+  */
+final class SuggestionIndex {
+
+  import SuggestionIndex.Candidates
+
+  private val suggestions  = mutable.HashMap[Long, Suggestion]()
+  private val names        = new NameTrie
+  private val bySelfType   = mutable.HashMap[String, mutable.Set[Long]]()
+  private val byReturnType = mutable.HashMap[String, mutable.Set[Long]]()
+  private val byModule     = mutable.HashMap[String, mutable.Set[Long]]()
+  private val globals      = mutable.HashSet[Long]()
+  private val scopes       = new ScopeIndex
+
+  private var version: Long = 0L
+
+  /** @return the version of the indexed database */
+  def currentVersion: Long = version
+
+  /** Set the version of the indexed database.
+    *
+    * @param newVersion the database version
+    */
+  def setVersion(newVersion: Long): Unit =
+    version = newVersion
+
+  /** @return all the indexed suggestions */
+  def getAll: Seq[SuggestionEntry] =
+    suggestions.iterator.map(Function.tupled(SuggestionEntry)).toSeq
+
+  /** Get the suggestion by id.
+    *
+    * @param id the suggestion id
+    * @return the suggestion
+    */
+  def get(id: Long): Option[Suggestion] =
+    suggestions.get(id)
+
+  /** Add the suggestion to the index, replacing the previous suggestion with
+    * the same id.
+    *
+    * @param id the suggestion id
+    * @param suggestion the suggestion
+    */
+  def add(id: Long, suggestion: Suggestion): Unit = {
+    remove(id)
+    suggestions(id) = suggestion
+    names.add(suggestion.name, id)
+    addTo(bySelfType, SuggestionIndex.selfType(suggestion), id)
+    addTo(byReturnType, suggestion.returnType, id)
+    addTo(byModule, suggestion.module, id)
+    SuggestionIndex.scope(suggestion) match {
+      case Some(scope) => scopes.add(id, scope)
+      case None        => globals += id
+    }
+  }
+
+  /** Remove the suggestion from the index.
+    *
+    * @param id the suggestion id
+    */
+  def remove(id: Long): Unit =
+    suggestions.remove(id).foreach { suggestion =>
+      names.remove(suggestion.name, id)
+      removeFrom(bySelfType, SuggestionIndex.selfType(suggestion), id)
+      removeFrom(byReturnType, suggestion.returnType, id)
+      removeFrom(byModule, suggestion.module, id)
+      scopes.remove(id)
+      globals -= id
+    }
+
+  /** Remove all the suggestions and reset the version. */
+  def clear(): Unit = {
+    suggestions.clear()
+    names.clear()
+    bySelfType.clear()
+    byReturnType.clear()
+    byModule.clear()
+    globals.clear()
+    scopes.clear()
+    version = 0L
+  }
+
+  /** Find the suggestions by the method call info.
+    *
+    * @param module the module name
+    * @param selfType the self type
+    * @param name the method name
+    * @return the id of the found suggestion
+    */
+  def findMethod(
+    module: String,
+    selfType: String,
+    name: String
+  ): Option[Long] =
+    byModule.get(module).flatMap { ids =>
+      ids.find { id =>
+        val suggestion = suggestions(id)
+        suggestion.name == name &&
+        SuggestionIndex.selfType(suggestion) == selfType
+      }
+    }
+
+  /** Find the suggestions which names start with the prefix.
+    *
+    * @param prefix the name prefix
+    * @return the ids of the found suggestions
+    */
+  def searchByPrefix(prefix: String): Seq[Long] =
+    names.prefixed(prefix).sorted
+
+  /** Find the suggestions which names contain the characters of the pattern
+    * in the same order, ignoring the case.
+    *
+    * @param pattern the search pattern
+    * @return the ids of the found suggestions
+    */
+  def searchFuzzy(pattern: String): Seq[Long] =
+    names.fuzzy(pattern).sorted
+
+  /** Search suggestions by various parameters.
+    *
+    * @param module the module name search parameter
+    * @param selfType the selfType search parameter
+    * @param returnType the returnType search parameter
+    * @param kinds the list suggestion kinds to search
+    * @param position the absolute position in the text
+    * @return the ids of the found suggestions
+    */
+  def search(
+    module: Option[String],
+    selfType: Option[String],
+    returnType: Option[String],
+    kinds: Option[Seq[Suggestion.Kind]],
+    position: Option[Suggestion.Position]
+  ): Seq[Long] =
+    if (
+      module.isEmpty &&
+      selfType.isEmpty &&
+      returnType.isEmpty &&
+      kinds.isEmpty &&
+      position.isEmpty
+    ) {
+      Seq()
+    } else {
+      val candidates = Seq(
+        selfType.map(lookup(bySelfType, _)),
+        returnType.map(lookup(byReturnType, _)),
+        module.map(name => withGlobals(lookup(byModule, name))),
+        position.map(pos => withGlobals(scopes.containing(pos.line)))
+      ).flatten.minByOption(_.size).getOrElse(Candidates(suggestions.keySet))
+      candidates.ids.iterator.distinct
+        .filter { id =>
+          val suggestion = suggestions(id)
+          matches(suggestion, module, selfType, returnType, kinds, position)
+        }
+        .toSeq
+        .sorted
+    }
+
+  private def lookup(
+    index: mutable.Map[String, mutable.Set[Long]],
+    key: String
+  ): Candidates =
+    Candidates(index.getOrElse(key, Set.empty[Long]))
+
+  private def withGlobals(candidates: Candidates): Candidates =
+    Candidates(globals.view ++ candidates.ids, globals.size + candidates.size)
+
+  private def withGlobals(ids: Seq[Long]): Candidates =
+    withGlobals(Candidates(ids))
+
+  private def matches(
+    suggestion: Suggestion,
+    module: Option[String],
+    selfType: Option[String],
+    returnType: Option[String],
+    kinds: Option[Seq[Suggestion.Kind]],
+    position: Option[Suggestion.Position]
+  ): Boolean = {
+    val scope = SuggestionIndex.scope(suggestion)
+    module.forall(name => scope.isEmpty || suggestion.module == name) &&
+    selfType.forall(_ == SuggestionIndex.selfType(suggestion)) &&
+    returnType.forall(_ == suggestion.returnType) &&
+    kinds.forall(_.contains(Suggestion.Kind(suggestion))) &&
+    position.forall { pos =>
+      scope.forall { s =>
+        s.start.line <= pos.line &&
+        s.start.character <= pos.character &&
+        s.end.line >= pos.line &&
+        s.end.character >= pos.character
+      }
+    }
+  }
+
+  private def addTo(
+    index: mutable.Map[String, mutable.Set[Long]],
+    key: String,
+    id: Long
+  ): Unit =
+    index.getOrElseUpdate(key, mutable.HashSet()) += id
+
+  private def removeFrom(
+    index: mutable.Map[String, mutable.Set[Long]],
+    key: String,
+    id: Long
+  ): Unit =
+    index.get(key).foreach { ids =>
+      ids -= id
+      if (ids.isEmpty) index -= key
+    }
+}
+
+object SuggestionIndex {
+
+  /** The ids of the suggestions matching a search.
+    *
+    * @param ids the suggestion ids
+    * @param size the number of the ids
+    */
+  private case class Candidates(ids: Iterable[Long], size: Int)
+
+  private object Candidates {
+
+    /** Create the candidates from a collection of a known size. */
+    def apply(ids: collection.Set[Long]): Candidates =
+      Candidates(ids, ids.size)
+
+    /** Create the candidates from a collection of a known size. */
+    def apply(ids: Seq[Long]): Candidates =
+      Candidates(ids, ids.size)
+  }
+
+  /** Build the index from the suggestions.
+    *
+    * @param version the database version
+    * @param entries the suggestion entries
+    * @return the new index
+    */
+  def apply(
+    version: Long,
+    entries: Iterable[SuggestionEntry]
+  ): SuggestionIndex = {
+    val index = new SuggestionIndex
+    entries.foreach(entry => index.add(entry.id, entry.suggestion))
+    index.setVersion(version)
+    index
+  }
+
+  private def selfType(suggestion: Suggestion): String =
+    Suggestion.SelfType(suggestion).getOrElse(SelfTypeColumn.EMPTY)
+
+  private def scope(suggestion: Suggestion): Option[Suggestion.Scope] =
+    suggestion match {
+      case function: Suggestion.Function => Some(function.scope)
+      case local: Suggestion.Local       => Some(local.scope)
+      case _                             => None
+    }
+}
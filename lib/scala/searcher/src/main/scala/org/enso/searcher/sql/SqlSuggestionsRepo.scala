@@ -127,7 +127,7 @@ final class SqlSuggestionsRepo(db: SqlDatabase)(implicit ec: ExecutionContext)
   override def updateAll(
     expressions: Seq[(Suggestion.ExternalId, String)]
   ): Future[(Long, Seq[Option[Long]])] =
-    db.run(updateAllQuery(expressions))
+    db.run(updateAllQuery(expressions).transactionally)
 
   /** @inheritdoc */
   override def renameProject(oldName: String, newName: String): Future[Unit] =
@@ -137,6 +137,34 @@ final class SqlSuggestionsRepo(db: SqlDatabase)(implicit ec: ExecutionContext)
   override def currentVersion: Future[Long] =
     db.run(currentVersionQuery)
 
+  /** Insert the suggestion.
+    *
+    * @param suggestion the suggestion to insert
+    * @return the database version after the insert and the id of the
+    * inserted suggestion
+    */
+  def insertVersioned(suggestion: Suggestion): Future[(Long, Option[Long])] =
+    db.run(withVersionQuery(insertQuery(suggestion)).transactionally)
+
+  /** Apply the database actions.
+    *
+    * @param actions the list of actions
+    * @return the database version after applying the actions and the results
+    */
+  def applyActionsVersioned(
+    actions: Seq[SuggestionsDatabaseAction]
+  ): Future[(Long, Seq[QueryResult[SuggestionsDatabaseAction]])] =
+    db.run(withVersionQuery(applyActionsQuery(actions)).transactionally)
+
+  /** Remove the suggestion.
+    *
+    * @param suggestion the suggestion to remove
+    * @return the database version after the removal and the id of the
+    * removed suggestion
+    */
+  def removeVersioned(suggestion: Suggestion): Future[(Long, Option[Long])] =
+    db.run(withVersionQuery(removeQuery(suggestion)).transactionally)
+
   /** Close the database. */
   def close(): Unit =
     db.close()
@@ -624,6 +652,17 @@ final class SqlSuggestionsRepo(db: SqlDatabase)(implicit ec: ExecutionContext)
     } yield versionOpt.flatMap(_.id).getOrElse(0L)
   }
 
+  /** The query returning the version of the repo after running the query.
+    *
+    * @param query the query to run
+    * @return the current version and the result of the query
+    */
+  private def withVersionQuery[A](query: DBIO[A]): DBIO[(Long, A)] =
+    for {
+      result  <- query
+      version <- currentVersionQuery
+    } yield version -> result
+
   /** The query to increment the current version of the repo. */
   private def incrementVersionQuery: DBIO[Long] = {
     val incrementQuery = for {
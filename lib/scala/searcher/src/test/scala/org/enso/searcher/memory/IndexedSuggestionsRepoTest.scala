@@ -0,0 +1,261 @@
+package org.enso.searcher.memory
+
+import java.nio.file.{Files, Path}
+import java.util.UUID
+
+import org.enso.polyglot.Suggestion
+import org.enso.polyglot.data.Tree
+import org.enso.polyglot.runtime.Runtime.Api
+import org.enso.searcher.sql.SqlSuggestionsRepo
+import org.enso.testkit.RetrySpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+import scala.concurrent.{Await, Future}
+import scala.concurrent.ExecutionContext.Implicits.global
+import scala.concurrent.duration._
+
+class IndexedSuggestionsRepoTest
+    extends AnyWordSpec
+    with Matchers
+    with RetrySpec {
+
+  val Timeout: FiniteDuration = 20.seconds
+
+  val tmpdir: Path = {
+    val tmp = Files.createTempDirectory("indexed-suggestions-repo-test")
+    sys.addShutdownHook {
+      Files.list(tmp).forEach { path =>
+        path.toFile.delete()
+      }
+      tmp.toFile.delete()
+    }
+    tmp
+  }
+
+  def withRepo(
+    test: (SqlSuggestionsRepo, IndexedSuggestionsRepo) => Any
+  ): Any = {
+    val tmpdb   = Files.createTempFile(tmpdir, "suggestions-repo", ".db")
+    val sqlRepo = SqlSuggestionsRepo(tmpdb.toFile)
+    val repo    = new IndexedSuggestionsRepo(sqlRepo)
+    Await.ready(repo.init, Timeout)
+    try test(sqlRepo, repo)
+    finally {
+      Await.ready(repo.clean, Timeout)
+      repo.close()
+    }
+  }
+
+  "IndexedSuggestionsRepo" should {
+
+    "load the suggestions on init" taggedAs Retry in withRepo {
+      (sqlRepo, _) =>
+        val (_, ids) = Await.result(sqlRepo.insertAll(suggestion.all), Timeout)
+        val repo     = new IndexedSuggestionsRepo(sqlRepo)
+        val action = for {
+          _   <- repo.init
+          all <- repo.getAll
+        } yield all
+
+        val (version, entries) = Await.result(action, Timeout)
+        version shouldEqual Await.result(sqlRepo.currentVersion, Timeout)
+        entries.map(_.id) should contain theSameElementsAs ids.flatten
+    }
+
+    "search suggestions like the SQL repo" taggedAs Retry in withRepo {
+      (sqlRepo, repo) =>
+        Await.result(repo.insertAll(suggestion.all), Timeout)
+        val queries = Seq(
+          (Some("Test.Main"), None, None, None, None),
+          (Some(""), None, None, None, None),
+          (None, Some("Main"), None, None, None),
+          (None, None, Some("MyType"), None, None),
+          (None, None, None, Some(Seq(Suggestion.Kind.Local)), None),
+          (None, None, None, None, Some(Suggestion.Position(1, 6))),
+          (None, None, None, None, Some(Suggestion.Position(42, 0))),
+          (
+            Some("Test.Main"),
+            None,
+            Some("MyType"),
+            None,
+            Some(Suggestion.Position(1, 6))
+          )
+        )
+        queries.foreach { case (module, selfType, returnType, kinds, pos) =>
+          val expected = Await.result(
+            sqlRepo.search(module, selfType, returnType, kinds, pos),
+            Timeout
+          )
+          val actual = Await.result(
+            repo.search(module, selfType, returnType, kinds, pos),
+            Timeout
+          )
+          actual._1 shouldEqual expected._1
+          actual._2 should contain theSameElementsAs expected._2
+        }
+    }
+
+    "search suggestions by name" taggedAs Retry in withRepo { (_, repo) =>
+      val (_, ids) = Await.result(repo.insertAll(suggestion.all), Timeout)
+      val Seq(atom, method, function, local, bazzar) = ids.flatten
+
+      def prefixed(prefix: String): Seq[Long] =
+        Await.result(repo.searchByPrefix(prefix), Timeout)._2
+      def fuzzy(pattern: String): Seq[Long] =
+        Await.result(repo.searchFuzzy(pattern), Timeout)._2
+
+      prefixed("ba") should contain theSameElementsAs Seq(
+        function,
+        local,
+        bazzar
+      )
+      prefixed("baz") should contain theSameElementsAs Seq(local, bazzar)
+      prefixed("bazz") should contain theSameElementsAs Seq(local, bazzar)
+      prefixed("x") shouldBe empty
+      fuzzy("pr") should contain theSameElementsAs Seq(atom)
+      fuzzy("MN") should contain theSameElementsAs Seq(method)
+      fuzzy("bzr") should contain theSameElementsAs Seq(bazzar)
+    }
+
+    "keep the index in sync with the updates" taggedAs Retry in withRepo {
+      (sqlRepo, repo) =>
+        val tree = Tree.Root(
+          Vector(
+            Tree.Node(
+              Api.SuggestionUpdate(suggestion.atom, Api.SuggestionAction.Add()),
+              Vector()
+            ),
+            Tree.Node(
+              Api.SuggestionUpdate(
+                suggestion.method,
+                Api.SuggestionAction.Add()
+              ),
+              Vector()
+            )
+          )
+        )
+        val modification = Tree.Root(
+          Vector(
+            Tree.Node(
+              Api.SuggestionUpdate(
+                suggestion.method,
+                Api.SuggestionAction.Modify(returnType = Some("Number"))
+              ),
+              Vector()
+            )
+          )
+        )
+        val action = for {
+          _ <- repo.applyTree(tree)
+          _ <- repo.applyTree(modification)
+          _ <- repo.updateAll(
+            Seq(suggestion.method.externalId.get -> "Integer")
+          )
+          _ <- repo.remove(suggestion.atom)
+        } yield ()
+        Await.result(action, Timeout)
+
+        val (version, entries) = Await.result(repo.getAll, Timeout)
+        val (sqlVersion, sqlEntries) =
+          Await.result(sqlRepo.getAll, Timeout)
+        version shouldEqual sqlVersion
+        entries should contain theSameElementsAs sqlEntries
+        entries.map(_.suggestion) shouldEqual Seq(
+          suggestion.method.copy(returnType = "Integer")
+        )
+        Await.result(
+          repo.search(None, None, Some("Integer"), None, None),
+          Timeout
+        )._2 shouldEqual entries.map(_.id)
+    }
+
+    "apply the concurrent updates in order" taggedAs Retry in withRepo {
+      (sqlRepo, repo) =>
+        val updates = suggestion.all.flatMap { s =>
+          Seq(repo.insert(s), repo.remove(s), repo.insert(s))
+        }
+        Await.result(Future.sequence(updates), Timeout)
+
+        val (version, entries) = Await.result(repo.getAll, Timeout)
+        val (sqlVersion, sqlEntries) =
+          Await.result(sqlRepo.getAll, Timeout)
+        version shouldEqual sqlVersion
+        entries should contain theSameElementsAs sqlEntries
+    }
+
+    "clear the index on clean" taggedAs Retry in withRepo { (_, repo) =>
+      Await.result(repo.insertAll(suggestion.all), Timeout)
+      Await.result(repo.clean, Timeout)
+
+      Await.result(repo.getAll, Timeout) shouldEqual ((0L, Seq()))
+      Await.result(repo.searchByPrefix(""), Timeout)._2 shouldBe empty
+    }
+  }
+
+  object suggestion {
+
+    val atom: Suggestion.Atom =
+      Suggestion.Atom(
+        externalId = None,
+        module     = "Test.Main",
+        name       = "Pair",
+        arguments = Seq(
+          Suggestion.Argument("a", "Any", false, false, None),
+          Suggestion.Argument("b", "Any", false, false, None)
+        ),
+        returnType    = "Pair",
+        documentation = Some("Awesome")
+      )
+
+    val method: Suggestion.Method =
+      Suggestion.Method(
+        externalId    = Some(UUID.randomUUID()),
+        module        = "Test.Main",
+        name          = "main",
+        arguments     = Seq(),
+        selfType      = "Main",
+        returnType    = "IO",
+        documentation = None
+      )
+
+    val function: Suggestion.Function =
+      Suggestion.Function(
+        externalId = Some(UUID.randomUUID()),
+        module     = "Test.Main",
+        name       = "bar",
+        arguments = Seq(
+          Suggestion.Argument("x", "Number", false, true, Some("0"))
+        ),
+        returnType = "MyType",
+        scope =
+          Suggestion.Scope(Suggestion.Position(1, 5), Suggestion.Position(1, 9))
+      )
+
+    val local: Suggestion.Local =
+      Suggestion.Local(
+        externalId = Some(UUID.randomUUID()),
+        module     = "Test.Main",
+        name       = "bazz",
+        returnType = "MyType",
+        scope = Suggestion.Scope(
+          Suggestion.Position(32, 0),
+          Suggestion.Position(84, 0)
+        )
+      )
+
+    val otherLocal: Suggestion.Local =
+      Suggestion.Local(
+        externalId = Some(UUID.randomUUID()),
+        module     = "Test.Other",
+        name       = "bazzar",
+        returnType = "Text",
+        scope = Suggestion.Scope(
+          Suggestion.Position(40, 0),
+          Suggestion.Position(50, 0)
+        )
+      )
+
+    val all: Seq[Suggestion] = Seq(atom, method, function, local, otherLocal)
+  }
+}
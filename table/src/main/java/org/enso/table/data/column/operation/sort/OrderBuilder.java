@@ -0,0 +1,232 @@
+package org.enso.table.data.column.operation.sort;
+
+import org.enso.table.data.column.storage.Storage;
+
+/**
+ * Computes the order masks sorting the rows of a table by the values of key columns.
+ *
+ * <p>The resulting masks are meant to be applied with {@link Storage#orderMask(int[])}. The sort
+ * is stable, so the rows with equal keys keep their original relative order.
+ */
+public final class OrderBuilder {
+  private static final int INSERTION_SORT_THRESHOLD = 32;
+
+  private OrderBuilder() {}
+
+  /**
+   * Computes an order mask sorting all rows by the given keys.
+   *
+   * <p>The rows are sorted by each key in turn, starting with the least significant one. Numeric
+   * and boolean keys are radix sorted, while other keys use a merge sort with a typed comparator.
+   *
+   * @param size the number of rows to sort
+   * @param keys the storages of the key columns, the most significant first
+   * @param ascending whether each of the keys should be sorted in ascending order
+   * @param nullsFirst whether the missing values should be ordered before all other values
+   * @return the order mask sorting the rows
+   */
+  public static int[] buildOrderMask(
+      int size, Storage[] keys, boolean[] ascending, boolean nullsFirst) {
+    SortKey[] sortKeys = makeSortKeys(keys, ascending, nullsFirst);
+    int[] rows = new int[size];
+    for (int i = 0; i < size; i++) {
+      rows[i] = i;
+    }
+    int[] buffer = new int[size];
+    for (int k = sortKeys.length - 1; k >= 0; k--) {
+      sortBy(rows, buffer, sortKeys[k]);
+    }
+    return rows;
+  }
+
+  /**
+   * Computes an order mask selecting the first {@code limit} rows of the sorted table, without
+   * sorting all the rows.
+   *
+   * <p>The candidate rows are kept in a bounded heap, so the selection takes {@code O(n log k)}
+   * time and {@code O(k)} additional memory.
+   *
+   * @param size the number of rows to sort
+   * @param keys the storages of the key columns, the most significant first
+   * @param ascending whether each of the keys should be sorted in ascending order
+   * @param nullsFirst whether the missing values should be ordered before all other values
+   * @param limit the maximum number of rows to select
+   * @return the order mask of the first {@code limit} sorted rows
+   */
+  public static int[] buildTopOrderMask(
+      int size, Storage[] keys, boolean[] ascending, boolean nullsFirst, int limit) {
+    if (limit >= size) {
+      return buildOrderMask(size, keys, ascending, nullsFirst);
+    }
+    if (limit <= 0) {
+      return new int[0];
+    }
+    SortKey[] sortKeys = makeSortKeys(keys, ascending, nullsFirst);
+    // A max-heap, keeping the last of the selected rows at the top.
+    int[] heap = new int[limit];
+    int heapSize = 0;
+    for (int row = 0; row < size; row++) {
+      if (heapSize < limit) {
+        heap[heapSize] = row;
+        siftUp(heap, heapSize++, sortKeys);
+      } else if (compareRows(row, heap[0], sortKeys) < 0) {
+        heap[0] = row;
+        siftDown(heap, heapSize, sortKeys);
+      }
+    }
+    int[] result = new int[limit];
+    for (int i = limit - 1; i >= 0; i--) {
+      result[i] = heap[0];
+      heap[0] = heap[--heapSize];
+      siftDown(heap, heapSize, sortKeys);
+    }
+    return result;
+  }
+
+  private static SortKey[] makeSortKeys(
+      Storage[] keys, boolean[] ascending, boolean nullsFirst) {
+    if (keys.length != ascending.length) {
+      throw new IllegalArgumentException("Each sort key must have a direction.");
+    }
+    SortKey[] sortKeys = new SortKey[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      sortKeys[i] = SortKey.forStorage(keys[i], ascending[i], nullsFirst);
+    }
+    return sortKeys;
+  }
+
+  /**
+   * Stably sorts the rows by a single key, moving the missing values to the requested end.
+   *
+   * @param rows the rows to sort, modified in place
+   * @param buffer a buffer of the same size as rows
+   * @param key the key to sort by
+   */
+  private static void sortBy(int[] rows, int[] buffer, SortKey key) {
+    int nulls = 0;
+    for (int row : rows) {
+      if (key.isNa(row)) {
+        nulls++;
+      }
+    }
+    int from = 0;
+    int to = rows.length;
+    if (nulls > 0) {
+      int nullPosition = key.isNullsFirst() ? 0 : rows.length - nulls;
+      int valuePosition = key.isNullsFirst() ? nulls : 0;
+      for (int row : rows) {
+        if (key.isNa(row)) {
+          buffer[nullPosition++] = row;
+        } else {
+          buffer[valuePosition++] = row;
+        }
+      }
+      System.arraycopy(buffer, 0, rows, 0, rows.length);
+      from = key.isNullsFirst() ? nulls : 0;
+      to = from + rows.length - nulls;
+    }
+    if (key instanceof RadixSortKey) {
+      RadixSort.sort(rows, from, to, (RadixSortKey) key);
+    } else {
+      System.arraycopy(rows, from, buffer, from, to - from);
+      mergeSort(buffer, rows, from, to, key);
+    }
+  }
+
+  /**
+   * Stably sorts a range of rows using a merge sort.
+   *
+   * @param source the rows to sort, used as a scratch space
+   * @param target the array receiving the sorted rows, containing the same rows as source
+   * @param from the start of the range, inclusive
+   * @param to the end of the range, exclusive
+   * @param key the key to sort by
+   */
+  private static void mergeSort(int[] source, int[] target, int from, int to, SortKey key) {
+    if (to - from <= INSERTION_SORT_THRESHOLD) {
+      insertionSort(target, from, to, key);
+      return;
+    }
+    int middle = (from + to) >>> 1;
+    mergeSort(target, source, from, middle, key);
+    mergeSort(target, source, middle, to, key);
+    if (key.compare(source[middle - 1], source[middle]) <= 0) {
+      System.arraycopy(source, from, target, from, to - from);
+      return;
+    }
+    int left = from;
+    int right = middle;
+    for (int i = from; i < to; i++) {
+      if (right >= to || (left < middle && key.compare(source[left], source[right]) <= 0)) {
+        target[i] = source[left++];
+      } else {
+        target[i] = source[right++];
+      }
+    }
+  }
+
+  private static void insertionSort(int[] rows, int from, int to, SortKey key) {
+    for (int i = from + 1; i < to; i++) {
+      int row = rows[i];
+      int j = i - 1;
+      while (j >= from && key.compare(rows[j], row) > 0) {
+        rows[j + 1] = rows[j];
+        j--;
+      }
+      rows[j + 1] = row;
+    }
+  }
+
+  /**
+   * Compares two rows by all keys, falling back to their positions to keep the order stable.
+   *
+   * @param i the first row
+   * @param j the second row
+   * @param keys the keys to compare by
+   * @return the result of the comparison
+   */
+  private static int compareRows(int i, int j, SortKey[] keys) {
+    for (SortKey key : keys) {
+      int result = key.compare(i, j);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return Integer.compare(i, j);
+  }
+
+  private static void siftUp(int[] heap, int position, SortKey[] keys) {
+    int row = heap[position];
+    while (position > 0) {
+      int parent = (position - 1) >>> 1;
+      if (compareRows(heap[parent], row, keys) >= 0) {
+        break;
+      }
+      heap[position] = heap[parent];
+      position = parent;
+    }
+    heap[position] = row;
+  }
+
+  private static void siftDown(int[] heap, int heapSize, SortKey[] keys) {
+    if (heapSize == 0) {
+      return;
+    }
+    int row = heap[0];
+    int position = 0;
+    int half = heapSize >>> 1;
+    while (position < half) {
+      int child = 2 * position + 1;
+      int right = child + 1;
+      if (right < heapSize && compareRows(heap[right], heap[child], keys) > 0) {
+        child = right;
+      }
+      if (compareRows(row, heap[child], keys) >= 0) {
+        break;
+      }
+      heap[position] = heap[child];
+      position = child;
+    }
+    heap[position] = row;
+  }
+}
@@ -0,0 +1,68 @@
+package org.enso.table.data.column.operation.sort;
+
+import java.util.Arrays;
+
+/** A stable least-significant-digit radix sort of rows by unsigned 64-bit keys. */
+final class RadixSort {
+  private static final int DIGIT_BITS = 8;
+  private static final int DIGIT_COUNT = 1 << DIGIT_BITS;
+  private static final int DIGIT_MASK = DIGIT_COUNT - 1;
+
+  private RadixSort() {}
+
+  /**
+   * Sorts a range of rows by their keys. Rows with equal keys keep their relative order.
+   *
+   * @param rows the rows to sort, modified in place
+   * @param from the start of the range, inclusive
+   * @param to the end of the range, exclusive
+   * @param key the key used to order the rows
+   */
+  static void sort(int[] rows, int from, int to, RadixSortKey key) {
+    int size = to - from;
+    if (size < 2) {
+      return;
+    }
+    long[] keys = new long[size];
+    int[] order = new int[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = rows[from + i];
+      keys[i] = key.radixKey(order[i]);
+    }
+    long[] keysBuffer = new long[size];
+    int[] orderBuffer = new int[size];
+    int[] counts = new int[DIGIT_COUNT];
+    for (int shift = 0; shift < Long.SIZE; shift += DIGIT_BITS) {
+      Arrays.fill(counts, 0);
+      for (int i = 0; i < size; i++) {
+        counts[digit(keys[i], shift)]++;
+      }
+      // The pass would not move any row if all keys share the same digit.
+      if (counts[digit(keys[0], shift)] == size) {
+        continue;
+      }
+      int offset = 0;
+      for (int d = 0; d < DIGIT_COUNT; d++) {
+        int count = counts[d];
+        counts[d] = offset;
+        offset += count;
+      }
+      for (int i = 0; i < size; i++) {
+        int position = counts[digit(keys[i], shift)]++;
+        keysBuffer[position] = keys[i];
+        orderBuffer[position] = order[i];
+      }
+      long[] swapKeys = keys;
+      keys = keysBuffer;
+      keysBuffer = swapKeys;
+      int[] swapOrder = order;
+      order = orderBuffer;
+      orderBuffer = swapOrder;
+    }
+    System.arraycopy(order, 0, rows, from, size);
+  }
+
+  private static int digit(long key, int shift) {
+    return (int) (key >>> shift) & DIGIT_MASK;
+  }
+}
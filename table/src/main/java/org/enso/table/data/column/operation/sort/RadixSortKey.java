@@ -0,0 +1,38 @@
+package org.enso.table.data.column.operation.sort;
+
+import org.enso.table.data.column.storage.Storage;
+
+/** A sort key which values can be ordered by their fixed-width unsigned keys in a radix sort. */
+abstract class RadixSortKey extends SortKey {
+
+  /**
+   * Creates a new radix sort key.
+   *
+   * @param storage the storage of the key column
+   * @param ascending whether the rows should be ordered by ascending values
+   * @param nullsFirst whether the missing values should be ordered before all other values
+   */
+  RadixSortKey(Storage storage, boolean ascending, boolean nullsFirst) {
+    super(storage, ascending, nullsFirst);
+  }
+
+  /**
+   * Returns the radix key of the value in the given row. The unsigned ordering of radix keys
+   * follows the order of the rows, taking the direction into account.
+   *
+   * @param row the row containing a non-missing value
+   * @return the radix key of the value
+   */
+  final long radixKey(int row) {
+    long key = unsignedKey(row);
+    return isAscending() ? key : ~key;
+  }
+
+  /**
+   * Returns a key with the unsigned ordering following the ascending order of the values.
+   *
+   * @param row the row containing a non-missing value
+   * @return the key of the value
+   */
+  protected abstract long unsignedKey(int row);
+}
@@ -0,0 +1,199 @@
+package org.enso.table.data.column.operation.sort;
+
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.DoubleStorage;
+import org.enso.table.data.column.storage.LongStorage;
+import org.enso.table.data.column.storage.ObjectStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringStorage;
+import org.enso.table.error.UnexpectedColumnTypeException;
+
+/** A column used as a sort key, comparing the rows of a table by the values of the column. */
+abstract class SortKey {
+  private final Storage storage;
+  private final boolean ascending;
+  private final boolean nullsFirst;
+
+  /**
+   * Creates a new sort key.
+   *
+   * @param storage the storage of the key column
+   * @param ascending whether the rows should be ordered by ascending values
+   * @param nullsFirst whether the missing values should be ordered before all other values
+   */
+  SortKey(Storage storage, boolean ascending, boolean nullsFirst) {
+    this.storage = storage;
+    this.ascending = ascending;
+    this.nullsFirst = nullsFirst;
+  }
+
+  /**
+   * Creates a sort key comparing the values of the given storage.
+   *
+   * @param storage the storage of the key column
+   * @param ascending whether the rows should be ordered by ascending values
+   * @param nullsFirst whether the missing values should be ordered before all other values
+   * @return a sort key specialized to the type of the storage
+   */
+  static SortKey forStorage(Storage storage, boolean ascending, boolean nullsFirst) {
+    if (storage instanceof LongStorage) {
+      return new LongKey((LongStorage) storage, ascending, nullsFirst);
+    } else if (storage instanceof DoubleStorage) {
+      return new DoubleKey((DoubleStorage) storage, ascending, nullsFirst);
+    } else if (storage instanceof BoolStorage) {
+      return new BoolKey((BoolStorage) storage, ascending, nullsFirst);
+    } else if (storage instanceof StringStorage) {
+      return new StringKey((StringStorage) storage, ascending, nullsFirst);
+    } else if (storage instanceof ObjectStorage) {
+      return new ObjectKey((ObjectStorage) storage, ascending, nullsFirst);
+    }
+    throw new UnexpectedColumnTypeException("sortable");
+  }
+
+  /** @return whether the rows are ordered by ascending values */
+  boolean isAscending() {
+    return ascending;
+  }
+
+  /** @return whether the missing values are ordered before all other values */
+  boolean isNullsFirst() {
+    return nullsFirst;
+  }
+
+  /**
+   * Checks whether the value in the given row is missing.
+   *
+   * @param row the row to check
+   * @return whether the value is missing
+   */
+  boolean isNa(int row) {
+    return storage.isNa(row);
+  }
+
+  /**
+   * Compares two rows by the values of this key, taking the direction and the placement of the
+   * missing values into account.
+   *
+   * @param i the first row
+   * @param j the second row
+   * @return a negative number, zero or a positive number if the first row should be ordered
+   *     before, together with or after the second row respectively
+   */
+  final int compare(int i, int j) {
+    boolean iNa = storage.isNa(i);
+    boolean jNa = storage.isNa(j);
+    if (iNa || jNa) {
+      if (iNa && jNa) {
+        return 0;
+      }
+      return iNa == nullsFirst ? -1 : 1;
+    }
+    int result = compareValues(i, j);
+    return ascending ? result : -result;
+  }
+
+  /**
+   * Compares the non-missing values in two rows in the ascending order.
+   *
+   * @param i the first row
+   * @param j the second row
+   * @return the result of comparing the values
+   */
+  protected abstract int compareValues(int i, int j);
+
+  private static final class LongKey extends RadixSortKey {
+    private final LongStorage storage;
+
+    LongKey(LongStorage storage, boolean ascending, boolean nullsFirst) {
+      super(storage, ascending, nullsFirst);
+      this.storage = storage;
+    }
+
+    @Override
+    protected int compareValues(int i, int j) {
+      return Long.compare(storage.getItem(i), storage.getItem(j));
+    }
+
+    @Override
+    protected long unsignedKey(int row) {
+      return storage.getItem(row) ^ Long.MIN_VALUE;
+    }
+  }
+
+  private static final class DoubleKey extends RadixSortKey {
+    private final DoubleStorage storage;
+
+    DoubleKey(DoubleStorage storage, boolean ascending, boolean nullsFirst) {
+      super(storage, ascending, nullsFirst);
+      this.storage = storage;
+    }
+
+    @Override
+    protected int compareValues(int i, int j) {
+      return Double.compare(storage.getItem(i), storage.getItem(j));
+    }
+
+    @Override
+    protected long unsignedKey(int row) {
+      // Follows the ordering of Double.compare, with all NaNs collapsed into a single value.
+      long bits = Double.doubleToLongBits(storage.getItem(row));
+      return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+    }
+  }
+
+  private static final class BoolKey extends RadixSortKey {
+    private final BoolStorage storage;
+
+    BoolKey(BoolStorage storage, boolean ascending, boolean nullsFirst) {
+      super(storage, ascending, nullsFirst);
+      this.storage = storage;
+    }
+
+    @Override
+    protected int compareValues(int i, int j) {
+      return Boolean.compare(storage.getItem(i), storage.getItem(j));
+    }
+
+    @Override
+    protected long unsignedKey(int row) {
+      return storage.getItem(row) ? 1 : 0;
+    }
+  }
+
+  private static final class StringKey extends SortKey {
+    private final StringStorage storage;
+
+    StringKey(StringStorage storage, boolean ascending, boolean nullsFirst) {
+      super(storage, ascending, nullsFirst);
+      this.storage = storage;
+    }
+
+    @Override
+    protected int compareValues(int i, int j) {
+      return storage.getItem(i).compareTo(storage.getItem(j));
+    }
+  }
+
+  private static final class ObjectKey extends SortKey {
+    private final ObjectStorage storage;
+
+    ObjectKey(ObjectStorage storage, boolean ascending, boolean nullsFirst) {
+      super(storage, ascending, nullsFirst);
+      this.storage = storage;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected int compareValues(int i, int j) {
+      Object left = storage.getItem(i);
+      if (!(left instanceof Comparable)) {
+        throw new UnexpectedColumnTypeException("comparable");
+      }
+      try {
+        return ((Comparable<Object>) left).compareTo(storage.getItem(j));
+      } catch (ClassCastException e) {
+        throw new UnexpectedColumnTypeException("comparable");
+      }
+    }
+  }
+}
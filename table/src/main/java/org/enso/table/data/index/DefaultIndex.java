@@ -46,6 +46,11 @@ public class DefaultIndex extends Index {
     return new DefaultIndex(cardinality);
   }
 
+  @Override
+  public Index orderMask(int[] positions) {
+    return new DefaultIndex(positions.length);
+  }
+
   @Override
   public Index countMask(int[] counts, int total) {
     return new DefaultIndex(total);
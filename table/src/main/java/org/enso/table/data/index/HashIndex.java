@@ -55,6 +55,12 @@ public class HashIndex extends Index {
     return HashIndex.fromStorage(name, newSt);
   }
 
+  @Override
+  public Index orderMask(int[] positions) {
+    Storage newSt = items.orderMask(positions);
+    return HashIndex.fromStorage(name, newSt);
+  }
+
   @Override
   public Index countMask(int[] counts, int total) {
     Storage newSt = items.countMask(counts, total);
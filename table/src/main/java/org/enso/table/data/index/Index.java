@@ -51,6 +51,15 @@ public abstract class Index {
    */
   public abstract Index mask(BitSet mask, int cardinality);
 
+  /**
+   * Returns a new index, ordered according to the rules specified in a mask. The resulting index
+   * should contain the {@code positions[i]}-th element of the original index at the i-th position.
+   *
+   * @param positions an array specifying the ordering as described
+   * @return an index resulting from applying the reordering rules
+   */
+  public abstract Index orderMask(int[] positions);
+
   /**
    * Returns a new index, resulting from applying the rules specified in a mask. The resulting index
    * should contain the elements of the original storage, in the same order. However, the number of
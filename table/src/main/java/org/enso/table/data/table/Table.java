@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.enso.table.data.column.operation.sort.OrderBuilder;
 import org.enso.table.data.column.storage.BoolStorage;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.index.DefaultIndex;
@@ -173,6 +174,74 @@ public class Table {
     return new Table(newCols, index);
   }
 
+  /**
+   * Sorts the rows of this table by the values of the given columns.
+   *
+   * @param columnNames the names of the key columns, the most significant first
+   * @param ascending whether each of the key columns should be sorted in ascending order
+   * @param nullsFirst whether the missing values should be ordered before all other values
+   * @return a table with the rows ordered by the key columns
+   */
+  public Table orderBy(List<String> columnNames, List<Boolean> ascending, boolean nullsFirst) {
+    int[] positions =
+        OrderBuilder.buildOrderMask(
+            (int) nrows(), getKeyStorages(columnNames), toArray(ascending), nullsFirst);
+    return applyOrderMask(positions);
+  }
+
+  /**
+   * Selects the first rows of this table sorted by the values of the given columns.
+   *
+   * <p>Only the selected rows are ordered, so this is cheaper than sorting the whole table if
+   * {@code count} is small.
+   *
+   * @param columnNames the names of the key columns, the most significant first
+   * @param ascending whether each of the key columns should be sorted in ascending order
+   * @param nullsFirst whether the missing values should be ordered before all other values
+   * @param count the maximum number of rows to select
+   * @return a table with at most {@code count} first rows ordered by the key columns
+   */
+  public Table top(
+      List<String> columnNames, List<Boolean> ascending, boolean nullsFirst, long count) {
+    int[] positions =
+        OrderBuilder.buildTopOrderMask(
+            (int) nrows(),
+            getKeyStorages(columnNames),
+            toArray(ascending),
+            nullsFirst,
+            (int) Math.min(count, nrows()));
+    return applyOrderMask(positions);
+  }
+
+  private Storage[] getKeyStorages(List<String> columnNames) {
+    Storage[] keys = new Storage[columnNames.size()];
+    for (int i = 0; i < keys.length; i++) {
+      Column column = getColumnByName(columnNames.get(i));
+      if (column == null) throw new NoSuchColumnException(columnNames.get(i));
+      keys[i] = column.getStorage();
+    }
+    return keys;
+  }
+
+  private static boolean[] toArray(List<Boolean> values) {
+    boolean[] result = new boolean[values.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = values.get(i);
+    }
+    return result;
+  }
+
+  private Table applyOrderMask(int[] positions) {
+    Index newIndex = index.orderMask(positions);
+    Column[] newColumns = new Column[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      Column original = columns[i];
+      newColumns[i] =
+          new Column(original.getName(), newIndex, original.getStorage().orderMask(positions));
+    }
+    return new Table(newColumns, newIndex);
+  }
+
   /**
    * Joins this table with another, by combining rows from this with rows of other with a matching
    * index.
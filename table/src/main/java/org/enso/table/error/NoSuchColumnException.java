@@ -13,4 +13,9 @@ public class NoSuchColumnException extends RuntimeException {
     super("The column with name " + name + " does not exist.");
     this.name = name;
   }
+
+  /** @return the name of the missing column */
+  public String getName() {
+    return name;
+  }
 }
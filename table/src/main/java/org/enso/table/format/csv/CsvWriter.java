@@ -0,0 +1,139 @@
+package org.enso.table.format.csv;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.DoubleStorage;
+import org.enso.table.data.column.storage.LongStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.table.Column;
+import org.enso.table.data.table.Table;
+
+/**
+ * A CSV writer, streaming the contents of a table directly from its storages.
+ *
+ * <p>The fields are quoted according to RFC-4180, only when they contain the separator, a quote or
+ * a line break. Missing values are written as empty fields. Finite doubles are written in plain
+ * decimal notation and always keep their fractional part, and booleans are written as {@code true}
+ * and {@code false}, so the values are read back with the same types.
+ */
+public class CsvWriter {
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String LINE_SEPARATOR = "\r\n";
+
+  private final char separator;
+  private final boolean writeHeader;
+
+  private CsvWriter(char separator, boolean writeHeader) {
+    this.separator = separator;
+    this.writeHeader = writeHeader;
+  }
+
+  /**
+   * Creates a new writer with given parameters.
+   *
+   * @param separator the field separator, a single character
+   * @param writeHeader whether the first line should contain the column names
+   * @return a CSV writer
+   */
+  public static CsvWriter create(String separator, boolean writeHeader) {
+    if (separator.length() != 1) {
+      throw new IllegalArgumentException("The separator must be a single character.");
+    }
+    return new CsvWriter(separator.charAt(0), writeHeader);
+  }
+
+  /**
+   * Writes the table to the given output stream, encoded in UTF-8. The stream is flushed, but not
+   * closed.
+   *
+   * @param table the table to write
+   * @param outputStream the output stream to write to
+   * @throws IOException when writing to the stream fails
+   */
+  public void write(Table table, OutputStream outputStream) throws IOException {
+    Writer out =
+        new BufferedWriter(
+            new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    Column[] columns = table.getColumns();
+    if (writeHeader) {
+      for (int i = 0; i < columns.length; i++) {
+        if (i > 0) {
+          out.write(separator);
+        }
+        writeString(out, columns[i].getName());
+      }
+      out.write(LINE_SEPARATOR);
+    }
+    long rows = table.nrows();
+    for (int row = 0; row < rows; row++) {
+      for (int i = 0; i < columns.length; i++) {
+        if (i > 0) {
+          out.write(separator);
+        }
+        writeValue(out, columns[i].getStorage(), row);
+      }
+      out.write(LINE_SEPARATOR);
+    }
+    out.flush();
+  }
+
+  private void writeValue(Writer out, Storage storage, int row) throws IOException {
+    if (row >= storage.size() || storage.isNa(row)) {
+      return;
+    }
+    switch ((int) storage.getType()) {
+      case Storage.Type.LONG:
+        out.write(Long.toString(((LongStorage) storage).getItem(row)));
+        break;
+      case Storage.Type.DOUBLE:
+        out.write(formatDouble(((DoubleStorage) storage).getItem(row)));
+        break;
+      case Storage.Type.BOOL:
+        out.write(((BoolStorage) storage).getItem(row) ? "true" : "false");
+        break;
+      default:
+        writeString(out, storage.getItemBoxed(row).toString());
+    }
+  }
+
+  private static String formatDouble(double value) {
+    if (value == 0 || !Double.isFinite(value)) {
+      return Double.toString(value);
+    }
+    String plain = BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    return plain.indexOf('.') < 0 ? plain + ".0" : plain;
+  }
+
+  private void writeString(Writer out, String string) throws IOException {
+    if (!needsQuoting(string)) {
+      out.write(string);
+      return;
+    }
+    out.write('"');
+    int start = 0;
+    int quote;
+    while ((quote = string.indexOf('"', start)) >= 0) {
+      out.write(string, start, quote + 1 - start);
+      out.write('"');
+      start = quote + 1;
+    }
+    out.write(string, start, string.length() - start);
+    out.write('"');
+  }
+
+  private boolean needsQuoting(String string) {
+    for (int i = 0; i < string.length(); i++) {
+      char ch = string.charAt(i);
+      if (ch == separator || ch == '"' || ch == '\n' || ch == '\r') {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,212 @@
+package org.enso.table.format.json;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.DoubleStorage;
+import org.enso.table.data.column.storage.LongStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.table.Column;
+import org.enso.table.data.table.Table;
+
+/**
+ * A JSON writer, streaming the contents of a table directly from its storages.
+ *
+ * <p>The column-oriented format matches the one produced by {@code Table.to_json} in Enso, i.e.
+ * {@code {"columns": [{"name": ..., "data": [...]}, ...]}}. The row-oriented format is an array
+ * containing an object for each row, mapping the column names to the values.
+ */
+public class JsonWriter {
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+  private final boolean rowOriented;
+
+  private JsonWriter(boolean rowOriented) {
+    this.rowOriented = rowOriented;
+  }
+
+  /**
+   * Creates a new writer with given parameters.
+   *
+   * @param rowOriented whether the table should be written as an array of rows, instead of an
+   *     array of columns
+   * @return a JSON writer
+   */
+  public static JsonWriter create(boolean rowOriented) {
+    return new JsonWriter(rowOriented);
+  }
+
+  /**
+   * Writes the table to the given output stream, encoded in UTF-8. The stream is flushed, but not
+   * closed.
+   *
+   * @param table the table to write
+   * @param outputStream the output stream to write to
+   * @throws IOException when writing to the stream fails
+   */
+  public void write(Table table, OutputStream outputStream) throws IOException {
+    Writer out =
+        new BufferedWriter(
+            new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    if (rowOriented) {
+      writeRows(table, out);
+    } else {
+      writeColumns(table, out);
+    }
+    out.flush();
+  }
+
+  private void writeColumns(Table table, Writer out) throws IOException {
+    out.write("{\"columns\":[");
+    Column[] columns = table.getColumns();
+    for (int i = 0; i < columns.length; i++) {
+      if (i > 0) {
+        out.write(',');
+      }
+      out.write("{\"name\":");
+      writeString(out, columns[i].getName());
+      out.write(",\"data\":[");
+      Storage storage = columns[i].getStorage();
+      for (int row = 0; row < storage.size(); row++) {
+        if (row > 0) {
+          out.write(',');
+        }
+        writeValue(out, storage, row);
+      }
+      out.write("]}");
+    }
+    out.write("]}");
+  }
+
+  private void writeRows(Table table, Writer out) throws IOException {
+    Column[] columns = table.getColumns();
+    String[] keys = new String[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      keys[i] = escape(columns[i].getName()) + ":";
+    }
+    out.write('[');
+    long rows = table.nrows();
+    for (int row = 0; row < rows; row++) {
+      if (row > 0) {
+        out.write(',');
+      }
+      out.write('{');
+      for (int i = 0; i < columns.length; i++) {
+        if (i > 0) {
+          out.write(',');
+        }
+        out.write(keys[i]);
+        writeValue(out, columns[i].getStorage(), row);
+      }
+      out.write('}');
+    }
+    out.write(']');
+  }
+
+  private void writeValue(Writer out, Storage storage, int row) throws IOException {
+    if (row >= storage.size() || storage.isNa(row)) {
+      out.write("null");
+      return;
+    }
+    switch ((int) storage.getType()) {
+      case Storage.Type.LONG:
+        out.write(Long.toString(((LongStorage) storage).getItem(row)));
+        break;
+      case Storage.Type.DOUBLE:
+        writeDouble(out, ((DoubleStorage) storage).getItem(row));
+        break;
+      case Storage.Type.BOOL:
+        out.write(((BoolStorage) storage).getItem(row) ? "true" : "false");
+        break;
+      default:
+        writeObject(out, storage.getItemBoxed(row));
+    }
+  }
+
+  private void writeDouble(Writer out, double value) throws IOException {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      // JSON has no representation for these values.
+      out.write("null");
+    } else {
+      out.write(Double.toString(value));
+    }
+  }
+
+  private void writeObject(Writer out, Object value) throws IOException {
+    if (value instanceof Double || value instanceof Float) {
+      writeDouble(out, ((Number) value).doubleValue());
+    } else if (value instanceof Number || value instanceof Boolean) {
+      out.write(value.toString());
+    } else {
+      writeString(out, value.toString());
+    }
+  }
+
+  /**
+   * Writes a string as a JSON string literal, escaping it according to RFC-8259.
+   *
+   * <p>Strings that don't contain any characters requiring escapes are written as a whole, without
+   * copying.
+   *
+   * @param out the writer to write to
+   * @param string the string to write
+   * @throws IOException when writing fails
+   */
+  public static void writeString(Writer out, String string) throws IOException {
+    out.write('"');
+    int length = string.length();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      char ch = string.charAt(i);
+      if (ch < 0x20 || ch == '"' || ch == '\\') {
+        out.write(string, start, i - start);
+        writeEscaped(out, ch);
+        start = i + 1;
+      }
+    }
+    out.write(string, start, length - start);
+    out.write('"');
+  }
+
+  private static String escape(String string) throws IOException {
+    StringWriter writer = new StringWriter(string.length() + 2);
+    writeString(writer, string);
+    return writer.toString();
+  }
+
+  private static void writeEscaped(Writer out, char ch) throws IOException {
+    switch (ch) {
+      case '"':
+        out.write("\\\"");
+        break;
+      case '\\':
+        out.write("\\\\");
+        break;
+      case '\b':
+        out.write("\\b");
+        break;
+      case '\f':
+        out.write("\\f");
+        break;
+      case '\n':
+        out.write("\\n");
+        break;
+      case '\r':
+        out.write("\\r");
+        break;
+      case '\t':
+        out.write("\\t");
+        break;
+      default:
+        out.write("\\u00");
+        out.write(HEX_DIGITS[ch >> 4]);
+        out.write(HEX_DIGITS[ch & 0xF]);
+    }
+  }
+}